@@ -0,0 +1,47 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.SQLException;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+
+/**
+ * Streams rows into a table in bulk, avoiding a round trip per feature. Loaders are created by
+ * {@link SQLDialect#createBulkLoader(SimpleFeatureType, List, java.sql.Connection)} and used by
+ * {@link JDBCDataStore#bulkLoad} to implement {@link JDBCFeatureStore#addFeatures}.
+ *
+ * <p>The rows contain a value for each column the loader has been created for, in the same order. The values are
+ * already prepared for the insert: primary key values are computed, geometries are linearized and have their SRID
+ * set when known, enumerations are mapped to their database values.
+ *
+ * <p>Rows might be buffered, and the loader can send them to the database at any time, but the load is complete only
+ * once {@link #finish()} has been called. Closing a loader that has not been finished aborts the load, if possible.
+ */
+public interface BulkLoader extends AutoCloseable {
+
+    /** Adds a row, the loader can keep a reference to the array */
+    void add(Object[] values) throws IOException, SQLException;
+
+    /** Sends the rows still buffered to the database, and completes the load */
+    void finish() throws IOException, SQLException;
+
+    /** Releases the resources associated to the loader, aborting the load if {@link #finish()} was not called */
+    @Override
+    void close() throws SQLException;
+}
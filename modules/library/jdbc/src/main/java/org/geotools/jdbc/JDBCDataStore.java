@@ -23,6 +23,7 @@
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
 import java.lang.reflect.Method;
+import java.math.BigInteger;
 import java.net.URLDecoder;
 import java.sql.Connection;
 import java.sql.DatabaseMetaData;
@@ -37,6 +38,7 @@
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
@@ -45,6 +47,7 @@
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.stream.Collectors;
 import javax.sql.DataSource;
@@ -61,6 +64,7 @@
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
 import org.geotools.api.filter.Id;
 import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
 import org.geotools.api.filter.expression.BinaryExpression;
@@ -90,12 +94,16 @@
 import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.feature.NameImpl;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.AverageVisitor;
 import org.geotools.feature.visitor.CountVisitor;
 import org.geotools.feature.visitor.GroupByVisitor;
 import org.geotools.feature.visitor.LimitingVisitor;
+import org.geotools.feature.visitor.QuantileListVisitor;
+import org.geotools.feature.visitor.StandardDeviationVisitor;
 import org.geotools.feature.visitor.UniqueCountVisitor;
 import org.geotools.feature.visitor.UniqueVisitor;
 import org.geotools.filter.FilterCapabilities;
+import org.geotools.filter.identity.FeatureIdImpl;
 import org.geotools.filter.visitor.ExpressionTypeVisitor;
 import org.geotools.geometry.jts.CurvedGeometry;
 import org.geotools.geometry.jts.ReferencedEnvelope;
@@ -263,6 +271,18 @@ public final class JDBCDataStore extends ContentDataStore implements GmlObjectSt
     /** flag controlling whether primary key columns of a table are exposed via the feature type. */
     protected boolean exposePrimaryKeyColumns = false;
 
+    /**
+     * The number of features read ahead during bulk loads, their primary key values are allocated at once from the
+     * sequences
+     */
+    static final int BULK_LOAD_CHUNK = 1000;
+
+    /** flag controlling whether feature stores add features using the dialect bulk loader, when available */
+    protected boolean bulkLoadEnabled = false;
+
+    /** The cache of the select queries SQL, null if disabled (the default) */
+    protected volatile SQLTemplateCache sqlTemplateCache;
+
     /** Finds the primary key definitions (instantiated here because the finders might keep state) */
     protected PrimaryKeyFinder primaryKeyFinder =
             new CompositePrimaryKeyFinder(new MetadataTablePrimaryKeyFinder(), new HeuristicPrimaryKeyFinder());
@@ -378,6 +398,34 @@ public void setBatchInsertSize(int batchInsertSize) {
         this.batchInsertSize = batchInsertSize;
     }
 
+    /**
+     * Returns true if feature stores add features in bulk, using the {@link BulkLoader} provided by the dialect, when
+     * available. Defaults to false.
+     *
+     * @see JDBCDataStoreFactory#BULK_LOAD
+     */
+    public boolean isBulkLoadEnabled() {
+        return bulkLoadEnabled;
+    }
+
+    /** Enables or disables the bulk loading of features added to the feature stores */
+    public void setBulkLoadEnabled(boolean bulkLoadEnabled) {
+        this.bulkLoadEnabled = bulkLoadEnabled;
+    }
+
+    /**
+     * Returns the cache of the SQL generated for select queries, used when the dialect is a
+     * {@link PreparedStatementSQLDialect} supporting it, or null if the cache is disabled, the default
+     */
+    public SQLTemplateCache getSQLTemplateCache() {
+        return sqlTemplateCache;
+    }
+
+    /** Sets the cache of the SQL generated for select queries to enable it, or disables it if null */
+    public void setSQLTemplateCache(SQLTemplateCache sqlTemplateCache) {
+        this.sqlTemplateCache = sqlTemplateCache;
+    }
+
     /**
      * Determines if the datastore creates feature types which include those columns / attributes which compose the
      * primary key.
@@ -1213,6 +1261,20 @@ protected boolean isExposePrimaryKeyColumns(SimpleFeatureType featureType) throw
      */
     protected ReferencedEnvelope getBounds(SimpleFeatureType featureType, Query query, Connection cx)
             throws IOException {
+        return getBounds(featureType, query, cx, true);
+    }
+
+    /**
+     * Returns the bounds of the features for a particular feature type / table, optionally skipping the dialect
+     * optimized bounds, which can be estimated rather than exact.
+     *
+     * @param featureType The feature type / table.
+     * @param query Specifies rows to include in bounds calculation, as well as how many features and the offset if
+     *     needed
+     * @param optimized Whether {@link SQLDialect#getOptimizedBounds} can be used for full table queries
+     */
+    ReferencedEnvelope getBounds(SimpleFeatureType featureType, Query query, Connection cx, boolean optimized)
+            throws IOException {
 
         // handle geometryless case by returning an emtpy envelope
         if (featureType.getGeometryDescriptor() == null) return EMPTY_ENVELOPE;
@@ -1222,7 +1284,7 @@ protected ReferencedEnvelope getBounds(SimpleFeatureType featureType, Query quer
         ReferencedEnvelope bounds = ReferencedEnvelope.create(featureType.getCoordinateReferenceSystem());
         try {
             // try optimized bounds computation only if we're targeting the entire table
-            if (isFullBoundsQuery(query, featureType)) {
+            if (optimized && isFullBoundsQuery(query, featureType)) {
                 List<ReferencedEnvelope> result = dialect.getOptimizedBounds(databaseSchema, featureType, cx);
                 if (result != null && !result.isEmpty()) {
                     // merge the envelopes into one
@@ -1348,6 +1410,16 @@ protected int getCount(SimpleFeatureType featureType, Query query, Connection cx
      */
     protected Object getAggregateValue(
             FeatureVisitor visitor, SimpleFeatureType featureType, Query query, Connection cx) throws IOException {
+        // classification visitors needing dedicated queries
+        if (visitor instanceof QuantileListVisitor quantile) {
+            return getQuantileBins(quantile, featureType, query, cx);
+        } else if (visitor instanceof StandardDeviationVisitor deviation) {
+            Object result = getStandardDeviation(deviation, featureType, query, cx);
+            if (result != null) {
+                return result;
+            }
+        }
+
         // check if group by is supported by the underlying store
         if (isGroupByVisitor(visitor)
                 && (!dialect.isGroupBySupported() || !isSupportedGroupBy(featureType, (GroupByVisitor) visitor))) {
@@ -1455,6 +1527,192 @@ protected Object getAggregateValue(
         }
     }
 
+    /**
+     * Computes the bins of a quantile classification using the <code>ntile</code> window function, returning only the
+     * minimum, maximum and number of values of each bin. Only numeric expressions are supported, the classification of
+     * other types needs all the values.
+     *
+     * @return The bins, or <code>null</code> if the classification cannot be computed by the database
+     */
+    @SuppressWarnings("unchecked")
+    private Object getQuantileBins(
+            QuantileListVisitor visitor, SimpleFeatureType featureType, Query query, Connection cx) throws IOException {
+        Expression expression = visitor.getExpression();
+        if (!dialect.isWindowFunctionSupported()
+                || visitor.getBins() <= 0
+                || !isAggregateQuerySupported(expression, featureType, query)) {
+            return null;
+        }
+        Class<?> type = (Class<?>) expression.accept(new ExpressionTypeVisitor(featureType), null);
+        if (type == null || !Number.class.isAssignableFrom(type)) {
+            return null;
+        }
+
+        try {
+            FilterToSQL expressionToSQL = getFilterToSQL(featureType);
+            String value = expressionToSQL.encodeToString(expression);
+            // the in memory classification skips NaN and infinite values, the database must do the same
+            StringBuffer finite = null;
+            if (!isIntegral(type)) {
+                finite = new StringBuffer();
+                if (!dialect.encodeFiniteValueCheck(value, finite)) {
+                    return null;
+                }
+            }
+            StringBuffer sql = new StringBuffer();
+            sql.append("SELECT gt_bin_, min(gt_value_), max(gt_value_), count(*) FROM (SELECT ");
+            sql.append(value).append(" AS gt_value_, ntile(").append(visitor.getBins());
+            sql.append(") OVER (ORDER BY ").append(expressionToSQL.encodeToString(expression));
+            sql.append(") AS gt_bin_ FROM ");
+            FilterFactory ff = getFilterFactory();
+            Filter filter = ff.not(ff.isNull(expression));
+            if (query.getFilter() != null && !Filter.INCLUDE.equals(query.getFilter())) {
+                filter = ff.and(query.getFilter(), filter);
+            }
+            List<FilterToSQL> toSQL = encodeAggregateSource(featureType, query, filter, sql);
+            toSQL.add(0, expressionToSQL);
+            if (finite != null) {
+                sql.append(" AND ").append(finite);
+            }
+            sql.append(") gt_quantiles_ GROUP BY gt_bin_ ORDER BY gt_bin_");
+
+            return runAggregateQuery(sql.toString(), toSQL, cx, rs -> {
+                List<List<Comparable>> bins = new ArrayList<>();
+                List<Integer> counts = new ArrayList<>();
+                while (rs.next()) {
+                    Comparable min = (Comparable) convertAggregateValue(rs.getObject(2), type);
+                    Comparable max = (Comparable) convertAggregateValue(rs.getObject(3), type);
+                    bins.add(min.equals(max) ? Collections.singletonList(min) : Arrays.asList(min, max));
+                    counts.add(rs.getInt(4));
+                }
+                List<Comparable>[] binArray = bins.toArray(new List[bins.size()]);
+                visitor.setValue(binArray, counts.stream().mapToInt(i -> i).toArray());
+                return binArray;
+            });
+        } catch (FilterToSQLException | SQLException e) {
+            throw new IOException("Failed to encode the quantile classification query", e);
+        }
+    }
+
+    /**
+     * Computes the standard deviation along with the mean in a single query, the standard deviation classification
+     * needs both.
+     *
+     * @return The standard deviation, or <code>null</code> if it cannot be computed this way
+     */
+    private Object getStandardDeviation(
+            StandardDeviationVisitor visitor, SimpleFeatureType featureType, Query query, Connection cx)
+            throws IOException {
+        String deviation = getAggregateFunctions().get(StandardDeviationVisitor.class);
+        String average = getAggregateFunctions().get(AverageVisitor.class);
+        Expression expression = visitor.getExpression();
+        if (deviation == null || average == null || !isAggregateQuerySupported(expression, featureType, query)) {
+            return null;
+        }
+
+        try {
+            FilterToSQL expressionToSQL = getFilterToSQL(featureType);
+            StringBuffer sql = new StringBuffer("SELECT ");
+            encodeFunction(deviation, expression, sql, expressionToSQL);
+            sql.append(", ");
+            encodeFunction(average, expression, sql, expressionToSQL);
+            sql.append(", count(")
+                    .append(expressionToSQL.encodeToString(expression))
+                    .append(") FROM ");
+            List<FilterToSQL> toSQL = encodeAggregateSource(featureType, query, query.getFilter(), sql);
+            toSQL.add(0, expressionToSQL);
+
+            return runAggregateQuery(sql.toString(), toSQL, cx, rs -> {
+                visitor.reset();
+                if (rs.next() && rs.getLong(3) > 0) {
+                    Number stddev = (Number) rs.getObject(1);
+                    Number mean = (Number) rs.getObject(2);
+                    visitor.setValue(new StandardDeviationVisitor.Result(stddev.doubleValue(), mean.doubleValue()));
+                }
+                return visitor.getResult();
+            });
+        } catch (FilterToSQLException | SQLException e) {
+            throw new IOException("Failed to encode the standard deviation query", e);
+        }
+    }
+
+    /**
+     * Returns true if an aggregate over the expression can be computed with a dedicated query: the expression and the
+     * whole filter must be encodable, and the query must not have joins or limits
+     */
+    private boolean isAggregateQuerySupported(Expression expression, SimpleFeatureType featureType, Query query) {
+        if (expression == null
+                || !query.getJoins().isEmpty()
+                || query.getMaxFeatures() != Integer.MAX_VALUE
+                || query.getStartIndex() != null && query.getStartIndex() > 0) {
+            return false;
+        }
+        Filter[] preAndPost = dialect.splitFilter(query.getFilter(), featureType);
+        return preAndPost[1].equals(Filter.INCLUDE) && fullySupports(expression);
+    }
+
+    /** Encodes the table and the filter of a dedicated aggregate query, returning the filter encoders */
+    private List<FilterToSQL> encodeAggregateSource(
+            SimpleFeatureType featureType, Query query, Filter filter, StringBuffer sql)
+            throws SQLException, IOException {
+        List<FilterToSQL> toSQL = new ArrayList<>();
+        encodeTableName(featureType.getTypeName(), sql, setKeepWhereClausePlaceHolderHint(query));
+        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+            sql.append(" WHERE ");
+            toSQL.add(filter(featureType, filter, sql));
+        }
+        return toSQL;
+    }
+
+    /** Reads the results of a dedicated aggregate query */
+    @FunctionalInterface
+    private interface AggregateReader {
+        Object read(ResultSet rs) throws SQLException, IOException;
+    }
+
+    /** Runs a dedicated aggregate query, as a prepared statement if the dialect supports them */
+    private Object runAggregateQuery(String sql, List<FilterToSQL> toSQL, Connection cx, AggregateReader reader)
+            throws IOException {
+        LOGGER.fine(sql);
+        Statement st = null;
+        ResultSet rs = null;
+        try {
+            if (dialect instanceof PreparedStatementSQLDialect) {
+                PreparedStatement ps =
+                        cx.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                st = ps;
+                setPreparedFilterValues(ps, toSQL, cx);
+                rs = ps.executeQuery();
+            } else {
+                st = cx.createStatement();
+                rs = st.executeQuery(sql);
+            }
+            return reader.read(rs);
+        } catch (SQLException e) {
+            throw new IOException("Failed to run aggregate query: " + sql, e);
+        } finally {
+            closeSafe(rs);
+            closeSafe(st);
+        }
+    }
+
+    /** Returns true if the numeric type cannot hold NaN or infinite values */
+    private static boolean isIntegral(Class<?> type) {
+        return type == Byte.class
+                || type == Short.class
+                || type == Integer.class
+                || type == Long.class
+                || type == BigInteger.class;
+    }
+
+    private static Object convertAggregateValue(Object value, Class<?> type) {
+        if (value == null || type.isInstance(value)) {
+            return value;
+        }
+        Object converted = Converters.convert(value, type);
+        return converted != null ? converted : value;
+    }
+
     private static boolean isSortAttributesPartOfUnique(UniqueVisitor visitor, Query query) {
         Set<String> uniqueAttributes = new HashSet<>(visitor.getAttrNames());
         Set<String> sortAttributes = Arrays.stream(query.getSortBy())
@@ -1786,6 +2044,134 @@ protected void insert(Collection<? extends SimpleFeature> features, SimpleFeatur
         }
     }
 
+    /**
+     * Inserts the features in bulk, using the {@link BulkLoader} provided by the dialect. The primary key values are
+     * computed before the insert, the persistent feature ids are set in the features (and reported in their user data
+     * as <code>fid</code>) as they are loaded.
+     *
+     * <p>Returns <code>null</code> without reading any feature if a bulk load is not possible, because the dialect does
+     * not provide a loader, or because some primary key values can only be known after the insert. The caller is
+     * expected to fall back on the regular inserts in that case.
+     *
+     * <p>The features are read in chunks of {@link #BULK_LOAD_CHUNK}, the sequence values of a chunk being allocated
+     * at once, so that no value is wasted once the load completes.
+     *
+     * @param featureType The feature type of the table the features are inserted into
+     * @param features The features to insert
+     * @param listener Called for each inserted feature once the load is complete, can be <code>null</code>
+     * @param cx The database connection
+     * @return The ids of the inserted features, or <code>null</code> if a bulk load is not possible
+     */
+    protected List<FeatureId> bulkLoad(
+            SimpleFeatureType featureType,
+            Iterator<SimpleFeature> features,
+            Consumer<SimpleFeature> listener,
+            Connection cx)
+            throws IOException {
+        PrimaryKey key = getPrimaryKey(featureType);
+        try {
+            KeysFetcher generated = KeysFetcher.createPreInsert(this, cx, key);
+            if (generated == null) {
+                return null;
+            }
+            KeysFetcher existing = KeysFetcher.create(this, cx, true, key);
+
+            // the attributes, followed by the key columns
+            List<AttributeDescriptor> attributes = new ArrayList<>();
+            for (AttributeDescriptor att : featureType.getAttributeDescriptors()) {
+                if (!generated.isKey(att.getLocalName())) {
+                    attributes.add(att);
+                }
+            }
+            List<AttributeDescriptor> columns = new ArrayList<>(attributes);
+            AttributeTypeBuilder builder = new AttributeTypeBuilder();
+            for (PrimaryKeyColumn col : key.getColumns()) {
+                columns.add(builder.binding(col.getType()).buildDescriptor(col.getName()));
+            }
+
+            try (BulkLoader loader = dialect.createBulkLoader(featureType, columns, cx)) {
+                if (loader == null) {
+                    return null;
+                }
+                List<FeatureId> ids = new ArrayList<>();
+                // the events are fired only once the rows are actually written
+                List<SimpleFeature> added = listener != null ? new ArrayList<>() : null;
+                List<SimpleFeature> chunk = new ArrayList<>(BULK_LOAD_CHUNK);
+                while (features.hasNext()) {
+                    chunk.clear();
+                    int generatedCount = 0;
+                    while (chunk.size() < BULK_LOAD_CHUNK && features.hasNext()) {
+                        SimpleFeature feature = features.next();
+                        chunk.add(feature);
+                        if (!InsertionClassifier.useExisting(feature)) {
+                            generatedCount++;
+                        }
+                    }
+                    generated.reserve(cx, generatedCount);
+
+                    for (SimpleFeature feature : chunk) {
+                        Object[] row = new Object[columns.size()];
+                        for (int i = 0; i < attributes.size(); i++) {
+                            row[i] = getBulkLoadValue(feature, attributes.get(i));
+                        }
+                        KeysFetcher keys = InsertionClassifier.useExisting(feature) ? existing : generated;
+                        List<Object> keyValues = keys.getNextValues(cx, feature);
+                        for (int i = 0; i < keyValues.size(); i++) {
+                            row[attributes.size() + i] = keyValues.get(i);
+                        }
+                        loader.add(row);
+
+                        String fid = featureType.getTypeName() + "." + encodeFID(keyValues);
+                        feature.getUserData().put("fid", fid);
+                        if (feature.getIdentifier() instanceof FeatureIdImpl identifier) {
+                            identifier.setID(fid);
+                        }
+                        ids.add(new FeatureIdImpl(fid));
+                        if (added != null) {
+                            added.add(feature);
+                        }
+                    }
+                }
+                loader.finish();
+                if (added != null) {
+                    added.forEach(listener);
+                }
+                return ids;
+            }
+        } catch (SQLException e) {
+            throw new IOException("Error bulk loading features", e);
+        }
+    }
+
+    /** Returns the value of the attribute, prepared for a {@link BulkLoader} */
+    private Object getBulkLoadValue(SimpleFeature feature, AttributeDescriptor att) throws IOException {
+        String colName = att.getLocalName();
+        Object value = feature.getAttribute(colName);
+        if (value == null) {
+            if (!att.isNillable()) {
+                throw new IOException("Cannot set a NULL value on the not null column " + colName);
+            }
+            return null;
+        }
+
+        Class<?> binding = att.getType().getBinding();
+        if (Geometry.class.isAssignableFrom(binding)) {
+            Geometry g = linearize(value, binding);
+            int srid = getGeometrySRID(g, att);
+            if (srid > 0 && g.getSRID() != srid) {
+                // don't alter the caller geometry
+                g = g.copy();
+                g.setSRID(srid);
+            }
+            return g;
+        }
+        EnumMapping mapping = (EnumMapping) att.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP);
+        if (mapping != null) {
+            return mapping.fromValue((String) value);
+        }
+        return value;
+    }
+
     /** Specialized insertion for dialects that are using prepared statements. */
     private void insertPS(
             Collection<SimpleFeature> features,
@@ -3602,6 +3988,27 @@ void sort(SimpleFeatureType featureType, SortBy[] sort, String prefix, StringBuf
     protected PreparedStatement selectSQLPS(SimpleFeatureType featureType, Query query, Connection cx)
             throws SQLException, IOException {
 
+        // reuse the SQL generated for queries with the same shape, if possible
+        SQLTemplateCache cache = sqlTemplateCache;
+        SQLTemplateCache.Key key = null;
+        if (cache != null && ((PreparedStatementSQLDialect) dialect).isSQLTemplateCacheSupported()) {
+            SimpleFeatureType fullSchema = getSchema(featureType.getTypeName());
+            key = cache.createKey(fullSchema, featureType, query);
+            if (key != null) {
+                PreparedFilterToSQL toSQL = createPreparedFilterToSQL(fullSchema);
+                String sql = cache.bind(key, toSQL);
+                if (sql != null) {
+                    LOGGER.fine(sql);
+                    PreparedStatement ps =
+                            cx.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    setPreparedFilterValues(ps, toSQL, 0, cx);
+                    return ps;
+                }
+            }
+        }
+        SQLTemplate.Recorder recorder = key != null ? new SQLTemplate.Recorder(key) : null;
+
         StringBuffer sql = new StringBuffer();
         sql.append("SELECT ");
 
@@ -3615,12 +4022,17 @@ protected PreparedStatement selectSQLPS(SimpleFeatureType featureType, Query que
 
         // filtering
         PreparedFilterToSQL toSQL = null;
-        Filter filter = query.getFilter();
+        Filter filter = recorder != null ? recorder.getFilter() : query.getFilter();
         if (filter != null && !Filter.INCLUDE.equals(filter)) {
             sql.append(" WHERE ");
 
             // encode filter
-            toSQL = (PreparedFilterToSQL) filter(featureType, filter, sql);
+            if (recorder != null) recorder.start();
+            try {
+                toSQL = (PreparedFilterToSQL) filter(featureType, filter, sql);
+            } finally {
+                if (recorder != null) recorder.stop();
+            }
         }
 
         // sorting
@@ -3632,6 +4044,13 @@ protected PreparedStatement selectSQLPS(SimpleFeatureType featureType, Query que
         // add search hints if the dialect supports them
         applySearchHints(featureType, query, sql);
 
+        if (recorder != null) {
+            SQLTemplate template = recorder.build(sql.toString(), toSQL);
+            if (template != null) {
+                cache.put(key, template);
+            }
+        }
+
         LOGGER.fine(sql.toString());
         PreparedStatement ps =
                 cx.prepareStatement(sql.toString(), ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
@@ -104,6 +104,14 @@ public abstract class JDBCDataStoreFactory implements DataStoreFactorySpi {
             false,
             1);
 
+    /** If true, the feature stores add features in bulk using the dialect bulk loader, when available */
+    public static final Param BULK_LOAD = new Param(
+            "Bulk load",
+            Boolean.class,
+            "Add features in bulk (COPY or multi-row inserts) when the database supports it (default, false)",
+            false,
+            false);
+
     /** Maximum amount of time the pool will wait when trying to grab a new connection * */
     public static final Param MAXWAIT = new Param(
             "Connection timeout",
@@ -272,6 +280,11 @@ public final JDBCDataStore createDataStore(Map<String, ?> params) throws IOExcep
             dataStore.setBatchInsertSize(batchInsertSize);
         }
 
+        Boolean bulkLoad = (Boolean) BULK_LOAD.lookUp(params);
+        if (bulkLoad != null) {
+            dataStore.setBulkLoadEnabled(bulkLoad);
+        }
+
         // namespace
         String namespace = (String) NAMESPACE.lookUp(params);
 
@@ -407,6 +420,7 @@ protected void setupParameters(Map<String, Object> parameters) {
         parameters.put(MINCONN.key, MINCONN);
         parameters.put(FETCHSIZE.key, FETCHSIZE);
         parameters.put(BATCH_INSERT_SIZE.key, BATCH_INSERT_SIZE);
+        parameters.put(BULK_LOAD.key, BULK_LOAD);
         parameters.put(MAXWAIT.key, MAXWAIT);
         if (getValidationQuery() != null) parameters.put(VALIDATECONN.key, VALIDATECONN);
         parameters.put(TEST_WHILE_IDLE.key, TEST_WHILE_IDLE);
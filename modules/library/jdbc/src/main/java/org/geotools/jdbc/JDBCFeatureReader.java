@@ -60,6 +60,9 @@
 import org.geotools.util.Converters;
 import org.geotools.util.factory.Hints;
 import org.geotools.util.logging.Logging;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracing;
 import org.locationtech.jts.geom.CoordinateSequenceFactory;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
@@ -146,7 +149,7 @@ public JDBCFeatureReader(
             dialect.onSelect(statement, cx, featureType);
         }
 
-        runQuery(() -> st.executeQuery(sql), st);
+        runQuery(() -> st.executeQuery(sql), st, sql);
     }
 
     public JDBCFeatureReader(
@@ -164,7 +167,7 @@ public JDBCFeatureReader(
         this.st = st;
 
         ((PreparedStatementSQLDialect) featureSource.getDataStore().getSQLDialect()).onSelect(st, cx, featureType);
-        runQuery(st::executeQuery, st);
+        runQuery(st::executeQuery, st, null);
     }
 
     public JDBCFeatureReader(
@@ -256,7 +259,12 @@ interface QueryRunner {
         ResultSet run() throws Exception;
     }
 
-    void runQuery(QueryRunner runner, Statement st) throws SQLException {
+    /**
+     * Runs the query, reporting it to the callback and the tracers. The sql can be null for prepared statements, in
+     * that case the statement description is reported instead
+     */
+    void runQuery(QueryRunner runner, Statement st, String sql) throws SQLException {
+        Span span = Tracing.start(OperationType.STATEMENT_EXECUTION);
         callback.beforeQuery(st);
         try {
             rs = runner.run();
@@ -271,6 +279,10 @@ void runQuery(QueryRunner runner, Statement st) throws SQLException {
                 LOGGER.log(Level.FINE, "Failed to close the reader, moving on", e2);
             }
             throw new SQLException(e1);
+        } finally {
+            if (span != null) {
+                span.end(sql != null ? sql : String.valueOf(st), featureType.getTypeName(), -1);
+            }
         }
     }
 
@@ -53,6 +53,7 @@
 import org.geotools.data.store.ContentFeatureSource;
 import org.geotools.feature.AttributeTypeBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.feature.visitor.BoundsVisitor;
 import org.geotools.feature.visitor.MaxVisitor;
 import org.geotools.feature.visitor.MinVisitor;
 import org.geotools.feature.visitor.NearestVisitor;
@@ -718,6 +719,8 @@ protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOEx
         // special case for nearest visit, it's the sum of two other visits
         if (visitor instanceof NearestVisitor) {
             return handleNearestVisitor(query, visitor);
+        } else if (visitor instanceof BoundsVisitor bounds) {
+            return handleBoundsVisitor(query, bounds);
         } else {
             // grab connection using the current transaction
             Connection cx = getDataStore().getConnection(getState());
@@ -731,6 +734,33 @@ protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOEx
         }
     }
 
+    /**
+     * Special case of bounds visitor, computed by the database when the whole query can be encoded in SQL, and does
+     * not override or reproject the native CRS
+     */
+    private boolean handleBoundsVisitor(Query query, BoundsVisitor visitor) throws IOException {
+        Filter[] split = splitFilter(query.getFilter(), query.getHints());
+        if (query.getCoordinateSystem() != null
+                || query.getCoordinateSystemReproject() != null
+                || split[1] != null && split[1] != Filter.INCLUDE
+                || query.getMaxFeatures() < Integer.MAX_VALUE && !canLimit(query)
+                || query.getStartIndex() != null && query.getStartIndex() > 0 && !canOffset(query)) {
+            return false;
+        }
+        // the optimized bounds can be estimated, the visitor needs the exact ones
+        Connection cx = getDataStore().getConnection(getState());
+        try {
+            Query q = new Query(query);
+            q.setFilter(split[0]);
+            ReferencedEnvelope bounds = getDataStore().getBounds(getSchema(), q, cx, false);
+            visitor.setValue(
+                    bounds != null ? bounds : new ReferencedEnvelope(getSchema().getCoordinateReferenceSystem()));
+        } finally {
+            getDataStore().releaseConnection(cx, getState());
+        }
+        return true;
+    }
+
     /** Special case of nearest visitor, which can be computed by combining a min and a max visit */
     private boolean handleNearestVisitor(Query query, FeatureVisitor visitor) throws IOException {
         NearestVisitor nearest = (NearestVisitor) visitor;
@@ -20,9 +20,13 @@
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Consumer;
 import org.geotools.api.data.FeatureEvent;
 import org.geotools.api.data.FeatureEvent.Type;
 import org.geotools.api.data.FeatureReader;
@@ -37,10 +41,14 @@
 import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.identity.FeatureId;
+import org.geotools.data.DataUtilities;
 import org.geotools.data.FilteringFeatureWriter;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Geometry;
@@ -318,6 +326,65 @@ protected FeatureWriter<SimpleFeatureType, SimpleFeature> getWriterInternal(Quer
         return writer;
     }
 
+    /**
+     * Adds the features in bulk if the dialect provides a {@link BulkLoader} and the primary key values can be computed
+     * before the insert, falls back on the feature writer otherwise.
+     *
+     * @see JDBCDataStore#setBulkLoadEnabled(boolean)
+     */
+    @Override
+    public List<FeatureId> addFeatures(FeatureCollection<SimpleFeatureType, SimpleFeature> featureCollection)
+            throws IOException {
+        if (getDataStore().isBulkLoadEnabled()) {
+            List<FeatureId> ids;
+            try (FeatureIterator<SimpleFeature> features = featureCollection.features()) {
+                ids = bulkLoad(DataUtilities.iterator(features));
+            }
+            if (ids != null) {
+                return ids;
+            }
+        }
+        // bulk loading disabled or not possible
+        return super.addFeatures(featureCollection);
+    }
+
+    /** Adds the features in bulk like {@link #addFeatures(FeatureCollection)} does, when possible. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<FeatureId> addFeatures(Collection collection) throws IOException {
+        if (getDataStore().isBulkLoadEnabled()) {
+            List<FeatureId> ids = bulkLoad(((Collection<SimpleFeature>) collection).iterator());
+            if (ids != null) {
+                return ids;
+            }
+        }
+        // bulk loading disabled or not possible
+        return super.addFeatures(collection);
+    }
+
+    /**
+     * Adds the features with the dialect {@link BulkLoader}, the feature added events being fired once the load is
+     * complete. Returns <code>null</code> if a bulk load is not possible.
+     */
+    private List<FeatureId> bulkLoad(Iterator<SimpleFeature> features) throws IOException {
+        @SuppressWarnings("PMD.CloseResource") // transaction closing managed elsewhere
+        Transaction tx = getState().getTransaction();
+        Connection cx = null;
+        try {
+            cx = getDataStore().getConnection(tx);
+            ContentState state = getEntry().getState(transaction);
+            Consumer<SimpleFeature> listener = null;
+            if (state.hasListener()) {
+                listener = f -> state.fireFeatureAdded(delegate, f);
+            }
+            return getDataStore().bulkLoad(getSchema(), features, listener, cx);
+        } finally {
+            if (tx == null || tx == Transaction.AUTO_COMMIT) {
+                getDataStore().closeSafe(cx);
+            }
+        }
+    }
+
     @Override
     public void modifyFeatures(Name[] names, Object[] values, Filter filter) throws IOException {
 
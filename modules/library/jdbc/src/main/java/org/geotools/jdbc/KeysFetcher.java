@@ -24,15 +24,18 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.logging.Level;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
@@ -62,6 +65,23 @@ public static KeysFetcher create(JDBCDataStore ds, Connection cx, boolean useExi
         }
     }
 
+    /**
+     * Creates a fetcher computing all the key values before the insert, as required by bulk loads. Sequence values,
+     * including the ones backing auto generated columns, can be allocated several at once with {@link #reserve}.
+     * Returns <code>null</code> if some key values can only be known after the insert.
+     */
+    public static KeysFetcher createPreInsert(JDBCDataStore ds, Connection cx, PrimaryKey key)
+            throws SQLException, IOException {
+        KeysFetcher fetcher = new FromDB(ds, cx, key, true);
+        return fetcher.isPostInsert() ? null : fetcher;
+    }
+
+    /**
+     * Allocates at once the sequence values of the next <code>count</code> calls to {@link #getNextValues}, when
+     * supported. Does nothing by default.
+     */
+    public void reserve(Connection cx, int count) throws IOException, SQLException {}
+
     /** Set all the key values (the ones that are known before insert) for a prepared statement. */
     public int setKeyValues(
             PreparedStatementSQLDialect dialect,
@@ -211,13 +231,40 @@ private static class FromDB extends KeysFetcher {
         private final List<KeyFetcher> fetchers;
 
         public FromDB(JDBCDataStore ds, Connection cx, PrimaryKey key) throws SQLException, IOException {
+            this(ds, cx, key, false);
+        }
+
+        /** @param preInsert When true, the sequence values are allocated before the insert, see {@link #reserve} */
+        public FromDB(JDBCDataStore ds, Connection cx, PrimaryKey key, boolean preInsert)
+                throws SQLException, IOException {
             super(key);
             fetchers = new ArrayList<>(key.getColumns().size());
             for (PrimaryKeyColumn col : key.getColumns()) {
-                fetchers.add(createKeyFetcher(ds, cx, key, col));
+                KeyFetcher fetcher = preInsert ? createReservingFetcher(ds, cx, key, col) : null;
+                fetchers.add(fetcher != null ? fetcher : createKeyFetcher(ds, cx, key, col));
             }
         }
 
+        /**
+         * Returns a fetcher allocating the values of sequenced and auto generated columns before the insert, or null
+         * if the column is not backed by a sequence
+         */
+        private KeyFetcher createReservingFetcher(
+                JDBCDataStore ds, Connection cx, PrimaryKey key, PrimaryKeyColumn col) {
+            String sequenceName = null;
+            if (col instanceof SequencedPrimaryKeyColumn column) {
+                sequenceName = column.getSequenceName();
+            } else if (col instanceof AutoGeneratedPrimaryKeyColumn) {
+                try {
+                    sequenceName = ds.getSQLDialect()
+                            .getSequenceForColumn(ds.getDatabaseSchema(), key.getTableName(), col.getName(), cx);
+                } catch (SQLException e) {
+                    ds.getLogger().log(Level.FINE, "Could not determine the sequence backing " + col.getName(), e);
+                }
+            }
+            return sequenceName != null ? new FromReservedSequence(ds, col, sequenceName) : null;
+        }
+
         private KeyFetcher createKeyFetcher(JDBCDataStore ds, Connection cx, PrimaryKey key, PrimaryKeyColumn col)
                 throws SQLException, IOException {
             final Class t = col.getType();
@@ -315,6 +362,15 @@ private List<Object> getLastValues(Connection cx, Statement st) throws SQLExcept
             return last;
         }
 
+        @Override
+        public void reserve(Connection cx, int count) throws IOException, SQLException {
+            for (KeyFetcher fetcher : fetchers) {
+                if (fetcher instanceof FromReservedSequence sequence) {
+                    sequence.reserve(cx, count);
+                }
+            }
+        }
+
         @Override
         public List<Object> getNextValues(Connection cx, SimpleFeature feature) throws IOException, SQLException {
             List<Object> ret = new ArrayList<>(fetchers.size());
@@ -576,4 +632,49 @@ public Object getNext(Connection cx) throws IOException, SQLException {
             }
         }
     }
+
+    /**
+     * Allocates the values of a sequence before the insert, several at once when the number of rows is known. Values
+     * are reserved only for rows about to be inserted, so that none is lost when the load completes.
+     */
+    private static class FromReservedSequence extends KeyFetcher {
+        private final JDBCDataStore ds;
+
+        private final String sequenceName;
+
+        private final Deque<Object> values = new ArrayDeque<>();
+
+        public FromReservedSequence(JDBCDataStore ds, PrimaryKeyColumn col, String sequenceName) {
+            super(ds, col);
+            this.ds = ds;
+            this.sequenceName = sequenceName;
+        }
+
+        /** Makes sure the next <code>count</code> values are allocated */
+        void reserve(Connection cx, int count) throws IOException, SQLException {
+            int missing = count - values.size();
+            if (missing > 0) {
+                values.addAll(
+                        ds.getSQLDialect().getNextSequenceValues(ds.getDatabaseSchema(), sequenceName, missing, cx));
+            }
+        }
+
+        @Override
+        public Object getLastValue(Connection cx, Statement st) {
+            throw new IllegalArgumentException("Column " + col.getName() + " is not generated.");
+        }
+
+        @Override
+        public boolean isPostInsert() {
+            return false;
+        }
+
+        @Override
+        public Object getNext(Connection cx) throws IOException, SQLException {
+            if (values.isEmpty()) {
+                reserve(cx, 1);
+            }
+            return values.poll();
+        }
+    }
 }
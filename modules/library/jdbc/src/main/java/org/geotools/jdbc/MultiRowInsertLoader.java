@@ -0,0 +1,194 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.feature.type.GeometryDescriptor;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * Bulk loader sending the rows with multi-row <code>INSERT INTO ... VALUES (...), (...), ...</code> statements, used
+ * by the prepared statement dialects that report {@link PreparedStatementSQLDialect#isMultiRowInsertSupported()}.
+ * Each statement carries at most {@link #MAX_ROWS} rows and {@link #MAX_PARAMETERS} parameters, limits accepted by
+ * all the databases supporting the syntax.
+ */
+class MultiRowInsertLoader implements BulkLoader {
+
+    static final Logger LOGGER = Logging.getLogger(MultiRowInsertLoader.class);
+
+    static final int MAX_ROWS = 1000;
+
+    static final int MAX_PARAMETERS = 999;
+
+    private final JDBCDataStore dataStore;
+
+    private final PreparedStatementSQLDialect dialect;
+
+    private final SimpleFeatureType featureType;
+
+    private final List<AttributeDescriptor> columns;
+
+    private final Connection cx;
+
+    private final String insertPrefix;
+
+    private final int rowsPerStatement;
+
+    private final List<Object[]> rows = new ArrayList<>();
+
+    /** The number of rows of the current statement */
+    private int statementRows;
+
+    private PreparedStatement ps;
+
+    MultiRowInsertLoader(
+            JDBCDataStore dataStore,
+            PreparedStatementSQLDialect dialect,
+            SimpleFeatureType featureType,
+            List<AttributeDescriptor> columns,
+            Connection cx)
+            throws SQLException {
+        this.dataStore = dataStore;
+        this.dialect = dialect;
+        this.featureType = featureType;
+        this.columns = columns;
+        this.cx = cx;
+        this.rowsPerStatement = Math.max(1, Math.min(MAX_ROWS, MAX_PARAMETERS / Math.max(1, columns.size())));
+
+        StringBuffer sql = new StringBuffer("INSERT INTO ");
+        dataStore.encodeTableName(featureType.getTypeName(), sql, null);
+        sql.append(" ( ");
+        for (AttributeDescriptor column : columns) {
+            dialect.encodeColumnName(null, column.getLocalName(), sql);
+            sql.append(",");
+        }
+        sql.setLength(sql.length() - 1);
+        sql.append(" ) VALUES ");
+        this.insertPrefix = sql.toString();
+    }
+
+    @Override
+    public void add(Object[] values) throws IOException, SQLException {
+        rows.add(values);
+        if (rows.size() >= rowsPerStatement) {
+            flush();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException, SQLException {
+        flush();
+    }
+
+    private void flush() throws IOException, SQLException {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        // all statements but the last one have the same number of rows
+        if (rows.size() != statementRows) {
+            dataStore.closeSafe(ps);
+            ps = null;
+            String sql = buildSQL(rows.size());
+            LOGGER.log(Level.FINE, "Bulk inserting features with ps: {0}", sql);
+            ps = cx.prepareStatement(sql);
+            statementRows = rows.size();
+        }
+
+        int i = 1;
+        for (Object[] row : rows) {
+            for (int c = 0; c < row.length; c++) {
+                setValue(columns.get(c), row[c], i++);
+            }
+        }
+        dialect.onInsert(ps, cx, featureType);
+        int inserted = ps.executeUpdate();
+        if (inserted != rows.size()) {
+            throw new IOException("Failed to insert some features, expected " + rows.size() + " but got " + inserted);
+        }
+        ps.clearParameters();
+        rows.clear();
+    }
+
+    /**
+     * Builds the statement inserting the given number of rows. The geometry placeholders are prepared for the column
+     * binding, null geometries being passed through the same placeholder.
+     */
+    @SuppressWarnings("unchecked")
+    private String buildSQL(int rowCount) {
+        StringBuffer values = new StringBuffer("(");
+        for (AttributeDescriptor column : columns) {
+            if (column instanceof GeometryDescriptor) {
+                Class<?> binding = column.getType().getBinding();
+                dialect.prepareGeometryValue(
+                        (Class<? extends Geometry>) binding,
+                        dataStore.getDescriptorDimension(column),
+                        dataStore.getDescriptorSRID(column),
+                        binding,
+                        values);
+            } else {
+                values.append("?");
+            }
+            values.append(",");
+        }
+        values.setLength(values.length() - 1);
+        values.append(")");
+
+        StringBuffer sql = new StringBuffer(insertPrefix);
+        for (int i = 0; i < rowCount; i++) {
+            if (i > 0) {
+                sql.append(",");
+            }
+            sql.append(values);
+        }
+        return sql.toString();
+    }
+
+    private void setValue(AttributeDescriptor column, Object value, int i) throws IOException, SQLException {
+        Class<?> binding = column.getType().getBinding();
+        if (column instanceof GeometryDescriptor) {
+            Geometry g = (Geometry) value;
+            int srid = g != null && g.getSRID() > 0 ? g.getSRID() : dataStore.getDescriptorSRID(column);
+            int dimension = dataStore.getGeometryDimension(g, column);
+            dialect.setGeometryValue(g, dimension, srid, binding, ps, i);
+        } else if (dialect.isArray(column)) {
+            dialect.setArrayValue(value, column, ps, i, cx);
+        } else {
+            if (column.getUserData().get(JDBCDataStore.JDBC_ENUM_MAP) != null) {
+                binding = Integer.class;
+            }
+            dialect.setValue(value, binding, column, ps, i, cx);
+        }
+    }
+
+    @Override
+    public void close() throws SQLException {
+        rows.clear();
+        dataStore.closeSafe(ps);
+        ps = null;
+    }
+}
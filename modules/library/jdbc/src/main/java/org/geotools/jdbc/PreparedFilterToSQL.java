@@ -74,27 +74,13 @@ public PreparedFilterToSQL(Writer out) {
     public Object visit(Literal expression, Object context) throws RuntimeException {
         if (!prepareEnabled) return super.visit(expression, context);
 
-        Class clazz = getTargetClassFromContext(context);
-
-        // evaluate the literal and store it for later
-        Object literalValue = evaluateLiteral(expression, clazz);
-
-        // bbox filters have a right side expression that's a ReferencedEnvelope,
-        // but SQL dialects use/want polygons instead
-        if (literalValue instanceof Envelope envelope && convertEnvelopeToPolygon()) {
-            clazz = Polygon.class;
-            literalValue = JTS.toGeometry(envelope);
-        }
-
-        if (clazz == null && literalValue != null) {
-            clazz = literalValue.getClass();
-        }
-
-        literalValues.add(literalValue);
-        SRIDs.add(currentSRID);
-        dimensions.add(currentDimension);
-        descriptors.add(context instanceof AttributeDescriptor ad ? ad : null);
-        literalTypes.add(clazz);
+        Object literalValue = addLiteral(
+                expression,
+                getTargetClassFromContext(context),
+                currentSRID,
+                currentDimension,
+                context instanceof AttributeDescriptor ad ? ad : null);
+        Class clazz = literalTypes.get(literalTypes.size() - 1);
 
         try {
             if (literalValue == null || dialect == null) {
@@ -119,6 +105,47 @@ public Object visit(Literal expression, Object context) throws RuntimeException
         return context;
     }
 
+    /**
+     * Evaluates the literal against the target class, and stores its value for later usage in the prepared statement
+     *
+     * @return The literal value
+     */
+    Object addLiteral(
+            Literal expression, Class target, Integer srid, Integer dimension, AttributeDescriptor descriptor) {
+        Literal source = expression;
+        if (expression instanceof TemplateLiteral template) {
+            // the value goes in the prepared statement, the SQL won't depend on it
+            source = template.record(literalValues.size(), target);
+        }
+        Class clazz = target;
+
+        // evaluate the literal and store it for later
+        Object literalValue = evaluateLiteral(source, clazz);
+
+        // bbox filters have a right side expression that's a ReferencedEnvelope,
+        // but SQL dialects use/want polygons instead
+        if (literalValue instanceof Envelope envelope && convertEnvelopeToPolygon()) {
+            clazz = Polygon.class;
+            literalValue = JTS.toGeometry(envelope);
+        }
+
+        if (clazz == null && literalValue != null) {
+            clazz = literalValue.getClass();
+        }
+
+        addValue(literalValue, clazz, srid, dimension, descriptor);
+        return literalValue;
+    }
+
+    /** Stores a value for later usage in the prepared statement */
+    void addValue(Object value, Class type, Integer srid, Integer dimension, AttributeDescriptor descriptor) {
+        literalValues.add(value);
+        SRIDs.add(srid);
+        dimensions.add(dimension);
+        descriptors.add(descriptor);
+        literalTypes.add(type);
+    }
+
     /**
      * When returning true, the {@link Literal} visit will turn {@link Envelope} objects (typically coming from
      * {@link org.geotools.api.filter.spatial.BBOX} filters) into {@link Polygon}. Defaults to true, subclasses can
@@ -18,6 +18,7 @@
 
 import static java.lang.reflect.Array.getLength;
 
+import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigDecimal;
 import java.sql.Array;
@@ -334,6 +335,24 @@ public void onDelete(PreparedStatement delete, Connection cx, SimpleFeatureType
      */
     public void onInsert(PreparedStatement insert, Connection cx, SimpleFeatureType featureType) throws SQLException {}
 
+    /**
+     * Returns true if the database supports inserting several rows with a single <code>INSERT INTO ... VALUES (...),
+     * (...)</code> statement, in which case {@link #createBulkLoader(SimpleFeatureType, List, Connection)} returns a
+     * loader using them. Defaults to false, subclasses should override as appropriate.
+     */
+    public boolean isMultiRowInsertSupported() {
+        return false;
+    }
+
+    @Override
+    public BulkLoader createBulkLoader(SimpleFeatureType featureType, List<AttributeDescriptor> columns, Connection cx)
+            throws SQLException, IOException {
+        if (isMultiRowInsertSupported()) {
+            return new MultiRowInsertLoader(dataStore, this, featureType, columns, cx);
+        }
+        return null;
+    }
+
     /**
      * Callback invoked before an UPDATE statement is executed against the database.
      *
@@ -346,6 +365,16 @@ public void onInsert(PreparedStatement insert, Connection cx, SimpleFeatureType
      */
     public void onUpdate(PreparedStatement update, Connection cx, SimpleFeatureType featureType) throws SQLException {}
 
+    /**
+     * Returns true if the SQL generated for select queries can be cached by {@link SQLTemplateCache}, and reused for
+     * queries differing only in the values of the filter literals. Defaults to true, dialects whose filter encoding
+     * depends on the literal values in ways the cache cannot track (e.g., reading them out of a filter in their own
+     * representation) should override and return false.
+     */
+    public boolean isSQLTemplateCacheSupported() {
+        return true;
+    }
+
     /**
      * Indicates whether this dialect supports retrieving generated keys after batch execution.
      *
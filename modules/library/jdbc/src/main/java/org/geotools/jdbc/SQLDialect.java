@@ -1052,6 +1052,32 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    /**
+     * Obtains the next <code>count</code> values of a sequence, used to compute the primary key values of bulk loads
+     * before the insert.
+     *
+     * <p>The default implementation calls {@link #getNextSequenceValue(String, String, Connection)} repeatedly,
+     * subclasses should override to get all the values with a single query.
+     *
+     * @param schemaName The schema name, this might be <code>null</code>.
+     * @param sequenceName The name of the sequence.
+     * @param count The number of values to get
+     * @param cx The database connection.
+     * @return The next values of the sequence
+     */
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Object value = getNextSequenceValue(schemaName, sequenceName, cx);
+            if (value == null) {
+                throw new SQLException("Could not get the next value of sequence " + sequenceName);
+            }
+            values.add(value);
+        }
+        return values;
+    }
+
     /**
      * Encodes how to get the next sequence value from the DB.
      *
@@ -1074,11 +1100,50 @@ public boolean isAggregatedSortSupported(String function) {
         return false;
     }
 
+    /**
+     * Creates a loader writing rows in bulk into the table backing the feature type, used by
+     * {@link JDBCFeatureStore#addFeatures} to avoid a round trip per feature.
+     *
+     * <p>The default implementation returns <code>null</code>, meaning the dialect has no bulk loading support, in
+     * which case the features are inserted using the feature writers.
+     *
+     * @param featureType The feature type the rows belong to
+     * @param columns The columns of the rows, the attributes to insert followed by the primary key columns
+     * @param cx The database connection, which should not be closed by the loader
+     * @return The loader, or <code>null</code> if the dialect cannot bulk load the rows
+     */
+    public BulkLoader createBulkLoader(SimpleFeatureType featureType, List<AttributeDescriptor> columns, Connection cx)
+            throws SQLException, IOException {
+        return null;
+    }
+
     /** Returns true if this dialect supports group by clause. */
     public boolean isGroupBySupported() {
         return true;
     }
 
+    /**
+     * Returns true if this dialect supports the SQL standard window functions, in particular
+     * <code>ntile(n) OVER (ORDER BY ...)</code>, used to compute quantile classifications in the database. Defaults to
+     * false, subclasses should override as appropriate.
+     */
+    public boolean isWindowFunctionSupported() {
+        return false;
+    }
+
+    /**
+     * Encodes a condition that holds when the value of a floating point expression is neither NaN nor infinite, used to
+     * leave such values out of the quantile classifications computed in the database, as the in memory ones do.
+     * Returns false if the condition cannot be encoded, the default, in which case the classifications of floating
+     * point values are computed in memory.
+     *
+     * @param expression The encoded expression
+     * @param sql The buffer to append the condition to
+     */
+    public boolean encodeFiniteValueCheck(String expression, StringBuffer sql) {
+        return false;
+    }
+
     /**
      * Alters the query provided so that limit and offset are natively dealt with. This might mean simply appending some
      * extra directive to the query, or wrapping it into a bigger one.
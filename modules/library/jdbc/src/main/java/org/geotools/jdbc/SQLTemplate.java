@@ -0,0 +1,258 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.util.logging.Logging;
+
+/**
+ * The SQL generated for a select query, along with the recipe to bind the literal values of another query with the
+ * same {@link SQLTemplateCache.Key} to its prepared statement parameters.
+ */
+class SQLTemplate {
+
+    static final Logger LOGGER = Logging.getLogger(SQLTemplate.class);
+
+    /** A prepared statement parameter, either bound to a query literal, or a constant */
+    static class Parameter {
+
+        /** The index of the literal among the key ones, or -1 for constants */
+        final int literal;
+
+        /** The class the literal is evaluated against */
+        final Class<?> target;
+
+        /** The class of the parameter, as computed by {@link PreparedFilterToSQL} */
+        final Class<?> type;
+
+        /** The class of the value the SQL has been generated for, null if the value was null */
+        final Class<?> valueClass;
+
+        final Integer srid;
+
+        final Integer dimension;
+
+        final AttributeDescriptor descriptor;
+
+        /** The value of constants */
+        final Object value;
+
+        Parameter(
+                int literal,
+                Class<?> target,
+                Class<?> type,
+                Object value,
+                Integer srid,
+                Integer dimension,
+                AttributeDescriptor descriptor) {
+            this.literal = literal;
+            this.target = target;
+            this.type = type;
+            this.valueClass = value != null ? value.getClass() : null;
+            this.srid = srid;
+            this.dimension = dimension;
+            this.descriptor = descriptor;
+            this.value = literal < 0 ? value : null;
+        }
+    }
+
+    /**
+     * Tracks the encoding of a query filter, recording which prepared statement parameters each literal is bound to,
+     * and which literals had their value accessed by the encoder in other ways
+     */
+    static class Recorder {
+
+        private final SQLTemplateCache.Key key;
+
+        private final boolean[] exposed;
+
+        private final Map<Integer, Integer> bindings = new HashMap<>();
+
+        private final Map<Integer, Class<?>> targets = new HashMap<>();
+
+        private final Filter filter;
+
+        private boolean broken;
+
+        private boolean recording;
+
+        Recorder(SQLTemplateCache.Key key) {
+            this.key = key;
+            this.exposed = new boolean[key.literals.size()];
+            TemplateFilterBuilder builder = new TemplateFilterBuilder();
+            Filter copy;
+            try {
+                copy = (Filter) key.filter.accept(builder, null);
+            } catch (RuntimeException e) {
+                // some function could not be copied, encode the original filter and skip caching
+                LOGGER.log(Level.FINE, "Could not copy the query filter, its SQL won't be cached", e);
+                copy = null;
+            }
+            if (copy == null || builder.index != key.literals.size()) {
+                broken = true;
+                copy = key.filter;
+            }
+            this.filter = copy;
+        }
+
+        /** Returns a copy of the query filter with the literals wrapped, to be encoded between start and stop */
+        Filter getFilter() {
+            return filter;
+        }
+
+        void start() {
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        void record(int literal, int parameter, Class<?> target) {
+            if (recording) {
+                bindings.put(parameter, literal);
+                targets.put(parameter, target);
+            }
+        }
+
+        void expose(int literal) {
+            if (recording) {
+                exposed[literal] = true;
+            }
+        }
+
+        /** Builds the template, or returns null if the encoding could not be tracked */
+        SQLTemplate build(String sql, PreparedFilterToSQL toSQL) {
+            if (broken) {
+                return null;
+            }
+            // a literal neither bound nor accessed has been replaced while copying the filter (e.g., a bbox
+            // turned into a 3D one), its value might have been encoded without going through the wrapper
+            for (int i = 0; i < exposed.length; i++) {
+                if (!exposed[i] && !bindings.containsValue(i)) {
+                    return null;
+                }
+            }
+            List<Parameter> parameters = new ArrayList<>();
+            if (toSQL != null) {
+                List<Object> values = toSQL.getLiteralValues();
+                for (int i = 0; i < values.size(); i++) {
+                    Integer binding = bindings.get(i);
+                    parameters.add(new Parameter(
+                            binding != null ? binding : -1,
+                            targets.get(i),
+                            toSQL.getLiteralTypes().get(i),
+                            values.get(i),
+                            toSQL.getSRIDs().get(i),
+                            toSQL.getDimensions().get(i),
+                            toSQL.getDescriptors().get(i)));
+                }
+            }
+            List<Integer> pinned = new ArrayList<>();
+            for (int i = 0; i < exposed.length; i++) {
+                if (exposed[i]) {
+                    pinned.add(i);
+                }
+            }
+            Object[] pinnedValues = new Object[pinned.size()];
+            for (int i = 0; i < pinnedValues.length; i++) {
+                pinnedValues[i] = key.literals.get(pinned.get(i)).getValue();
+            }
+            return new SQLTemplate(
+                    sql,
+                    parameters.toArray(new Parameter[parameters.size()]),
+                    pinned.stream().mapToInt(i -> i).toArray(),
+                    pinnedValues);
+        }
+
+        /** Copies the filter wrapping the literals, in the same order they have been collected in the key */
+        private class TemplateFilterBuilder extends DuplicatingFilterVisitor {
+
+            int index = 0;
+
+            @Override
+            public Object visit(Literal expression, Object extraData) {
+                int i = index++;
+                if (i >= key.literals.size() || key.literals.get(i) != expression) {
+                    broken = true;
+                    return super.visit(expression, extraData);
+                }
+                return new TemplateLiteral(expression, i, Recorder.this);
+            }
+        }
+    }
+
+    private final String sql;
+
+    private final Parameter[] parameters;
+
+    private final int[] pinned;
+
+    private final Object[] pinnedValues;
+
+    SQLTemplate(String sql, Parameter[] parameters, int[] pinned, Object[] pinnedValues) {
+        this.sql = sql;
+        this.parameters = parameters;
+        this.pinned = pinned;
+        this.pinnedValues = pinnedValues;
+    }
+
+    /** The generated SQL */
+    String getSQL() {
+        return sql;
+    }
+
+    /** Returns true if the literals the SQL depends on have the same values as the ones of the template */
+    boolean matches(List<Literal> literals) {
+        for (int i = 0; i < pinned.length; i++) {
+            if (!Objects.equals(literals.get(pinned[i]).getValue(), pinnedValues[i])) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Binds the literal values to the prepared statement parameters, returns false if the values do not evaluate to the
+     * same classes the SQL has been generated for
+     */
+    boolean bind(List<Literal> literals, PreparedFilterToSQL toSQL) {
+        for (Parameter p : parameters) {
+            if (p.literal < 0) {
+                toSQL.addValue(p.value, p.type, p.srid, p.dimension, p.descriptor);
+            } else {
+                Object value = toSQL.addLiteral(literals.get(p.literal), p.target, p.srid, p.dimension, p.descriptor);
+                List<Class> types = toSQL.getLiteralTypes();
+                if (!Objects.equals(types.get(types.size() - 1), p.type)
+                        || !Objects.equals(value != null ? value.getClass() : null, p.valueClass)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+}
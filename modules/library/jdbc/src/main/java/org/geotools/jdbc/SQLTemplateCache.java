@@ -0,0 +1,300 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.sort.SortBy;
+import org.geotools.util.factory.Hints;
+
+/**
+ * Caches the SQL of the select queries run by a {@link JDBCDataStore} against a prepared statement dialect, so that
+ * queries differing only in the values of their filter literals skip the SQL generation, and just bind the new values
+ * to the prepared statement.
+ *
+ * <p>The templates are keyed by the query shape: the feature type, the returned attributes, the filter structure
+ * (including the class, but not the value, of the literals), the sorting, the paging and the query hints. The keys do
+ * not reference the query filter or its literals. Queries having hints whose values do not implement value equality
+ * bypass the cache, as each of them would add a template used only once. Generating the same SQL for the same shape
+ * also allows the connection pool statement cache (see {@link JDBCDataStoreFactory#MAX_OPEN_PREPARED_STATEMENTS}) to
+ * reuse the prepared statements.
+ *
+ * <p>Some filter encodings depend on the literal values (e.g., an empty geometry encoded as a constant condition), the
+ * literals whose value is accessed while generating the SQL, rather than bound as a parameter, are recognized and the
+ * template is used only for queries having the same values for them.
+ *
+ * <p>The cache is disabled by default, it is enabled for a single store with
+ * {@link JDBCDataStore#setSQLTemplateCache(SQLTemplateCache)}. Dialects can opt out with
+ * {@link PreparedStatementSQLDialect#isSQLTemplateCacheSupported()}.
+ */
+public class SQLTemplateCache {
+
+    /** The default number of templates kept in the cache */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /** Hints consumed when reading the results, that do not affect the SQL and usually have no value equality */
+    static final List<Hints.Key> READER_HINTS = List.of(
+            Hints.SCREENMAP, Hints.JTS_GEOMETRY_FACTORY, Hints.JTS_COORDINATE_SEQUENCE_FACTORY, Hints.FEATURE_FACTORY);
+
+    /** The query shape, the key of the cached templates */
+    static class Shape {
+
+        final SimpleFeatureType schema;
+
+        final String text;
+
+        final Map<Object, Object> hints;
+
+        Shape(SimpleFeatureType schema, String text, Map<Object, Object> hints) {
+            this.schema = schema;
+            this.text = text;
+            this.hints = hints;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Shape)) return false;
+            Shape other = (Shape) obj;
+            // the schema is rebuilt when the store entry is reset, identity is enough
+            return schema == other.schema && text.equals(other.text) && hints.equals(other.hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(schema), text, hints);
+        }
+    }
+
+    /** The query shape, with the literals the values will be taken from */
+    static class Key {
+
+        final Shape shape;
+
+        final Filter filter;
+
+        final List<Literal> literals;
+
+        Key(Shape shape, Filter filter, List<Literal> literals) {
+            this.shape = shape;
+            this.filter = filter;
+            this.literals = literals;
+        }
+    }
+
+    private final Map<Shape, SQLTemplate> templates = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Shape, SQLTemplate> eldest) {
+            return size() > maxSize;
+        }
+    };
+
+    private volatile int maxSize;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    private final AtomicLong bypasses = new AtomicLong();
+
+    /** Builds a cache holding at most {@link #DEFAULT_MAX_SIZE} templates */
+    public SQLTemplateCache() {
+        this(DEFAULT_MAX_SIZE);
+    }
+
+    /** Builds a cache holding at most the specified number of templates */
+    public SQLTemplateCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive, was " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Builds the key for a select query, or returns null if the query filter cannot be templated
+     *
+     * @param schema The full feature type, as cached by the store
+     * @param featureType The feature type returned by the query
+     * @param query The query
+     */
+    Key createKey(SimpleFeatureType schema, SimpleFeatureType featureType, Query query) {
+        Filter filter = query.getFilter() != null ? query.getFilter() : Filter.INCLUDE;
+        SQLTemplateKeyBuilder builder = new SQLTemplateKeyBuilder();
+        StringBuilder shape = builder.shape;
+        shape.append(featureType.getTypeName()).append('[');
+        for (AttributeDescriptor ad : featureType.getAttributeDescriptors()) {
+            shape.append(ad.getLocalName()).append(',');
+        }
+        shape.append("] WHERE ");
+        filter.accept(builder, null);
+        if (!builder.supported) {
+            bypasses.incrementAndGet();
+            return null;
+        }
+        SortBy[] sortBy = query.getSortBy();
+        if (sortBy != null) {
+            shape.append(" ORDER BY ");
+            for (SortBy sort : sortBy) {
+                shape.append(
+                                sort.getPropertyName() != null
+                                        ? sort.getPropertyName().getPropertyName()
+                                        : "")
+                        .append(' ')
+                        .append(sort.getSortOrder())
+                        .append(',');
+            }
+        }
+        shape.append(" OFFSET ").append(query.getStartIndex()).append(" LIMIT ").append(query.getMaxFeatures());
+
+        Map<Object, Object> hints = new HashMap<>();
+        if (query.getHints() != null) {
+            hints.putAll(query.getHints());
+            READER_HINTS.forEach(hints::remove);
+            for (Object value : hints.values()) {
+                if (!hasValueEquality(value)) {
+                    bypasses.incrementAndGet();
+                    return null;
+                }
+            }
+        }
+
+        return new Key(new Shape(schema, shape.toString(), hints), filter, builder.literals);
+    }
+
+    /** Returns true if the value is equal to the other instances holding the same content */
+    static boolean hasValueEquality(Object value) {
+        if (value == null
+                || value instanceof CharSequence
+                || value instanceof Number
+                || value instanceof Boolean
+                || value instanceof Character
+                || value instanceof Enum
+                || value instanceof Class) {
+            return true;
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.stream().allMatch(SQLTemplateCache::hasValueEquality);
+        }
+        if (value instanceof Map<?, ?> map) {
+            return map.entrySet().stream()
+                    .allMatch(e -> hasValueEquality(e.getKey()) && hasValueEquality(e.getValue()));
+        }
+        return false;
+    }
+
+    /**
+     * Looks up the template for the key, and binds the key literal values to the encoder
+     *
+     * @return The SQL of the template, or null if there is no usable template for the key
+     */
+    String bind(Key key, PreparedFilterToSQL toSQL) {
+        SQLTemplate template;
+        synchronized (templates) {
+            template = templates.get(key.shape);
+        }
+        if (template == null || !template.matches(key.literals) || !template.bind(key.literals, toSQL)) {
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return template.getSQL();
+    }
+
+    /** Stores the template for the key */
+    void put(Key key, SQLTemplate template) {
+        synchronized (templates) {
+            templates.put(key.shape, template);
+        }
+    }
+
+    /** Returns the number of queries whose SQL has been taken from the cache */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /** Returns the number of queries that had to generate their SQL */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /** Returns the number of queries whose filter cannot be templated, not counted as misses */
+    public long getBypasses() {
+        return bypasses.get();
+    }
+
+    /** Returns the number of templates currently cached */
+    public int getSize() {
+        synchronized (templates) {
+            return templates.size();
+        }
+    }
+
+    /** Returns the maximum number of templates kept in the cache */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** Sets the maximum number of templates kept in the cache, the least recently used ones are evicted first */
+    public void setMaxSize(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("The cache size must be positive, was " + maxSize);
+        }
+        synchronized (templates) {
+            this.maxSize = maxSize;
+            while (templates.size() > maxSize) {
+                templates.remove(templates.keySet().iterator().next());
+            }
+        }
+    }
+
+    /** Removes all the templates, without resetting the statistics */
+    public void clear() {
+        synchronized (templates) {
+            templates.clear();
+        }
+    }
+
+    /** Resets the hit, miss and bypass counters */
+    public void resetStatistics() {
+        hits.set(0);
+        misses.set(0);
+        bypasses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "SQLTemplateCache[size="
+                + getSize()
+                + ", hits="
+                + getHits()
+                + ", misses="
+                + getMisses()
+                + ", bypasses="
+                + getBypasses()
+                + "]";
+    }
+}
@@ -0,0 +1,483 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.geotools.api.filter.And;
+import org.geotools.api.filter.BinaryComparisonOperator;
+import org.geotools.api.filter.BinaryLogicOperator;
+import org.geotools.api.filter.ExcludeFilter;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterVisitor;
+import org.geotools.api.filter.Id;
+import org.geotools.api.filter.IncludeFilter;
+import org.geotools.api.filter.NativeFilter;
+import org.geotools.api.filter.Not;
+import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
+import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsGreaterThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.api.filter.PropertyIsLessThanOrEqualTo;
+import org.geotools.api.filter.PropertyIsLike;
+import org.geotools.api.filter.PropertyIsNil;
+import org.geotools.api.filter.PropertyIsNotEqualTo;
+import org.geotools.api.filter.PropertyIsNull;
+import org.geotools.api.filter.expression.Add;
+import org.geotools.api.filter.expression.BinaryExpression;
+import org.geotools.api.filter.expression.Divide;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.ExpressionVisitor;
+import org.geotools.api.filter.expression.Function;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.filter.expression.Multiply;
+import org.geotools.api.filter.expression.NilExpression;
+import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.filter.expression.Subtract;
+import org.geotools.api.filter.expression.VolatileFunction;
+import org.geotools.api.filter.identity.Identifier;
+import org.geotools.api.filter.identity.ResourceId;
+import org.geotools.api.filter.spatial.BBOX;
+import org.geotools.api.filter.spatial.BBOX3D;
+import org.geotools.api.filter.spatial.Beyond;
+import org.geotools.api.filter.spatial.BinarySpatialOperator;
+import org.geotools.api.filter.spatial.Contains;
+import org.geotools.api.filter.spatial.Crosses;
+import org.geotools.api.filter.spatial.DWithin;
+import org.geotools.api.filter.spatial.Disjoint;
+import org.geotools.api.filter.spatial.DistanceBufferOperator;
+import org.geotools.api.filter.spatial.Equals;
+import org.geotools.api.filter.spatial.Intersects;
+import org.geotools.api.filter.spatial.Overlaps;
+import org.geotools.api.filter.spatial.Touches;
+import org.geotools.api.filter.spatial.Within;
+import org.geotools.api.filter.temporal.After;
+import org.geotools.api.filter.temporal.AnyInteracts;
+import org.geotools.api.filter.temporal.Before;
+import org.geotools.api.filter.temporal.Begins;
+import org.geotools.api.filter.temporal.BegunBy;
+import org.geotools.api.filter.temporal.During;
+import org.geotools.api.filter.temporal.EndedBy;
+import org.geotools.api.filter.temporal.Ends;
+import org.geotools.api.filter.temporal.Meets;
+import org.geotools.api.filter.temporal.MetBy;
+import org.geotools.api.filter.temporal.OverlappedBy;
+import org.geotools.api.filter.temporal.TContains;
+import org.geotools.api.filter.temporal.TEquals;
+import org.geotools.api.filter.temporal.TOverlaps;
+
+/**
+ * Describes the shape of a filter, that is, everything in it but the values of the literals, which are collected in
+ * visit order instead. Filters using elements whose encoding cannot be tracked (temporal filters, native filters,
+ * volatile functions, 3D bounding boxes, ...) are reported as not supported.
+ */
+class SQLTemplateKeyBuilder implements FilterVisitor, ExpressionVisitor {
+
+    final StringBuilder shape = new StringBuilder();
+
+    final List<Literal> literals = new ArrayList<>();
+
+    boolean supported = true;
+
+    private Object unsupported() {
+        supported = false;
+        return null;
+    }
+
+    private void text(String text) {
+        if (text == null) {
+            shape.append('~');
+        } else {
+            shape.append(text.length()).append(':').append(text);
+        }
+    }
+
+    private void expression(Expression expression) {
+        if (expression == null) {
+            shape.append('~');
+        } else {
+            expression.accept(this, null);
+        }
+    }
+
+    private Object logic(String operator, BinaryLogicOperator filter) {
+        shape.append(operator).append('(');
+        for (Filter child : filter.getChildren()) {
+            if (child == null) {
+                return unsupported();
+            }
+            child.accept(this, null);
+            shape.append(',');
+        }
+        shape.append(')');
+        return null;
+    }
+
+    private Object comparison(String operator, BinaryComparisonOperator filter) {
+        shape.append(operator)
+                .append(filter.isMatchingCase() ? 'c' : 'i')
+                .append(filter.getMatchAction())
+                .append('(');
+        expression(filter.getExpression1());
+        shape.append(',');
+        expression(filter.getExpression2());
+        shape.append(')');
+        return null;
+    }
+
+    private Object spatial(String operator, BinarySpatialOperator filter) {
+        shape.append(operator).append(filter.getMatchAction()).append('(');
+        expression(filter.getExpression1());
+        shape.append(',');
+        expression(filter.getExpression2());
+        shape.append(')');
+        return null;
+    }
+
+    private Object distance(String operator, DistanceBufferOperator filter) {
+        shape.append(filter.getDistance());
+        text(filter.getDistanceUnits());
+        return spatial(operator, filter);
+    }
+
+    private Object math(char operator, BinaryExpression expression) {
+        shape.append(operator).append('(');
+        expression(expression.getExpression1());
+        shape.append(',');
+        expression(expression.getExpression2());
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visitNullFilter(Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(ExcludeFilter filter, Object extraData) {
+        shape.append("EXCLUDE");
+        return null;
+    }
+
+    @Override
+    public Object visit(IncludeFilter filter, Object extraData) {
+        shape.append("INCLUDE");
+        return null;
+    }
+
+    @Override
+    public Object visit(And filter, Object extraData) {
+        return logic("AND", filter);
+    }
+
+    @Override
+    public Object visit(Id filter, Object extraData) {
+        shape.append("ID(");
+        for (Identifier identifier : filter.getIdentifiers()) {
+            if (identifier instanceof ResourceId) {
+                return unsupported();
+            }
+            text(identifier.toString());
+        }
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(Not filter, Object extraData) {
+        if (filter.getFilter() == null) {
+            return unsupported();
+        }
+        shape.append("NOT(");
+        filter.getFilter().accept(this, null);
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(Or filter, Object extraData) {
+        return logic("OR", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsBetween filter, Object extraData) {
+        shape.append("BETWEEN").append(filter.getMatchAction()).append('(');
+        expression(filter.getExpression());
+        shape.append(',');
+        expression(filter.getLowerBoundary());
+        shape.append(',');
+        expression(filter.getUpperBoundary());
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(PropertyIsEqualTo filter, Object extraData) {
+        return comparison("=", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsNotEqualTo filter, Object extraData) {
+        return comparison("!=", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsGreaterThan filter, Object extraData) {
+        return comparison(">", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsGreaterThanOrEqualTo filter, Object extraData) {
+        return comparison(">=", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsLessThan filter, Object extraData) {
+        return comparison("<", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsLessThanOrEqualTo filter, Object extraData) {
+        return comparison("<=", filter);
+    }
+
+    @Override
+    public Object visit(PropertyIsLike filter, Object extraData) {
+        // the pattern is encoded in the SQL, it's part of the shape
+        shape.append("LIKE").append(filter.isMatchingCase() ? 'c' : 'i').append(filter.getMatchAction());
+        text(filter.getLiteral());
+        text(filter.getWildCard());
+        text(filter.getSingleChar());
+        text(filter.getEscape());
+        shape.append('(');
+        expression(filter.getExpression());
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(PropertyIsNull filter, Object extraData) {
+        shape.append("NULL(");
+        expression(filter.getExpression());
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(PropertyIsNil filter, Object extraData) {
+        shape.append("NIL");
+        text(filter.getNilReason() != null ? filter.getNilReason().toString() : null);
+        shape.append('(');
+        expression(filter.getExpression());
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(BBOX filter, Object extraData) {
+        if (filter instanceof BBOX3D) {
+            return unsupported();
+        }
+        return spatial("BBOX", filter);
+    }
+
+    @Override
+    public Object visit(Beyond filter, Object extraData) {
+        return distance("BEYOND", filter);
+    }
+
+    @Override
+    public Object visit(Contains filter, Object extraData) {
+        return spatial("CONTAINS", filter);
+    }
+
+    @Override
+    public Object visit(Crosses filter, Object extraData) {
+        return spatial("CROSSES", filter);
+    }
+
+    @Override
+    public Object visit(Disjoint filter, Object extraData) {
+        return spatial("DISJOINT", filter);
+    }
+
+    @Override
+    public Object visit(DWithin filter, Object extraData) {
+        return distance("DWITHIN", filter);
+    }
+
+    @Override
+    public Object visit(Equals filter, Object extraData) {
+        return spatial("EQUALS", filter);
+    }
+
+    @Override
+    public Object visit(Intersects filter, Object extraData) {
+        return spatial("INTERSECTS", filter);
+    }
+
+    @Override
+    public Object visit(Overlaps filter, Object extraData) {
+        return spatial("OVERLAPS", filter);
+    }
+
+    @Override
+    public Object visit(Touches filter, Object extraData) {
+        return spatial("TOUCHES", filter);
+    }
+
+    @Override
+    public Object visit(Within filter, Object extraData) {
+        return spatial("WITHIN", filter);
+    }
+
+    @Override
+    public Object visit(After after, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(AnyInteracts anyInteracts, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(Before before, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(Begins begins, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(BegunBy begunBy, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(During during, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(EndedBy endedBy, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(Ends ends, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(Meets meets, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(MetBy metBy, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(OverlappedBy overlappedBy, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(TContains contains, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(TEquals equals, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(TOverlaps contains, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(NativeFilter nativeFilter, Object extraData) {
+        return unsupported();
+    }
+
+    @Override
+    public Object visit(NilExpression expression, Object extraData) {
+        shape.append("nil");
+        return null;
+    }
+
+    @Override
+    public Object visit(Add expression, Object extraData) {
+        return math('+', expression);
+    }
+
+    @Override
+    public Object visit(Divide expression, Object extraData) {
+        return math('/', expression);
+    }
+
+    @Override
+    public Object visit(Function expression, Object extraData) {
+        if (expression instanceof VolatileFunction) {
+            return unsupported();
+        }
+        shape.append("fn");
+        text(expression.getName());
+        shape.append('(');
+        for (Expression parameter : expression.getParameters()) {
+            expression(parameter);
+            shape.append(',');
+        }
+        shape.append(')');
+        return null;
+    }
+
+    @Override
+    public Object visit(Literal expression, Object extraData) {
+        // the SQL can depend on the value class (e.g., geometry placeholders), but not on the value itself
+        Object value = expression.getValue();
+        shape.append('?').append(value != null ? value.getClass().getName() : "null");
+        literals.add(expression);
+        return null;
+    }
+
+    @Override
+    public Object visit(Multiply expression, Object extraData) {
+        return math('*', expression);
+    }
+
+    @Override
+    public Object visit(PropertyName expression, Object extraData) {
+        shape.append('p');
+        text(expression.getPropertyName());
+        return null;
+    }
+
+    @Override
+    public Object visit(Subtract expression, Object extraData) {
+        return math('-', expression);
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import org.geotools.api.filter.expression.ExpressionVisitor;
+import org.geotools.api.filter.expression.Literal;
+
+/**
+ * Literal wrapper used while encoding the filter of a {@link SQLTemplate}. The value is bound as a prepared statement
+ * parameter when the literal goes through {@link PreparedFilterToSQL#visit(Literal, Object)}, any other access to the
+ * value is reported to the recorder, as the generated SQL might depend on it.
+ */
+class TemplateLiteral implements Literal {
+
+    private final Literal delegate;
+
+    private final int index;
+
+    private final SQLTemplate.Recorder recorder;
+
+    TemplateLiteral(Literal delegate, int index, SQLTemplate.Recorder recorder) {
+        this.delegate = delegate;
+        this.index = index;
+        this.recorder = recorder;
+    }
+
+    /**
+     * Records the literal is bound to the given prepared statement parameter, evaluated against the target class, and
+     * returns the wrapped literal, whose value can be accessed without being reported
+     */
+    Literal record(int parameter, Class<?> target) {
+        recorder.record(index, parameter, target);
+        return delegate;
+    }
+
+    @Override
+    public Object getValue() {
+        recorder.expose(index);
+        return delegate.getValue();
+    }
+
+    @Override
+    public Object evaluate(Object object) {
+        recorder.expose(index);
+        return delegate.evaluate(object);
+    }
+
+    @Override
+    public <T> T evaluate(Object object, Class<T> context) {
+        recorder.expose(index);
+        return delegate.evaluate(object, context);
+    }
+
+    @Override
+    public Object accept(ExpressionVisitor visitor, Object extraData) {
+        return visitor.visit(this, extraData);
+    }
+
+    @Override
+    public String toString() {
+        recorder.expose(index);
+        return delegate.toString();
+    }
+}
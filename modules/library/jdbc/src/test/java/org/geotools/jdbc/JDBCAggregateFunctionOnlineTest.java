@@ -40,11 +40,13 @@
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.visitor.AverageVisitor;
+import org.geotools.feature.visitor.BoundsVisitor;
 import org.geotools.feature.visitor.GroupByVisitor;
 import org.geotools.feature.visitor.GroupByVisitorBuilder;
 import org.geotools.feature.visitor.MaxVisitor;
 import org.geotools.feature.visitor.MinVisitor;
 import org.geotools.feature.visitor.NearestVisitor;
+import org.geotools.feature.visitor.QuantileListVisitor;
 import org.geotools.feature.visitor.StandardDeviationVisitor;
 import org.geotools.feature.visitor.SumAreaVisitor;
 import org.geotools.feature.visitor.SumVisitor;
@@ -53,6 +55,7 @@
 import org.geotools.filter.IllegalFilterException;
 import org.geotools.filter.SortByImpl;
 import org.geotools.filter.function.FilterFunction_area;
+import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.Converters;
 import org.junit.Before;
 import org.junit.Test;
@@ -686,6 +689,70 @@ public void testStandardDeviationWithLimitOffset() throws Exception {
         assertEquals(0.55, v.getResult().toDouble(), 0.01);
     }
 
+    @Test
+    public void testStandardDeviationMean() throws Exception {
+        FilterFactory ff = dataStore.getFilterFactory();
+        PropertyName p = ff.property(aname("doubleProperty"));
+
+        // the standard deviation classification needs the mean too
+        MyStandardDeviationVisitor v = new MyStandardDeviationVisitor(p);
+        dataStore.getFeatureSource(tname("ft1")).accepts(Query.ALL, v, null);
+        assertFalse(visited);
+        assertEquals(0.89, v.getResult().toDouble(), 0.01);
+        assertEquals(1.1, v.getMean(), 0.01);
+    }
+
+    class MyQuantileListVisitor extends QuantileListVisitor {
+
+        public MyQuantileListVisitor(Expression expr, int bins) {
+            super(expr, bins);
+        }
+
+        @Override
+        public void visit(Feature feature) {
+            super.visit(feature);
+            visited = true;
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testQuantile() throws Exception {
+        FilterFactory ff = dataStore.getFilterFactory();
+        PropertyName p = ff.property(aname("intProperty"));
+
+        MyQuantileListVisitor v = new MyQuantileListVisitor(p, 2);
+        dataStore.getFeatureSource(tname("ft1")).accepts(Query.ALL, v, null);
+        assertEquals(!dataStore.getSQLDialect().isWindowFunctionSupported(), visited);
+
+        // values are 0, 1, 2
+        List<Comparable>[] bins = (List<Comparable>[]) v.getResult().getValue();
+        assertEquals(2, bins.length);
+        assertEquals(0, ((Number) bins[0].get(0)).intValue());
+        assertEquals(1, ((Number) bins[0].get(bins[0].size() - 1)).intValue());
+        assertEquals(2, ((Number) bins[1].get(0)).intValue());
+        if (v.getBinCounts() != null) {
+            assertEquals(2, v.getBinCounts()[0]);
+            assertEquals(1, v.getBinCounts()[1]);
+        }
+    }
+
+    @Test
+    public void testBounds() throws Exception {
+        BoundsVisitor v = new BoundsVisitor() {
+            @Override
+            public void visit(Feature feature) {
+                super.visit(feature);
+                visited = true;
+            }
+        };
+        dataStore.getFeatureSource(tname("ft1")).accepts(Query.ALL, v, null);
+        assertFalse(visited);
+        ReferencedEnvelope expected = dataStore.getFeatureSource(tname("ft1")).getBounds();
+        assertEquals(expected.getMinX(), v.getBounds().getMinX(), 1e-6);
+        assertEquals(expected.getMaxY(), v.getBounds().getMaxY(), 1e-6);
+    }
+
     @Test
     public void testUniqueCount() throws Exception {
         FilterFactory ff = dataStore.getFilterFactory();
@@ -23,6 +23,7 @@
 import java.io.IOException;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
@@ -33,6 +34,7 @@
 import java.util.concurrent.Executors;
 import org.geotools.api.data.FeatureEvent.Type;
 import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.Query;
 import org.geotools.api.data.Transaction;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -110,6 +112,68 @@ public void testAddFeatures() throws IOException {
         }
     }
 
+    @Test
+    public void testAddFeaturesBulk() throws IOException {
+        dataStore.setBulkLoadEnabled(true);
+        try {
+            checkAddManyFeatures(false);
+        } finally {
+            dataStore.setBulkLoadEnabled(false);
+        }
+    }
+
+    @Test
+    public void testAddFeaturesBulkCollection() throws IOException {
+        dataStore.setBulkLoadEnabled(true);
+        try {
+            checkAddManyFeatures(true);
+        } finally {
+            dataStore.setBulkLoadEnabled(false);
+        }
+    }
+
+    @Test
+    public void testAddFeaturesBulkDisabled() throws IOException {
+        checkAddManyFeatures(false);
+    }
+
+    private void checkAddManyFeatures(boolean plainCollection) throws IOException {
+        // enough features to span several statements and key chunks
+        int count = 2500;
+        SimpleFeatureBuilder b = new SimpleFeatureBuilder(featureStore.getSchema());
+        DefaultFeatureCollection collection = new DefaultFeatureCollection(null, featureStore.getSchema());
+        for (int i = 0; i < count; i++) {
+            b.set(aname("intProperty"), Integer.valueOf(i + 100));
+            b.set(aname("stringProperty"), "bulk" + i);
+            b.set(aname("geometry"), new GeometryFactory().createPoint(new Coordinate(i, i)));
+            collection.add(b.buildFeature(null));
+        }
+        FeatureEventWatcher watcher = new FeatureEventWatcher();
+        featureStore.addFeatureListener(watcher);
+        List<FeatureId> fids = plainCollection
+                ? featureStore.addFeatures(new ArrayList<>(collection))
+                : featureStore.addFeatures((SimpleFeatureCollection) collection);
+        assertEquals(watcher.bounds, collection.getBounds());
+
+        assertEquals(count, fids.size());
+        assertEquals(count, fids.stream().map(FeatureId::getID).distinct().count());
+        assertEquals(count + 3, featureStore.getCount(Query.ALL));
+
+        FilterFactory ff = dataStore.getFilterFactory();
+        for (int i : new int[] {0, count / 2, count - 1}) {
+            SimpleFeatureCollection features = featureStore.getFeatures(ff.id(Collections.singleton(fids.get(i))));
+            try (SimpleFeatureIterator iterator = features.features()) {
+                assertTrue(iterator.hasNext());
+                SimpleFeature feature = iterator.next();
+                assertEquals(fids.get(i).getID(), feature.getID());
+                assertEquals(i + 100, ((Number) feature.getAttribute(aname("intProperty"))).intValue());
+                assertEquals("bulk" + i, feature.getAttribute(aname("stringProperty")));
+                assertEquals(i, ((Point) feature.getDefaultGeometry()).getX(), 0d);
+                assertFalse(iterator.hasNext());
+            }
+        }
+    }
+
     /**
      * Tests that returned keys are actually allowing the code to get back the same feature inserted (SQLServer code
      * used to rely on a key generation approach that failed this test)
@@ -0,0 +1,186 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jdbc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.filter.PropertyIsLessThan;
+import org.geotools.data.jdbc.FilterToSQLException;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Polygon;
+
+public class SQLTemplateCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    SimpleFeatureType schema;
+
+    SQLTemplateCache cache;
+
+    @Before
+    public void setup() {
+        SimpleFeatureTypeBuilder tb = new SimpleFeatureTypeBuilder();
+        tb.setName("roads");
+        tb.add("geom", Polygon.class);
+        tb.add("name", String.class);
+        tb.add("lanes", Integer.class);
+        schema = tb.buildFeatureType();
+        cache = new SQLTemplateCache();
+    }
+
+    private Filter roads(String name, int lanes) {
+        return FF.and(
+                FF.equal(FF.property("name"), FF.literal(name), false),
+                FF.between(FF.property("lanes"), FF.literal(lanes), FF.literal(lanes + 2)));
+    }
+
+    private SQLTemplateCache.Key key(Filter filter) {
+        return cache.createKey(schema, schema, new Query("roads", filter));
+    }
+
+    /** Encodes the key filter, the way the store does on a cache miss */
+    private String encode(SQLTemplateCache.Key key, PreparedFilterToSQL toSQL) throws FilterToSQLException {
+        SQLTemplate.Recorder recorder = new SQLTemplate.Recorder(key);
+        toSQL.setFeatureType(schema);
+        recorder.start();
+        String sql;
+        try {
+            sql = toSQL.encodeToString(recorder.getFilter());
+        } finally {
+            recorder.stop();
+        }
+        SQLTemplate template = recorder.build(sql, toSQL);
+        if (template != null) {
+            cache.put(key, template);
+        }
+        return sql;
+    }
+
+    @Test
+    public void testKeyIgnoresLiteralValues() {
+        assertEquals(key(roads("main", 2)).shape, key(roads("high", 4)).shape);
+        // different structure, or options encoded in the SQL
+        assertNotEquals(key(roads("main", 2)).shape, key(FF.greater(FF.property("lanes"), FF.literal(2))).shape);
+        assertNotEquals(
+                key(FF.equal(FF.property("name"), FF.literal("a"), true)).shape,
+                key(FF.equal(FF.property("name"), FF.literal("a"), false)).shape);
+        assertNotEquals(
+                key(FF.like(FF.property("name"), "a%", "%", "_", "\\")).shape,
+                key(FF.like(FF.property("name"), "b%", "%", "_", "\\")).shape);
+        // literal classes drive the placeholders
+        assertNotEquals(
+                key(FF.greater(FF.property("lanes"), FF.literal(2))).shape,
+                key(FF.greater(FF.property("lanes"), FF.literal("2"))).shape);
+    }
+
+    @Test
+    public void testUnsupportedFilter() {
+        Filter temporal = FF.after(FF.property("name"), FF.literal("2020-01-01"));
+        assertNull(key(temporal));
+        assertEquals(1, cache.getBypasses());
+    }
+
+    @Test
+    public void testHints() {
+        Query query = new Query("roads", roads("main", 2));
+        query.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, Map.of("lanes", "2")));
+        Query same = new Query("roads", roads("high", 4));
+        same.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, Map.of("lanes", "2")));
+        assertEquals(cache.createKey(schema, schema, query).shape, cache.createKey(schema, schema, same).shape);
+
+        // a hint value without value equality would make a template used only once
+        query.setHints(new Hints(Hints.VIRTUAL_TABLE_PARAMETERS, Map.of("lanes", new Object())));
+        assertNull(cache.createKey(schema, schema, query));
+        assertEquals(1, cache.getBypasses());
+    }
+
+    @Test
+    public void testBindValues() throws Exception {
+        SQLTemplateCache.Key first = key(roads("main", 2));
+        PreparedFilterToSQL toSQL = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        assertNull(cache.bind(first, toSQL));
+        String sql = encode(first, new PreparedFilterToSQL((PreparedStatementSQLDialect) null));
+        assertEquals(1, cache.getSize());
+
+        PreparedFilterToSQL bound = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        assertEquals(sql, cache.bind(key(roads("high", 4)), bound));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        // same values an encoding from scratch would produce
+        PreparedFilterToSQL expected = new PreparedFilterToSQL((PreparedStatementSQLDialect) null);
+        expected.setFeatureType(schema);
+        assertEquals(sql, expected.encodeToString(roads("high", 4)));
+        assertEquals(expected.getLiteralValues(), bound.getLiteralValues());
+        assertEquals(expected.getLiteralTypes(), bound.getLiteralTypes());
+        assertEquals(List.of("high", 4, 6), bound.getLiteralValues());
+    }
+
+    @Test
+    public void testValueDependentEncoding() throws Exception {
+        // an encoder inlining a value, the template can only be reused for the same value
+        class InliningFilterToSQL extends PreparedFilterToSQL {
+            InliningFilterToSQL() {
+                super((PreparedStatementSQLDialect) null);
+            }
+
+            @Override
+            public Object visit(PropertyIsLessThan filter, Object extraData) {
+                try {
+                    out.write("lanes < " + filter.getExpression2().evaluate(null));
+                } catch (java.io.IOException e) {
+                    throw new RuntimeException(e);
+                }
+                return extraData;
+            }
+        }
+        Filter two = FF.less(FF.property("lanes"), FF.literal(2));
+        Filter four = FF.less(FF.property("lanes"), FF.literal(4));
+        assertEquals(key(two).shape, key(four).shape);
+        String sql = encode(key(two), new InliningFilterToSQL());
+        assertEquals("WHERE lanes < 2", sql);
+
+        assertNull(cache.bind(key(four), new InliningFilterToSQL()));
+        assertEquals(sql, cache.bind(key(FF.less(FF.property("lanes"), FF.literal(2))), new InliningFilterToSQL()));
+    }
+
+    @Test
+    public void testMaxSize() throws Exception {
+        cache.setMaxSize(1);
+        encode(key(roads("main", 2)), new PreparedFilterToSQL((PreparedStatementSQLDialect) null));
+        Filter other = FF.greater(FF.property("lanes"), FF.literal(2));
+        encode(key(other), new PreparedFilterToSQL((PreparedStatementSQLDialect) null));
+        assertEquals(1, cache.getSize());
+        assertNull(cache.bind(key(roads("main", 2)), new PreparedFilterToSQL((PreparedStatementSQLDialect) null)));
+        assertNotNull(cache.bind(key(other), new PreparedFilterToSQL((PreparedStatementSQLDialect) null)));
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+}
@@ -0,0 +1,481 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import org.geotools.api.feature.FeatureVisitor;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.util.ProgressListener;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.util.HilbertPacking;
+import org.geotools.data.util.NullProgressListener;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
+import org.geotools.feature.collection.BaseSimpleFeatureCollection;
+import org.geotools.filter.visitor.ExtractBoundsFilterVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A {@link SpatialIndexFeatureCollection} storing the features as compact binary records outside of the Java heap,
+ * for staging large data sets in memory without the object overhead and garbage collection cost of keeping millions of
+ * {@link SimpleFeature} instances alive.
+ *
+ * <p>Each feature is encoded on {@link #add(SimpleFeature)} (geometries as WKB, attributes in their natural binary
+ * form) and appended to direct byte buffer segments, or to memory mapped temporary files if a spill directory is
+ * provided. The bounds of the features are indexed by a Hilbert sorted packed R-tree, built on the first spatial query,
+ * and the features are decoded lazily while iterating. The features returned are new instances at each iteration, and
+ * neither the feature nor the geometry user data is preserved.
+ *
+ * <p>Differently from the parent class, features without a geometry are retained and returned when iterating over the
+ * whole collection or filtering on non spatial attributes. Adding features after a query discards the index, which is
+ * rebuilt on the next query. The collection can be read by multiple threads, but not while it's being modified. Call
+ * {@link #clear()} to delete the temporary files as soon as the collection is no longer needed, the off-heap memory is
+ * released by the garbage collector once the iterators still reading it are gone.
+ */
+public class BinarySpatialIndexFeatureCollection extends SpatialIndexFeatureCollection {
+
+    /** The default size of the storage segments, 8MB */
+    public static final int DEFAULT_SEGMENT_SIZE = 8 * 1024 * 1024;
+
+    private final int segmentSize;
+
+    private final File spillDirectory;
+
+    private FeatureRecordCodec encoder;
+
+    private List<ByteBuffer> segments = new ArrayList<>();
+
+    private List<File> segmentFiles = new ArrayList<>();
+
+    private ByteBuffer current;
+
+    private long storageSize;
+
+    /** Address of each record, segment in the high bits and offset in the low ones */
+    private long[] addresses = new long[1024];
+
+    /** Bounds of each record, four floats, NaN for records without geometry */
+    private float[] bounds = new float[1024 * 4];
+
+    private int count;
+
+    private Envelope extent = new Envelope();
+
+    private volatile PackedHilbertIndex packedIndex;
+
+    public BinarySpatialIndexFeatureCollection() {
+        this(null, DEFAULT_SEGMENT_SIZE, null);
+    }
+
+    public BinarySpatialIndexFeatureCollection(SimpleFeatureType schema) {
+        this(schema, DEFAULT_SEGMENT_SIZE, null);
+    }
+
+    /**
+     * Creates a new collection
+     *
+     * @param schema The feature type, if null it will be taken from the first feature added
+     * @param segmentSize The size in bytes of the storage segments
+     * @param spillDirectory The directory where the memory mapped segments are created, or null to store the features
+     *     in direct buffers
+     */
+    public BinarySpatialIndexFeatureCollection(SimpleFeatureType schema, int segmentSize, File spillDirectory) {
+        super(schema);
+        if (segmentSize <= 0) {
+            throw new IllegalArgumentException("Segment size must be positive: " + segmentSize);
+        }
+        this.segmentSize = segmentSize;
+        this.spillDirectory = spillDirectory;
+        // not used, the features are indexed by the packed index
+        this.index = null;
+    }
+
+    public BinarySpatialIndexFeatureCollection(SimpleFeatureCollection copy) throws IOException {
+        this(copy.getSchema());
+
+        addAll(copy);
+    }
+
+    @Override
+    public boolean add(SimpleFeature feature) {
+        if (schema == null) {
+            schema = feature.getFeatureType();
+        }
+        if (encoder == null) {
+            encoder = new FeatureRecordCodec(schema);
+        }
+        ByteBuffer record;
+        try {
+            record = encoder.encode(feature);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to encode feature " + feature.getID(), e);
+        }
+        long address = append(record);
+
+        if (count == addresses.length) {
+            int capacity = count + (count >> 1);
+            addresses = Arrays.copyOf(addresses, capacity);
+            bounds = Arrays.copyOf(bounds, capacity * 4);
+        }
+        addresses[count] = address;
+        setBounds(count, feature);
+        count++;
+        packedIndex = null;
+
+        return true;
+    }
+
+    /** Appends the record to the last segment, allocating a new one if it does not fit, and returns its address */
+    private long append(ByteBuffer record) {
+        int length = Integer.BYTES + record.remaining();
+        if (current == null || current.remaining() < length) {
+            current = allocateSegment(Math.max(segmentSize, length));
+            segments.add(current);
+        }
+        long address = ((long) (segments.size() - 1) << 32) | current.position();
+        current.putInt(record.remaining());
+        current.put(record);
+        storageSize += length;
+        return address;
+    }
+
+    private ByteBuffer allocateSegment(int size) {
+        if (spillDirectory == null) {
+            return ByteBuffer.allocateDirect(size);
+        }
+        try {
+            File file = File.createTempFile("features", ".bin", spillDirectory);
+            segmentFiles.add(file);
+            try (RandomAccessFile raf = new RandomAccessFile(file, "rw");
+                    FileChannel channel = raf.getChannel()) {
+                return channel.map(MapMode.READ_WRITE, 0, size);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create memory mapped segment in " + spillDirectory, e);
+        }
+    }
+
+    private void setBounds(int record, SimpleFeature feature) {
+        Envelope envelope = null;
+        for (Object value : feature.getAttributes()) {
+            if (value instanceof Geometry geometry && !geometry.isEmpty()) {
+                if (envelope == null) {
+                    envelope = new Envelope(geometry.getEnvelopeInternal());
+                } else {
+                    envelope.expandToInclude(geometry.getEnvelopeInternal());
+                }
+            }
+        }
+        int b = record * 4;
+        if (envelope == null) {
+            Arrays.fill(bounds, b, b + 4, Float.NaN);
+        } else {
+            bounds[b] = HilbertPacking.down(envelope.getMinX());
+            bounds[b + 1] = HilbertPacking.down(envelope.getMinY());
+            bounds[b + 2] = HilbertPacking.up(envelope.getMaxX());
+            bounds[b + 3] = HilbertPacking.up(envelope.getMaxY());
+            extent.expandToInclude(envelope);
+        }
+    }
+
+    /** Returns the packed index, building it if needed */
+    private PackedHilbertIndex getPackedIndex() {
+        PackedHilbertIndex result = packedIndex;
+        if (result == null) {
+            synchronized (this) {
+                result = packedIndex;
+                if (result == null) {
+                    result = new PackedHilbertIndex(bounds, count, extent);
+                    packedIndex = result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends SimpleFeature> collection) {
+        for (SimpleFeature feature : collection) {
+            add(feature);
+        }
+        return !collection.isEmpty();
+    }
+
+    @Override
+    public boolean addAll(FeatureCollection<? extends SimpleFeatureType, ? extends SimpleFeature> collection) {
+        boolean changed = false;
+        try (FeatureIterator<? extends SimpleFeature> iter = collection.features()) {
+            while (iter.hasNext()) {
+                changed |= add(iter.next());
+            }
+        }
+        return changed;
+    }
+
+    /** Returns the number of bytes used to store the encoded features, excluding the index */
+    public long getStorageSize() {
+        return storageSize;
+    }
+
+    @Override
+    public SimpleFeatureIterator features() {
+        return new RecordIterator(null, null);
+    }
+
+    @Override
+    public Iterator<SimpleFeature> iterator() {
+        RecordIterator it = new RecordIterator(null, null);
+        return new Iterator<>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public SimpleFeature next() {
+                return it.next();
+            }
+        };
+    }
+
+    @Override
+    public SimpleFeatureCollection subCollection(Filter filter) {
+        Envelope env = (Envelope) filter.accept(ExtractBoundsFilterVisitor.BOUNDS_VISITOR, new Envelope());
+        if (env != null && Double.isInfinite(env.getWidth()) && Double.isInfinite(env.getHeight())) {
+            LOGGER.finest(() -> "Found no spatial element in " + filter + ", will scan all the features");
+            env = null;
+        } else if (env == null) {
+            env = new Envelope();
+        }
+        return new IndexedSubCollection(filter, env);
+    }
+
+    @Override
+    public void accepts(FeatureVisitor visitor, ProgressListener listener) throws IOException {
+        final ProgressListener progress = listener != null ? listener : new NullProgressListener();
+        progress.started();
+        float size = count;
+        float position = 0;
+        try (RecordIterator it = new RecordIterator(null, null)) {
+            while (it.hasNext() && !progress.isCanceled()) {
+                SimpleFeature feature = null;
+                try {
+                    feature = it.next();
+                    visitor.visit(feature);
+                } catch (Throwable t) {
+                    progress.exceptionOccurred(t);
+                    String fid = feature == null ? "feature" : feature.getID();
+                    throw new IOException("Problem visiting " + fid + ":" + t, t);
+                } finally {
+                    progress.progress(++position / size);
+                }
+            }
+        }
+        progress.complete();
+    }
+
+    @Override
+    public boolean contains(Object obj) {
+        if (obj instanceof SimpleFeature feature) {
+            ReferencedEnvelope envelope = ReferencedEnvelope.reference(feature.getBounds());
+            int[] records = envelope.isNull() ? null : getPackedIndex().query(envelope);
+            try (RecordIterator it = new RecordIterator(records, null)) {
+                while (it.hasNext()) {
+                    SimpleFeature sample = it.next();
+                    if (sample.getID().equals(feature.getID()) && sample.equals(feature)) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public ReferencedEnvelope getBounds() {
+        CoordinateReferenceSystem crs = schema == null ? null : schema.getCoordinateReferenceSystem();
+        return new ReferencedEnvelope(extent, crs);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Empties the collection and deletes the temporary files. The segments are not freed explicitly, as open iterators
+     * might still be reading them, but left to the garbage collector
+     */
+    @Override
+    public synchronized void clear() {
+        for (File file : segmentFiles) {
+            if (!file.delete()) {
+                LOGGER.log(Level.FINE, "Could not delete segment file " + file);
+            }
+        }
+        segments = new ArrayList<>();
+        segmentFiles = new ArrayList<>();
+        current = null;
+        storageSize = 0;
+        addresses = new long[1024];
+        bounds = new float[1024 * 4];
+        count = 0;
+        extent = new Envelope();
+        packedIndex = null;
+        if (listeners != null) {
+            listeners.clear();
+            listeners = null;
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        throw new UnsupportedOperationException("Cannot remove items from the binary feature collection");
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Cannot remove items from the binary feature collection");
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        throw new UnsupportedOperationException("Cannot remove items from the binary feature collection");
+    }
+
+    /**
+     * Decodes the records, either all of them in insertion order, or the specified ones, skipping the features not
+     * matching the filter
+     */
+    private class RecordIterator implements SimpleFeatureIterator {
+
+        private final int[] records;
+
+        private final int limit;
+
+        private final Filter filter;
+
+        private final FeatureRecordCodec decoder = new FeatureRecordCodec(schema);
+
+        private final long[] addresses = BinarySpatialIndexFeatureCollection.this.addresses;
+
+        /** Keeps the segments reachable, and readable, even if the collection is cleared while iterating */
+        private final List<ByteBuffer> segments = BinarySpatialIndexFeatureCollection.this.segments;
+
+        private final ByteBuffer[] views = new ByteBuffer[segments.size()];
+
+        private int position;
+
+        private SimpleFeature next;
+
+        RecordIterator(int[] records, Filter filter) {
+            this.records = records;
+            this.limit = records == null ? count : records.length;
+            this.filter = filter == null || filter == Filter.INCLUDE ? null : filter;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == null && position < limit) {
+                int record = records == null ? position : records[position];
+                position++;
+                SimpleFeature feature = decode(addresses[record]);
+                if (filter == null || filter.evaluate(feature)) {
+                    next = feature;
+                }
+            }
+            return next != null;
+        }
+
+        @Override
+        public SimpleFeature next() throws NoSuchElementException {
+            if (!hasNext()) {
+                throw new NoSuchElementException("hasNext() returned false");
+            }
+            SimpleFeature result = next;
+            next = null;
+            return result;
+        }
+
+        private SimpleFeature decode(long address) {
+            int segment = (int) (address >>> 32);
+            ByteBuffer view = views[segment];
+            if (view == null) {
+                view = segments.get(segment).duplicate();
+                views[segment] = view;
+            }
+            // skip the record length
+            view.position((int) address + Integer.BYTES);
+            try {
+                return decoder.decode(view);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to decode feature record", e);
+            }
+        }
+
+        @Override
+        public void close() {
+            position = limit;
+            next = null;
+        }
+    }
+
+    /** A lazy view over the features matching a filter, using the packed index to locate the candidates */
+    private class IndexedSubCollection extends BaseSimpleFeatureCollection {
+
+        private final Filter filter;
+
+        private final Envelope envelope;
+
+        /** @param envelope The bounds of the filter, or null to scan all the features */
+        IndexedSubCollection(Filter filter, Envelope envelope) {
+            super(BinarySpatialIndexFeatureCollection.this.schema);
+            this.filter = filter;
+            this.envelope = envelope;
+        }
+
+        @Override
+        public SimpleFeatureIterator features() {
+            int[] records = envelope == null ? null : getPackedIndex().query(envelope);
+            return new RecordIterator(records, filter);
+        }
+    }
+}
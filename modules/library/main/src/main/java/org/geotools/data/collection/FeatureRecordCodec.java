@@ -0,0 +1,283 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.UUID;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.feature.simple.SimpleFeatureImpl;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Encodes simple features into compact binary records, and decodes them back. A record contains the feature id,
+ * followed by each attribute as a one byte type tag and its payload: geometries are stored as (E)WKB, strings as length
+ * prefixed UTF-8, numbers, booleans and dates in their natural binary form. Values of other types are stored using
+ * Java serialization, and must be {@link Serializable}.
+ *
+ * <p>The feature user data and the geometry user data are not encoded. Instances are not thread safe.
+ */
+class FeatureRecordCodec {
+
+    static final byte NULL = 0;
+    static final byte GEOMETRY = 1;
+    static final byte STRING = 2;
+    static final byte INTEGER = 3;
+    static final byte LONG = 4;
+    static final byte DOUBLE = 5;
+    static final byte FLOAT = 6;
+    static final byte SHORT = 7;
+    static final byte BYTE = 8;
+    static final byte BOOLEAN = 9;
+    static final byte DATE = 10;
+    static final byte SQL_DATE = 11;
+    static final byte SQL_TIME = 12;
+    static final byte SQL_TIMESTAMP = 13;
+    static final byte BIG_DECIMAL = 14;
+    static final byte BIG_INTEGER = 15;
+    static final byte UUID_VALUE = 16;
+    static final byte SERIALIZED = 127;
+
+    private final SimpleFeatureType schema;
+
+    private final RecordBuffer bytes = new RecordBuffer();
+
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    private final WKBWriter writer2D = new WKBWriter(2, true);
+
+    private final WKBWriter writer3D = new WKBWriter(3, true);
+
+    private final WKBReader reader = new WKBReader();
+
+    FeatureRecordCodec(SimpleFeatureType schema) {
+        this.schema = schema;
+    }
+
+    /** Encodes the feature, the returned buffer wraps an internal array and is only valid until the next call */
+    ByteBuffer encode(SimpleFeature feature) throws IOException {
+        bytes.reset();
+        writeString(feature.getID());
+        int count = schema.getAttributeCount();
+        for (int i = 0; i < count; i++) {
+            writeValue(feature.getAttribute(i));
+        }
+        out.flush();
+        return bytes.asByteBuffer();
+    }
+
+    /** Decodes the feature stored in the buffer, starting from its current position */
+    SimpleFeature decode(ByteBuffer record) throws IOException {
+        String fid = readString(record);
+        Object[] values = new Object[schema.getAttributeCount()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = readValue(record);
+        }
+        return new SimpleFeatureImpl(values, schema, new FeatureIdImpl(fid), false);
+    }
+
+    private void writeValue(Object value) throws IOException {
+        if (value == null) {
+            out.writeByte(NULL);
+        } else if (value instanceof Geometry geometry) {
+            out.writeByte(GEOMETRY);
+            byte[] wkb = is3D(geometry) ? writer3D.write(geometry) : writer2D.write(geometry);
+            out.writeInt(wkb.length);
+            out.write(wkb);
+        } else if (value instanceof String string) {
+            out.writeByte(STRING);
+            writeString(string);
+        } else if (value instanceof Integer integer) {
+            out.writeByte(INTEGER);
+            out.writeInt(integer);
+        } else if (value instanceof Long l) {
+            out.writeByte(LONG);
+            out.writeLong(l);
+        } else if (value instanceof Double d) {
+            out.writeByte(DOUBLE);
+            out.writeDouble(d);
+        } else if (value instanceof Float f) {
+            out.writeByte(FLOAT);
+            out.writeFloat(f);
+        } else if (value instanceof Short s) {
+            out.writeByte(SHORT);
+            out.writeShort(s);
+        } else if (value instanceof Byte b) {
+            out.writeByte(BYTE);
+            out.writeByte(b);
+        } else if (value instanceof Boolean b) {
+            out.writeByte(BOOLEAN);
+            out.writeBoolean(b);
+        } else if (value instanceof java.sql.Timestamp timestamp) {
+            out.writeByte(SQL_TIMESTAMP);
+            out.writeLong(timestamp.getTime());
+            out.writeInt(timestamp.getNanos());
+        } else if (value instanceof java.sql.Date date) {
+            out.writeByte(SQL_DATE);
+            out.writeLong(date.getTime());
+        } else if (value instanceof java.sql.Time time) {
+            out.writeByte(SQL_TIME);
+            out.writeLong(time.getTime());
+        } else if (value.getClass() == Date.class) {
+            out.writeByte(DATE);
+            out.writeLong(((Date) value).getTime());
+        } else if (value instanceof BigDecimal decimal) {
+            out.writeByte(BIG_DECIMAL);
+            writeString(decimal.toString());
+        } else if (value instanceof BigInteger integer) {
+            out.writeByte(BIG_INTEGER);
+            writeString(integer.toString());
+        } else if (value instanceof UUID uuid) {
+            out.writeByte(UUID_VALUE);
+            out.writeLong(uuid.getMostSignificantBits());
+            out.writeLong(uuid.getLeastSignificantBits());
+        } else if (value instanceof Serializable) {
+            out.writeByte(SERIALIZED);
+            ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(serialized)) {
+                oos.writeObject(value);
+            }
+            out.writeInt(serialized.size());
+            serialized.writeTo(out);
+        } else {
+            throw new IOException(
+                    "Cannot encode attribute value of type " + value.getClass().getName());
+        }
+    }
+
+    private Object readValue(ByteBuffer record) throws IOException {
+        byte type = record.get();
+        switch (type) {
+            case NULL:
+                return null;
+            case GEOMETRY:
+                try {
+                    return reader.read(readBytes(record));
+                } catch (ParseException e) {
+                    throw new IOException("Failed to decode geometry", e);
+                }
+            case STRING:
+                return readString(record);
+            case INTEGER:
+                return record.getInt();
+            case LONG:
+                return record.getLong();
+            case DOUBLE:
+                return record.getDouble();
+            case FLOAT:
+                return record.getFloat();
+            case SHORT:
+                return record.getShort();
+            case BYTE:
+                return record.get();
+            case BOOLEAN:
+                return record.get() != 0;
+            case DATE:
+                return new Date(record.getLong());
+            case SQL_DATE:
+                return new java.sql.Date(record.getLong());
+            case SQL_TIME:
+                return new java.sql.Time(record.getLong());
+            case SQL_TIMESTAMP:
+                java.sql.Timestamp timestamp = new java.sql.Timestamp(record.getLong());
+                timestamp.setNanos(record.getInt());
+                return timestamp;
+            case BIG_DECIMAL:
+                return new BigDecimal(readString(record));
+            case BIG_INTEGER:
+                return new BigInteger(readString(record));
+            case UUID_VALUE:
+                return new UUID(record.getLong(), record.getLong());
+            case SERIALIZED:
+                try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(record)))) {
+                    return ois.readObject();
+                } catch (ClassNotFoundException e) {
+                    throw new IOException("Failed to decode serialized attribute value", e);
+                }
+            default:
+                throw new IOException("Unknown attribute type tag " + type);
+        }
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(utf8.length);
+            out.write(utf8);
+        }
+    }
+
+    private static String readString(ByteBuffer record) {
+        int length = record.getInt();
+        if (length < 0) {
+            return null;
+        }
+        String value;
+        if (record.hasArray()) {
+            int position = record.position();
+            value = new String(record.array(), record.arrayOffset() + position, length, StandardCharsets.UTF_8);
+            record.position(position + length);
+        } else {
+            byte[] utf8 = new byte[length];
+            record.get(utf8);
+            value = new String(utf8, StandardCharsets.UTF_8);
+        }
+        return value;
+    }
+
+    private static byte[] readBytes(ByteBuffer record) {
+        byte[] result = new byte[record.getInt()];
+        record.get(result);
+        return result;
+    }
+
+    /** Checks the first coordinate, the feature collections are usually homogeneous in their dimension */
+    private static boolean is3D(Geometry geometry) {
+        Coordinate coordinate = geometry.getCoordinate();
+        return coordinate != null && !Double.isNaN(coordinate.getZ());
+    }
+
+    /** Exposes the written bytes without copying them */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+
+        RecordBuffer() {
+            super(256);
+        }
+
+        ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+}
@@ -0,0 +1,146 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import java.util.Arrays;
+import org.geotools.data.util.HilbertPacking;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * A static, Hilbert sorted, packed R-tree kept in primitive arrays. The items are sorted along a Hilbert curve
+ * computed on the center of their bounds, and packed bottom up in nodes of {@link #NODE_SIZE} children. All the nodes
+ * are stored in a single array, leaves first, each level following the previous one, and each inner node referring to
+ * the position of its first child. The node bounds are stored as floats, rounded outwards.
+ *
+ * <p>Once built the index is immutable and can be safely queried by multiple threads.
+ */
+class PackedHilbertIndex {
+
+    static final int NODE_SIZE = 16;
+
+    private final int numItems;
+
+    private final int[] levelEnds;
+
+    /** The node bounds, minx, miny, maxx, maxy */
+    private final float[] boxes;
+
+    /** For leaves the item, for inner nodes the position of the first child */
+    private final int[] indices;
+
+    /**
+     * Builds the index
+     *
+     * @param itemBounds The item bounds, four floats per item, minx, miny, maxx, maxy. Items with NaN bounds are not
+     *     indexed
+     * @param count The number of items
+     * @param extent The overall extent of the items
+     */
+    PackedHilbertIndex(float[] itemBounds, int count, Envelope extent) {
+        int[] items = HilbertPacking.sort(itemBounds, count, extent);
+        this.numItems = items.length;
+
+        int[] sizes = HilbertPacking.levelSizes(numItems, NODE_SIZE);
+        int levels = Math.max(sizes.length, 1);
+        this.levelEnds = new int[levels];
+        int total = 0;
+        for (int level = 0; level < sizes.length; level++) {
+            total += sizes[level];
+            levelEnds[level] = total;
+        }
+        this.boxes = new float[total * 4];
+        this.indices = new int[total];
+
+        for (int i = 0; i < numItems; i++) {
+            System.arraycopy(itemBounds, items[i] * 4, boxes, i * 4, 4);
+            indices[i] = items[i];
+        }
+        Arrays.fill(boxes, numItems * 4, boxes.length, Float.NaN);
+        int start = 0;
+        for (int level = 0; level < levels - 1; level++) {
+            int end = levelEnds[level];
+            for (int child = start; child < end; child++) {
+                int parent = end + (child - start) / NODE_SIZE;
+                HilbertPacking.expand(boxes, parent * 4, boxes, child * 4);
+                if ((child - start) % NODE_SIZE == 0) {
+                    indices[parent] = child;
+                }
+            }
+            start = end;
+        }
+    }
+
+    /** Returns the number of indexed items */
+    int size() {
+        return numItems;
+    }
+
+    /** Returns the items whose bounds intersect the specified envelope, sorted in ascending order */
+    int[] query(Envelope envelope) {
+        if (numItems == 0 || envelope == null || envelope.isNull()) {
+            return new int[0];
+        }
+        double minx = envelope.getMinX();
+        double miny = envelope.getMinY();
+        double maxx = envelope.getMaxX();
+        double maxy = envelope.getMaxY();
+
+        int[] hits = new int[64];
+        int numHits = 0;
+        int[] stack = new int[64];
+        int top = 0;
+        int node = indices.length - 1;
+        while (true) {
+            int end = Math.min(node + NODE_SIZE, upperBound(node));
+            boolean leaves = node < numItems;
+            for (int pos = node; pos < end; pos++) {
+                int b = pos * 4;
+                if (boxes[b] > maxx || boxes[b + 1] > maxy || boxes[b + 2] < minx || boxes[b + 3] < miny) {
+                    continue;
+                }
+                if (leaves) {
+                    if (numHits == hits.length) {
+                        hits = Arrays.copyOf(hits, numHits * 2);
+                    }
+                    hits[numHits++] = indices[pos];
+                } else {
+                    if (top == stack.length) {
+                        stack = Arrays.copyOf(stack, top * 2);
+                    }
+                    stack[top++] = indices[pos];
+                }
+            }
+            if (top == 0) {
+                break;
+            }
+            node = stack[--top];
+        }
+        int[] result = Arrays.copyOf(hits, numHits);
+        Arrays.sort(result);
+        return result;
+    }
+
+    /** Returns the end of the level containing the specified node */
+    private int upperBound(int node) {
+        for (int end : levelEnds) {
+            if (node < end) {
+                return end;
+            }
+        }
+        return indices.length;
+    }
+}
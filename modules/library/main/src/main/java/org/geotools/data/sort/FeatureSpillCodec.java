@@ -0,0 +1,333 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.List;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.feature.simple.SimpleFeatureImpl;
+import org.geotools.filter.identity.FeatureIdImpl;
+import org.geotools.util.Converters;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.io.ParseException;
+import org.locationtech.jts.io.WKBReader;
+import org.locationtech.jts.io.WKBWriter;
+
+/**
+ * Compact binary encoding of the features spilled to disk during a merge-sort. Each feature is stored as its id,
+ * followed by a bitmap of the null attributes and by the non null values. As in {@link SimpleFeatureIO} no type
+ * information is written for the bindings that can be optimized (the values are converted to the binding when their
+ * class does not match it), the other values are written using Java serialization. Lengths are stored as variable
+ * length integers, strings as UTF-8 without size limits, geometries as WKB, preserving their Z when present.
+ *
+ * <p>The features are written into a buffer, flushed to a channel when full, and read back from a (memory mapped)
+ * buffer. Instances are not thread safe.
+ */
+class FeatureSpillCodec {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    private final SimpleFeatureType schema;
+
+    private final Class<?>[] bindings;
+
+    private final WKBWriter writer2D = new WKBWriter(2);
+
+    private final WKBWriter writer3D = new WKBWriter(3);
+
+    private final WKBReader reader = new WKBReader();
+
+    private ByteBuffer buffer;
+
+    private WritableByteChannel channel;
+
+    FeatureSpillCodec(SimpleFeatureType schema) {
+        this.schema = schema;
+        List<AttributeDescriptor> descriptors = schema.getAttributeDescriptors();
+        this.bindings = new Class<?>[descriptors.size()];
+        for (int i = 0; i < bindings.length; i++) {
+            bindings[i] = descriptors.get(i).getType().getBinding();
+        }
+    }
+
+    /** Writes the features to the channel */
+    void write(List<SimpleFeature> features, WritableByteChannel channel) throws IOException {
+        this.channel = channel;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        try {
+            for (SimpleFeature feature : features) {
+                write(feature);
+            }
+            flush();
+        } finally {
+            this.channel = null;
+            this.buffer = null;
+        }
+    }
+
+    private void write(SimpleFeature feature) throws IOException {
+        writeString(feature.getID());
+        int count = bindings.length;
+        byte[] nulls = new byte[(count + 7) / 8];
+        for (int i = 0; i < count; i++) {
+            if (feature.getAttribute(i) == null) {
+                nulls[i >> 3] |= (byte) (1 << (i & 7));
+            }
+        }
+        writeBytes(nulls, false);
+        for (int i = 0; i < count; i++) {
+            Object value = feature.getAttribute(i);
+            if (value != null) {
+                writeValue(bindings[i], value);
+            }
+        }
+    }
+
+    private void writeValue(Class<?> binding, Object value) throws IOException {
+        // see SimpleFeatureIO on why identity comparison is used here
+        if (binding == Boolean.class) {
+            ensure(1).put((byte) (convert(value, Boolean.class) ? 1 : 0));
+        } else if (binding == Byte.class || binding == byte.class) {
+            ensure(1).put(toNumber(value, Byte.class).byteValue());
+        } else if (binding == Short.class || binding == short.class) {
+            ensure(2).putShort(toNumber(value, Short.class).shortValue());
+        } else if (binding == Integer.class || binding == int.class) {
+            ensure(4).putInt(toNumber(value, Integer.class).intValue());
+        } else if (binding == Long.class || binding == long.class) {
+            ensure(8).putLong(toNumber(value, Long.class).longValue());
+        } else if (binding == Float.class || binding == float.class) {
+            ensure(4).putFloat(toNumber(value, Float.class).floatValue());
+        } else if (binding == Double.class || binding == double.class) {
+            ensure(8).putDouble(toNumber(value, Double.class).doubleValue());
+        } else if (binding == String.class) {
+            writeString(convert(value, String.class));
+        } else if (binding == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = convert(value, java.sql.Timestamp.class);
+            ensure(12).putLong(timestamp.getTime()).putInt(timestamp.getNanos());
+        } else if (binding == java.sql.Date.class || binding == java.sql.Time.class || binding == Date.class) {
+            ensure(8).putLong(convert(value, Date.class).getTime());
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            Geometry geometry = convert(value, Geometry.class);
+            writeBytes(is3D(geometry) ? writer3D.write(geometry) : writer2D.write(geometry), true);
+        } else {
+            ByteArrayOutputStream bos = new ByteArrayOutputStream();
+            try (ObjectOutputStream oos = new ObjectOutputStream(bos)) {
+                oos.writeObject(value);
+            }
+            writeBytes(bos.toByteArray(), true);
+        }
+    }
+
+    /** Returns the value as a number, converting it if needed, e.g. a string in a numeric attribute */
+    private static Number toNumber(Object value, Class<? extends Number> target) throws IOException {
+        return value instanceof Number number ? number : convert(value, target);
+    }
+
+    /**
+     * Converts the value to the target class. The values are read back with the attribute binding, which they do not
+     * always match exactly.
+     */
+    private static <T> T convert(Object value, Class<T> target) throws IOException {
+        T converted = Converters.convert(value, target);
+        if (converted == null) {
+            throw new IOException("Cannot convert " + value + " to " + target.getSimpleName() + " to spill it to disk");
+        }
+        return converted;
+    }
+
+    private void writeString(String value) throws IOException {
+        if (value == null) {
+            writeLength(0);
+        } else {
+            byte[] utf8 = value.getBytes(StandardCharsets.UTF_8);
+            writeLength(utf8.length + 1);
+            writeBytes(utf8, false);
+        }
+    }
+
+    private void writeBytes(byte[] bytes, boolean withLength) throws IOException {
+        if (withLength) {
+            writeLength(bytes.length);
+        }
+        int offset = 0;
+        while (offset < bytes.length) {
+            if (!buffer.hasRemaining()) {
+                flush();
+            }
+            int length = Math.min(buffer.remaining(), bytes.length - offset);
+            buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    /** Writes a non negative integer as a variable length sequence of 7 bits groups */
+    private void writeLength(int value) throws IOException {
+        ByteBuffer out = ensure(5);
+        while ((value & ~0x7F) != 0) {
+            out.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.put((byte) value);
+    }
+
+    private ByteBuffer ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            flush();
+        }
+        return buffer;
+    }
+
+    private void flush() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    /** Reads the next feature from the buffer */
+    SimpleFeature read(ByteBuffer in) throws IOException {
+        String fid = readString(in);
+        int count = bindings.length;
+        byte[] nulls = new byte[(count + 7) / 8];
+        in.get(nulls);
+        Object[] values = new Object[count];
+        for (int i = 0; i < count; i++) {
+            if ((nulls[i >> 3] & (1 << (i & 7))) == 0) {
+                values[i] = readValue(bindings[i], in);
+            }
+        }
+        return new SimpleFeatureImpl(values, schema, new FeatureIdImpl(fid), false);
+    }
+
+    @SuppressWarnings("BanSerializableRead") // only reads back the temporary files written by this class
+    private Object readValue(Class<?> binding, ByteBuffer in) throws IOException {
+        if (binding == Boolean.class) {
+            return in.get() != 0;
+        } else if (binding == Byte.class || binding == byte.class) {
+            return in.get();
+        } else if (binding == Short.class || binding == short.class) {
+            return in.getShort();
+        } else if (binding == Integer.class || binding == int.class) {
+            return in.getInt();
+        } else if (binding == Long.class || binding == long.class) {
+            return in.getLong();
+        } else if (binding == Float.class || binding == float.class) {
+            return in.getFloat();
+        } else if (binding == Double.class || binding == double.class) {
+            return in.getDouble();
+        } else if (binding == String.class) {
+            return readString(in);
+        } else if (binding == java.sql.Timestamp.class) {
+            java.sql.Timestamp timestamp = new java.sql.Timestamp(in.getLong());
+            timestamp.setNanos(in.getInt());
+            return timestamp;
+        } else if (binding == java.sql.Date.class) {
+            return new java.sql.Date(in.getLong());
+        } else if (binding == java.sql.Time.class) {
+            return new java.sql.Time(in.getLong());
+        } else if (binding == Date.class) {
+            return new Date(in.getLong());
+        } else if (Geometry.class.isAssignableFrom(binding)) {
+            try {
+                return reader.read(readBytes(in));
+            } catch (ParseException e) {
+                throw new IOException("Failed to parse the geometry WKB", e);
+            }
+        } else {
+            try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(readBytes(in)))) {
+                return ois.readObject();
+            } catch (ClassNotFoundException e) {
+                throw new IOException("Could not read back object", e);
+            }
+        }
+    }
+
+    private static String readString(ByteBuffer in) {
+        int length = readLength(in) - 1;
+        if (length < 0) {
+            return null;
+        }
+        byte[] utf8 = new byte[length];
+        in.get(utf8);
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] readBytes(ByteBuffer in) {
+        byte[] bytes = new byte[readLength(in)];
+        in.get(bytes);
+        return bytes;
+    }
+
+    private static int readLength(ByteBuffer in) {
+        int value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.get();
+            value |= (b & 0x7F) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+        return value;
+    }
+
+    private static boolean is3D(Geometry geometry) {
+        Coordinate coordinate = geometry.getCoordinate();
+        return coordinate != null && !Double.isNaN(coordinate.getZ());
+    }
+
+    /**
+     * Estimates the heap memory used by a feature, used to check the sort memory budget. The estimate is rough, but
+     * errs on the safe side for the common attribute types.
+     */
+    static long estimateSize(SimpleFeature feature) {
+        // feature, values array, id and user data map
+        long size = 96 + 8L * feature.getAttributeCount();
+        String id = feature.getID();
+        if (id != null) {
+            size += 40 + 2L * id.length();
+        }
+        for (Object value : feature.getAttributes()) {
+            if (value == null) {
+                continue;
+            } else if (value instanceof Geometry geometry) {
+                // coordinate arrays or objects, plus envelope and geometry components
+                size += 120L * geometry.getNumGeometries() + 40L * geometry.getNumPoints();
+            } else if (value instanceof String string) {
+                size += 40 + 2L * string.length();
+            } else if (value instanceof Number || value instanceof Boolean) {
+                size += 24;
+            } else if (value instanceof Date) {
+                size += 32;
+            } else {
+                size += 64;
+            }
+        }
+        return size;
+    }
+}
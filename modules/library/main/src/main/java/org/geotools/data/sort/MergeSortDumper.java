@@ -16,14 +16,22 @@
  */
 package org.geotools.data.sort;
 
-import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
@@ -38,6 +46,37 @@
 
 class MergeSortDumper {
 
+    /** Default memory budget for the features held in memory, 64MB */
+    static final long DEFAULT_MEMORY_BUDGET = 64 * 1024 * 1024;
+
+    /** Max estimated size of a run, keeps the spilled files small enough to be memory mapped */
+    static final long MAX_RUN_SIZE = 256 * 1024 * 1024;
+
+    /** Max number of features (start index plus max features) for which a top-K sort is used */
+    static final int TOP_K_THRESHOLD = 10000;
+
+    /** Min number of features for a parallel in memory sort to pay off */
+    static final int PARALLEL_SORT_THRESHOLD = 8192;
+
+    /**
+     * The threads sorting and spilling the runs, shared by all the sorts. The runs block on I/O, so they are kept off
+     * the common fork join pool. Each sort keeps at most its parallelism in pending runs, bounding the queued memory.
+     */
+    static final ExecutorService SPILL_EXECUTOR = createSpillExecutor();
+
+    private static ExecutorService createSpillExecutor() {
+        int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+        AtomicInteger count = new AtomicInteger();
+        ThreadPoolExecutor executor =
+                new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                    Thread thread = new Thread(r, "GeoTools merge sort spiller " + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
     static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
         if (sortBy == SortBy.UNSORTED) {
             return true;
@@ -70,31 +109,143 @@ static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy) {
     }
 
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, Query query) throws IOException {
-        int maxFeatures = getMaxFeatures(query);
+        int topK = getTopK(query);
+        if (topK > 0) {
+            Comparator<SimpleFeature> comparator =
+                    SortedFeatureReader.getComparator(query.getSortBy(), reader.getFeatureType());
+            if (comparator != null && canSort(reader.getFeatureType(), query.getSortBy())) {
+                return getTopKReader(reader, comparator, topK);
+            }
+        }
+        return getDelegateReader(
+                reader, query.getSortBy(), getMaxFeaturesLimit(query), getMemoryBudget(query), getParallelism(query));
+    }
+
+    /**
+     * Returns the number of features needed to answer the query, start index plus max features, if small enough to
+     * use a top-K sort, or -1 otherwise
+     */
+    static int getTopK(Query query) {
+        if (query == null || query.isMaxFeaturesUnlimited() || query.getMaxFeatures() < 0) {
+            return -1;
+        }
+        long k = (long) query.getMaxFeatures() + (query.getStartIndex() != null ? query.getStartIndex() : 0);
+        return k <= TOP_K_THRESHOLD ? (int) k : -1;
+    }
+
+    /**
+     * Returns a reader with the first <code>k</code> features in sort order, found in a single pass over the reader
+     * keeping the best <code>k</code> features seen so far in a bounded heap. Ties are resolved using the position in
+     * the input, consistently with the stable sort used otherwise.
+     */
+    static SimpleFeatureReader getTopKReader(SimpleFeatureReader reader, Comparator<SimpleFeature> comparator, int k)
+            throws IOException {
+        SimpleFeatureType schema = reader.getFeatureType();
+        // the heap head is the worst of the features kept so far
+        Comparator<RankedFeature> ranking = (r1, r2) -> {
+            int result = comparator.compare(r1.feature, r2.feature);
+            return result != 0 ? result : Long.compare(r1.position, r2.position);
+        };
+        PriorityQueue<RankedFeature> heap = new PriorityQueue<>(k, ranking.reversed());
+        long position = 0;
+        try (reader) {
+            while (reader.hasNext()) {
+                SimpleFeature f = reader.next();
+                if (heap.size() < k) {
+                    heap.add(new RankedFeature(f, position));
+                } else if (comparator.compare(f, heap.peek().feature) < 0) {
+                    // on ties the new feature comes later in the input, so it loses
+                    heap.poll();
+                    heap.add(new RankedFeature(f, position));
+                }
+                position++;
+            }
+        }
 
-        return getDelegateReader(reader, query.getSortBy(), maxFeatures);
+        RankedFeature[] ranked = heap.toArray(new RankedFeature[heap.size()]);
+        Arrays.sort(ranked, ranking);
+        List<SimpleFeature> features = new ArrayList<>(ranked.length);
+        for (RankedFeature r : ranked) {
+            features.add(r.feature);
+        }
+        SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
+        return new DelegateSimpleFeatureReader(schema, fi);
+    }
+
+    /** A feature along with its position in the input */
+    private static class RankedFeature {
+        final SimpleFeature feature;
+
+        final long position;
+
+        RankedFeature(SimpleFeature feature, long position) {
+            this.feature = feature;
+            this.position = position;
+        }
     }
 
     /** Gets the max amount amount of features to keep in memory from the query and system hints */
     static int getMaxFeatures(Query query) {
-        Hints hints = null;
-        if (query != null) {
-            hints = query.getHints();
+        Integer maxFeatures = getHint(query, Hints.MAX_MEMORY_SORT);
+        return maxFeatures != null ? maxFeatures : 1000;
+    }
+
+    /**
+     * Gets the max amount of features to keep in memory, if explicitly set in the query or system hints, or
+     * {@link Integer#MAX_VALUE} to rely on the memory budget alone
+     */
+    static int getMaxFeaturesLimit(Query query) {
+        Integer maxFeatures = getHint(query, Hints.MAX_MEMORY_SORT);
+        return maxFeatures != null ? maxFeatures : Integer.MAX_VALUE;
+    }
+
+    /** Gets the memory budget for the sort, in bytes, from the query and system hints */
+    static long getMemoryBudget(Query query) {
+        Long budget = getHint(query, Hints.MAX_MEMORY_SORT_BYTES);
+        return budget != null && budget > 0 ? budget : DEFAULT_MEMORY_BUDGET;
+    }
+
+    /** Gets the number of threads sorting and spilling runs, from the query and system hints */
+    static int getParallelism(Query query) {
+        Integer parallelism = getHint(query, Hints.SORT_PARALLELISM);
+        if (parallelism != null) {
+            return Math.max(1, parallelism);
         }
-        int maxFeatures = 1000;
-        if (hints != null && hints.get(Hints.MAX_MEMORY_SORT) != null) {
-            maxFeatures = (Integer) hints.get(Hints.MAX_MEMORY_SORT);
-        } else if (Hints.getSystemDefault(Hints.MAX_MEMORY_SORT) != null) {
-            maxFeatures = (Integer) Hints.getSystemDefault(Hints.MAX_MEMORY_SORT);
+        return Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T getHint(Query query, Hints.Key key) {
+        Hints hints = query != null ? query.getHints() : null;
+        if (hints != null && hints.get(key) != null) {
+            return (T) hints.get(key);
         }
-        return maxFeatures;
+        return (T) Hints.getSystemDefault(key);
     }
 
     static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures)
             throws IOException {
         if (maxFeatures < 0) {
-            maxFeatures = getMaxFeatures(Query.ALL);
+            maxFeatures = getMaxFeaturesLimit(Query.ALL);
         }
+        return getDelegateReader(reader, sortBy, maxFeatures, getMemoryBudget(Query.ALL), getParallelism(Query.ALL));
+    }
+
+    /**
+     * Sorts the reader contents. The features are accumulated in memory until either the max features or the memory
+     * budget is exceeded, if everything fits they are sorted in memory, otherwise each block of features is sorted and
+     * spilled to disk as a run by a background task, with at most <code>parallelism</code> runs being processed at any
+     * time, and the runs are then merged.
+     *
+     * @param reader The reader to be sorted
+     * @param sortBy The sorting directives
+     * @param maxFeatures The maximum number of features to keep in memory in a single run
+     * @param memoryBudget The memory, in bytes, available to hold the features being read and sorted
+     * @param parallelism The number of runs sorted and spilled in parallel
+     */
+    static SimpleFeatureReader getDelegateReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, long memoryBudget, int parallelism)
+            throws IOException {
         Comparator<SimpleFeature> comparator = SortedFeatureReader.getComparator(sortBy, reader.getFeatureType());
 
         // easy case, no sorting needed
@@ -112,72 +263,147 @@ static SimpleFeatureReader getDelegateReader(SimpleFeatureReader reader, SortBy[
                     + Arrays.toString(sortBy));
         }
 
-        int count = 0;
-        File file = null;
-        SimpleFeatureIO io = null;
+        // the runs being filled, and the ones being sorted, share the budget
+        long runBudget = Math.min(MAX_RUN_SIZE, Math.max(1, memoryBudget / (parallelism + 1)));
+        long size = 0;
         List<SimpleFeature> features = new ArrayList<>();
-        List<FeatureBlockReader> readers = new ArrayList<>();
-        boolean cleanFile = true;
+        RunSpiller spiller = null;
+        boolean cleanRuns = true;
         try (reader) {
-            // read and store into files as necessary
+            // read and spill as necessary
             while (reader.hasNext()) {
                 SimpleFeature f = reader.next();
                 features.add(f);
-                count++;
-
-                if (count > maxFeatures) {
-                    Collections.sort(features, comparator);
-                    if (io == null) {
-                        file = File.createTempFile("sorted", ".features");
-                        file.delete();
-                        io = new SimpleFeatureIO(file, schema);
+                size += FeatureSpillCodec.estimateSize(f);
+
+                if (features.size() > maxFeatures || size > runBudget) {
+                    if (spiller == null) {
+                        spiller = new RunSpiller(schema, comparator, parallelism);
                     }
-                    FeatureBlockReader fbr = storeToFile(io, features);
-                    readers.add(fbr);
-                    count = 0;
-                    features.clear();
+                    spiller.spill(features);
+                    features = new ArrayList<>();
+                    size = 0;
                 }
             }
-            // if we got to file storing, store residual features to file too
-            if (count > 0 && io != null) {
-                Collections.sort(features, comparator);
-                file = File.createTempFile("sorted", ".features");
-                file.delete();
-                FeatureBlockReader fbr = storeToFile(io, features);
-                readers.add(fbr);
-            }
 
             // return the appropriate reader
-            if (io == null) {
+            if (spiller == null) {
                 // simple case, we managed to keep everything in memory, sort and return a
                 // reader based on the collection contents
-                Collections.sort(features, comparator);
+                sort(features, comparator, parallelism);
 
                 SimpleFeatureIterator fi = new ListFeatureCollection(schema, features).features();
                 return new DelegateSimpleFeatureReader(schema, fi);
             } else {
-                // go merge-sort
-                cleanFile = false;
-                return new MergeSortReader(schema, io, readers, comparator);
+                // store the residual features too, and go merge-sort
+                if (!features.isEmpty()) {
+                    spiller.spill(features);
+                }
+                MergeSortReader merger = new MergeSortReader(schema, spiller.getRuns(), comparator);
+                cleanRuns = false;
+                return merger;
             }
-
         } finally {
-            if (cleanFile && io != null) {
-                io.close(true);
-                file.delete();
+            if (cleanRuns && spiller != null) {
+                spiller.dispose();
             }
         }
     }
 
-    /** Writes the feature attributes to a binary file */
-    static FeatureBlockReader storeToFile(SimpleFeatureIO io, List<SimpleFeature> features) throws IOException {
-        long start = io.getOffset();
+    /** Stable sort of the features, in parallel if possible */
+    static void sort(List<SimpleFeature> features, Comparator<SimpleFeature> comparator, int parallelism) {
+        if (parallelism > 1 && features.size() > PARALLEL_SORT_THRESHOLD) {
+            SimpleFeature[] array = features.toArray(new SimpleFeature[features.size()]);
+            Arrays.parallelSort(array, comparator);
+            for (int i = 0; i < array.length; i++) {
+                features.set(i, array[i]);
+            }
+        } else {
+            features.sort(comparator);
+        }
+    }
+
+    /**
+     * Sorts and spills the runs on the {@link #SPILL_EXECUTOR}, or in the calling thread when parallelism is 1, and
+     * keeps track of the runs in input order, so that the merge can keep the sort stable
+     */
+    static class RunSpiller {
+
+        final SimpleFeatureType schema;
+
+        final Comparator<SimpleFeature> comparator;
+
+        final int parallelism;
+
+        final List<CompletableFuture<SpillRun>> runs = new ArrayList<>();
 
-        // write each attribute in the random access file
-        for (SimpleFeature sf : features) {
-            io.write(sf);
+        /** Number of runs whose completion has been checked */
+        int completed;
+
+        RunSpiller(SimpleFeatureType schema, Comparator<SimpleFeature> comparator, int parallelism) {
+            this.schema = schema;
+            this.comparator = comparator;
+            this.parallelism = parallelism;
+        }
+
+        /** Spills the features as a new run, the list is owned by the spiller afterwards */
+        void spill(List<SimpleFeature> features) throws IOException {
+            if (parallelism == 1) {
+                runs.add(CompletableFuture.completedFuture(sortAndWrite(features)));
+                completed++;
+                return;
+            }
+            // wait for a slot to be available, bounding the memory used by the pending runs
+            while (runs.size() - completed >= parallelism) {
+                join(runs.get(completed++));
+            }
+            runs.add(CompletableFuture.supplyAsync(
+                    () -> {
+                        try {
+                            return sortAndWrite(features);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    },
+                    SPILL_EXECUTOR));
         }
 
-        return new FeatureBlockReader(io, start, features.size());
+        private SpillRun sortAndWrite(List<SimpleFeature> features) throws IOException {
+            features.sort(comparator);
+            return SpillRun.write(schema, features);
+        }
+
+        /** Waits for all the runs to be written, and returns them in input order */
+        List<SpillRun> getRuns() throws IOException {
+            List<SpillRun> result = new ArrayList<>(runs.size());
+            for (CompletableFuture<SpillRun> run : runs) {
+                result.add(join(run));
+            }
+            return result;
+        }
+
+        private static SpillRun join(CompletableFuture<SpillRun> run) throws IOException {
+            try {
+                return run.join();
+            } catch (CompletionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof UncheckedIOException uio) {
+                    throw uio.getCause();
+                }
+                throw new IOException("Failed to sort and spill features", cause);
+            }
+        }
+
+        /** Waits for the pending runs and deletes all of them */
+        void dispose() {
+            for (CompletableFuture<SpillRun> run : runs) {
+                try {
+                    run.join().dispose();
+                } catch (CompletionException | CancellationException e) {
+                    // the run file has already been removed by the failing task
+                }
+            }
+            runs.clear();
+        }
     }
 }
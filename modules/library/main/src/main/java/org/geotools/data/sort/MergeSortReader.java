@@ -17,7 +17,7 @@
 package org.geotools.data.sort;
 
 import java.io.IOException;
-import java.io.RandomAccessFile;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -26,30 +26,71 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 
 /**
- * Reads from a list of {@link FeatureBlockReader} backed by a {@link RandomAccessFile} and performs the classic
- * merge-sort algorithm
+ * Reads from a list of sorted {@link SpillRun} and performs a k-way merge using a loser tree, which needs
+ * <code>log2(k)</code> comparisons to return each feature regardless of the number of runs
  *
  * @author Andrea Aime - GeoSolutions
  */
 class MergeSortReader implements SimpleFeatureReader {
 
-    List<FeatureBlockReader> readers;
-
-    SimpleFeatureIO io;
+    List<SpillRun> runs;
 
     SimpleFeatureType schema;
 
     Comparator<SimpleFeature> comparator;
 
-    public MergeSortReader(
-            SimpleFeatureType schema,
-            SimpleFeatureIO io,
-            List<FeatureBlockReader> readers,
-            Comparator<SimpleFeature> comparator) {
+    /** The current feature of each run, null when the run is exhausted, plus a sentinel winning all matches */
+    SimpleFeature[] heads;
+
+    /** The loser of the match played at each inner node, the overall winner is stored at index zero */
+    int[] tree;
+
+    public MergeSortReader(SimpleFeatureType schema, List<SpillRun> runs, Comparator<SimpleFeature> comparator)
+            throws IOException {
         this.schema = schema;
         this.comparator = comparator;
-        this.readers = readers;
-        this.io = io;
+        this.runs = runs;
+
+        int k = runs.size();
+        this.heads = new SimpleFeature[k + 1];
+        this.tree = new int[Math.max(k, 1)];
+        for (int i = 0; i < k; i++) {
+            heads[i] = runs.get(i).next();
+        }
+        // all the matches are initially won by the sentinel, the real runs then replay them
+        Arrays.fill(tree, k);
+        for (int i = k - 1; i >= 0; i--) {
+            adjust(i);
+        }
+    }
+
+    /** Replays the matches from the leaf of the specified run up to the root */
+    private void adjust(int run) {
+        int k = runs.size();
+        int winner = run;
+        for (int node = (run + k) >> 1; node > 0; node >>= 1) {
+            if (beats(tree[node], winner)) {
+                int loser = winner;
+                winner = tree[node];
+                tree[node] = loser;
+            }
+        }
+        tree[0] = winner;
+    }
+
+    /** Returns true if the first run wins the match, ties are won by the earlier run to keep the sort stable */
+    private boolean beats(int r1, int r2) {
+        int k = runs.size();
+        if (r1 == k || r2 == k) {
+            return r1 == k;
+        }
+        SimpleFeature f1 = heads[r1];
+        SimpleFeature f2 = heads[r2];
+        if (f1 == null || f2 == null) {
+            return f2 == null && f1 != null;
+        }
+        int result = comparator.compare(f1, f2);
+        return result < 0 || (result == 0 && r1 < r2);
     }
 
     @Override
@@ -59,38 +100,28 @@ public SimpleFeatureType getFeatureType() {
 
     @Override
     public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
-        if (readers.isEmpty()) {
+        if (!hasNext()) {
             throw new NoSuchElementException();
         }
 
-        // find the smallest feature
-        int selected = 0;
-        for (int i = 1; i < readers.size(); i++) {
-            SimpleFeature sf = readers.get(selected).feature();
-            SimpleFeature cf = readers.get(i).feature();
-            if (comparator.compare(sf, cf) > 0) {
-                selected = i;
-            }
-        }
-
-        // move on the reader of the selected feature
-        FeatureBlockReader reader = readers.get(selected);
-        SimpleFeature sf = reader.feature();
-        if (reader.next() == null) {
-            readers.remove(selected);
-        }
+        // return the winner, and replace it with the next feature of its run
+        int winner = tree[0];
+        SimpleFeature sf = heads[winner];
+        heads[winner] = runs.get(winner).next();
+        adjust(winner);
 
-        // return the selected feature
         return sf;
     }
 
     @Override
     public boolean hasNext() throws IOException {
-        return !readers.isEmpty();
+        return !runs.isEmpty() && heads[tree[0]] != null;
     }
 
     @Override
     public void close() throws IOException {
-        io.close(true);
+        for (SpillRun run : runs) {
+            run.dispose();
+        }
     }
 }
@@ -45,7 +45,7 @@ public static final boolean canSort(SimpleFeatureType schema, SortBy... sortBy)
      * @param schema The iterator schema
      * @param sortBy The sorting directives
      * @param maxFeatures The maximum number of features to keep in memory, or a negative number to use the system
-     *     default
+     *     default, if any, and otherwise limit the features in memory by the sort memory budget only
      */
     @SuppressWarnings("PMD.CloseResource") // kept as field
     public SortedFeatureIterator(
@@ -33,7 +33,9 @@
 /**
  * FeatureReader used to sort contents.
  * <p>
- * The implementation makes use of {@link MergeSortDumper).
+ * The implementation makes use of {@link MergeSortDumper). When the contents do not fit in memory they are split in
+ * runs, sorted and spilled to disk in parallel, and then merged back. When built from a {@link Query} whose start
+ * index plus max features is small, only the features needed to answer the query are kept in memory, and returned.
  *
  *
  */
@@ -59,7 +61,8 @@ public static int getMaxFeaturesInMemory(Query q) {
      *
      * @param reader The reader to be sorted
      * @param query The query holding the SortBy directives, and the eventual max features in memory hint
-     *     {@link Hints#MAX_MEMORY_SORT}
+     *     {@link Hints#MAX_MEMORY_SORT}, memory budget hint {@link Hints#MAX_MEMORY_SORT_BYTES} and parallelism hint
+     *     {@link Hints#SORT_PARALLELISM}
      */
     public SortedFeatureReader(SimpleFeatureReader reader, Query query) throws IOException {
         this.delegate = MergeSortDumper.getDelegateReader(reader, query);
@@ -76,6 +79,21 @@ public SortedFeatureReader(SimpleFeatureReader reader, SortBy[] sortBy, int maxF
         this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures);
     }
 
+    /**
+     * Builds a new sorting feature reader
+     *
+     * @param reader The reader to be sorted
+     * @param sortBy The sorting directives
+     * @param maxFeatures The maximum number of features to keep in memory in a single run
+     * @param memoryBudget The memory, in bytes, used to hold the features being read and sorted
+     * @param parallelism The number of threads sorting and spilling runs to disk
+     */
+    public SortedFeatureReader(
+            SimpleFeatureReader reader, SortBy[] sortBy, int maxFeatures, long memoryBudget, int parallelism)
+            throws IOException {
+        this.delegate = MergeSortDumper.getDelegateReader(reader, sortBy, maxFeatures, memoryBudget, parallelism);
+    }
+
     @Override
     public SimpleFeatureType getFeatureType() {
         return delegate.getFeatureType();
@@ -0,0 +1,114 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.sort;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.NIOUtilities;
+import org.geotools.util.logging.Logging;
+
+/**
+ * A sorted run of features spilled to a temporary file, read back sequentially through a memory mapped buffer
+ *
+ * @see FeatureSpillCodec
+ */
+class SpillRun {
+
+    static final Logger LOGGER = Logging.getLogger(SpillRun.class);
+
+    private final File file;
+
+    private final int count;
+
+    private final FeatureSpillCodec codec;
+
+    private MappedByteBuffer buffer;
+
+    private int read;
+
+    private SpillRun(File file, int count, FeatureSpillCodec codec) {
+        this.file = file;
+        this.count = count;
+        this.codec = codec;
+    }
+
+    /** Writes the features, already sorted, into a new temporary file */
+    static SpillRun write(SimpleFeatureType schema, List<SimpleFeature> features) throws IOException {
+        File file = File.createTempFile("sorted", ".features");
+        FeatureSpillCodec codec = new FeatureSpillCodec(schema);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.WRITE)) {
+            codec.write(features, channel);
+        } catch (IOException | RuntimeException e) {
+            delete(file);
+            throw e;
+        }
+        return new SpillRun(file, features.size(), codec);
+    }
+
+    /** Returns the number of features in the run */
+    int getCount() {
+        return count;
+    }
+
+    /** Returns the size of the run on disk, in bytes */
+    long getSize() {
+        return file.length();
+    }
+
+    /** Reads the next feature, or returns null if the run has been fully read */
+    SimpleFeature next() throws IOException {
+        if (read >= count) {
+            return null;
+        }
+        if (buffer == null) {
+            long size = file.length();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Sort run too large to be memory mapped: " + size + " bytes");
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+        }
+        read++;
+        return codec.read(buffer);
+    }
+
+    /** Releases the mapped buffer and deletes the file */
+    void dispose() {
+        if (buffer != null) {
+            ByteBuffer mapped = buffer;
+            buffer = null;
+            NIOUtilities.clean(mapped, true);
+        }
+        delete(file);
+    }
+
+    private static void delete(File file) {
+        if (file.exists() && !file.delete()) {
+            LOGGER.log(Level.FINE, "Could not delete sort run file " + file);
+        }
+    }
+}
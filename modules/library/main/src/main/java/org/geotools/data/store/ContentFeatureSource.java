@@ -80,6 +80,9 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.util.factory.Hints;
 import org.geotools.util.factory.Hints.Key;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracing;
 
 /**
  * Abstract implementation of FeatureSource.
@@ -583,6 +586,28 @@ public final ContentFeatureCollection getFeatures(Query query) throws IOExceptio
 
     /** Returns a reader for the features specified by a query. */
     public final FeatureReader<SimpleFeatureType, SimpleFeature> getReader(Query query) throws IOException {
+        Span span = Tracing.start(OperationType.FEATURE_READ);
+        if (span == null) {
+            return openReader(query);
+        }
+        String typeName = getSchema().getTypeName();
+        String filter = String.valueOf(query.getFilter());
+        boolean opened = false;
+        try {
+            // the span is ended when the reader is closed
+            FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    new TracingFeatureReader(openReader(query), span, typeName, filter);
+            opened = true;
+            return reader;
+        } finally {
+            if (!opened) {
+                span.end(typeName, filter, -1);
+            }
+        }
+    }
+
+    /** Opens the reader, applying the wrappers required by the query the subclass cannot handle natively */
+    private FeatureReader<SimpleFeatureType, SimpleFeature> openReader(Query query) throws IOException {
         query = joinQuery(query);
         query = resolvePropertyNames(query);
 
@@ -0,0 +1,77 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.store;
+
+import java.io.IOException;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.util.tracing.Span;
+
+/** Counts the features read and ends the {@link org.geotools.util.tracing.OperationType#FEATURE_READ} span on close */
+class TracingFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    final FeatureReader<SimpleFeatureType, SimpleFeature> delegate;
+
+    final Span span;
+
+    final String typeName;
+
+    final String filter;
+
+    long count;
+
+    boolean closed;
+
+    TracingFeatureReader(
+            FeatureReader<SimpleFeatureType, SimpleFeature> delegate, Span span, String typeName, String filter) {
+        this.delegate = delegate;
+        this.span = span;
+        this.typeName = typeName;
+        this.filter = filter;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return delegate.getFeatureType();
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        SimpleFeature next = delegate.next();
+        count++;
+        return next;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        return delegate.hasNext();
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            delegate.close();
+        } finally {
+            if (!closed) {
+                closed = true;
+                span.end(typeName, filter, count);
+            }
+        }
+    }
+}
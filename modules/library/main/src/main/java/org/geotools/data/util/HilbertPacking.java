@@ -0,0 +1,128 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.util;
+
+import java.util.Arrays;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.shape.fractal.HilbertCode;
+
+/**
+ * Helpers to build static, Hilbert sorted, packed R-trees. The item bounds are kept in float arrays, four floats per
+ * item (minx, miny, maxx, maxy), rounded outwards so that they always contain the original double bounds.
+ */
+public final class HilbertPacking {
+
+    /** The Hilbert curve level, 2^15 cells per side keep the code and the item index in a positive long */
+    public static final int HILBERT_LEVEL = 15;
+
+    public static final int HILBERT_MAX = (1 << HILBERT_LEVEL) - 1;
+
+    private HilbertPacking() {}
+
+    /**
+     * Sorts the items by Hilbert code of their centers
+     *
+     * @param bounds The item bounds, four floats per item. Items with NaN bounds are left out
+     * @param count The number of items
+     * @param extent The overall extent of the items
+     * @return The indexes of the sorted items
+     */
+    public static int[] sort(float[] bounds, int count, Envelope extent) {
+        double minx = extent.getMinX();
+        double miny = extent.getMinY();
+        double width = extent.getWidth();
+        double height = extent.getHeight();
+        long[] keys = new long[count];
+        int size = 0;
+        for (int i = 0; i < count; i++) {
+            int b = i * 4;
+            if (Float.isNaN(bounds[b])) {
+                continue;
+            }
+            double cx = (bounds[b] + (double) bounds[b + 2]) / 2;
+            double cy = (bounds[b + 1] + (double) bounds[b + 3]) / 2;
+            int hx = toGrid(cx, minx, width);
+            int hy = toGrid(cy, miny, height);
+            keys[size++] = ((long) HilbertCode.encode(HILBERT_LEVEL, hx, hy) << 32) | i;
+        }
+        Arrays.sort(keys, 0, size);
+        int[] sorted = new int[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = (int) keys[i];
+        }
+        return sorted;
+    }
+
+    private static int toGrid(double value, double min, double span) {
+        if (!(span > 0)) {
+            return 0;
+        }
+        int cell = (int) ((value - min) / span * HILBERT_MAX);
+        return Math.max(0, Math.min(HILBERT_MAX, cell));
+    }
+
+    /**
+     * Computes the number of nodes in each level of a packed R-tree, starting from the leaves
+     *
+     * @param numItems The number of indexed items
+     * @param nodeSize The max number of children per node
+     */
+    public static int[] levelSizes(int numItems, int nodeSize) {
+        if (numItems == 0) {
+            return new int[0];
+        }
+        int levels = 1;
+        for (int n = numItems; n != 1; n = (n + nodeSize - 1) / nodeSize) {
+            levels++;
+        }
+        int[] sizes = new int[levels];
+        int n = numItems;
+        sizes[0] = n;
+        for (int i = 1; i < levels; i++) {
+            n = (n + nodeSize - 1) / nodeSize;
+            sizes[i] = n;
+        }
+        return sizes;
+    }
+
+    /**
+     * Expands the target bounds to include the source ones. NaN target bounds are considered empty and replaced by
+     * the source ones.
+     */
+    public static void expand(float[] target, int t, float[] source, int s) {
+        if (Float.isNaN(target[t])) {
+            System.arraycopy(source, s, target, t, 4);
+        } else {
+            target[t] = Math.min(target[t], source[s]);
+            target[t + 1] = Math.min(target[t + 1], source[s + 1]);
+            target[t + 2] = Math.max(target[t + 2], source[s + 2]);
+            target[t + 3] = Math.max(target[t + 3], source[s + 3]);
+        }
+    }
+
+    /** Rounds towards negative infinity, so that the float bounds always contain the double ones */
+    public static float down(double value) {
+        float f = (float) value;
+        return f > value ? Math.nextDown(f) : f;
+    }
+
+    /** Rounds towards positive infinity, so that the float bounds always contain the double ones */
+    public static float up(double value) {
+        float f = (float) value;
+        return f < value ? Math.nextUp(f) : f;
+    }
+}
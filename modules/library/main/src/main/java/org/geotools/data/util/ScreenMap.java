@@ -46,6 +46,10 @@
  *
  * When checkAndSet returns false the geometry sits in a pixel that has been already populated and can be skipped.
  *
+ * <p>The screenmap also counts the features skipped because they fell in a busy pixel, either found by
+ * {@link #checkAndSet(Envelope)}, or reported by data stores checking the pixels with {@link #get(Envelope)} before
+ * reading the features, see {@link #getSkippedCount()}.
+ *
  * @author jeichar
  * @author Andrea Aime - OpenGeo
  */
@@ -69,6 +73,8 @@ public class ScreenMap {
 
     BitFieldMatrix bitfield;
 
+    long skipped;
+
     public ScreenMap(int x, int y, int width, int height, MathTransform mt) {
         this.width = width;
         this.height = height;
@@ -113,7 +119,24 @@ public boolean checkAndSet(Envelope envelope) throws TransformException {
         mt.transform(point, 0, point, 0, 1);
         int r = (int) point[0];
         int c = (int) point[1];
-        return checkAndSet(r, c);
+        boolean busy = checkAndSet(r, c);
+        if (busy) {
+            skipped++;
+        }
+        return busy;
+    }
+
+    /**
+     * Records a feature skipped because it fell in a busy pixel, for callers checking the pixels with
+     * {@link #get(Envelope)}
+     */
+    public void incrementSkipped() {
+        skipped++;
+    }
+
+    /** Returns the number of features skipped so far because they fell in a busy pixel */
+    public long getSkippedCount() {
+        return skipped;
     }
 
     public boolean canSimplify(Envelope envelope) {
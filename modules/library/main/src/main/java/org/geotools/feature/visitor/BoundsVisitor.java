@@ -37,6 +37,11 @@ public ReferencedEnvelope getBounds() {
         return bounds;
     }
 
+    /** Sets the bounds computed elsewhere, e.g., by a database, replacing the ones accumulated so far */
+    public void setValue(ReferencedEnvelope bounds) {
+        this.bounds = new ReferencedEnvelope(bounds);
+    }
+
     public void reset(Envelope bounds) {
         this.bounds = new ReferencedEnvelope();
     }
@@ -36,6 +36,7 @@ public class QuantileListVisitor implements FeatureCalc {
     private int bins;
     private List<Comparable> items = new ArrayList<>();
     private List<Comparable>[] bin;
+    private int[] counts;
 
     boolean visited = false;
     int countNull = 0;
@@ -52,9 +53,31 @@ public void init(SimpleFeatureCollection collection) {
         // do nothing
     }
 
+    /** The expression whose values are classified */
+    public Expression getExpression() {
+        return expr;
+    }
+
+    /** The number of bins the values are split into */
+    public int getBins() {
+        return bins;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public CalcResult getResult() {
+        if (counts != null) {
+            // bins computed elsewhere, see setValue
+            if (bin.length == 0) {
+                return CalcResult.NULL_RESULT;
+            }
+            return new AbstractCalcResult() {
+                @Override
+                public Object getValue() {
+                    return bin;
+                }
+            };
+        }
         if (bins == 0 || count == 0) {
             return CalcResult.NULL_RESULT;
         }
@@ -117,12 +140,40 @@ public void visit(org.geotools.api.feature.Feature feature) {
         items.add(cast);
     }
 
+    /**
+     * Sets the bins computed elsewhere, e.g., by a database. The values in each bin must be sorted, but the bins can be
+     * summarized by their minimum and maximum values, the number of values in each bin being reported separately.
+     *
+     * @param bins The bins, each one containing at least its minimum and maximum values
+     * @param counts The number of values in each bin
+     */
+    public void setValue(List<Comparable>[] bins, int[] counts) {
+        if (bins.length != counts.length) {
+            throw new IllegalArgumentException("Expected a count for each one of the " + bins.length + " bins");
+        }
+        reset(bins.length);
+        this.bin = bins;
+        this.counts = counts;
+        for (int c : counts) {
+            count += c;
+        }
+    }
+
+    /**
+     * Returns the number of values in each bin, if the bins have been set by {@link #setValue(List[], int[])}, or
+     * <code>null</code> otherwise (the bins contain all the values then)
+     */
+    public int[] getBinCounts() {
+        return counts;
+    }
+
     @SuppressWarnings("unchecked")
     public void reset(int bins) {
         this.bins = bins;
         this.count = 0;
         this.items = new ArrayList<>();
         this.bin = new List[bins];
+        this.counts = null;
         this.countNull = 0;
         this.countNaN = 0;
     }
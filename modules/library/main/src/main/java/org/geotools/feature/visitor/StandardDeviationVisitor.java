@@ -46,12 +46,27 @@ public class StandardDeviationVisitor implements FeatureCalc, FeatureAttributeVi
     public static class Result extends AbstractCalcResult {
         final Double deviation;
 
+        final Double mean;
+
         public Result() {
             this.deviation = null;
+            this.mean = null;
         }
 
         public Result(double deviation) {
             this.deviation = deviation;
+            this.mean = null;
+        }
+
+        /** Builds a result also reporting the mean, used by stores computing the deviation natively */
+        public Result(double deviation, double mean) {
+            this.deviation = deviation;
+            this.mean = mean;
+        }
+
+        /** The mean of the values, or <code>null</code> if not known */
+        public Double getMean() {
+            return mean;
         }
 
         @Override
@@ -87,6 +102,9 @@ public void setValue(Object value) {
         reset();
         if (value instanceof Result result1) {
             this.result = result1;
+            if (result1.mean != null) {
+                this.mean = result1.mean;
+            }
         } else if (value instanceof Number number) {
             this.result = new Result(number.doubleValue());
         } else {
@@ -29,6 +29,7 @@
 import org.geotools.feature.FeatureCollection;
 import org.geotools.feature.visitor.CalcResult;
 import org.geotools.feature.visitor.FeatureCalc;
+import org.geotools.feature.visitor.QuantileListVisitor;
 
 public abstract class AbstractQuantityClassificationFunction extends ClassificationFunction {
 
@@ -39,7 +40,9 @@ public AbstractQuantityClassificationFunction(FunctionName name) {
     /**
      * Returns the list visitor for the specific implementation of "quantity" (e.g., count, area, ...). The visitor must
      * return a "bins" structure matching {code}List<Comparable>[]{code}, where each array entry is a bin, and values
-     * inside the bin are sorted from lowest to highest
+     * inside the bin are sorted from lowest to highest. A {@link QuantileListVisitor} whose bins have been computed by
+     * the data store might only hold the lowest and highest value of each bin, see
+     * {@link QuantileListVisitor#getBinCounts()}.
      */
     protected abstract FeatureCalc getListVisitor();
 
@@ -72,7 +75,13 @@ private Object calculate(SimpleFeatureCollection featureCollection) {
         } else {
             result = (Classifier) calculateNonNumerical(bin, globalMin, globalMax);
         }
-        if (percentages()) result.setPercentages(calculatePercentages(bin, featureCollection.size()));
+        if (percentages()) {
+            int[] counts = null;
+            if (quantityVisitor instanceof QuantileListVisitor quantile) {
+                counts = quantile.getBinCounts();
+            }
+            result.setPercentages(calculatePercentages(bin, counts, featureCollection.size()));
+        }
 
         return result;
     }
@@ -159,10 +168,11 @@ public Object evaluate(Object feature) {
         return calculate((SimpleFeatureCollection) feature);
     }
 
-    private double[] calculatePercentages(List[] bin, int totalSize) {
+    private double[] calculatePercentages(List[] bin, int[] counts, int totalSize) {
         double[] percentages = new double[bin.length];
         for (int i = 0; i < bin.length; i++) {
-            percentages[i] = (double) bin[i].size() / totalSize * 100;
+            int size = counts != null ? counts[i] : bin[i].size();
+            percentages[i] = (double) size / totalSize * 100;
         }
         return percentages;
     }
@@ -258,14 +258,18 @@ protected double[] computeGroupByPercentages(
             throws IOException {
         Subtract subtract = FF.subtract(getParameters().get(0), FF.literal(min));
         Divide divide = FF.divide(subtract, FF.literal(classWidth));
-        Function convert = FF.function("convert", divide, FF.literal(Integer.class));
+        // floor rather than an integer conversion, the values are never lower than min, and the
+        // data stores can encode it, computing the histogram natively
+        Function floor = FF.function("floor", divide);
         GroupByVisitor groupBy =
-                new GroupByVisitor(Aggregate.COUNT, getParameters().get(0), Arrays.asList(convert), null);
+                new GroupByVisitor(Aggregate.COUNT, getParameters().get(0), Arrays.asList(floor), null);
         collection.accepts(groupBy, null);
         @SuppressWarnings("unchecked")
-        Map<List<Integer>, Integer> result = groupBy.getResult().toMap();
+        Map<List<Number>, Number> result = groupBy.getResult().toMap();
         Map<Integer, Integer> resultIntKeys = result.entrySet().stream()
-                .collect(Collectors.toMap(e -> e.getKey().get(0), e -> e.getValue()));
+                .filter(e -> e.getKey().get(0) != null)
+                .collect(Collectors.toMap(
+                        e -> e.getKey().get(0).intValue(), e -> e.getValue().intValue(), Integer::sum));
         // getting a tree set from the keys to get them asc ordered and
         // collect percentages in the right order
         Set<Integer> keys = new TreeSet<>(resultIntKeys.keySet());
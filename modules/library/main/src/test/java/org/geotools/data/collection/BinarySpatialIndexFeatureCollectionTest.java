@@ -0,0 +1,252 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.geotools.data.store.FeatureCollectionWrapperTestSupport;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class BinarySpatialIndexFeatureCollectionTest extends FeatureCollectionWrapperTestSupport {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    FilterFactory ff = CommonFactoryFinder.getFilterFactory(null);
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection(delegate);
+        try {
+            assertEquals(delegate.size(), collection.size());
+            assertEquals(delegate.getSchema(), collection.getSchema());
+            Map<String, SimpleFeature> originals = new HashMap<>();
+            try (SimpleFeatureIterator it = delegate.features()) {
+                while (it.hasNext()) {
+                    SimpleFeature feature = it.next();
+                    originals.put(feature.getID(), feature);
+                }
+            }
+            try (SimpleFeatureIterator it = collection.features()) {
+                while (it.hasNext()) {
+                    SimpleFeature feature = it.next();
+                    SimpleFeature original = originals.get(feature.getID());
+                    assertEquals(original.getAttributes(), feature.getAttributes());
+                    assertTrue(collection.contains(original));
+                }
+            }
+            assertEquals(delegate.getBounds(), collection.getBounds());
+        } finally {
+            collection.clear();
+        }
+    }
+
+    @Test
+    public void testSimpleSubCollection() throws Exception {
+        ReferencedEnvelope bbox = new ReferencedEnvelope(-145, -139.5, 44, 47, DefaultGeographicCRS.WGS84);
+        Filter filter = ff.bbox(ff.property("defaultGeom"), bbox);
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection(delegate);
+        assertEquals(1, collection.subCollection(filter).size());
+        assertEquals(
+                1,
+                collection
+                        .subCollection(ff.bbox(ff.property("otherGeom"), bbox))
+                        .size());
+    }
+
+    @Test
+    public void testNonSpatialFilter() throws Exception {
+        Filter filter = ff.between(ff.property("someAtt"), ff.literal(-1), ff.literal(2));
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection(delegate);
+        // the feature without geometry is retained
+        assertEquals(4, collection.subCollection(filter).size());
+    }
+
+    @Test
+    public void testFeatureSource() throws Exception {
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection(delegate);
+        SpatialIndexFeatureSource source = new SpatialIndexFeatureSource(collection);
+        Filter filter = ff.bbox("defaultGeom", -141, 44, -137.5, 48, null);
+        assertEquals(3, source.getFeatures(filter).size());
+        assertEquals(3, source.getCount(new Query("test", filter)));
+    }
+
+    @Test
+    public void testMatchesScan() throws Exception {
+        checkMatchesScan(new BinarySpatialIndexFeatureCollection(null, 4096, null));
+    }
+
+    @Test
+    public void testMatchesScanMemoryMapped() throws Exception {
+        File directory = folder.newFolder();
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection(null, 4096, directory);
+        checkMatchesScan(collection);
+        assertTrue(directory.list().length > 1);
+        collection.clear();
+        assertEquals(0, collection.size());
+        assertEquals(0, directory.list().length);
+    }
+
+    @Test
+    public void testClearWhileIterating() throws Exception {
+        checkClearWhileIterating(new BinarySpatialIndexFeatureCollection(null, 4096, null));
+    }
+
+    @Test
+    public void testClearWhileIteratingMemoryMapped() throws Exception {
+        File directory = folder.newFolder();
+        checkClearWhileIterating(new BinarySpatialIndexFeatureCollection(null, 4096, directory));
+        assertEquals(0, directory.list().length);
+    }
+
+    private void checkClearWhileIterating(BinarySpatialIndexFeatureCollection collection) throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point,id:Integer,name:String");
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        for (int i = 0; i < 500; i++) {
+            fb.add(gf.createPoint(new Coordinate(i % 360 - 180, i % 180 - 90)));
+            fb.add(i);
+            fb.add("name" + i);
+            collection.add(fb.buildFeature("points." + i));
+        }
+        // one iterator that already decoded a segment, one that did not start yet
+        try (SimpleFeatureIterator started = collection.features();
+                SimpleFeatureIterator pending = collection.features()) {
+            assertEquals(0, started.next().getAttribute("id"));
+            collection.clear();
+            assertEquals(0, collection.size());
+
+            int expected = 1;
+            while (started.hasNext()) {
+                SimpleFeature feature = started.next();
+                assertEquals(expected, feature.getAttribute("id"));
+                assertEquals("name" + expected, feature.getAttribute("name"));
+                expected++;
+            }
+            assertEquals(500, expected);
+            expected = 0;
+            while (pending.hasNext()) {
+                assertEquals(expected++, pending.next().getAttribute("id"));
+            }
+            assertEquals(500, expected);
+        }
+    }
+
+    private void checkMatchesScan(BinarySpatialIndexFeatureCollection collection) throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point,id:Integer,name:String");
+        GeometryFactory gf = new GeometryFactory();
+        SimpleFeatureBuilder fb = new SimpleFeatureBuilder(type);
+        for (int i = 0; i < 2000; i++) {
+            fb.add(gf.createPoint(new Coordinate((i * 37) % 360 - 180, (i * 13) % 180 - 90)));
+            fb.add(i);
+            fb.add("name" + i);
+            collection.add(fb.buildFeature("points." + i));
+        }
+        assertEquals(2000, collection.size());
+        assertTrue(collection.getStorageSize() > 0);
+
+        for (int i = 0; i < 10; i++) {
+            double x = -180 + i * 30;
+            double y = -90 + i * 15;
+            Filter filter = ff.bbox("geom", x, y, x + 45, y + 30, null);
+            Set<String> expected = new TreeSet<>();
+            try (SimpleFeatureIterator it = collection.features()) {
+                while (it.hasNext()) {
+                    SimpleFeature f = it.next();
+                    if (filter.evaluate(f)) {
+                        expected.add(f.getID());
+                    }
+                }
+            }
+            assertFalse(expected.isEmpty());
+            assertEquals(expected, ids(collection.subCollection(filter)));
+        }
+
+        // adding after a query rebuilds the index
+        fb.add(gf.createPoint(new Coordinate(500, 500)));
+        collection.add(fb.buildFeature("points.extra"));
+        assertEquals(Set.of("points.extra"), ids(collection.subCollection(ff.bbox("geom", 499, 499, 501, 501, null))));
+
+        CountVisitor visitor = new CountVisitor();
+        collection.accepts(visitor, null);
+        assertEquals(2001, visitor.getCount());
+    }
+
+    @Test
+    public void testAttributeTypes() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType(
+                "types",
+                "geom:Polygon,d:Double,l:Long,b:Boolean,date:Date,ts:java.sql.Timestamp,bd:java.math.BigDecimal,s:String");
+        SimpleFeature feature = SimpleFeatureBuilder.build(
+                type,
+                new Object[] {
+                    new GeometryFactory().toGeometry(new ReferencedEnvelope(0, 1, 0, 1, null)),
+                    1.5,
+                    Long.MAX_VALUE,
+                    true,
+                    new Date(1000),
+                    new Timestamp(123456789),
+                    new BigDecimal("1.25"),
+                    "àèìòù"
+                },
+                "types.1");
+        BinarySpatialIndexFeatureCollection collection = new BinarySpatialIndexFeatureCollection();
+        collection.add(feature);
+        assertEquals(type, collection.getSchema());
+        SimpleFeature decoded = collection.iterator().next();
+        assertEquals(feature.getID(), decoded.getID());
+        assertEquals(feature.getAttributes(), decoded.getAttributes());
+    }
+
+    private Set<String> ids(SimpleFeatureCollection collection) {
+        Set<String> ids = new HashSet<>();
+        try (SimpleFeatureIterator it = collection.features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        return new TreeSet<>(ids);
+    }
+}
@@ -5,8 +5,13 @@
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import org.geotools.api.data.Query;
 import org.geotools.api.data.SimpleFeatureReader;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
@@ -18,8 +23,11 @@
 import org.geotools.factory.CommonFactoryFinder;
 import org.geotools.feature.DefaultFeatureCollection;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.simple.SimpleFeatureImpl;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
+import org.geotools.filter.identity.FeatureIdImpl;
 import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.util.factory.Hints;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
@@ -218,6 +226,142 @@ public void testSortNaturalPartialLastPage() throws IOException {
         }
     }
 
+    @Test
+    public void testParallelFileSort() throws IOException {
+        // many runs, not a power of two, spilled in parallel
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, peopleDesc, 7, Long.MAX_VALUE, 4)) {
+            assertEquals(fc.size(), assertSortedOnPeopleDesc(sr));
+        }
+    }
+
+    @Test
+    public void testMemoryBudgetSort() throws IOException {
+        // no limit on the feature count, the budget forces spilling to disk
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, peopleDesc, Integer.MAX_VALUE, 20_000, 2)) {
+            assertEquals(fc.size(), assertSortedOnPeopleDesc(sr));
+        }
+    }
+
+    @Test
+    public void testMemoryBudgetHint() throws IOException {
+        Query query = new Query("test");
+        query.setSortBy(peopleDesc);
+        Hints hints = new Hints(Hints.MAX_MEMORY_SORT_BYTES, 20_000L);
+        hints.put(Hints.SORT_PARALLELISM, 1);
+        query.setHints(hints);
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, query)) {
+            assertEquals(fc.size(), assertSortedOnPeopleDesc(sr));
+        }
+    }
+
+    @Test
+    public void testTopK() throws IOException {
+        Query query = new Query("test");
+        query.setSortBy(peopleDesc);
+        query.setStartIndex(5);
+        query.setMaxFeatures(10);
+        // only the features needed to answer the query are returned
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, query)) {
+            assertEquals(15, assertSortedOnPeopleDesc(sr));
+        }
+    }
+
+    @Test
+    public void testTopKMatchesFullSort() throws IOException {
+        // plenty of ties on the byte values, the top-K must match the stable full sort
+        SortBy[] byteAsc = {ff.sort("byte", SortOrder.ASCENDING)};
+        List<String> expected = new ArrayList<>();
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteAsc, 1000)) {
+            while (sr.hasNext() && expected.size() < 20) {
+                expected.add(sr.next().getID());
+            }
+        }
+
+        Query query = new Query("test");
+        query.setSortBy(byteAsc);
+        query.setMaxFeatures(20);
+        List<String> actual = new ArrayList<>();
+        try (SimpleFeatureReader sr =
+                new SortedFeatureReader(new DelegateSimpleFeatureReader(schema, fc.features()), query)) {
+            while (sr.hasNext()) {
+                actual.add(sr.next().getID());
+            }
+        }
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testFileSortStable() throws IOException {
+        // bytes wrap around, features with the same byte value must keep their original order
+        Map<String, Integer> positions = new HashMap<>();
+        try (SimpleFeatureIterator fi = fc.features()) {
+            while (fi.hasNext()) {
+                positions.put(fi.next().getID(), positions.size());
+            }
+        }
+        SortBy[] byteAsc = {ff.sort("byte", SortOrder.ASCENDING)};
+        Map<Byte, Integer> lastPositions = new HashMap<>();
+        int count = 0;
+        try (SimpleFeatureReader sr = new SortedFeatureReader(fr, byteAsc, 11, Long.MAX_VALUE, 3)) {
+            Byte prev = null;
+            while (sr.hasNext()) {
+                SimpleFeature f = sr.next();
+                count++;
+                Byte curr = (Byte) f.getAttribute("byte");
+                if (curr == null) {
+                    continue;
+                }
+                if (prev != null) {
+                    assertTrue(curr >= prev);
+                }
+                int position = positions.get(f.getID());
+                Integer last = lastPositions.put(curr, position);
+                if (last != null) {
+                    assertTrue(position > last);
+                }
+                prev = curr;
+            }
+        }
+        assertEquals(fc.size(), count);
+    }
+
+    @Test
+    public void testFileSortConvertsValues() throws IOException {
+        // values not matching the attribute bindings exactly, as some stores return them
+        DefaultFeatureCollection mixed = new DefaultFeatureCollection("test", schema);
+        for (int i = 0; i < 20; i++) {
+            Object[] values = new Object[schema.getAttributeCount()];
+            values[schema.indexOf("PERSONS")] = Long.valueOf(i);
+            values[schema.indexOf("double")] = String.valueOf(i + 0.5);
+            values[schema.indexOf("short")] = Integer.valueOf(i);
+            mixed.add(new SimpleFeatureImpl(values, schema, new FeatureIdImpl(String.valueOf(i)), false));
+        }
+        try (SimpleFeatureReader sr =
+                new SortedFeatureReader(new DelegateSimpleFeatureReader(schema, mixed.features()), peopleDesc, 3)) {
+            for (int i = 19; i >= 0; i--) {
+                SimpleFeature f = sr.next();
+                assertEquals(Integer.valueOf(i), f.getAttribute("PERSONS"));
+                assertEquals(Double.valueOf(i + 0.5), f.getAttribute("double"));
+                assertEquals(Short.valueOf((short) i), f.getAttribute("short"));
+            }
+            assertFalse(sr.hasNext());
+        }
+    }
+
+    private int assertSortedOnPeopleDesc(SimpleFeatureReader fr)
+            throws IllegalArgumentException, NoSuchElementException, IOException {
+        int prev = Integer.MAX_VALUE;
+        int count = 0;
+        while (fr.hasNext()) {
+            SimpleFeature f = fr.next();
+            int curr = (Integer) f.getAttribute("PERSONS");
+            assertTrue(curr <= prev);
+            prev = curr;
+            count++;
+        }
+        return count;
+    }
+
     private void assertSortedOnPeopleAsc(SimpleFeatureReader fr)
             throws IllegalArgumentException, NoSuchElementException, IOException {
         double prev = -1;
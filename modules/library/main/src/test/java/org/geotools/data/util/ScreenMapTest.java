@@ -16,8 +16,10 @@
  */
 package org.geotools.data.util;
 
+import org.geotools.referencing.operation.transform.IdentityTransform;
 import org.junit.Assert;
 import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
 
 public class ScreenMapTest {
     private int xmin;
@@ -153,4 +155,23 @@ public void testOutsideScreen() throws Exception {
         Assert.assertTrue(map.checkAndSet(0, 0));
         Assert.assertTrue(map.get(0, 0));
     }
+
+    @Test
+    public void testSkippedCount() throws Exception {
+        ScreenMap map = new ScreenMap(0, 0, 10, 10);
+        map.setSpans(1.0, 1.0);
+        map.setTransform(IdentityTransform.create(2));
+
+        Assert.assertFalse(map.checkAndSet(new Envelope(1.2, 1.3, 1.2, 1.3)));
+        Assert.assertEquals(0, map.getSkippedCount());
+        Assert.assertTrue(map.checkAndSet(new Envelope(1.5, 1.6, 1.5, 1.6)));
+        Assert.assertEquals(1, map.getSkippedCount());
+        // too large to be simplified, not skipped
+        Assert.assertFalse(map.checkAndSet(new Envelope(1, 3, 1, 3)));
+        // get does not count, the caller reports the skip
+        Assert.assertTrue(map.get(new Envelope(1.5, 1.6, 1.5, 1.6)));
+        Assert.assertEquals(1, map.getSkippedCount());
+        map.incrementSkipped();
+        Assert.assertEquals(2, map.getSkippedCount());
+    }
 }
@@ -555,6 +555,16 @@ public void testStandardDeviation() throws Exception {
         assertSame(result, result.merge(emptyVisitor.getResult()));
     }
 
+    @Test
+    public void testStandardDeviationSetValue() throws Exception {
+        FilterFactory factory = CommonFactoryFinder.getFilterFactory(null);
+        StandardDeviationVisitor visitor = new StandardDeviationVisitor(factory.property("value"));
+        // results computed natively can carry the mean, needed by the classification
+        visitor.setValue(new StandardDeviationVisitor.Result(2, 5));
+        assertEquals(2, visitor.getResult().toDouble(), 0d);
+        assertEquals(5, visitor.getMean(), 0d);
+    }
+
     // try merging a count and sum to get an average, both count+sum and sum+count
     @Test
     public void testCountSumMerge() throws IllegalFilterException, IOException {
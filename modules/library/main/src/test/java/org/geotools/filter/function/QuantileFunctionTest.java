@@ -16,22 +16,30 @@
  */
 package org.geotools.filter.function;
 
+import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import org.geotools.api.feature.FeatureVisitor;
 import org.geotools.api.feature.simple.SimpleFeature;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.filter.expression.Divide;
 import org.geotools.api.filter.expression.Function;
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.api.filter.expression.PropertyName;
+import org.geotools.api.util.ProgressListener;
 import org.geotools.data.DataUtilities;
 import org.geotools.data.simple.SimpleFeatureCollection;
 import org.geotools.feature.DefaultFeatureCollection;
 import org.geotools.feature.SchemaException;
+import org.geotools.feature.collection.DecoratingSimpleFeatureCollection;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.feature.visitor.QuantileListVisitor;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -314,4 +322,34 @@ public void testPercentagesConsistencyWithMoreClassThanIntervals() {
             assertEquals(12.5, percentage, 0d);
         }
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testEvaluateWithStoreComputedBins() throws Exception {
+        // a collection computing the bins natively, summarizing each bin with its min, max and count
+        SimpleFeatureCollection summarizing = new DecoratingSimpleFeatureCollection(featureCollection) {
+            @Override
+            public void accepts(FeatureVisitor visitor, ProgressListener progress) throws IOException {
+                if (visitor instanceof QuantileListVisitor quantile) {
+                    // the sorted values are 4, 8, 12 | 20, 29, 43 | 61, 90
+                    List<Comparable>[] bins =
+                            new List[] {Arrays.asList(4, 12), Arrays.asList(20, 43), Arrays.asList(61, 90)};
+                    quantile.setValue(bins, new int[] {3, 3, 2});
+                } else {
+                    super.accepts(visitor, progress);
+                }
+            }
+        };
+
+        Function func = ff.function("Quantile", ff.property("foo"), ff.literal(3), ff.literal(true));
+        RangedClassifier expected = (RangedClassifier) func.evaluate(featureCollection);
+        RangedClassifier actual = (RangedClassifier) func.evaluate(summarizing);
+        assertEquals(3, actual.getSize());
+        for (int i = 0; i < 3; i++) {
+            assertEquals(expected.getTitle(i), actual.getTitle(i));
+        }
+        assertArrayEquals(expected.getPercentages(), actual.getPercentages(), 1e-9);
+        assertEquals(37.5, actual.getPercentages()[0], 1e-9);
+        assertEquals(25, actual.getPercentages()[2], 1e-9);
+    }
 }
@@ -541,6 +541,22 @@ public class Hints extends RenderingHints {
      */
     public static final Key MAX_MEMORY_SORT = new Key(Integer.class);
 
+    /**
+     * Key to control the amount of memory, in bytes, used to hold features when performing a fallback merge-sort. The
+     * features read are accumulated in runs until their estimated size exceeds the budget, then sorted and spilled to
+     * disk. When {@link #MAX_MEMORY_SORT} is also provided, the runs are spilled as soon as either limit is reached.
+     *
+     * @since 35.0
+     */
+    public static final Key MAX_MEMORY_SORT_BYTES = new Key(Long.class);
+
+    /**
+     * Key to control the number of threads used to sort and spill the runs when performing a fallback merge-sort
+     *
+     * @since 35.0
+     */
+    public static final Key SORT_PARALLELISM = new Key(Integer.class);
+
     /**
      * Asks a datastore having a vector pyramid (pre-generalized geometries) to return the geometry version whose points
      * have been generalized less than the specified distance (further generalization might be performed by the client
@@ -0,0 +1,31 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util.tracing;
+
+/** The GeoTools operations that can be traced, see {@link Tracing} */
+public enum OperationType {
+    /** Reading features out of a feature source, the subject is the type name, the detail the filter */
+    FEATURE_READ,
+    /** Painting a map layer, the subject is the layer title or name, the count the features painted */
+    LAYER_PAINT,
+    /** Creating a math transform that was not found in cache, the subject is the source and target CRS pair */
+    MATH_TRANSFORM_CREATION,
+    /** Loading a granule out of a mosaic, the subject is the granule location */
+    GRANULE_LOAD,
+    /** Executing a statement against a database, the subject is the SQL */
+    STATEMENT_EXECUTION
+}
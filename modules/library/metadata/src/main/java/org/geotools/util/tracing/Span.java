@@ -0,0 +1,30 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util.tracing;
+
+/** A traced operation in progress, see {@link Tracer#start(OperationType)} */
+public interface Span {
+
+    /**
+     * Ends the operation.
+     *
+     * @param subject What the operation worked against (type name, layer, SQL statement, ...)
+     * @param detail Further details about the operation (e.g., the filter), can be null
+     * @param count The number of items processed by the operation, or -1 if not applicable
+     */
+    void end(String subject, String detail, long count);
+}
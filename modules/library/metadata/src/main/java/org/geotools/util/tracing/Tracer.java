@@ -0,0 +1,38 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util.tracing;
+
+/**
+ * Receives notifications about the traced operations. Implementations are looked up with the {@link
+ * java.util.ServiceLoader} mechanism, see {@link Tracing}.
+ */
+public interface Tracer {
+
+    /**
+     * Notifies the start of an operation, returning the span that will be ended when the operation completes, or null
+     * if the tracer is not interested in this operation type (e.g., because recording is disabled).
+     */
+    Span start(OperationType type);
+
+    /**
+     * Returns true if the tracer is currently interested in the given operation type. Callers use it to skip the
+     * preparation of costly details when nobody records them. The default implementation returns true.
+     */
+    default boolean isEnabled(OperationType type) {
+        return true;
+    }
+}
@@ -0,0 +1,126 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util.tracing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.ServiceLoader;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Entry point for tracing the hot paths of the library. Code performing a traced operation calls {@link
+ * #start(OperationType)} and, if a span is returned, ends it once the operation is complete:
+ *
+ * <pre><code>
+ * Span span = Tracing.start(OperationType.STATEMENT_EXECUTION);
+ * try {
+ *     rs = st.executeQuery(sql);
+ * } finally {
+ *     if (span != null) span.end(sql, null, -1);
+ * }
+ * </code></pre>
+ *
+ * The {@link Tracer} implementations are looked up with the {@link ServiceLoader} mechanism, when none is found (the
+ * default) {@link #start(OperationType)} returns null right away, and tracing costs just a volatile read.
+ */
+public final class Tracing {
+
+    static final Logger LOGGER = Logging.getLogger(Tracing.class);
+
+    private static volatile Tracer[] tracers = lookupTracers();
+
+    private Tracing() {}
+
+    private static Tracer[] lookupTracers() {
+        List<Tracer> result = new ArrayList<>();
+        try {
+            for (Tracer tracer : ServiceLoader.load(Tracer.class, Tracing.class.getClassLoader())) {
+                result.add(tracer);
+            }
+        } catch (Throwable t) {
+            LOGGER.log(Level.WARNING, "Failed to load the tracers, tracing will be disabled", t);
+        }
+        return result.toArray(new Tracer[result.size()]);
+    }
+
+    /**
+     * Starts tracing an operation, returns the span to be ended when the operation completes, or null if no tracer is
+     * interested in it
+     */
+    public static Span start(OperationType type) {
+        Tracer[] current = tracers;
+        if (current.length == 0) {
+            return null;
+        } else if (current.length == 1) {
+            return current[0].start(type);
+        }
+        List<Span> spans = null;
+        for (Tracer tracer : current) {
+            Span span = tracer.start(type);
+            if (span != null) {
+                if (spans == null) spans = new ArrayList<>(current.length);
+                spans.add(span);
+            }
+        }
+        if (spans == null) {
+            return null;
+        } else if (spans.size() == 1) {
+            return spans.get(0);
+        }
+        Span[] array = spans.toArray(new Span[spans.size()]);
+        return (subject, detail, count) -> {
+            for (Span span : array) {
+                span.end(subject, detail, count);
+            }
+        };
+    }
+
+    /**
+     * Returns true if at least one of the registered tracers is currently interested in the given operation type, for
+     * callers that need to prepare costly details (e.g., timers) before starting a span
+     */
+    public static boolean isEnabled(OperationType type) {
+        for (Tracer tracer : tracers) {
+            if (tracer.isEnabled(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Programmatically registers a tracer, in addition to the ones found by {@link ServiceLoader} */
+    public static synchronized void addTracer(Tracer tracer) {
+        if (tracer == null) {
+            throw new IllegalArgumentException("The tracer cannot be null");
+        }
+        Tracer[] current = tracers;
+        Tracer[] updated = new Tracer[current.length + 1];
+        System.arraycopy(current, 0, updated, 0, current.length);
+        updated[current.length] = tracer;
+        tracers = updated;
+    }
+
+    /** Removes a tracer, returns true if it was found */
+    public static synchronized boolean removeTracer(Tracer tracer) {
+        List<Tracer> updated = new ArrayList<>(List.of(tracers));
+        boolean removed = updated.remove(tracer);
+        tracers = updated.toArray(new Tracer[updated.size()]);
+        return removed;
+    }
+}
@@ -0,0 +1,25 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+
+/**
+ * A lightweight tracing SPI for the hot paths of the library (feature reads, layer painting, math transform creation,
+ * granule loads, statement execution). The library code reports operations to {@link
+ * org.geotools.util.tracing.Tracing}, which forwards them to the {@link org.geotools.util.tracing.Tracer}
+ * implementations found in the classpath, if any, e.g., the ones emitting Java Flight Recorder events in the
+ * {@code gt-jfr} module.
+ */
+package org.geotools.util.tracing;
@@ -0,0 +1,108 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.util.tracing;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Test;
+
+public class TracingTest {
+
+    static class CollectingTracer implements Tracer {
+        final OperationType traced;
+
+        final List<String> ended = new ArrayList<>();
+
+        CollectingTracer(OperationType traced) {
+            this.traced = traced;
+        }
+
+        @Override
+        public Span start(OperationType type) {
+            if (type != traced) {
+                return null;
+            }
+            return (subject, detail, count) -> ended.add(type + ":" + subject + ":" + detail + ":" + count);
+        }
+
+        @Override
+        public boolean isEnabled(OperationType type) {
+            return type == traced;
+        }
+    }
+
+    @Test
+    public void testDisabled() {
+        // no tracer in the classpath
+        assertFalse(Tracing.isEnabled(OperationType.FEATURE_READ));
+        assertNull(Tracing.start(OperationType.FEATURE_READ));
+    }
+
+    @Test
+    public void testSingleTracer() {
+        CollectingTracer tracer = new CollectingTracer(OperationType.FEATURE_READ);
+        Tracing.addTracer(tracer);
+        try {
+            assertTrue(Tracing.isEnabled(OperationType.FEATURE_READ));
+            assertFalse(Tracing.isEnabled(OperationType.LAYER_PAINT));
+            assertNull(Tracing.start(OperationType.LAYER_PAINT));
+            Span span = Tracing.start(OperationType.FEATURE_READ);
+            span.end("roads", "INCLUDE", 10);
+            assertEquals(List.of("FEATURE_READ:roads:INCLUDE:10"), tracer.ended);
+        } finally {
+            assertTrue(Tracing.removeTracer(tracer));
+        }
+        assertFalse(Tracing.isEnabled(OperationType.FEATURE_READ));
+        assertFalse(Tracing.removeTracer(tracer));
+    }
+
+    @Test
+    public void testMultipleTracers() {
+        CollectingTracer reads = new CollectingTracer(OperationType.FEATURE_READ);
+        CollectingTracer reads2 = new CollectingTracer(OperationType.FEATURE_READ);
+        CollectingTracer paints = new CollectingTracer(OperationType.LAYER_PAINT);
+        Tracing.addTracer(reads);
+        Tracing.addTracer(paints);
+        try {
+            // only one interested, its span is returned as is
+            Span span = Tracing.start(OperationType.LAYER_PAINT);
+            span.end("layer", null, 5);
+            assertEquals(List.of("LAYER_PAINT:layer:null:5"), paints.ended);
+
+            Tracing.addTracer(reads2);
+            Span composite = Tracing.start(OperationType.FEATURE_READ);
+            composite.end("roads", null, -1);
+            assertEquals(List.of("FEATURE_READ:roads:null:-1"), reads.ended);
+            assertEquals(1, reads2.ended.size());
+            assertNull(Tracing.start(OperationType.GRANULE_LOAD));
+        } finally {
+            Tracing.removeTracer(reads);
+            Tracing.removeTracer(reads2);
+            Tracing.removeTracer(paints);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddNull() {
+        Tracing.addTracer(null);
+    }
+}
@@ -20,6 +20,7 @@
 package org.geotools.referencing.factory;
 
 import java.util.Collections;
+import java.util.List;
 import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -34,6 +35,7 @@
 import org.geotools.metadata.iso.citation.Citations;
 import org.geotools.referencing.AbstractIdentifiedObject;
 import org.geotools.referencing.CRS;
+import org.geotools.util.factory.Hints;
 import org.geotools.util.logging.Logging;
 
 /**
@@ -120,8 +122,10 @@ public void setFullScanAllowed(final boolean fullScan) {
      *   <li>If the authority factory can create objects from their {@linkplain IdentifiedObject#getName name} in
      *       addition of identifiers, then the name and {@linkplain IdentifiedObject#getAlias aliases} are used for
      *       creating objects to be tested.
-     *   <li>If {@linkplain #isFullScanAllowed full scan is allowed}, then full {@linkplain #getCodeCandidates set of
-     *       authority codes} are used for creating objects to be tested.
+     *   <li>If {@linkplain #isFullScanAllowed full scan is allowed}, then the codes of the coordinate reference systems
+     *       sharing the same fingerprint in a {@linkplain IdentifiedObjectIndex reverse index} of the authority codes
+     *       are used for creating objects to be tested. The index is built once, from the full set of authority codes.
+     *       For the other kinds of objects, the full {@linkplain #getCodeCandidates set of authority codes} is used.
      * </ul>
      *
      * <p>The first of the above created objects which is equals to the specified object in the the sense of
@@ -158,7 +162,7 @@ public IdentifiedObject find(final IdentifiedObject object) throws FactoryExcept
         /*
          * Here we exhausted the quick paths. Bail out if the user does not want a full scan.
          */
-        return fullScan ? createFromCodes(object, false) : null;
+        return fullScan ? createFromIndex(object) : null;
     }
 
     /**
@@ -329,6 +333,53 @@ final IdentifiedObject createFromCodes(final IdentifiedObject object, boolean sp
         return null;
     }
 
+    /**
+     * Creates an object {@linkplain CRS#equalsIgnoreMetadata equals, ignoring metadata}, to the specified object, using
+     * the {@linkplain IdentifiedObjectIndex reverse index} of the authority codes when available. Only the few objects
+     * sharing the fingerprint of the specified one are created and compared. Falls back on a
+     * {@linkplain #createFromCodes scan of all the codes} for the objects that cannot be indexed, and for the objects
+     * that none of the candidates matched when a non zero
+     * {@linkplain org.geotools.util.factory.Hints#COMPARISON_TOLERANCE comparison tolerance} is set: the fingerprint
+     * rounds the numbers, values equal under the tolerance may be rounded apart.
+     *
+     * @param object The object looked up.
+     * @return The identified object, or {@code null} if not found.
+     * @throws FactoryException if an error occured while building the index or creating an object.
+     */
+    final IdentifiedObject createFromIndex(final IdentifiedObject object) throws FactoryException {
+        final IdentifiedObjectIndex index = IdentifiedObjectIndex.getInstance(getProxy());
+        final List<String> candidates = index != null ? index.getCandidates(object) : null;
+        if (candidates == null) {
+            return createFromCodes(object, false);
+        }
+        for (final String code : candidates) {
+            IdentifiedObject candidate;
+            try {
+                candidate = getProxy().create(code);
+            } catch (FactoryException e) {
+                LOGGER.log(Level.FINEST, "Could not create '" + code + "':" + e);
+                continue;
+            }
+            candidate = deriveEquivalent(candidate, object);
+            if (candidate != null) {
+                return candidate;
+            }
+        }
+        // without tolerance the index holds every possible match, no need to scan the codes
+        return getTolerance() > 0 ? createFromCodes(object, false) : null;
+    }
+
+    /**
+     * Gathers the tolerance for floating point comparisons
+     *
+     * @return The tolerance set in the hints, or its default value if not set
+     */
+    private static double getTolerance() {
+        Double tol = (Double) Hints.getSystemDefault(Hints.COMPARISON_TOLERANCE);
+        if (tol == null) return Hints.COMPARISON_TOLERANCE.getDefault();
+        else return tol;
+    }
+
     protected Set getSpecificCodeCandidates(final IdentifiedObject object) throws FactoryException {
         return Collections.emptySet();
     }
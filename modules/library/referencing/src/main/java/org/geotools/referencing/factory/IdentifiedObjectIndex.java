@@ -0,0 +1,322 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.measure.UnitConverter;
+import org.geotools.api.parameter.GeneralParameterValue;
+import org.geotools.api.parameter.ParameterValue;
+import org.geotools.api.referencing.AuthorityFactory;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.IdentifiedObject;
+import org.geotools.api.referencing.crs.CompoundCRS;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.EngineeringCRS;
+import org.geotools.api.referencing.crs.GeocentricCRS;
+import org.geotools.api.referencing.crs.GeographicCRS;
+import org.geotools.api.referencing.crs.ImageCRS;
+import org.geotools.api.referencing.crs.ProjectedCRS;
+import org.geotools.api.referencing.crs.SingleCRS;
+import org.geotools.api.referencing.crs.TemporalCRS;
+import org.geotools.api.referencing.crs.VerticalCRS;
+import org.geotools.api.referencing.datum.Ellipsoid;
+import org.geotools.api.referencing.datum.GeodeticDatum;
+import org.geotools.api.referencing.datum.PrimeMeridian;
+import org.geotools.metadata.iso.citation.Citations;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.operation.projection.MapProjection;
+import org.geotools.util.logging.Logging;
+import si.uom.NonSI;
+import si.uom.SI;
+
+/**
+ * A reverse index from a fingerprint of the coordinate reference systems to the authority codes of the ones sharing it,
+ * used by {@link IdentifiedObjectFinder} in place of a full scan of the authority codes.
+ *
+ * <p>The fingerprint is made of the values that {@link CRS#equalsIgnoreMetadata equalsIgnoreMetadata} compares and that
+ * can be hashed: the kind of CRS, its dimension, the ellipsoid and prime meridian, the projection method and its
+ * parameters (rounded to 7 significant digits). Names and axis order are left out, so the candidates found in the
+ * index still need to be confirmed by a comparison. Values equal under a non zero
+ * {@linkplain org.geotools.util.factory.Hints#COMPARISON_TOLERANCE comparison tolerance} may still be rounded to
+ * different fingerprints, the finder scans all the codes when the index yields no match and such a tolerance is set.
+ *
+ * <p>The index is built lazily, the first time a full scan is requested for a given factory and type, by creating all
+ * the objects of the factory once. It is then saved in the directory specified by the {@value #DIRECTORY_KEY}
+ * {@linkplain System#getProperty(String) system property} (or in the temporary directory), and reloaded by the next
+ * runs, as long as the set of authority codes and the {@linkplain AbstractAuthorityFactory#getBackingStoreDescription
+ * backing store} (e.g. the version of the EPSG database) did not change.
+ */
+final class IdentifiedObjectIndex {
+
+    static final Logger LOGGER = Logging.getLogger(IdentifiedObjectIndex.class);
+
+    /** The system property for the directory where the indexes are saved. */
+    public static final String DIRECTORY_KEY = "org.geotools.referencing.index.directory";
+
+    /** The version of the fingerprint, to be increased whenever {@link #fingerprint} changes. */
+    static final int VERSION = 1;
+
+    /** The property holding the version, authority codes summary and backing store, in the saved files. */
+    private static final String HEADER_KEY = "#header";
+
+    /** The loaded indexes, by factory and type. */
+    private static final Map<String, IdentifiedObjectIndex> INDEXES = new HashMap<>();
+
+    /** The header of this index, the saved indexes with a different header are stale. */
+    private final String header;
+
+    /** The authority codes, by fingerprint. */
+    private final Map<String, List<String>> codes;
+
+    private IdentifiedObjectIndex(String header, Map<String, List<String>> codes) {
+        this.header = header;
+        this.codes = codes;
+    }
+
+    /**
+     * Returns the index for the objects created by the given proxy, building it if needed, or {@code null} if the
+     * objects of the proxy type cannot be indexed.
+     */
+    static IdentifiedObjectIndex getInstance(final AuthorityFactoryProxy proxy) throws FactoryException {
+        final Class<? extends IdentifiedObject> type = proxy.getType();
+        if (!CoordinateReferenceSystem.class.isAssignableFrom(type)) {
+            return null;
+        }
+        final AuthorityFactory factory = proxy.getAuthorityFactory();
+        final Set<String> authorityCodes = proxy.getAuthorityCodes();
+        final String name = Citations.getIdentifier(factory.getAuthority())
+                + '-'
+                + type.getSimpleName()
+                + '-'
+                + factory.getClass().getSimpleName();
+        final String header =
+                VERSION + ":" + authorityCodes.size() + ':' + Integer.toHexString(authorityCodes.hashCode());
+        synchronized (INDEXES) {
+            IdentifiedObjectIndex index = INDEXES.get(name);
+            if (index == null || !index.header.equals(header)) {
+                final File file = getFile(name);
+                final String fileHeader = header + ':' + getBackingStoreDescription(factory);
+                index = load(file, header, fileHeader);
+                if (index == null) {
+                    index = build(proxy, authorityCodes, header);
+                    save(index, file, fileHeader);
+                }
+                INDEXES.put(name, index);
+            }
+            return index;
+        }
+    }
+
+    /**
+     * Returns the description of the backing store of the given factory, or an empty string if none. The description
+     * usually includes the version of the database, which the authority codes alone do not tell.
+     */
+    private static String getBackingStoreDescription(final AuthorityFactory factory) {
+        if (factory instanceof AbstractAuthorityFactory authorityFactory) {
+            try {
+                final String description = authorityFactory.getBackingStoreDescription();
+                if (description != null) {
+                    return description;
+                }
+            } catch (FactoryException e) {
+                LOGGER.log(Level.FINE, "Could not describe the backing store of " + factory, e);
+            }
+        }
+        return "";
+    }
+
+    /**
+     * Returns the authority codes of the objects that may be equal to the given one, ignoring metadata, or {@code null}
+     * if the object cannot be indexed.
+     */
+    List<String> getCandidates(final IdentifiedObject object) {
+        final String fingerprint = fingerprint(object);
+        if (fingerprint == null) {
+            return null;
+        }
+        final List<String> candidates = codes.get(fingerprint);
+        return candidates != null ? candidates : Collections.emptyList();
+    }
+
+    /** Creates all the objects of the proxy and indexes their authority codes by fingerprint. */
+    private static IdentifiedObjectIndex build(
+            final AuthorityFactoryProxy proxy, final Set<String> authorityCodes, final String header) {
+        final Map<String, List<String>> codes = new HashMap<>();
+        for (final String code : authorityCodes) {
+            final String fingerprint;
+            try {
+                fingerprint = fingerprint(proxy.create(code));
+            } catch (Exception e) {
+                // Some objects cannot be created properly, a full scan would skip them as well
+                LOGGER.log(Level.FINEST, "Could not create '" + code + "':" + e);
+                continue;
+            }
+            if (fingerprint != null) {
+                codes.computeIfAbsent(fingerprint, k -> new ArrayList<>(1)).add(code);
+            }
+        }
+        return new IdentifiedObjectIndex(header, codes);
+    }
+
+    /** Returns the file where the given index is saved, or {@code null} if there is no place to save it. */
+    private static File getFile(final String name) {
+        try {
+            File directory;
+            final String property = System.getProperty(DIRECTORY_KEY);
+            if (property != null) {
+                directory = new File(property);
+            } else {
+                directory = new File(new File(System.getProperty("java.io.tmpdir", "."), "GeoTools"), "Indexes");
+            }
+            if (directory.isDirectory() || directory.mkdirs()) {
+                return new File(directory, name + ".properties");
+            }
+        } catch (SecurityException e) {
+            // Can't access the file system, the index will be kept in memory only
+        }
+        return null;
+    }
+
+    /** Loads the index saved in the given file, or returns {@code null} if missing or stale. */
+    private static IdentifiedObjectIndex load(final File file, final String header, final String fileHeader) {
+        if (file == null || !file.isFile()) {
+            return null;
+        }
+        final Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            properties.load(in);
+        } catch (IOException e) {
+            LOGGER.log(Level.FINE, "Could not read the index " + file, e);
+            return null;
+        }
+        if (!fileHeader.equals(properties.remove(HEADER_KEY))) {
+            return null;
+        }
+        final Map<String, List<String>> codes = new HashMap<>();
+        for (final String fingerprint : properties.stringPropertyNames()) {
+            codes.put(
+                    fingerprint,
+                    Arrays.asList(properties.getProperty(fingerprint).split(",")));
+        }
+        return new IdentifiedObjectIndex(header, codes);
+    }
+
+    /** Saves the index in the given file. Failures are logged, the index is still usable in memory. */
+    private static void save(final IdentifiedObjectIndex index, final File file, final String fileHeader) {
+        if (file == null) {
+            return;
+        }
+        final Properties properties = new Properties();
+        properties.setProperty(HEADER_KEY, fileHeader);
+        for (final Map.Entry<String, List<String>> entry : index.codes.entrySet()) {
+            properties.setProperty(entry.getKey(), String.join(",", entry.getValue()));
+        }
+        try {
+            // write aside and then move, so that concurrent readers never see a partial file
+            final File temp = File.createTempFile(file.getName(), ".tmp", file.getParentFile());
+            try (OutputStream out = Files.newOutputStream(temp.toPath())) {
+                properties.store(out, "Authority codes by CRS fingerprint");
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException | SecurityException e) {
+            LOGGER.log(Level.FINE, "Could not save the index " + file, e);
+        }
+    }
+
+    /**
+     * Returns the fingerprint of the given object, or {@code null} if the object cannot be indexed. Objects equal
+     * ignoring metadata have the same fingerprint.
+     */
+    static String fingerprint(final IdentifiedObject object) {
+        if (!(object instanceof CoordinateReferenceSystem crs)) {
+            return null;
+        }
+        final StringBuilder buffer = new StringBuilder();
+        appendFingerprint(crs, buffer);
+        return buffer.toString();
+    }
+
+    private static void appendFingerprint(final CoordinateReferenceSystem crs, final StringBuilder buffer) {
+        if (crs instanceof CompoundCRS compound) {
+            buffer.append("Compound(");
+            for (final CoordinateReferenceSystem component : compound.getCoordinateReferenceSystems()) {
+                appendFingerprint(component, buffer);
+                buffer.append(';');
+            }
+            buffer.append(')');
+            return;
+        }
+        buffer.append(getKind(crs)).append(crs.getCoordinateSystem().getDimension());
+        if (crs instanceof SingleCRS single && single.getDatum() instanceof GeodeticDatum datum) {
+            final Ellipsoid ellipsoid = datum.getEllipsoid();
+            final PrimeMeridian pm = datum.getPrimeMeridian();
+            final UnitConverter toMetre = ellipsoid.getAxisUnit().getConverterTo(SI.METRE);
+            buffer.append('[');
+            appendRounded(toMetre.convert(ellipsoid.getSemiMajorAxis()), buffer);
+            appendRounded(toMetre.convert(ellipsoid.getSemiMinorAxis()), buffer);
+            appendRounded(
+                    pm.getAngularUnit().getConverterTo(NonSI.DEGREE_ANGLE).convert(pm.getGreenwichLongitude()), buffer);
+            buffer.append(']');
+        }
+        if (crs instanceof ProjectedCRS) {
+            final MapProjection projection = CRS.getMapProjection(crs);
+            if (projection != null) {
+                buffer.append(projection.getClass().getSimpleName()).append('[');
+                for (final GeneralParameterValue param :
+                        projection.getParameterValues().values()) {
+                    if (param instanceof ParameterValue<?> value && value.getValue() instanceof Number) {
+                        appendRounded(value.doubleValue(), buffer);
+                    }
+                }
+                buffer.append(']');
+            }
+        }
+    }
+
+    /** Returns the GeoAPI interface name of the CRS, implementations might differ between equal objects. */
+    private static String getKind(final CoordinateReferenceSystem crs) {
+        if (crs instanceof ProjectedCRS) return "Projected";
+        if (crs instanceof GeographicCRS) return "Geographic";
+        if (crs instanceof GeocentricCRS) return "Geocentric";
+        if (crs instanceof VerticalCRS) return "Vertical";
+        if (crs instanceof TemporalCRS) return "Temporal";
+        if (crs instanceof EngineeringCRS) return "Engineering";
+        if (crs instanceof ImageCRS) return "Image";
+        return "CRS";
+    }
+
+    /** Appends the value rounded to 7 significant digits, tolerating the noise of unit conversions. */
+    private static void appendRounded(final double value, final StringBuilder buffer) {
+        buffer.append(String.format(Locale.ROOT, "%.6e", value + 0.0)).append(',');
+    }
+}
@@ -0,0 +1,623 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import org.geotools.api.metadata.citation.Citation;
+import org.geotools.api.metadata.extent.Extent;
+import org.geotools.api.metadata.extent.GeographicBoundingBox;
+import org.geotools.api.metadata.extent.GeographicExtent;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.IdentifiedObject;
+import org.geotools.api.referencing.NoSuchAuthorityCodeException;
+import org.geotools.api.referencing.ReferenceSystem;
+import org.geotools.api.referencing.crs.CRSAuthorityFactory;
+import org.geotools.api.referencing.crs.CompoundCRS;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.DerivedCRS;
+import org.geotools.api.referencing.crs.EngineeringCRS;
+import org.geotools.api.referencing.crs.GeocentricCRS;
+import org.geotools.api.referencing.crs.GeographicCRS;
+import org.geotools.api.referencing.crs.ImageCRS;
+import org.geotools.api.referencing.crs.ProjectedCRS;
+import org.geotools.api.referencing.crs.TemporalCRS;
+import org.geotools.api.referencing.crs.VerticalCRS;
+import org.geotools.api.util.GenericName;
+import org.geotools.api.util.InternationalString;
+import org.geotools.api.util.NameSpace;
+import org.geotools.metadata.iso.extent.ExtentImpl;
+import org.geotools.metadata.iso.extent.GeographicBoundingBoxImpl;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.wkt.Formattable;
+import org.geotools.referencing.wkt.Parser;
+import org.geotools.referencing.wkt.Symbols;
+import org.geotools.util.LocalName;
+import org.geotools.util.ScopedName;
+import org.geotools.util.SimpleInternationalString;
+import org.geotools.util.factory.Hints;
+
+/**
+ * A coordinate reference system authority factory backed by a read-only binary snapshot of the definitions of another
+ * factory. The snapshot is written once, typically at build time, by {@link #write write}. It holds the sorted numeric
+ * authority codes, the kind of each CRS, its <cite>Well Known Text</cite> and the metadata the WKT can't carry (domain
+ * of validity, scope, remarks and aliases), so that a code lookup is a binary search followed by the parsing of a
+ * single WKT.
+ *
+ * <p>Only the description and the geographic bounding box of the domain of validity are kept, which is what
+ * {@link CRS#getEnvelope} and {@link CRS#getGeographicBoundingBox} use. Vertical and temporal extents are dropped.
+ *
+ * <p>When the snapshot is a plain file, it is {@linkplain FileChannel#map memory mapped}: opening it costs neither a
+ * database connection nor a temporary file, and the pages are shared by all the JVMs reading the same file. A snapshot
+ * found inside a JAR file is read in memory in a single pass.
+ *
+ * <p>Like {@link PropertyAuthorityFactory}, this factory doesn't cache any result and should be wrapped in some
+ * buffered factory like {@link BufferedAuthorityFactory}.
+ *
+ * @since 35
+ */
+public class SnapshotAuthorityFactory extends DirectAuthorityFactory implements CRSAuthorityFactory {
+    /** The first bytes of a snapshot file. */
+    private static final int MAGIC = 0x47544352;
+
+    /** The version of the snapshot format, to be increased whenever the format changes. */
+    private static final int VERSION = 2;
+
+    /** The kinds of CRS, most specific first. The snapshot stores the index in this array for each code. */
+    private static final Class<?>[] KINDS = {
+        ProjectedCRS.class,
+        GeographicCRS.class,
+        GeocentricCRS.class,
+        VerticalCRS.class,
+        TemporalCRS.class,
+        CompoundCRS.class,
+        DerivedCRS.class,
+        EngineeringCRS.class,
+        ImageCRS.class,
+        CoordinateReferenceSystem.class
+    };
+
+    /** The authority for this factory. */
+    private final Citation authority;
+
+    /** The description of the snapshot content, as given at writing time. */
+    private final String description;
+
+    /** The snapshot content. Only absolute get methods are used, so the buffer can be shared by all threads. */
+    private final ByteBuffer buffer;
+
+    /** The number of authority codes in the snapshot. */
+    private final int count;
+
+    /** Positions in the {@linkplain #buffer} of the codes, kinds, offsets, WKT, metadata offsets and metadata arrays. */
+    private final int codesStart, kindsStart, offsetsStart, wktStart, metadataOffsetsStart, metadataStart;
+
+    /** The authority codes, by type. Created only when first needed. */
+    private final transient Map<Class<? extends IdentifiedObject>, Set<String>> filteredCodes = new HashMap<>();
+
+    /** A WKT parser. The snapshot WKT already contains the authority codes. */
+    private transient SnapshotParser parser;
+
+    /**
+     * Creates a factory for the specified authority from the specified snapshot.
+     *
+     * @param factories The underlying factories used for objects creation.
+     * @param authority The organization or party responsible for definition and maintenance of the database.
+     * @param snapshot URL to the snapshot written by {@link #write write}.
+     * @throws IOException if the snapshot can't be read or is not a valid snapshot.
+     */
+    public SnapshotAuthorityFactory(
+            final ReferencingFactoryContainer factories, final Citation authority, final URL snapshot)
+            throws IOException {
+        super(factories, MINIMUM_PRIORITY + 10);
+        ensureNonNull("authority", authority);
+        this.authority = authority;
+        // The snapshot is written with the axis order of the source factory.
+        hints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_DIRECTIONS, Boolean.FALSE);
+        hints.put(Hints.FORCE_STANDARD_AXIS_UNITS, Boolean.FALSE);
+        buffer = open(snapshot);
+        try {
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IOException("Not a version " + VERSION + " CRS snapshot: " + snapshot);
+            }
+            count = buffer.getInt(8);
+            final byte[] text = new byte[buffer.getInt(12)];
+            buffer.get(16, text);
+            description = new String(text, StandardCharsets.UTF_8);
+            codesStart = 16 + text.length;
+            kindsStart = codesStart + 4 * count;
+            offsetsStart = kindsStart + count;
+            wktStart = offsetsStart + 4 * (count + 1);
+            metadataOffsetsStart = wktStart + buffer.getInt(offsetsStart + 4 * count);
+            metadataStart = metadataOffsetsStart + 4 * (count + 1);
+            if (metadataStart + buffer.getInt(metadataOffsetsStart + 4 * count) != buffer.limit()) {
+                throw new IOException("Truncated CRS snapshot: " + snapshot);
+            }
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated CRS snapshot: " + snapshot, e);
+        }
+    }
+
+    /** Maps the snapshot in memory if it is a file, or reads it fully otherwise. */
+    private static ByteBuffer open(final URL snapshot) throws IOException {
+        if ("file".equals(snapshot.getProtocol())) {
+            final Path path;
+            try {
+                path = Path.of(snapshot.toURI());
+            } catch (URISyntaxException | IllegalArgumentException e) {
+                throw new IOException(e);
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                // the mapping stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            }
+        }
+        try (InputStream in = snapshot.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+
+    /**
+     * Writes a snapshot of all the coordinate reference systems of the given factory having a numeric code. The
+     * objects that can't be created, formatted as WKT, or parsed back to an equal object are skipped. The metadata not
+     * carried by the WKT is written alongside it, and checked to be read back identical.
+     *
+     * @param source The factory to take a snapshot of.
+     * @param description A description of the source, returned by {@link #getBackingStoreDescription}.
+     * @param file The file to write.
+     * @return The number of coordinate reference systems written.
+     * @throws FactoryException if the authority codes of the source can't be fetched.
+     * @throws IOException if the file can't be written.
+     */
+    public static int write(final CRSAuthorityFactory source, final String description, final File file)
+            throws FactoryException, IOException {
+        final Map<Integer, CoordinateReferenceSystem> definitions = new TreeMap<>();
+        for (final String code : source.getAuthorityCodes(CoordinateReferenceSystem.class)) {
+            final Integer key;
+            try {
+                key = Integer.valueOf(code.substring(code.lastIndexOf(':') + 1).trim());
+            } catch (NumberFormatException e) {
+                continue;
+            }
+            try {
+                definitions.put(key, source.createCoordinateReferenceSystem(code));
+            } catch (FactoryException | RuntimeException e) {
+                LOGGER.log(Level.FINE, "Skipping '" + code + "' from the snapshot: " + e);
+            }
+        }
+        final Map<Integer, byte[]> wkts = new TreeMap<>();
+        final Map<Integer, byte[]> metadata = new TreeMap<>();
+        for (final Map.Entry<Integer, CoordinateReferenceSystem> entry : definitions.entrySet()) {
+            final CoordinateReferenceSystem crs = entry.getValue();
+            try {
+                final String wkt = crs instanceof Formattable f ? f.toWKT(Formattable.SINGLE_LINE) : crs.toWKT();
+                final byte[] properties = writeMetadata(crs);
+                if (CRS.equalsIgnoreMetadata(crs, CRS.parseWKT(wkt))
+                        && getMetadata(crs).equals(getMetadata(readMetadata(properties)))) {
+                    wkts.put(entry.getKey(), wkt.getBytes(StandardCharsets.UTF_8));
+                    metadata.put(entry.getKey(), properties);
+                    continue;
+                }
+            } catch (FactoryException | IOException | RuntimeException e) {
+                // reported below
+            }
+            LOGGER.log(Level.FINE, "Skipping " + entry.getKey() + " from the snapshot, its WKT does not round trip");
+            definitions.put(entry.getKey(), null);
+        }
+        final byte[] text = description != null ? description.getBytes(StandardCharsets.UTF_8) : new byte[0];
+        try (DataOutputStream out =
+                new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file.toPath())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(wkts.size());
+            out.writeInt(text.length);
+            out.write(text);
+            for (final Integer code : wkts.keySet()) {
+                out.writeInt(code);
+            }
+            for (final Integer code : wkts.keySet()) {
+                out.writeByte(getKind(definitions.get(code)));
+            }
+            int offset = 0;
+            out.writeInt(offset);
+            for (final byte[] wkt : wkts.values()) {
+                offset += wkt.length;
+                out.writeInt(offset);
+            }
+            for (final byte[] wkt : wkts.values()) {
+                out.write(wkt);
+            }
+            offset = 0;
+            out.writeInt(offset);
+            for (final byte[] properties : metadata.values()) {
+                offset += properties.length;
+                out.writeInt(offset);
+            }
+            for (final byte[] properties : metadata.values()) {
+                out.write(properties);
+            }
+        }
+        return wkts.size();
+    }
+
+    /**
+     * Encodes the metadata of the given CRS that the WKT doesn't carry: the description and geographic bounding box of
+     * the domain of validity, the scope, the remarks and the aliases.
+     */
+    private static byte[] writeMetadata(final CoordinateReferenceSystem crs) throws IOException {
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            final Extent domain = crs.getDomainOfValidity();
+            out.writeUTF(toString(domain != null ? domain.getDescription() : null));
+            final GeographicBoundingBox bbox = getGeographicBoundingBox(domain);
+            out.writeBoolean(bbox != null);
+            if (bbox != null) {
+                out.writeDouble(bbox.getWestBoundLongitude());
+                out.writeDouble(bbox.getEastBoundLongitude());
+                out.writeDouble(bbox.getSouthBoundLatitude());
+                out.writeDouble(bbox.getNorthBoundLatitude());
+            }
+            out.writeUTF(toString(crs.getScope()));
+            out.writeUTF(toString(crs.getRemarks()));
+            final Collection<GenericName> aliases = crs.getAlias();
+            out.writeShort(aliases.size());
+            for (final GenericName alias : aliases) {
+                final NameSpace namespace = alias.scope();
+                final GenericName scope = namespace == null || namespace.isGlobal() ? null : namespace.name();
+                out.writeUTF(scope != null ? scope.toString() : "");
+                out.writeUTF(alias.tip().toString());
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Decodes the metadata written by {@link #writeMetadata}, as properties for the parsed CRS. */
+    private static Map<String, Object> readMetadata(final byte[] bytes) throws IOException {
+        final Map<String, Object> properties = new HashMap<>();
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            final String description = in.readUTF();
+            ExtentImpl domain = null;
+            if (!description.isEmpty()) {
+                domain = new ExtentImpl();
+                domain.setDescription(new SimpleInternationalString(description));
+            }
+            if (in.readBoolean()) {
+                if (domain == null) {
+                    domain = new ExtentImpl();
+                }
+                domain.getGeographicElements()
+                        .add(new GeographicBoundingBoxImpl(
+                                in.readDouble(), in.readDouble(), in.readDouble(), in.readDouble()));
+            }
+            if (domain != null) {
+                properties.put(ReferenceSystem.DOMAIN_OF_VALIDITY_KEY, domain);
+            }
+            final String scope = in.readUTF();
+            if (!scope.isEmpty()) {
+                properties.put(ReferenceSystem.SCOPE_KEY, scope);
+            }
+            final String remarks = in.readUTF();
+            if (!remarks.isEmpty()) {
+                properties.put(IdentifiedObject.REMARKS_KEY, remarks);
+            }
+            final int aliasCount = in.readShort();
+            if (aliasCount > 0) {
+                final GenericName[] aliases = new GenericName[aliasCount];
+                for (int i = 0; i < aliasCount; i++) {
+                    final String namespace = in.readUTF();
+                    final String tip = in.readUTF();
+                    aliases[i] =
+                            namespace.isEmpty() ? new LocalName(tip) : new ScopedName(new LocalName(namespace), tip);
+                }
+                properties.put(IdentifiedObject.ALIAS_KEY, aliases);
+            }
+        }
+        return properties;
+    }
+
+    /** Returns the metadata of the given CRS as comparable strings, for checking that they round trip. */
+    private static List<String> getMetadata(final CoordinateReferenceSystem crs) {
+        final List<String> metadata = new ArrayList<>();
+        final Extent domain = crs.getDomainOfValidity();
+        metadata.add(toString(domain != null ? domain.getDescription() : null));
+        final GeographicBoundingBox bbox = getGeographicBoundingBox(domain);
+        metadata.add(toString(bbox));
+        metadata.add(toString(crs.getScope()));
+        metadata.add(toString(crs.getRemarks()));
+        for (final GenericName alias : crs.getAlias()) {
+            metadata.add(alias.toString());
+        }
+        return metadata;
+    }
+
+    /** Returns the metadata of the given properties as comparable strings, for checking that they round trip. */
+    private static List<String> getMetadata(final Map<String, Object> properties) {
+        final List<String> metadata = new ArrayList<>();
+        final Extent domain = (Extent) properties.get(ReferenceSystem.DOMAIN_OF_VALIDITY_KEY);
+        metadata.add(toString(domain != null ? domain.getDescription() : null));
+        final GeographicBoundingBox bbox = getGeographicBoundingBox(domain);
+        metadata.add(toString(bbox));
+        metadata.add(toString(properties.get(ReferenceSystem.SCOPE_KEY)));
+        metadata.add(toString(properties.get(IdentifiedObject.REMARKS_KEY)));
+        final GenericName[] aliases = (GenericName[]) properties.get(IdentifiedObject.ALIAS_KEY);
+        if (aliases != null) {
+            for (final GenericName alias : aliases) {
+                metadata.add(alias.toString());
+            }
+        }
+        return metadata;
+    }
+
+    /** Returns the first geographic bounding box of the given extent, or {@code null} if none. */
+    private static GeographicBoundingBox getGeographicBoundingBox(final Extent domain) {
+        if (domain != null) {
+            for (final GeographicExtent element : domain.getGeographicElements()) {
+                if (element instanceof GeographicBoundingBox bbox) {
+                    return bbox;
+                }
+            }
+        }
+        return null;
+    }
+
+    /** Returns the bounds of the given bounding box as a string, or an empty string if {@code null}. */
+    private static String toString(final GeographicBoundingBox bbox) {
+        if (bbox == null) {
+            return "";
+        }
+        return bbox.getWestBoundLongitude()
+                + " "
+                + bbox.getEastBoundLongitude()
+                + " "
+                + bbox.getSouthBoundLatitude()
+                + " "
+                + bbox.getNorthBoundLatitude();
+    }
+
+    /** Returns the unlocalized string of the given text, or an empty string if {@code null}. */
+    private static String toString(final Object text) {
+        if (text instanceof InternationalString i18n) {
+            return i18n.toString(null);
+        }
+        return text != null ? text.toString().trim() : "";
+    }
+
+    /** Returns the index in {@link #KINDS} of the first type implemented by the given CRS. */
+    private static int getKind(final CoordinateReferenceSystem crs) {
+        int kind = 0;
+        while (!KINDS[kind].isInstance(crs)) kind++;
+        return kind;
+    }
+
+    /** Returns the organization or party responsible for definition and maintenance of the database. */
+    @Override
+    public Citation getAuthority() {
+        return authority;
+    }
+
+    /** Returns the description given when the snapshot was written. */
+    @Override
+    public String getBackingStoreDescription() {
+        return description;
+    }
+
+    /**
+     * Returns the set of authority codes of the given type, in increasing numerical order. The codes are filtered using
+     * the kind of each CRS recorded in the snapshot.
+     *
+     * @param type The spatial reference objects type (may be {@code Object.class}).
+     * @return The set of authority codes for spatial reference objects of the given type. If this factory doesn't
+     *     contains any object of the given type, then this method returns an empty set.
+     */
+    @Override
+    public Set<String> getAuthorityCodes(Class<? extends IdentifiedObject> type) {
+        if (type == null || type.isAssignableFrom(IdentifiedObject.class)) {
+            type = IdentifiedObject.class;
+        }
+        synchronized (filteredCodes) {
+            Set<String> filtered = filteredCodes.get(type);
+            if (filtered == null) {
+                filtered = new LinkedHashSet<>();
+                for (int i = 0; i < count; i++) {
+                    if (type.isAssignableFrom(KINDS[buffer.get(kindsStart + i)])) {
+                        filtered.add(String.valueOf(buffer.getInt(codesStart + 4 * i)));
+                    }
+                }
+                filtered = Collections.unmodifiableSet(filtered);
+                filteredCodes.put(type, filtered);
+            }
+            return filtered;
+        }
+    }
+
+    /**
+     * Returns the Well Know Text from a code.
+     *
+     * @param code Value allocated by authority.
+     * @return The Well Know Text (WKT) for the specified code.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     */
+    public String getWKT(final String code) throws NoSuchAuthorityCodeException {
+        final int index = getIndex(code);
+        final int start = buffer.getInt(offsetsStart + 4 * index);
+        final byte[] wkt = new byte[buffer.getInt(offsetsStart + 4 * (index + 1)) - start];
+        buffer.get(wktStart + start, wkt);
+        return new String(wkt, StandardCharsets.UTF_8);
+    }
+
+    /** Returns the index of the given code in the snapshot. */
+    private int getIndex(final String code) throws NoSuchAuthorityCodeException {
+        ensureNonNull("code", code);
+        final int index;
+        try {
+            index = indexOf(Integer.parseInt(trimAuthority(code)));
+        } catch (NumberFormatException e) {
+            throw noSuchAuthorityCode(IdentifiedObject.class, code);
+        }
+        if (index < 0) {
+            throw noSuchAuthorityCode(IdentifiedObject.class, code);
+        }
+        return index;
+    }
+
+    /** Returns the index of the given code in the snapshot, or a negative value if not found. */
+    private int indexOf(final int code) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            final int value = buffer.getInt(codesStart + 4 * mid);
+            if (value < code) {
+                low = mid + 1;
+            } else if (value > code) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Gets a description of the object corresponding to a code.
+     *
+     * @param code Value allocated by authority.
+     * @return A description of the object, or {@code null} if the object corresponding to the specified {@code code}
+     *     has no description.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     */
+    @Override
+    public InternationalString getDescriptionText(final String code) throws NoSuchAuthorityCodeException {
+        final String wkt = getWKT(code);
+        int start = wkt.indexOf('"');
+        if (start >= 0) {
+            final int end = wkt.indexOf('"', ++start);
+            if (end >= 0) {
+                return new SimpleInternationalString(wkt.substring(start, end).trim());
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns an arbitrary object from a code. The snapshot contains only coordinate reference systems, so this method
+     * delegates to {@link #createCoordinateReferenceSystem createCoordinateReferenceSystem}.
+     *
+     * @param code Value allocated by authority.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     * @throws FactoryException if the object creation failed for some other reason.
+     */
+    @Override
+    public IdentifiedObject createObject(final String code) throws NoSuchAuthorityCodeException, FactoryException {
+        return createCoordinateReferenceSystem(code);
+    }
+
+    /**
+     * Returns a coordinate reference system from a code.
+     *
+     * @param code Value allocated by authority.
+     * @throws NoSuchAuthorityCodeException if the specified {@code code} was not found.
+     * @throws FactoryException if the object creation failed for some other reason.
+     */
+    @Override
+    public CoordinateReferenceSystem createCoordinateReferenceSystem(final String code)
+            throws NoSuchAuthorityCodeException, FactoryException {
+        final String wkt = getWKT(code);
+        final Map<String, Object> metadata;
+        try {
+            metadata = readMetadata(getMetadataBytes(code));
+        } catch (IOException exception) {
+            throw new FactoryException(exception);
+        }
+        final SnapshotParser parser = getParser();
+        try {
+            synchronized (parser) {
+                parser.metadata = metadata;
+                return parser.parseCoordinateReferenceSystem(wkt);
+            }
+        } catch (ParseException exception) {
+            throw new FactoryException(exception);
+        }
+    }
+
+    /** Returns the encoded metadata of the given code, as written by {@link #writeMetadata}. */
+    private byte[] getMetadataBytes(final String code) throws NoSuchAuthorityCodeException {
+        final int index = getIndex(code);
+        final int start = buffer.getInt(metadataOffsetsStart + 4 * index);
+        final byte[] bytes = new byte[buffer.getInt(metadataOffsetsStart + 4 * (index + 1)) - start];
+        buffer.get(metadataStart + start, bytes);
+        return bytes;
+    }
+
+    /** Returns the parser. */
+    private synchronized SnapshotParser getParser() {
+        if (parser == null) {
+            parser = new SnapshotParser();
+        }
+        return parser;
+    }
+
+    /** The WKT parser for this authority factory, adding to the parsed CRS the metadata stored beside the WKT. */
+    private final class SnapshotParser extends Parser {
+        /** For cross-version compatibility. */
+        private static final long serialVersionUID = 3217052614263427416L;
+
+        /** The metadata of the CRS being parsed. */
+        Map<String, Object> metadata;
+
+        /** Creates the parser. */
+        SnapshotParser() {
+            super(Symbols.DEFAULT, factories);
+        }
+
+        /** Adds the metadata to the properties of the parsed CRS. */
+        @Override
+        protected Map<String, Object> alterProperties(Map<String, Object> properties) {
+            if (metadata != null && !metadata.isEmpty()) {
+                properties = new HashMap<>(properties);
+                properties.putAll(metadata);
+            }
+            return super.alterProperties(properties);
+        }
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.epsg;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.text.MessageFormat;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import org.geotools.api.metadata.citation.Citation;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.crs.CRSAuthorityFactory;
+import org.geotools.metadata.i18n.ErrorKeys;
+import org.geotools.metadata.i18n.LoggingKeys;
+import org.geotools.metadata.i18n.Loggings;
+import org.geotools.metadata.iso.citation.Citations;
+import org.geotools.referencing.ReferencingFactoryFinder;
+import org.geotools.referencing.factory.AbstractAuthorityFactory;
+import org.geotools.referencing.factory.DeferredAuthorityFactory;
+import org.geotools.referencing.factory.FactoryNotFoundException;
+import org.geotools.referencing.factory.ReferencingFactoryContainer;
+import org.geotools.referencing.factory.SnapshotAuthorityFactory;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+
+/**
+ * Authority factory for the EPSG {@linkplain org.geotools.api.referencing.crs.CoordinateReferenceSystem Coordinate
+ * Reference Systems} backed by a prebuilt {@linkplain SnapshotAuthorityFactory read-only snapshot}, named
+ * {@value #FILENAME}. When such a snapshot is available, this factory takes precedence over the factories backed by an
+ * EPSG database: the codes are found without creating a database, unpacking it in a temporary directory or opening
+ * connections, and the snapshot file is shared by all the JVMs using it. If no snapshot is found, the factory won't be
+ * activated and the EPSG database is used as usual.
+ *
+ * <p>The snapshot only contains the coordinate reference systems, with the EPSG axis order, their domain of validity
+ * (description and geographic bounding box), scope, remarks and aliases. Datums, coordinate operations and the
+ * longitude first CRS are still provided by the EPSG database factories.
+ *
+ * <p>The snapshot is written from the EPSG database by the {@link #main main} method, which can be run at build time
+ * (see the {@code epsgSnapshot} profile of the {@code gt-epsg-hsql} module).
+ *
+ * @since 35
+ */
+public class SnapshotEpsgFactory extends DeferredAuthorityFactory implements CRSAuthorityFactory {
+    /**
+     * The snapshot filename. The default {@code SnapshotEpsgFactory} implementation will search for the first occurence
+     * of this file in the following places:
+     *
+     * <p>
+     *
+     * <ul>
+     *   <li>In the directory specified by the {@link Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint.
+     *   <li>In every {@code org/geotools/referencing/factory/espg} directories found on the classpath.
+     * </ul>
+     */
+    public static final String FILENAME = "epsg.snapshot";
+
+    /** Default priority for this factory, higher than the factories backed by an EPSG database. */
+    protected static final int DEFAULT_PRIORITY = ThreadedEpsgFactory.PRIORITY + 5;
+
+    /** The factories to be given to the backing store. */
+    private final ReferencingFactoryContainer factories;
+
+    /** Directory scanned for the snapshot. */
+    private final File directory;
+
+    /** Constructs an authority factory using the default set of factories. */
+    public SnapshotEpsgFactory() {
+        this(null);
+    }
+
+    /**
+     * Constructs an authority factory using a set of factories created from the specified hints. This constructor
+     * recognizes the {@link Hints#CRS_FACTORY CRS}, {@link Hints#CS_FACTORY CS}, {@link Hints#DATUM_FACTORY DATUM} and
+     * {@link Hints#MATH_TRANSFORM_FACTORY MATH_TRANSFORM} {@code FACTORY} hints, and the
+     * {@link Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint.
+     */
+    public SnapshotEpsgFactory(final Hints userHints) {
+        this(userHints, DEFAULT_PRIORITY);
+    }
+
+    /** Constructs an authority factory using the specified hints and priority. */
+    public SnapshotEpsgFactory(final Hints userHints, final int priority) {
+        super(userHints, priority);
+        factories = ReferencingFactoryContainer.instance(userHints);
+        Object hint = null;
+        if (userHints != null) {
+            hint = userHints.get(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY);
+        }
+        if (hint instanceof File file) {
+            directory = file;
+        } else if (hint instanceof String string) {
+            directory = new File(string);
+        } else {
+            directory = null;
+        }
+        if (directory != null) hints.put(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, directory);
+        // The snapshot follows the EPSG axis order.
+        hints.put(Hints.FORCE_LONGITUDE_FIRST_AXIS_ORDER, Boolean.FALSE);
+    }
+
+    /** Returns the authority, which is {@linkplain Citations#EPSG EPSG}. */
+    @Override
+    public Citation getAuthority() {
+        return Citations.EPSG;
+    }
+
+    /**
+     * Returns the URL to the snapshot, looking first in the directory given by the
+     * {@link Hints#CRS_AUTHORITY_EXTRA_DIRECTORY} hint, then in the {@code org/geotools/referencing/factory/epsg}
+     * directories on the classpath.
+     *
+     * @return The URL, or {@code null} if none.
+     */
+    protected URL getSnapshotURL() {
+        try {
+            if (directory != null) {
+                final File file = new File(directory, FILENAME);
+                if (file.isFile()) {
+                    return file.toURI().toURL();
+                }
+            }
+        } catch (SecurityException | MalformedURLException exception) {
+            Logging.unexpectedException(LOGGER, exception);
+        }
+        return SnapshotEpsgFactory.class.getResource(FILENAME);
+    }
+
+    /**
+     * Creates the backing store authority factory.
+     *
+     * @return The backing store to uses in {@code createXXX(...)} methods.
+     * @throws FactoryNotFoundException if no {@value #FILENAME} file has been found.
+     * @throws FactoryException if the snapshot can't be read. This exception usually has an {@link IOException} as its
+     *     cause.
+     */
+    @Override
+    protected AbstractAuthorityFactory createBackingStore() throws FactoryException {
+        final URL url = getSnapshotURL();
+        if (url == null) {
+            throw new FactoryNotFoundException(MessageFormat.format(ErrorKeys.FILE_DOES_NOT_EXIST_$1, FILENAME));
+        }
+        try {
+            final LogRecord record =
+                    Loggings.format(Level.CONFIG, LoggingKeys.USING_FILE_AS_FACTORY_$2, url.getPath(), "EPSG");
+            record.setLoggerName(LOGGER.getName());
+            LOGGER.log(record);
+            return new SnapshotAuthorityFactory(factories, Citations.EPSG, url);
+        } catch (IOException exception) {
+            throw new FactoryException(MessageFormat.format(ErrorKeys.CANT_READ_$1, FILENAME), exception);
+        }
+    }
+
+    /**
+     * Writes a snapshot of the {@link ThreadedEpsgFactory} registered in {@link ReferencingFactoryFinder}. The single
+     * argument is the file to write.
+     *
+     * @param args Command line arguments.
+     * @throws FactoryException if the EPSG database can't be read.
+     * @throws IOException if the snapshot can't be written.
+     */
+    public static void main(final String... args) throws FactoryException, IOException {
+        if (args.length != 1) {
+            System.err.println("Usage: SnapshotEpsgFactory <file>");
+            return;
+        }
+        final File file = new File(args[0]);
+        final File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Can't create the directory " + parent);
+        }
+        final ThreadedEpsgFactory epsg = (ThreadedEpsgFactory) ReferencingFactoryFinder.getCRSAuthorityFactory(
+                "EPSG", new Hints(Hints.CRS_AUTHORITY_FACTORY, ThreadedEpsgFactory.class));
+        try {
+            final int count = SnapshotAuthorityFactory.write(epsg, epsg.getBackingStoreDescription(), file);
+            System.out.println("Wrote " + count + " coordinate reference systems to " + file);
+        } finally {
+            epsg.dispose();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.gridshift;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.text.MessageFormat;
+import org.geotools.metadata.i18n.ErrorKeys;
+import org.geotools.util.URLs;
+
+/** Utility methods for reading the grid shift files. */
+final class GridFiles {
+
+    private GridFiles() {}
+
+    /**
+     * Returns the content of the given grid file. Files are memory mapped, so that only the pages actually used are
+     * read and they are shared with the other processes reading the same file. Other resources (for example entries in
+     * a JAR file) are read fully in memory.
+     *
+     * @param url The grid file location.
+     * @param map {@code false} for reading the file in memory even if it could be mapped.
+     * @return The file content, in big endian byte order.
+     * @throws IOException if the file does not exist or can't be read.
+     */
+    static ByteBuffer read(final URL url, final boolean map) throws IOException {
+        if (url.getProtocol().equals("file")) {
+            final File file = URLs.urlToFile(url);
+            if (!file.isFile() || !file.canRead()) {
+                throw new IOException(MessageFormat.format(ErrorKeys.FILE_DOES_NOT_EXIST_$1, file));
+            }
+            try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+                final long size = channel.size();
+                if (map) {
+                    // the mapping stays valid after the channel is closed
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                }
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException(MessageFormat.format(ErrorKeys.CANT_READ_$1, file));
+                }
+                final ByteBuffer buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // keep reading until full
+                }
+                return buffer.flip();
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            return ByteBuffer.wrap(in.readAllBytes());
+        }
+    }
+}
@@ -18,16 +18,11 @@
 
 import java.io.BufferedReader;
 import java.io.EOFException;
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URL;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
-import java.nio.channels.Channels;
-import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.StringTokenizer;
@@ -35,13 +30,17 @@
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.metadata.i18n.ErrorKeys;
 import org.geotools.referencing.factory.ReferencingFactory;
-import org.geotools.util.SoftValueHashMap;
+import org.geotools.util.ObjectCache;
+import org.geotools.util.ObjectCaches;
 import org.geotools.util.URLs;
 import org.geotools.util.factory.BufferedFactory;
 import org.geotools.util.logging.Logging;
 
 /**
- * Loads and caches NADCON grid shifts
+ * Loads and caches NADCON grid shifts. The grids returned by {@link #loadGrid loadGrid} read the shift values directly
+ * from the memory mapped binary grid files, the ones returned by {@link #loadGridShift loadGridShift} copy them in a
+ * {@linkplain org.geotools.referencing.operation.builder.LocalizationGrid localization grid}. Different grids can be
+ * loaded concurrently.
  *
  * @author Andrea Aime - GeoSolutions
  */
@@ -90,38 +89,78 @@ public boolean equals(Object obj) {
     protected static final Logger LOGGER = Logging.getLogger(NADCONGridShiftFactory.class);
 
     /** The soft cache that holds loaded grids. */
-    private final SoftValueHashMap<NADCONKey, NADConGridShift> gridCache;
+    private final ObjectCache<NADCONKey, NADConGridShift> gridCache;
+
+    /** The soft cache that holds the grids reading their files directly. */
+    private final ObjectCache<NADCONKey, NADConGrid> mappedGridCache;
 
     /** Constructs a factory with the default priority. */
     public NADCONGridShiftFactory() {
-        gridCache = new SoftValueHashMap<>(GRID_CACHE_HARD_REFERENCES);
+        gridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
+        mappedGridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
     }
 
+    /**
+     * Loads the given grids in a localization grid.
+     *
+     * @param latGridURL The latitude shift grid, either binary ({@code .las}) or text ({@code .laa}).
+     * @param longGridURL The longitude shift grid, either binary ({@code .los}) or text ({@code .loa}).
+     * @return The grid shift.
+     * @throws FactoryException if the grids can't be read.
+     */
     public NADConGridShift loadGridShift(URL latGridURL, URL longGridURL) throws FactoryException {
         NADCONKey key = new NADCONKey(latGridURL.toExternalForm(), longGridURL.toExternalForm());
-        synchronized (gridCache) { // Prevent simultaneous threads trying to load same grid
-            NADConGridShift grid = gridCache.get(key);
-            if (grid != null) { // Cached:
-                return grid; // - Return
-            } else { // Not cached:
-                grid = loadGridShiftInternal(latGridURL, longGridURL); // - Load
-                if (grid != null) {
-                    gridCache.put(key, grid); // - Cache
-                    return grid; // - Return
+        NADConGridShift grid = gridCache.get(key);
+        if (grid == null) {
+            try {
+                gridCache.writeLock(key); // Prevent simultaneous threads trying to load same grid
+                grid = gridCache.peek(key);
+                if (grid == null) {
+                    grid = readGrid(latGridURL, longGridURL, false).toGridShift();
+                    gridCache.put(key, grid);
                 }
+            } finally {
+                gridCache.writeUnLock(key);
             }
-            throw new FactoryException("NTv2 Grid " + latGridURL + ", " + longGridURL + " could not be created.");
         }
+        return grid;
     }
 
-    private NADConGridShift loadGridShiftInternal(URL latGridURL, URL longGridURL) throws FactoryException {
+    /**
+     * Loads the given grids, reading the shift values directly from the memory mapped binary grid files. Text grid
+     * files are read in memory.
+     *
+     * @param latGridURL The latitude shift grid, either binary ({@code .las}) or text ({@code .laa}).
+     * @param longGridURL The longitude shift grid, either binary ({@code .los}) or text ({@code .loa}).
+     * @return The grid.
+     * @throws FactoryException if the grids can't be read.
+     */
+    public NADConGrid loadGrid(URL latGridURL, URL longGridURL) throws FactoryException {
+        NADCONKey key = new NADCONKey(latGridURL.toExternalForm(), longGridURL.toExternalForm());
+        NADConGrid grid = mappedGridCache.get(key);
+        if (grid == null) {
+            try {
+                mappedGridCache.writeLock(key); // Prevent simultaneous threads trying to load same grid
+                grid = mappedGridCache.peek(key);
+                if (grid == null) {
+                    grid = readGrid(latGridURL, longGridURL, true);
+                    mappedGridCache.put(key, grid);
+                }
+            } finally {
+                mappedGridCache.writeUnLock(key);
+            }
+        }
+        return grid;
+    }
+
+    private NADConGrid readGrid(URL latGridURL, URL longGridURL, boolean map) throws FactoryException {
         // decide if text or binary grid will be used
         String latGridName = URLs.urlToFile(latGridURL).getPath();
         String longGridName = URLs.urlToFile(longGridURL).getPath();
         try {
             if (latGridName.endsWith(".las") && longGridName.endsWith(".los")
                     || latGridName.endsWith(".LAS") && longGridName.endsWith(".LOS")) {
-                return loadBinaryGrid(latGridURL, longGridURL);
+                return loadBinaryGrid(latGridURL, longGridURL, map);
             } else if (latGridName.endsWith(".laa") && longGridName.endsWith(".loa")
                     || latGridName.endsWith(".LAA") && longGridName.endsWith(".LOA")) {
                 return loadTextGrid(latGridURL, longGridURL);
@@ -143,180 +182,85 @@ private NADConGridShift loadGridShiftInternal(URL latGridURL, URL longGridURL) t
     }
 
     /**
-     * Reads latitude and longitude binary grid shift file data into {@link grid}. The file is organized into records,
-     * with the first record containing the header information, followed by the shift data. The header values are: text
-     * describing grid (64 bytes), num. columns (int), num. rows (int), num. z (int), min x (float), delta x (float),
-     * min y (float), delta y (float) and angle (float). Each record is num. columns 4 bytes + 4 byte separator long and
-     * the file contains num. rows + 1 (for the header) records. The data records (with the grid shift values) are all
-     * floats and have a 4 byte separator (0's) before the data. Row records are organized from low y (latitude) to high
-     * and columns are orderd from low longitude to high. Everything is written in low byte order.
+     * Reads latitude and longitude binary grid shift file data. The file is organized into records, with the first
+     * record containing the header information, followed by the shift data. The header values are: text describing grid
+     * (64 bytes), num. columns (int), num. rows (int), num. z (int), min x (float), delta x (float), min y (float), delta
+     * y (float) and angle (float). Each record is num. columns 4 bytes + 4 byte separator long and the file contains num.
+     * rows + 1 (for the header) records. The data records (with the grid shift values) are all floats and have a 4 byte
+     * separator (0's) before the data. Row records are organized from low y (latitude) to high and columns are orderd
+     * from low longitude to high. Everything is written in low byte order.
+     *
+     * <p>The shift values are not copied: the returned grid reads them from the file content.
      *
      * @param latGridUrl URL to the binary latitude shift file (.las extention).
      * @param longGridUrl URL to the binary longitude shift file (.los extention).
+     * @param map {@code true} for memory mapping the files, {@code false} for reading them in memory.
      * @throws IOException if the data files cannot be read.
      * @throws FactoryException if there is an inconsistency in the data
      */
-    private NADConGridShift loadBinaryGrid(final URL latGridUrl, final URL longGridUrl)
+    private NADConGrid loadBinaryGrid(final URL latGridUrl, final URL longGridUrl, final boolean map)
             throws IOException, FactoryException {
         final int HEADER_BYTES = 96;
         final int SEPARATOR_BYTES = 4;
         final int DESCRIPTION_LENGTH = 64;
-        NADConGridShift gridShift = null;
-        ByteBuffer latBuffer;
-        ByteBuffer longBuffer;
-
-        try (ReadableByteChannel latChannel = getReadChannel(latGridUrl);
-                ReadableByteChannel longChannel = getReadChannel(longGridUrl)) {
-            // //////////////////////
-            // setup
-            // //////////////////////
-            latBuffer = fillBuffer(latChannel, HEADER_BYTES);
-            longBuffer = fillBuffer(longChannel, HEADER_BYTES);
-
-            // //////////////////////
-            // read header info
-            // //////////////////////
-            // skip the header description
-            latBuffer.position(latBuffer.position() + DESCRIPTION_LENGTH);
-
-            int nc = latBuffer.getInt();
-            int nr = latBuffer.getInt();
-            int nz = latBuffer.getInt();
-
-            float xmin = latBuffer.getFloat();
-            float dx = latBuffer.getFloat();
-            float ymin = latBuffer.getFloat();
-            float dy = latBuffer.getFloat();
-
-            float angle = latBuffer.getFloat();
-            float xmax = xmin + (nc - 1) * dx;
-            float ymax = ymin + (nr - 1) * dy;
-
-            // skip the longitude header description
-            longBuffer.position(longBuffer.position() + DESCRIPTION_LENGTH);
-
-            // check that latitude grid header is the same as for latitude grid
-            if (nc != longBuffer.getInt()
-                    || nr != longBuffer.getInt()
-                    || nz != longBuffer.getInt()
-                    || xmin != longBuffer.getFloat()
-                    || dx != longBuffer.getFloat()
-                    || ymin != longBuffer.getFloat()
-                    || dy != longBuffer.getFloat()
-                    || angle != longBuffer.getFloat()) {
-                throw new FactoryException(ErrorKeys.GRID_LOCATIONS_UNEQUAL);
-            }
-
-            // //////////////////////
-            // read grid shift data into LocalizationGrid
-            // //////////////////////
-            final int RECORD_LENGTH = nc * 4 + SEPARATOR_BYTES;
-            final int NUM_BYTES_LEFT = (nr + 1) * RECORD_LENGTH - HEADER_BYTES;
-            final int START_OF_DATA = RECORD_LENGTH - HEADER_BYTES;
-
-            latBuffer = fillBuffer(latChannel, NUM_BYTES_LEFT);
-            latBuffer.position(START_OF_DATA); // start of second record (data)
-
-            longBuffer = fillBuffer(longChannel, NUM_BYTES_LEFT);
-            longBuffer.position(START_OF_DATA);
-
-            gridShift = new NADConGridShift(xmin, ymin, xmax, ymax, dx, dy, nc, nr);
-
-            int i = 0;
-            int j = 0;
-            for (i = 0; i < nr; i++) {
-                latBuffer.position(latBuffer.position() + SEPARATOR_BYTES); // skip record separator
-                longBuffer.position(longBuffer.position() + SEPARATOR_BYTES);
 
-                for (j = 0; j < nc; j++) {
-                    gridShift.setLocalizationPoint(j, i, longBuffer.getFloat(), latBuffer.getFloat());
-                }
-            }
-
-            assert i == nr : i;
-            assert j == nc : j;
-        }
-
-        return gridShift;
-    }
-
-    /**
-     * Returns a new bytebuffer, of numBytes length and little endian byte order, filled from the channel.
-     *
-     * @param channel the channel to fill the buffer from
-     * @param numBytes number of bytes to read
-     * @return a new bytebuffer filled from the channel
-     * @throws IOException if there is a problem reading the channel
-     * @throws EOFException if the end of the channel is reached
-     */
-    private ByteBuffer fillBuffer(ReadableByteChannel channel, int numBytes) throws IOException {
-        ByteBuffer buf = ByteBuffer.allocate(numBytes);
-
-        if (fill(buf, channel) == -1) {
+        final ByteBuffer latBuffer = GridFiles.read(latGridUrl, map).order(ByteOrder.LITTLE_ENDIAN);
+        final ByteBuffer longBuffer = GridFiles.read(longGridUrl, map).order(ByteOrder.LITTLE_ENDIAN);
+        if (latBuffer.limit() < HEADER_BYTES || longBuffer.limit() < HEADER_BYTES) {
             throw new EOFException(ErrorKeys.END_OF_DATA_FILE);
         }
 
-        buf.flip();
-        buf.order(ByteOrder.LITTLE_ENDIAN);
-
-        return buf;
-    }
-
-    /**
-     * Fills the bytebuffer from the channel. Code was lifted from ShapefileDataStore.
-     *
-     * @param buffer bytebuffer to fill from the channel
-     * @param channel channel to fill the buffer from
-     * @return number of bytes read
-     * @throws IOException if there is a problem reading the channel
-     */
-    private int fill(ByteBuffer buffer, ReadableByteChannel channel) throws IOException {
-        int r = buffer.remaining();
-
-        // channel reads return -1 when EOF or other error
-        // because they a non-blocking reads, 0 is a valid return value!!
-        while (buffer.remaining() > 0 && r != -1) {
-            r = channel.read(buffer);
+        // //////////////////////
+        // read header info
+        // //////////////////////
+        // skip the header description
+        int nc = latBuffer.getInt(DESCRIPTION_LENGTH);
+        int nr = latBuffer.getInt(DESCRIPTION_LENGTH + 4);
+
+        float xmin = latBuffer.getFloat(DESCRIPTION_LENGTH + 12);
+        float dx = latBuffer.getFloat(DESCRIPTION_LENGTH + 16);
+        float ymin = latBuffer.getFloat(DESCRIPTION_LENGTH + 20);
+        float dy = latBuffer.getFloat(DESCRIPTION_LENGTH + 24);
+
+        float xmax = xmin + (nc - 1) * dx;
+        float ymax = ymin + (nr - 1) * dy;
+
+        // check that latitude grid header is the same as for latitude grid
+        // (columns, rows, z, min x, delta x, min y, delta y and angle)
+        for (int offset = DESCRIPTION_LENGTH; offset < DESCRIPTION_LENGTH + 32; offset += 4) {
+            if (latBuffer.getInt(offset) != longBuffer.getInt(offset)) {
+                throw new FactoryException(ErrorKeys.GRID_LOCATIONS_UNEQUAL);
+            }
         }
-
-        if (r == -1) {
-            buffer.limit(buffer.position());
+        if (nc < 2 || nr < 2) {
+            throw new IOException("Invalid grid size: " + nc + " x " + nr);
         }
 
-        return r;
-    }
-
-    /**
-     * Obtain a ReadableByteChannel from the given URL. If the url protocol is file, a FileChannel will be returned.
-     * Otherwise a generic channel will be obtained from the urls input stream. Code swiped from ShapefileDataStore.
-     *
-     * @param url URL to create the channel from
-     * @return a new PeadableByteChannel from the input url
-     * @throws IOException if there is a problem creating the channel
-     */
-    @SuppressWarnings("PMD.CloseResource") // returns a Channel, cannot close its input stream
-    private ReadableByteChannel getReadChannel(URL url) throws IOException {
-        ReadableByteChannel channel = null;
-
-        if (url.getProtocol().equals("file")) {
-            File file = URLs.urlToFile(url);
-
-            if (!file.exists() || !file.canRead()) {
-                throw new IOException(MessageFormat.format(ErrorKeys.FILE_DOES_NOT_EXIST_$1, file));
-            }
-
-            FileInputStream in = new FileInputStream(file);
-            channel = in.getChannel();
-        } else {
-            InputStream in = url.openConnection().getInputStream();
-            channel = Channels.newChannel(in);
+        // //////////////////////
+        // the shift data starts with the second record
+        // //////////////////////
+        final int RECORD_LENGTH = nc * 4 + SEPARATOR_BYTES;
+        final long FILE_LENGTH = (nr + 1L) * RECORD_LENGTH;
+        if (latBuffer.limit() < FILE_LENGTH || longBuffer.limit() < FILE_LENGTH) {
+            throw new EOFException(ErrorKeys.END_OF_DATA_FILE);
         }
-
-        return channel;
+        return new NADConGrid(
+                xmin,
+                ymin,
+                xmax,
+                ymax,
+                dx,
+                dy,
+                nc,
+                nr,
+                latBuffer,
+                longBuffer,
+                RECORD_LENGTH + SEPARATOR_BYTES,
+                RECORD_LENGTH);
     }
 
     /**
-     * Reads latitude and longitude text grid shift file data into {@link grid}. The first two lines of the shift data
+     * Reads latitude and longitude text grid shift file data in memory. The first two lines of the shift data
      * file contain the header, with the first being a description of the grid. The second line contains 8 values
      * separated by spaces: num. columns, num. rows, num. z, min x, delta x, min y, delta y and angle. Shift data values
      * follow this and are also separated by spaces. Row records are organized from low y (latitude) to high and columns
@@ -327,7 +271,7 @@ private ReadableByteChannel getReadChannel(URL url) throws IOException {
      * @throws IOException if the data files cannot be read.
      * @throws FactoryException if there is an inconsistency in the data
      */
-    private NADConGridShift loadTextGrid(URL latGridUrl, URL longGridUrl) throws IOException, FactoryException {
+    private NADConGrid loadTextGrid(URL latGridUrl, URL longGridUrl) throws IOException, FactoryException {
         String latLine;
         String longLine;
         StringTokenizer latSt;
@@ -393,10 +337,15 @@ private NADConGridShift loadTextGrid(URL latGridUrl, URL longGridUrl) throws IOE
                 throw new FactoryException(ErrorKeys.GRID_LOCATIONS_UNEQUAL);
             }
 
+            if (nc < 2 || nr < 2) {
+                throw new IOException("Invalid grid size: " + nc + " x " + nr);
+            }
+
             // //////////////////////
-            // read grid shift data into LocalizationGrid
+            // read grid shift data
             // //////////////////////
-            NADConGridShift gridShift = new NADConGridShift(xmin, ymin, xmax, ymax, dx, dy, nc, nr);
+            final ByteBuffer latShifts = ByteBuffer.allocate(nc * nr * 4);
+            final ByteBuffer longShifts = ByteBuffer.allocate(nc * nr * 4);
 
             int i = 0;
             int j = 0;
@@ -413,9 +362,10 @@ private NADConGridShift loadTextGrid(URL latGridUrl, URL longGridUrl) throws IOE
                     }
                     longSt = new StringTokenizer(longLine, " ");
 
-                    while (latSt.hasMoreTokens() && longSt.hasMoreTokens()) {
-                        gridShift.setLocalizationPoint(
-                                j, i, Float.parseFloat(longSt.nextToken()), Float.parseFloat(latSt.nextToken()));
+                    while (latSt.hasMoreTokens() && longSt.hasMoreTokens() && j < nc) {
+                        final int offset = (i * nc + j) * 4;
+                        latShifts.putFloat(offset, Float.parseFloat(latSt.nextToken()));
+                        longShifts.putFloat(offset, Float.parseFloat(longSt.nextToken()));
                         ++j;
                     }
                 }
@@ -424,7 +374,7 @@ private NADConGridShift loadTextGrid(URL latGridUrl, URL longGridUrl) throws IOE
             assert i == nr : i;
             assert j == nc : j;
 
-            return gridShift;
+            return new NADConGrid(xmin, ymin, xmax, ymax, dx, dy, nc, nr, latShifts, longShifts, 0, nc * 4);
         }
     }
 }
@@ -0,0 +1,199 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.gridshift;
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A pair of NADCON latitude and longitude shift grids, interpolating the shifts directly from the grid content. The
+ * binary grids ({@code .las} and {@code .los}) are {@linkplain java.nio.channels.FileChannel#map memory mapped}, so
+ * they cost no heap and only the pages actually used are loaded. The text grids are read in memory.
+ *
+ * <p>The grid is immutable and can be used by several threads concurrently. Unlike {@link NADConGridShift}, it doesn't
+ * copy the shift values in a {@linkplain org.geotools.referencing.operation.builder.LocalizationGrid localization
+ * grid}.
+ *
+ * @see NADCONGridShiftFactory#loadGrid
+ */
+public final class NADConGrid {
+
+    /** The minimum longitude value covered by this grid (decimal degrees) */
+    private final double minX;
+
+    /** The minimum latitude value covered by this grid (decimal degrees) */
+    private final double minY;
+
+    /** The maximum longitude value covered by this grid (decimal degrees) */
+    private final double maxX;
+
+    /** The maximum latitude value covered by this grid (decimal degrees) */
+    private final double maxY;
+
+    /** The difference between longitude grid points (decimal degrees) */
+    private final double dx;
+
+    /** The difference between latitude grid points (decimal degrees) */
+    private final double dy;
+
+    /** The number of columns and rows of the grid. */
+    private final int width, height;
+
+    /**
+     * The latitude and longitude shifts, as floats in seconds of arc. Only absolute get methods are used, so the
+     * buffers can be shared by all threads.
+     */
+    private final ByteBuffer latShifts, longShifts;
+
+    /** The position of the first value in the buffers, and the distance in bytes between two rows. */
+    private final int dataStart, rowLength;
+
+    NADConGrid(
+            double xmin,
+            double ymin,
+            double xmax,
+            double ymax,
+            double dx,
+            double dy,
+            int width,
+            int height,
+            ByteBuffer latShifts,
+            ByteBuffer longShifts,
+            int dataStart,
+            int rowLength) {
+        this.minX = xmin;
+        this.minY = ymin;
+        this.maxX = xmax;
+        this.maxY = ymax;
+        this.dx = dx;
+        this.dy = dy;
+        this.width = width;
+        this.height = height;
+        this.latShifts = latShifts;
+        this.longShifts = longShifts;
+        this.dataStart = dataStart;
+        this.rowLength = rowLength;
+    }
+
+    /** The minimum longitude value covered by this grid (decimal degrees) */
+    public double getMinX() {
+        return minX;
+    }
+
+    /** The minimum latitude value covered by this grid (decimal degrees) */
+    public double getMinY() {
+        return minY;
+    }
+
+    /** The maximum longitude value covered by this grid (decimal degrees) */
+    public double getMaxX() {
+        return maxX;
+    }
+
+    /** The maximum latitude value covered by this grid (decimal degrees) */
+    public double getMaxY() {
+        return maxY;
+    }
+
+    /** The difference between longitude grid points (decimal degrees) */
+    public double getDx() {
+        return dx;
+    }
+
+    /** The difference between latitude grid points (decimal degrees) */
+    public double getDy() {
+        return dy;
+    }
+
+    /** The number of grid points along the longitudes. */
+    public int getWidth() {
+        return width;
+    }
+
+    /** The number of grid points along the latitudes. */
+    public int getHeight() {
+        return height;
+    }
+
+    /** Returns the latitude shift at the given grid point, in seconds of arc. */
+    public float getLatShift(final int col, final int row) {
+        return latShifts.getFloat(dataStart + row * rowLength + 4 * col);
+    }
+
+    /** Returns the longitude shift at the given grid point, in seconds of arc positive west. */
+    public float getLongShift(final int col, final int row) {
+        return longShifts.getFloat(dataStart + row * rowLength + 4 * col);
+    }
+
+    /**
+     * Computes the shift at the given point by bilinear interpolation. Points outside of the grid get the shift of the
+     * nearest cell, extrapolated.
+     *
+     * @param x The longitude, in decimal degrees.
+     * @param y The latitude, in decimal degrees.
+     * @param shift Where to store the longitude (positive west) and latitude shifts, in seconds of arc.
+     */
+    public void getShift(final double x, final double y, final double[] shift) {
+        final double xgrid = (x - minX) / dx;
+        final double ygrid = (y - minY) / dy;
+        final int col = Math.max(Math.min((int) xgrid, width - 2), 0);
+        final int row = Math.max(Math.min((int) ygrid, height - 2), 0);
+        final double fx = xgrid - col;
+        final double fy = ygrid - row;
+        final int offset00 = dataStart + row * rowLength + 4 * col;
+        final int offset01 = offset00 + rowLength;
+        for (int i = 0; i < 2; i++) {
+            final ByteBuffer values = i == 0 ? longShifts : latShifts;
+            final double v00 = values.getFloat(offset00);
+            final double v10 = values.getFloat(offset00 + 4);
+            final double v01 = values.getFloat(offset01);
+            final double v11 = values.getFloat(offset01 + 4);
+            final double v0 = v00 + (v10 - v00) * fx;
+            final double v1 = v01 + (v11 - v01) * fx;
+            shift[i] = v0 + (v1 - v0) * fy;
+        }
+    }
+
+    /** Copies the shift values in a localization grid. */
+    NADConGridShift toGridShift() {
+        final NADConGridShift grid = new NADConGridShift(minX, minY, maxX, maxY, dx, dy, width, height);
+        for (int row = 0; row < height; row++) {
+            for (int col = 0; col < width; col++) {
+                grid.setLocalizationPoint(col, row, getLongShift(col, row), getLatShift(col, row));
+            }
+        }
+        return grid;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(minX, minY, maxX, maxY, dx, dy);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        NADConGrid that = (NADConGrid) o;
+        return Double.compare(that.minX, minX) == 0
+                && Double.compare(that.minY, minY) == 0
+                && Double.compare(that.maxX, maxX) == 0
+                && Double.compare(that.maxY, maxY) == 0
+                && Double.compare(that.dx, dx) == 0
+                && Double.compare(that.dy, dy) == 0;
+    }
+}
@@ -0,0 +1,296 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory.gridshift;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * A NTv2 grid shift file, interpolating the shifts directly from the file content. Only the headers are decoded when
+ * the grid is opened: the shift values of the sub-grids are read from the buffer when a point falls in them, so a
+ * {@linkplain java.nio.channels.FileChannel#map memory mapped} grid costs no heap and only the pages actually used are loaded.
+ *
+ * <p>The grid is immutable and can be used by several threads concurrently.
+ *
+ * @see NTv2GridShiftFactory#openNTv2Grid
+ */
+public final class NTv2Grid {
+
+    /** The length of a header record: 8 characters for the key and 8 bytes for the value. */
+    private static final int RECORD_LENGTH = 16;
+
+    /** The length of a grid node: latitude and longitude shifts, latitude and longitude accuracies, as floats. */
+    private static final int NODE_LENGTH = 16;
+
+    /** The number of records of the overview header in all known files. */
+    private static final int OVERVIEW_RECORDS = 11;
+
+    /** Maximum number of iterations for the reverse shift. */
+    private static final int MAX_ITERATIONS = 10;
+
+    /** Tolerance of the reverse shift iterations, in seconds of arc (about 0.03 mm). */
+    private static final double TOLERANCE = 1E-6;
+
+    /** The grid content. Only absolute get methods are used, so the buffer can be shared by all threads. */
+    private final ByteBuffer buffer;
+
+    /** The factor converting the values of the file to seconds of arc. */
+    private final double toSeconds;
+
+    /** The sub-grids having no parent. */
+    private final SubGrid[] roots;
+
+    /** The total number of sub-grids. */
+    private final int subGridCount;
+
+    /**
+     * A sub-grid of the file. Limits and increments are in seconds of arc, with longitudes positive west. Nodes are
+     * stored row by row from the south, each row from the east.
+     */
+    private static final class SubGrid {
+        final double minLat, maxLat, minLon, maxLon, latInc, lonInc;
+        final int rows, columns, dataStart;
+        final List<SubGrid> children = new ArrayList<>();
+
+        SubGrid(
+                double minLat,
+                double maxLat,
+                double minLon,
+                double maxLon,
+                double latInc,
+                double lonInc,
+                int dataStart) {
+            this.minLat = minLat;
+            this.maxLat = maxLat;
+            this.minLon = minLon;
+            this.maxLon = maxLon;
+            this.latInc = latInc;
+            this.lonInc = lonInc;
+            this.rows = (int) Math.round((maxLat - minLat) / latInc) + 1;
+            this.columns = (int) Math.round((maxLon - minLon) / lonInc) + 1;
+            this.dataStart = dataStart;
+        }
+
+        boolean contains(final double lon, final double lat) {
+            return lon >= minLon && lon <= maxLon && lat >= minLat && lat <= maxLat;
+        }
+
+        /** Returns the most detailed sub-grid containing the given point, which must be inside this one. */
+        SubGrid find(final double lon, final double lat) {
+            for (final SubGrid child : children) {
+                if (child.contains(lon, lat)) {
+                    return child.find(lon, lat);
+                }
+            }
+            return this;
+        }
+    }
+
+    /**
+     * Decodes the headers of the given NTv2 file content.
+     *
+     * @param buffer The file content, in any byte order. The byte order of the file is detected.
+     * @throws IOException if the content is not a valid NTv2 file.
+     */
+    NTv2Grid(final ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        try {
+            if (!"NUM_OREC".equals(getString(0))) {
+                throw new IOException("Not a NTv2 grid file");
+            }
+            buffer.order(ByteOrder.BIG_ENDIAN);
+            if (buffer.getInt(8) != OVERVIEW_RECORDS) {
+                buffer.order(ByteOrder.LITTLE_ENDIAN);
+            }
+            final int overviewRecords = buffer.getInt(8);
+            final int subGridRecords = buffer.getInt(RECORD_LENGTH + 8);
+            subGridCount = buffer.getInt(2 * RECORD_LENGTH + 8);
+            if (overviewRecords < OVERVIEW_RECORDS || subGridRecords < 11 || subGridCount < 1) {
+                throw new IOException("Invalid NTv2 overview header");
+            }
+            final String type = getString(3 * RECORD_LENGTH + 8).toUpperCase(Locale.ROOT);
+            switch (type) {
+                case "SECONDS":
+                    toSeconds = 1;
+                    break;
+                case "MINUTES":
+                    toSeconds = 60;
+                    break;
+                case "DEGREES":
+                    toSeconds = 3600;
+                    break;
+                default:
+                    throw new IOException("Unsupported NTv2 grid shift type: " + type);
+            }
+            final Map<String, SubGrid> subGrids = new LinkedHashMap<>();
+            final List<SubGrid> roots = new ArrayList<>();
+            int position = overviewRecords * RECORD_LENGTH;
+            for (int i = 0; i < subGridCount; i++) {
+                final String name = getString(position + 8);
+                final String parent = getString(position + RECORD_LENGTH + 8);
+                final int count = buffer.getInt(position + 10 * RECORD_LENGTH + 8);
+                final int dataStart = position + subGridRecords * RECORD_LENGTH;
+                final SubGrid grid = new SubGrid(
+                        getDouble(position, 4),
+                        getDouble(position, 5),
+                        getDouble(position, 6),
+                        getDouble(position, 7),
+                        getDouble(position, 8),
+                        getDouble(position, 9),
+                        dataStart);
+                if (!(grid.latInc > 0 && grid.lonInc > 0) || (long) grid.rows * grid.columns != count) {
+                    throw new IOException("Invalid header for NTv2 sub-grid " + name);
+                }
+                position = dataStart + count * NODE_LENGTH;
+                if (position > buffer.limit()) {
+                    throw new IOException("Truncated NTv2 sub-grid " + name);
+                }
+                if (parent.equalsIgnoreCase("NONE")) {
+                    roots.add(grid);
+                } else {
+                    final SubGrid parentGrid = subGrids.get(parent);
+                    if (parentGrid == null) {
+                        throw new IOException("Unknown parent " + parent + " of NTv2 sub-grid " + name);
+                    }
+                    parentGrid.children.add(grid);
+                }
+                subGrids.put(name, grid);
+            }
+            this.roots = roots.toArray(new SubGrid[roots.size()]);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Truncated NTv2 grid file", e);
+        }
+    }
+
+    /** Returns the value of a header string, trimmed. */
+    private String getString(final int position) {
+        final byte[] bytes = new byte[8];
+        buffer.get(position, bytes);
+        return new String(bytes, StandardCharsets.US_ASCII).trim();
+    }
+
+    /** Returns the value of the given record of a sub-grid header, in seconds of arc. */
+    private double getDouble(final int header, final int record) {
+        return buffer.getDouble(header + record * RECORD_LENGTH + 8) * toSeconds;
+    }
+
+    /** Returns the number of sub-grids in this file. */
+    public int getSubGridCount() {
+        return subGridCount;
+    }
+
+    /**
+     * Computes the shift at the given point, by bilinear interpolation in the most detailed sub-grid containing it.
+     *
+     * @param lon The longitude, in seconds of arc positive west.
+     * @param lat The latitude, in seconds of arc.
+     * @param shift Where to store the longitude (positive west) and latitude shifts, in seconds of arc.
+     * @return {@code false} if the point is outside of the grid.
+     */
+    private boolean getShift(final double lon, final double lat, final double[] shift) {
+        SubGrid grid = null;
+        for (final SubGrid root : roots) {
+            if (root.contains(lon, lat)) {
+                grid = root.find(lon, lat);
+                break;
+            }
+        }
+        if (grid == null) {
+            return false;
+        }
+        final double x = (lon - grid.minLon) / grid.lonInc;
+        final double y = (lat - grid.minLat) / grid.latInc;
+        final int col = Math.max(Math.min((int) x, grid.columns - 2), 0);
+        final int row = Math.max(Math.min((int) y, grid.rows - 2), 0);
+        final double dx = x - col;
+        final double dy = y - row;
+        final int node00 = grid.dataStart + (row * grid.columns + col) * NODE_LENGTH;
+        final int node10 = grid.columns > 1 ? node00 + NODE_LENGTH : node00;
+        final int node01 = grid.rows > 1 ? node00 + grid.columns * NODE_LENGTH : node00;
+        final int node11 = node01 + (node10 - node00);
+        for (int i = 0; i < 2; i++) {
+            // the latitude shift comes first in the nodes
+            final int offset = 4 * (1 - i);
+            final double v00 = buffer.getFloat(node00 + offset);
+            final double v10 = buffer.getFloat(node10 + offset);
+            final double v01 = buffer.getFloat(node01 + offset);
+            final double v11 = buffer.getFloat(node11 + offset);
+            final double v0 = v00 + (v10 - v00) * dx;
+            final double v1 = v01 + (v11 - v01) * dx;
+            shift[i] = (v0 + (v1 - v0) * dy) * toSeconds;
+        }
+        return true;
+    }
+
+    /**
+     * Shifts the given point from the source to the target datum of the grid.
+     *
+     * @param point The longitude (positive east) and latitude of the point in decimal degrees, replaced by the shifted
+     *     ones.
+     * @return {@code false} if the point is outside of the grid, in which case it is left unchanged.
+     */
+    public boolean shiftForward(final double[] point) {
+        final double lon = -point[0] * 3600;
+        final double lat = point[1] * 3600;
+        final double[] shift = new double[2];
+        if (!getShift(lon, lat, shift)) {
+            return false;
+        }
+        point[0] = -(lon + shift[0]) / 3600;
+        point[1] = (lat + shift[1]) / 3600;
+        return true;
+    }
+
+    /**
+     * Shifts the given point from the target to the source datum of the grid. The shift at the source position is
+     * found by iterations, starting from the shift at the target position.
+     *
+     * @param point The longitude (positive east) and latitude of the point in decimal degrees, replaced by the shifted
+     *     ones.
+     * @return {@code false} if the point is outside of the grid, in which case it is left unchanged.
+     */
+    public boolean shiftReverse(final double[] point) {
+        final double lon = -point[0] * 3600;
+        final double lat = point[1] * 3600;
+        final double[] shift = new double[2];
+        double srcLon = lon;
+        double srcLat = lat;
+        for (int i = 0; i < MAX_ITERATIONS; i++) {
+            if (!getShift(srcLon, srcLat, shift)) {
+                return false;
+            }
+            final double newLon = lon - shift[0];
+            final double newLat = lat - shift[1];
+            final boolean converged = Math.abs(newLon - srcLon) < TOLERANCE && Math.abs(newLat - srcLat) < TOLERANCE;
+            srcLon = newLon;
+            srcLat = newLat;
+            if (converged) {
+                break;
+            }
+        }
+        point[0] = -srcLon / 3600;
+        point[1] = srcLat / 3600;
+        return true;
+    }
+}
@@ -18,19 +18,15 @@
 
 import au.com.objectix.jgridshift.GridShiftFile;
 import java.io.BufferedInputStream;
-import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.RandomAccessFile;
 import java.net.URL;
-import java.text.MessageFormat;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import org.geotools.api.referencing.FactoryException;
-import org.geotools.metadata.i18n.ErrorKeys;
 import org.geotools.referencing.factory.ReferencingFactory;
-import org.geotools.util.SoftValueHashMap;
-import org.geotools.util.URLs;
+import org.geotools.util.ObjectCache;
+import org.geotools.util.ObjectCaches;
 import org.geotools.util.factory.AbstractFactory;
 import org.geotools.util.factory.BufferedFactory;
 import org.geotools.util.logging.Logging;
@@ -39,6 +35,10 @@
  * Loads and caches NTv2 grid files. Thisthat incorporates a soft cache mechanism to keep grids in memory when first
  * loaded. It also checks NTv2 grid file format in {@link #isNTv2Grid(String)} method.
  *
+ * <p>The grids returned by {@link #openNTv2Grid openNTv2Grid} memory map the grid files and read the sub-grids on
+ * demand, the ones returned by {@link #createNTv2Grid createNTv2Grid} are fully loaded in memory. Different grids can be
+ * loaded concurrently.
+ *
  * @author Oscar Fonts
  */
 public class NTv2GridShiftFactory extends ReferencingFactory implements BufferedFactory {
@@ -50,12 +50,16 @@ public class NTv2GridShiftFactory extends ReferencingFactory implements Buffered
     protected static final Logger LOGGER = Logging.getLogger(NTv2GridShiftFactory.class);
 
     /** The soft cache that holds loaded grids. */
-    private final SoftValueHashMap<String, GridShiftFile> ntv2GridCache;
+    private final ObjectCache<String, GridShiftFile> ntv2GridCache;
+
+    /** The soft cache that holds the grids reading their files directly. */
+    private final ObjectCache<String, NTv2Grid> mappedGridCache;
 
     /** Constructs a factory with the default priority. */
     public NTv2GridShiftFactory() {
         super();
-        ntv2GridCache = new SoftValueHashMap<>(GRID_CACHE_HARD_REFERENCES);
+        ntv2GridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
+        mappedGridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
     }
 
     /**
@@ -66,7 +70,8 @@ public NTv2GridShiftFactory() {
      */
     public NTv2GridShiftFactory(final int priority) {
         super(priority);
-        ntv2GridCache = new SoftValueHashMap<>(GRID_CACHE_HARD_REFERENCES);
+        ntv2GridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
+        mappedGridCache = ObjectCaches.create("soft", GRID_CACHE_HARD_REFERENCES);
     }
 
     /**
@@ -95,25 +100,60 @@ public GridShiftFile createNTv2Grid(URL gridLocation) throws FactoryException {
             throw new FactoryException("The grid location must be not null");
         }
 
-        synchronized (ntv2GridCache) { // Prevent simultaneous threads trying to load same grid
-            GridShiftFile grid = ntv2GridCache.get(gridLocation.toExternalForm());
-            if (grid != null) { // Cached:
-                return grid; // - Return
-            } else { // Not cached:
-                if (gridLocation != null) {
+        final String key = gridLocation.toExternalForm();
+        GridShiftFile grid = ntv2GridCache.get(key);
+        if (grid == null) {
+            try {
+                ntv2GridCache.writeLock(key); // Prevent simultaneous threads trying to load same grid
+                grid = ntv2GridCache.peek(key);
+                if (grid == null) {
                     grid = loadNTv2Grid(gridLocation); // - Load
-                    if (grid != null) {
-                        ntv2GridCache.put(gridLocation.toExternalForm(), grid); // - Cache
-                        return grid; // - Return
+                    if (grid == null) {
+                        throw new FactoryException("NTv2 Grid " + gridLocation + " could not be created.");
                     }
+                    ntv2GridCache.put(key, grid); // - Cache
+                }
+            } finally {
+                ntv2GridCache.writeUnLock(key);
+            }
+        }
+        return grid;
+    }
+
+    /**
+     * Opens a NTv2 Grid. Files are memory mapped, other resources (for example entries in a JAR file) are read in
+     * memory. In both cases, only the headers are decoded, the shift values are read when first used.
+     *
+     * @param gridLocation The NTv2 grid file location
+     * @return the grid
+     * @throws FactoryException if grid cannot be read or is not a valid NTv2 grid
+     */
+    public NTv2Grid openNTv2Grid(URL gridLocation) throws FactoryException {
+        if (gridLocation == null) {
+            throw new FactoryException("The grid location must be not null");
+        }
+        final String key = gridLocation.toExternalForm();
+        NTv2Grid grid = mappedGridCache.get(key);
+        if (grid == null) {
+            try {
+                mappedGridCache.writeLock(key); // Prevent simultaneous threads trying to load same grid
+                grid = mappedGridCache.peek(key);
+                if (grid == null) {
+                    grid = new NTv2Grid(GridFiles.read(gridLocation, true));
+                    mappedGridCache.put(key, grid);
                 }
-                throw new FactoryException("NTv2 Grid " + gridLocation + " could not be created.");
+            } catch (IOException e) {
+                throw new FactoryException("NTv2 Grid " + gridLocation + " could not be read: " + e.getMessage(), e);
+            } finally {
+                mappedGridCache.writeUnLock(key);
             }
         }
+        return grid;
     }
 
     /**
-     * Checks if a given resource is a valid NTv2 file without fully loading it.
+     * Checks if a given resource is a valid NTv2 file without fully loading it. The grid is {@linkplain #openNTv2Grid
+     * opened}, which decodes only its headers.
      *
      * <p>If file is not valid, the cause is logged at {@link Level#WARNING warning level}.
      *
@@ -122,32 +162,9 @@ public GridShiftFile createNTv2Grid(URL gridLocation) throws FactoryException {
      */
     protected boolean isNTv2GridFileValid(URL url) {
         try {
-
-            // Loading as RandomAccessFile doesn't load the full grid
-            // in memory, but is a quick method to see if file format
-            // is NTv2.
-            if (url.getProtocol().equals("file")) {
-                File file = URLs.urlToFile(url);
-
-                if (!file.exists() || !file.canRead()) {
-                    throw new IOException(MessageFormat.format(ErrorKeys.FILE_DOES_NOT_EXIST_$1, file));
-                }
-
-                try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
-                    // will throw an exception if not a valid file
-                    new GridShiftFile().loadGridShiftFile(raf);
-                }
-            } else {
-                try (InputStream in =
-                        new BufferedInputStream(url.openConnection().getInputStream())) {
-
-                    // will throw an exception if not a valid file
-                    new GridShiftFile().loadGridShiftFile(in, false);
-                }
-            }
-
+            openNTv2Grid(url);
             return true; // No exception thrown => valid file.
-        } catch (IllegalArgumentException | IOException e) {
+        } catch (FactoryException e) {
             // This usually means resource is not a valid NTv2 file.
             // Let exception message describe the cause.
             LOGGER.log(Level.WARNING, e.getLocalizedMessage(), e);
@@ -16,19 +16,39 @@
  */
 package org.geotools.referencing.operation;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.ReferenceIdentifier;
+import org.geotools.api.referencing.crs.CompoundCRS;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.GeneralDerivedCRS;
+import org.geotools.api.referencing.crs.SingleCRS;
+import org.geotools.api.referencing.cs.CoordinateSystem;
+import org.geotools.api.referencing.cs.CoordinateSystemAxis;
+import org.geotools.api.referencing.datum.Ellipsoid;
+import org.geotools.api.referencing.datum.GeodeticDatum;
 import org.geotools.api.referencing.operation.CoordinateOperation;
 import org.geotools.api.referencing.operation.CoordinateOperationFactory;
 import org.geotools.api.referencing.operation.OperationMethod;
 import org.geotools.api.referencing.operation.OperationNotFoundException;
+import org.geotools.referencing.CRS;
 import org.geotools.referencing.ReferencingFactoryFinder;
+import org.geotools.referencing.datum.DefaultGeodeticDatum;
 import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.Utilities;
 import org.geotools.util.factory.BufferedFactory;
 import org.geotools.util.factory.Hints;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracing;
 
 /**
  * Caches the {@linkplain CoordinateOperation coordinate operations} created by an other factory. Those coordinate
@@ -92,6 +112,102 @@ public boolean equals(final Object object) {
         }
     }
 
+    /**
+     * A key for a pair of source-destination {@link CoordinateReferenceSystem} objects, ignoring the metadata that do
+     * not change the math transform. Equivalent CRS parsed from different WKT (different names, remarks, number
+     * formatting...) get the same key, so the operation search is not repeated for them.
+     *
+     * <p>The comparison is performed using {@code equalsIgnoreMetadata}, plus the few metadata that are used when
+     * searching for an operation path: the CRS identifiers (used to lookup the operations in the authority database)
+     * and the Bursa Wolf parameters of the geodetic datums (used to build the datum shifts).
+     */
+    private static final class CanonicalCRSPair {
+        /** The hash code value, computed once for ever at construction time. */
+        private final int hash;
+
+        /** The source and target CRS. */
+        private final CoordinateReferenceSystem sourceCRS, targetCRS;
+
+        /** The metadata used by the operation search, for both CRS. */
+        private final List<Object> metadata;
+
+        /** Creates a {@code CanonicalCRSPair} for the specified source and target CRS. */
+        public CanonicalCRSPair(final CoordinateReferenceSystem sourceCRS, final CoordinateReferenceSystem targetCRS) {
+            this.sourceCRS = sourceCRS;
+            this.targetCRS = targetCRS;
+            this.metadata = new ArrayList<>();
+            addSearchMetadata(sourceCRS, metadata);
+            metadata.add(null); // separator between the source and target metadata
+            addSearchMetadata(targetCRS, metadata);
+            this.hash = 37 * (37 * hash(sourceCRS) + hash(targetCRS)) + metadata.hashCode();
+        }
+
+        /**
+         * Hashes the values compared by {@code equalsIgnoreMetadata}, leaving out the names. The CRS hash codes can
+         * not be used since the axis and datum names are part of them.
+         */
+        private static int hash(final CoordinateReferenceSystem crs) {
+            int code = crs.getClass().hashCode();
+            final CoordinateSystem cs = crs.getCoordinateSystem();
+            for (int i = 0; i < cs.getDimension(); i++) {
+                final CoordinateSystemAxis axis = cs.getAxis(i);
+                code = 31 * code + Objects.hash(axis.getDirection(), axis.getUnit());
+            }
+            if (crs instanceof CompoundCRS compound) {
+                for (final CoordinateReferenceSystem component : compound.getCoordinateReferenceSystems()) {
+                    code = 31 * code + hash(component);
+                }
+            } else if (crs instanceof SingleCRS single && single.getDatum() instanceof GeodeticDatum datum) {
+                final Ellipsoid ellipsoid = datum.getEllipsoid();
+                code = 31 * code + Double.hashCode(ellipsoid.getSemiMajorAxis());
+                code = 31 * code + Double.hashCode(ellipsoid.getSemiMinorAxis());
+            }
+            if (crs instanceof GeneralDerivedCRS derived) {
+                // the projection parameters, the map projections hash their values only
+                code = 31 * code + derived.getConversionFromBase().getMathTransform().hashCode();
+            }
+            return code;
+        }
+
+        /** Collects the identifiers of the CRS and the Bursa Wolf parameters of its datums. */
+        private static void addSearchMetadata(final CoordinateReferenceSystem crs, final List<Object> metadata) {
+            for (final ReferenceIdentifier id : crs.getIdentifiers()) {
+                metadata.add(id.getCodeSpace() + ':' + id.getCode());
+            }
+            if (crs instanceof CompoundCRS compound) {
+                for (final CoordinateReferenceSystem component : compound.getCoordinateReferenceSystems()) {
+                    addSearchMetadata(component, metadata);
+                }
+            } else if (crs instanceof SingleCRS single && single.getDatum() instanceof DefaultGeodeticDatum datum) {
+                metadata.add(Arrays.asList(datum.getBursaWolfParameters()));
+            }
+        }
+
+        /** Returns the hash code value. */
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        /** Compares this pair to the specified object for equality, ignoring the irrelevant metadata. */
+        @Override
+        public boolean equals(final Object object) {
+            if (object == this) {
+                return true;
+            }
+            if (object instanceof CanonicalCRSPair that) {
+                return hash == that.hash
+                        && metadata.equals(that.metadata)
+                        && CRS.equalsIgnoreMetadata(this.sourceCRS, that.sourceCRS)
+                        && CRS.equalsIgnoreMetadata(this.targetCRS, that.targetCRS);
+            }
+            return false;
+        }
+    }
+
+    /** The maximal number of operations kept in the {@linkplain #canonicalPool canonical pool}. */
+    static final int CANONICAL_POOL_SIZE = 256;
+
     /**
      * The wrapped factory. If {@code null}, will be fetched when first needed. We should not initialize this field
      * using {@link ReferencingFactoryFinder} from the no-argument constructor, since this constructor is typically
@@ -105,6 +221,16 @@ public boolean equals(final Object object) {
      */
     private final Map<CRSPair, CoordinateOperation> pool = new SoftValueHashMap<>();
 
+    /**
+     * The cached transformations keyed on the CRS contents rather than their metadata. Used when the
+     * {@linkplain #pool strict pool} misses, the operations found here are rewrapped around the requested CRS. Bounded
+     * in size, the oldest operations are evicted first.
+     */
+    private final Map<CanonicalCRSPair, CoordinateOperation> canonicalPool = new ConcurrentHashMap<>();
+
+    /** The keys of the {@linkplain #canonicalPool canonical pool}, in insertion order. */
+    private final Queue<CanonicalCRSPair> canonicalKeys = new ConcurrentLinkedQueue<>();
+
     /** Creates a buffered factory wrapping the {@linkplain AuthorityBackedFactory default one}. */
     public BufferedCoordinateOperationFactory() {
         super(null, PRIORITY);
@@ -205,9 +331,10 @@ void initializeHints() {
 
     /**
      * Returns an operation for conversion or transformation between two coordinate reference systems. If an operation
-     * was already created and still in the cache, the cached operation is returned. Otherwise the operation creation is
-     * delegated to the {@linkplain CoordinateOperationFactory coordinate operation factory} specified at construction
-     * time and the result is cached.
+     * was already created and still in the cache, the cached operation is returned. If an operation was created for
+     * equivalent CRS (same definition, but different names or other metadata), its math transform is reused.
+     * Otherwise the operation creation is delegated to the {@linkplain CoordinateOperationFactory coordinate operation
+     * factory} specified at construction time and the result is cached.
      *
      * @param sourceCRS Input coordinate reference system.
      * @param targetCRS Output coordinate reference system.
@@ -224,12 +351,56 @@ public CoordinateOperation createOperation(
         final CRSPair key = new CRSPair(sourceCRS, targetCRS);
         CoordinateOperation op = pool.get(key);
         if (op == null) {
-            op = getBackingFactory().createOperation(sourceCRS, targetCRS);
+            final CanonicalCRSPair canonicalKey = new CanonicalCRSPair(sourceCRS, targetCRS);
+            op = canonicalPool.get(canonicalKey);
+            if (op != null) {
+                if (!Utilities.equals(sourceCRS, op.getSourceCRS())
+                        || !Utilities.equals(targetCRS, op.getTargetCRS())) {
+                    // Same math transform, but the operation must report the requested CRS
+                    op = new ForcedCRSOperation(unwrap(op), sourceCRS, targetCRS);
+                }
+            } else {
+                Span span = Tracing.start(OperationType.MATH_TRANSFORM_CREATION);
+                try {
+                    op = getBackingFactory().createOperation(sourceCRS, targetCRS);
+                } finally {
+                    if (span != null) {
+                        span.end(
+                                sourceCRS.getName().getCode() + " -> "
+                                        + targetCRS.getName().getCode(),
+                                op != null ? op.getName().getCode() : null,
+                                -1);
+                    }
+                }
+                putCanonical(canonicalKey, op);
+            }
             pool.put(key, op);
         }
         return op;
     }
 
+    /** Adds an operation to the canonical pool, evicting the oldest ones beyond {@link #CANONICAL_POOL_SIZE}. */
+    private void putCanonical(final CanonicalCRSPair key, final CoordinateOperation op) {
+        if (canonicalPool.put(key, op) == null) {
+            canonicalKeys.add(key);
+            while (canonicalPool.size() > CANONICAL_POOL_SIZE) {
+                final CanonicalCRSPair eldest = canonicalKeys.poll();
+                if (eldest == null) {
+                    break;
+                }
+                canonicalPool.remove(eldest);
+            }
+        }
+    }
+
+    /** Returns the operation wrapped by a {@link ForcedCRSOperation}, if any, to avoid nesting the wrappers. */
+    private static CoordinateOperation unwrap(CoordinateOperation op) {
+        while (op instanceof ForcedCRSOperation forced) {
+            op = forced.delegate;
+        }
+        return op;
+    }
+
     /**
      * Returns all available operations for conversion or transformation between two coordinate reference systems. The
      * operation creation is delegated to the {@linkplain CoordinateOperationFactory coordinate operation factory}
@@ -206,7 +206,21 @@ public ParameterValueGroup getParameterValues() {
      */
     @Override
     protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
-        double rho;
+        final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+        project(x, y, point);
+        return point;
+    }
+
+    /** Transforms in place a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians). */
+    @Override
+    protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::project);
+    }
+
+    /** Transforms the (<var>&lambda;</var>,<var>&phi;</var>) coordinates and stores the result in {@code dst}. */
+    private void project(double x, final double y, final Point2D dst) throws ProjectionException {
+        final double rho;
         // Snyder p. 108
         if (abs(abs(y) - PI / 2) < EPSILON) {
             if (y * n <= 0) {
@@ -223,19 +237,26 @@ protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws
         if (belgium) {
             x -= BELGE_A;
         }
-        y = rho0 - rho * cos(x);
-        x = rho * sin(x);
-        if (ptDst != null) {
-            ptDst.setLocation(x, y);
-            return ptDst;
-        }
-        return new Point2D.Double(x, y);
+        dst.setLocation(rho * sin(x), rho0 - rho * cos(x));
     }
 
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
-        double theta;
+        final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+        unproject(x, y, point);
+        return point;
+    }
+
+    /** Transforms in place a block of (<var>x</var>,<var>y</var>) coordinates. */
+    @Override
+    protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::unproject);
+    }
+
+    /** Transforms the (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code dst}. */
+    private void unproject(double x, double y, final Point2D dst) throws ProjectionException {
         y = rho0 - y;
         double rho = hypot(x, y); // Zero when the latitude is 90 degrees.
         if (rho > EPSILON) {
@@ -244,25 +265,19 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
                 x = -x;
                 y = -y;
             }
-            theta = atan2(x, y);
+            double theta = atan2(x, y);
             if (belgium) {
                 theta += BELGE_A;
             }
-            x = theta / n;
             if (isSpherical) {
                 y = 2.0 * atan(pow(F / rho, 1.0 / n)) - PI / 2;
             } else {
                 y = cphi2(pow(rho / F, 1.0 / n));
             }
+            dst.setLocation(theta / n, y);
         } else {
-            x = 0.0;
-            y = n < 0 ? -(PI / 2) : PI / 2;
-        }
-        if (ptDst != null) {
-            ptDst.setLocation(x, y);
-            return ptDst;
+            dst.setLocation(0.0, n < 0 ? -(PI / 2) : PI / 2);
         }
-        return new Point2D.Double(x, y);
     }
 
     /** Returns a hash value for this projection. */
@@ -37,6 +37,7 @@
 import java.io.Serial;
 import java.io.Serializable;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.LogRecord;
@@ -255,6 +256,20 @@ public abstract class MapProjection extends AbstractMathTransform implements Mat
      */
     private static int globalRangeCheckSemaphore = 1;
 
+    /** The number of points transformed at once by the block transforms, small enough to stay in the processor cache */
+    private static final int BLOCK_SIZE = 256;
+
+    /**
+     * Tells, for each projection class, if the block transforms can be used in the forward and inverse directions (see
+     * {@link #transformNormalized(double[], int, int)}).
+     */
+    private static final ClassValue<boolean[]> BLOCK_TRANSFORMS = new ClassValue<>() {
+        @Override
+        protected boolean[] computeValue(Class<?> type) {
+            return new boolean[] {hasBlockTransform(type, false), hasBlockTransform(type, true)};
+        }
+    };
+
     /** Marks if the projection is invertible. The vast majority is, subclasses can override. */
     protected boolean invertible = true;
 
@@ -812,6 +827,134 @@ protected abstract Point2D inverseTransformNormalized(double x, double y, final
     protected abstract Point2D transformNormalized(double lambda, double phi, final Point2D ptDst)
             throws ProjectionException;
 
+    /**
+     * Transforms in place a block of normalized (<var>lambda</var>,<var>phi</var>) coordinates, in radians, the same
+     * way {@link #transformNormalized(double, double, Point2D)} would. The array methods use this method to transform
+     * the points in blocks, without creating a {@link Point2D} and going through a virtual call for each one of them.
+     *
+     * <p>The default implementation just invokes the point method on each coordinate, projections with closed form
+     * equations can override it with a loop on the primitive array. The block is used only if declared by the same
+     * class declaring the point method, or one of its subclasses, so that projections overriding the point method
+     * alone keep on working.
+     *
+     * @param pts the coordinates, as (<var>lambda</var>,<var>phi</var>) pairs, replaced by the transformed ones.
+     * @param offset the offset of the first coordinate in the array.
+     * @param numPts the number of points to be transformed.
+     * @throws ProjectionException if a point can't be transformed. All the points are transformed anyway, the ones that
+     *     can't be transformed are set to {@link Double#NaN}.
+     */
+    protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::transformNormalized);
+    }
+
+    /**
+     * Inverse transforms in place a block of normalized (<var>x</var>,<var>y</var>) coordinates, the same way
+     * {@link #inverseTransformNormalized(double, double, Point2D)} would. See
+     * {@link #transformNormalized(double[], int, int)} for the details.
+     *
+     * @param pts the coordinates, as (<var>x</var>,<var>y</var>) pairs, replaced by the transformed ones in radians.
+     * @param offset the offset of the first coordinate in the array.
+     * @param numPts the number of points to be transformed.
+     * @throws ProjectionException if a point can't be transformed. All the points are transformed anyway, the ones that
+     *     can't be transformed are set to {@link Double#NaN}.
+     */
+    protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::inverseTransformNormalized);
+    }
+
+    /** A point transform storing its result in the given point, applied by {@link #transformBlock}. */
+    @FunctionalInterface
+    interface PointTransform {
+        void transform(double x, double y, Point2D dst) throws ProjectionException;
+    }
+
+    /**
+     * Transforms in place a block of coordinates with the given point transform, reusing the same point for all of
+     * them. The block transforms delegate to this method.
+     *
+     * @throws ProjectionException if a point can't be transformed. All the points are transformed anyway, the ones that
+     *     can't be transformed are set to {@link Double#NaN}, and the first exception is thrown at the end.
+     */
+    static void transformBlock(final double[] pts, final int offset, final int numPts, final PointTransform transform)
+            throws ProjectionException {
+        final Point2D.Double point = new Point2D.Double();
+        ProjectionException firstException = null;
+        final int end = offset + 2 * numPts;
+        for (int i = offset; i < end; i += 2) {
+            try {
+                transform.transform(pts[i], pts[i + 1], point);
+                pts[i] = point.x;
+                pts[i + 1] = point.y;
+            } catch (ProjectionException exception) {
+                pts[i] = pts[i + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Returns true if the projection class can use the block transforms, in the given direction: they must be
+     * overridden by the same class overriding the point transform, or by one of its subclasses.
+     */
+    static boolean hasBlockTransform(final Class<?> type, final boolean inverse) {
+        final String name = inverse ? "inverseTransformNormalized" : "transformNormalized";
+        final Class<?> point = getDeclaringClass(type, name, double.class, double.class, Point2D.class);
+        final Class<?> block = getDeclaringClass(type, name, double[].class, int.class, int.class);
+        return point != null && block != null && block != MapProjection.class && point.isAssignableFrom(block);
+    }
+
+    private static Class<?> getDeclaringClass(Class<?> type, final String name, final Class<?>... parameters) {
+        for (; type != null; type = type.getSuperclass()) {
+            try {
+                type.getDeclaredMethod(name, parameters);
+                return type;
+            } catch (NoSuchMethodException e) {
+                // keep on looking in the superclass
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks the reciprocal of the transformed points, setting to {@link Double#NaN} the ones failing the check. Used
+     * by the block transforms when assertions are enabled, the same way the point transforms do.
+     *
+     * @return the first exception, either the one given or the first check failure.
+     */
+    private ProjectionException checkReciprocal(
+            final double[] original,
+            final double[] pts,
+            final int offset,
+            final int numPts,
+            final boolean inverse,
+            ProjectionException firstException) {
+        for (int i = 0; i < 2 * numPts; i += 2) {
+            final int j = offset + i;
+            if (Double.isNaN(pts[j]) || Double.isNaN(pts[j + 1])) {
+                continue;
+            }
+            try {
+                checkReciprocal(
+                        new Point2D.Double(pts[j], pts[j + 1]),
+                        new Point2D.Double(original[i], original[i + 1]),
+                        inverse);
+            } catch (ProjectionException exception) {
+                pts[j] = pts[j + 1] = Double.NaN;
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+        }
+        return firstException;
+    }
+
     /**
      * Transforms the specified {@code ptSrc} and stores the result in {@code ptDst}.
      *
@@ -868,6 +1011,10 @@ public final Point2D transform(final Point2D ptSrc, Point2D ptDst) throws Projec
     @Override
     public final void transform(final double[] srcPts, int srcOff, final double[] dstPts, int dstOff, int numPts)
             throws ProjectionException {
+        if (numPts > 1 && BLOCK_TRANSFORMS.get(getClass())[0]) {
+            transformBlocks(srcPts, srcOff, dstPts, dstOff, numPts);
+            return;
+        }
         /*
          * Vérifie s'il faudra parcourir le tableau en sens inverse.
          * Ce sera le cas si les tableaux source et destination se
@@ -904,6 +1051,55 @@ public final void transform(final double[] srcPts, int srcOff, final double[] ds
         }
     }
 
+    /**
+     * Transforms the points in blocks of {@link #BLOCK_SIZE}, using the
+     * {@link #transformNormalized(double[], int, int)} block transform.
+     */
+    private void transformBlocks(final double[] srcPts, int srcOff, final double[] dstPts, int dstOff, int numPts)
+            throws ProjectionException {
+        // the blocks are transformed in place, arraycopy takes care of overlapping arrays
+        System.arraycopy(srcPts, srcOff, dstPts, dstOff, 2 * numPts);
+        double[] original = null;
+        if (invertible) {
+            assert (original = Arrays.copyOfRange(dstPts, dstOff, dstOff + 2 * numPts)) != null;
+        }
+        boolean checkRanges = verifyCoordinateRanges();
+        ProjectionException firstException = null;
+        for (int start = 0; start < numPts; start += BLOCK_SIZE) {
+            final int count = Math.min(BLOCK_SIZE, numPts - start);
+            final int offset = dstOff + 2 * start;
+            final int end = offset + 2 * count;
+            for (int i = offset; i < end; i += 2) {
+                final double x = dstPts[i];
+                final double y = dstPts[i + 1];
+                if (checkRanges && verifyGeographicRanges(this, x, y)) {
+                    warningLogged();
+                    checkRanges = false;
+                }
+                // see transform(Point2D, Point2D) about the longitude rolling
+                dstPts[i] = centralMeridian != 0 ? rollLongitude(toRadians(x) - centralMeridian) : toRadians(x);
+                dstPts[i + 1] = toRadians(y);
+            }
+            try {
+                transformNormalized(dstPts, offset, count);
+            } catch (ProjectionException exception) {
+                if (firstException == null) {
+                    firstException = exception;
+                }
+            }
+            for (int i = offset; i < end; i += 2) {
+                dstPts[i] = globalScale * dstPts[i] + falseEasting;
+                dstPts[i + 1] = globalScale * dstPts[i + 1] + falseNorthing;
+            }
+        }
+        if (original != null) {
+            firstException = checkReciprocal(original, dstPts, dstOff, numPts, true, firstException);
+        }
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
     /**
      * Transforms a list of coordinate point ordinal values. Ordinates must be
      * (<var>longitude</var>,<var>latitude</var>) pairs in decimal degrees.
@@ -1019,6 +1215,10 @@ public final Point2D transform(final Point2D ptSrc, Point2D ptDst) throws Projec
         @Override
         public final void transform(final double[] src, int srcOffset, final double[] dest, int dstOffset, int numPts)
                 throws TransformException {
+            if (numPts > 1 && BLOCK_TRANSFORMS.get(MapProjection.this.getClass())[1]) {
+                transformBlocks(src, srcOffset, dest, dstOffset, numPts);
+                return;
+            }
             /*
              * Vérifie s'il faudra parcourir le tableau en sens inverse.
              * Ce sera le cas si les tableaux source et destination se
@@ -1055,6 +1255,54 @@ public final void transform(final double[] src, int srcOffset, final double[] de
             }
         }
 
+        /**
+         * Inverse transforms the points in blocks of {@link #BLOCK_SIZE}, using the
+         * {@link #inverseTransformNormalized(double[], int, int)} block transform.
+         */
+        private void transformBlocks(final double[] src, int srcOffset, final double[] dest, int dstOffset, int numPts)
+                throws ProjectionException {
+            // the blocks are transformed in place, arraycopy takes care of overlapping arrays
+            System.arraycopy(src, srcOffset, dest, dstOffset, 2 * numPts);
+            double[] original = null;
+            assert (original = Arrays.copyOfRange(dest, dstOffset, dstOffset + 2 * numPts)) != null;
+            boolean checkRanges = verifyCoordinateRanges();
+            ProjectionException firstException = null;
+            for (int start = 0; start < numPts; start += BLOCK_SIZE) {
+                final int count = Math.min(BLOCK_SIZE, numPts - start);
+                final int offset = dstOffset + 2 * start;
+                final int end = offset + 2 * count;
+                for (int i = offset; i < end; i += 2) {
+                    dest[i] = (dest[i] - falseEasting) / globalScale;
+                    dest[i + 1] = (dest[i + 1] - falseNorthing) / globalScale;
+                }
+                try {
+                    inverseTransformNormalized(dest, offset, count);
+                } catch (ProjectionException exception) {
+                    if (firstException == null) {
+                        firstException = exception;
+                    }
+                }
+                for (int i = offset; i < end; i += 2) {
+                    // see transform(Point2D, Point2D) about the longitude rolling
+                    final double x =
+                            toDegrees(centralMeridian != 0 ? rollLongitude(dest[i] + centralMeridian) : dest[i]);
+                    final double y = toDegrees(dest[i + 1]);
+                    dest[i] = x;
+                    dest[i + 1] = y;
+                    if (checkRanges && verifyGeographicRanges(this, x, y)) {
+                        warningLogged();
+                        checkRanges = false;
+                    }
+                }
+            }
+            if (original != null) {
+                firstException = checkReciprocal(original, dest, dstOffset, numPts, false, firstException);
+            }
+            if (firstException != null) {
+                throw firstException;
+            }
+        }
+
         /**
          * Inverse transforms a list of coordinate point ordinal values. Ordinates must be (<var>x</var>,<var>y</var>)
          * pairs in metres.
@@ -141,10 +141,7 @@ public ParameterValueGroup getParameterValues() {
      */
     @Override
     protected Point2D transformNormalized(double x, double y, final Point2D ptDst) throws ProjectionException {
-        if (abs(y) > PI / 2 - EPSILON) {
-            throw new ProjectionException(y);
-        }
-        y = -log(tsfn(y, sin(y)));
+        y = project(y);
 
         if (ptDst != null) {
             ptDst.setLocation(x, y);
@@ -153,11 +150,25 @@ protected Point2D transformNormalized(double x, double y, final Point2D ptDst) t
         return new Point2D.Double(x, y);
     }
 
+    /** Transforms in place a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians). */
+    @Override
+    protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, (x, y, point) -> point.setLocation(x, project(y)));
+    }
+
+    /** Returns the northing of the specified latitude (units in radians), the longitude is left unchanged. */
+    private double project(final double y) throws ProjectionException {
+        if (abs(y) > PI / 2 - EPSILON) {
+            throw new ProjectionException(y);
+        }
+        return -log(tsfn(y, sin(y)));
+    }
+
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, final Point2D ptDst) throws ProjectionException {
-        y = exp(-y);
-        y = cphi2(y);
+        y = unproject(y);
 
         if (ptDst != null) {
             ptDst.setLocation(x, y);
@@ -166,6 +177,18 @@ protected Point2D inverseTransformNormalized(double x, double y, final Point2D p
         return new Point2D.Double(x, y);
     }
 
+    /** Transforms in place a block of (<var>x</var>,<var>y</var>) coordinates. */
+    @Override
+    protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, (x, y, point) -> point.setLocation(x, unproject(y)));
+    }
+
+    /** Returns the latitude (units in radians) of the specified northing, the easting is left unchanged. */
+    private double unproject(final double y) throws ProjectionException {
+        return cphi2(exp(-y));
+    }
+
     /**
      * Provides the transform equations for the spherical case of the Mercator projection.
      *
@@ -195,13 +218,11 @@ protected Spherical(final ParameterValueGroup parameters) throws ParameterNotFou
          */
         @Override
         protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
-            if (abs(y) > PI / 2 - EPSILON) {
-                throw new ProjectionException(y);
-            }
+            final double northing = projectSphere(y);
             // Compute using ellipsoidal formulas, for comparaison later.
             assert (ptDst = super.transformNormalized(x, y, ptDst)) != null;
 
-            y = log(tan(PI / 4 + 0.5 * y));
+            y = northing;
 
             assert checkTransform(x, y, ptDst);
             if (ptDst != null) {
@@ -220,7 +241,7 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
             // Computes using ellipsoidal formulas, for comparaison later.
             assert (ptDst = super.inverseTransformNormalized(x, y, ptDst)) != null;
 
-            y = PI / 2 - 2.0 * atan(exp(-y));
+            y = unprojectSphere(y);
 
             assert checkInverseTransform(x, y, ptDst);
             if (ptDst != null) {
@@ -229,6 +250,44 @@ protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst)
             }
             return new Point2D.Double(x, y);
         }
+
+        /**
+         * Transforms in place a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates using equations for a
+         * sphere.
+         */
+        @Override
+        protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+                throws ProjectionException {
+            transformBlock(pts, offset, numPts, (x, y, point) -> {
+                point.setLocation(x, projectSphere(y));
+                // Compare with the ellipsoidal formulas, as the point transform does.
+                assert checkTransform(x, point.getY(), super.transformNormalized(x, y, null));
+            });
+        }
+
+        /** Transforms in place a block of (<var>x</var>,<var>y</var>) coordinates using equations for a sphere. */
+        @Override
+        protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+                throws ProjectionException {
+            transformBlock(pts, offset, numPts, (x, y, point) -> {
+                point.setLocation(x, unprojectSphere(y));
+                // Compare with the ellipsoidal formulas, as the point transform does.
+                assert checkInverseTransform(x, point.getY(), super.inverseTransformNormalized(x, y, null));
+            });
+        }
+
+        /** Returns the northing of the specified latitude (units in radians) using equations for a sphere. */
+        private static double projectSphere(final double y) throws ProjectionException {
+            if (abs(y) > PI / 2 - EPSILON) {
+                throw new ProjectionException(y);
+            }
+            return log(tan(PI / 4 + 0.5 * y));
+        }
+
+        /** Returns the latitude (units in radians) of the specified northing using equations for a sphere. */
+        private static double unprojectSphere(final double y) {
+            return PI / 2 - 2.0 * atan(exp(-y));
+        }
     }
 
     /** Returns a hash value for this projection. */
@@ -144,67 +144,82 @@ public ParameterDescriptorGroup getParameterDescriptors() {
      */
     @Override
     protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
-        double sinphi = sin(y);
-        double cosphi = cos(y);
+        final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+        project(x, y, point);
+        return point;
+    }
+
+    /** Transforms in place a block of (<var>&lambda;</var>,<var>&phi;</var>) coordinates (units in radians). */
+    @Override
+    protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::project);
+    }
+
+    /** Transforms the (<var>&lambda;</var>,<var>&phi;</var>) coordinates and stores the result in {@code dst}. */
+    private void project(final double x, final double y, final Point2D dst) {
+        final double sinphi = sin(y);
+        final double cosphi = cos(y);
 
         double t = abs(cosphi) > EPSILON ? sinphi / cosphi : 0;
         t *= t;
         double al = cosphi * x;
-        double als = al * al;
+        final double als = al * al;
         al /= sqrt(1.0 - excentricitySquared * sinphi * sinphi);
-        double n = esp * cosphi * cosphi;
+        final double n = esp * cosphi * cosphi;
 
         /* NOTE: meridinal distance at latitudeOfOrigin is always 0 */
         final double ys1 = 1385.0 + t * (t * (543.0 - t) - 3111.0);
         final double ys2 = 61.0 + t * (t - 58.0) + n * (270.0 - 330.0 * t) + FC8 * als * ys1;
         final double ys3 = 5.0 - t + n * (9.0 + 4.0 * n) + FC6 * als * ys2;
-        y = mlfn(y, sinphi, cosphi) - ml0 + sinphi * al * x * FC2 * (1.0 + FC4 * als * ys3);
+        final double northing = mlfn(y, sinphi, cosphi) - ml0 + sinphi * al * x * FC2 * (1.0 + FC4 * als * ys3);
 
-        double xs1 = 61.0 + t * (t * (179.0 - t) - 479.0);
+        final double xs1 = 61.0 + t * (t * (179.0 - t) - 479.0);
         final double xs2 = 5.0 + t * (t - 18.0) + n * (14.0 - 58.0 * t) + FC7 * als * xs1;
-        x = al * (FC1 + FC3 * als * (1.0 - t + n + FC5 * als * xs2));
-
-        if (ptDst != null) {
-            ptDst.setLocation(x, y);
-            return ptDst;
-        }
-        return new Point2D.Double(x, y);
+        dst.setLocation(al * (FC1 + FC3 * als * (1.0 - t + n + FC5 * als * xs2)), northing);
     }
 
     /** Transforms the specified (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code ptDst}. */
     @Override
     protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
-        double phi = inv_mlfn(ml0 + y);
+        final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+        unproject(x, y, point);
+        return point;
+    }
+
+    /** Transforms in place a block of (<var>x</var>,<var>y</var>) coordinates. */
+    @Override
+    protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+            throws ProjectionException {
+        transformBlock(pts, offset, numPts, this::unproject);
+    }
+
+    /** Transforms the (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code dst}. */
+    private void unproject(final double x, final double y, final Point2D dst) throws ProjectionException {
+        final double phi = inv_mlfn(ml0 + y);
 
         if (abs(phi) >= PI / 2) {
-            y = y < 0.0 ? -(PI / 2) : PI / 2;
-            x = 0.0;
+            dst.setLocation(0.0, y < 0.0 ? -(PI / 2) : PI / 2);
         } else {
-            double sinphi = sin(phi);
-            double cosphi = cos(phi);
+            final double sinphi = sin(phi);
+            final double cosphi = cos(phi);
             double t = abs(cosphi) > EPSILON ? sinphi / cosphi : 0.0;
-            double n = esp * cosphi * cosphi;
+            final double n = esp * cosphi * cosphi;
             double con = 1.0 - excentricitySquared * sinphi * sinphi;
-            double d = x * sqrt(con);
+            final double d = x * sqrt(con);
             con *= t;
             t *= t;
-            double ds = d * d;
+            final double ds = d * d;
 
             final double ys1 = 1385.0 + t * (3633.0 + t * (4095.0 + 1575.0 * t));
             final double ys2 = 61.0 + t * (90.0 - 252.0 * n + 45.0 * t) + 46.0 * n - ds * FC8 * ys1;
             final double ys3 = 5.0 + t * (3.0 - 9.0 * n) + n * (1.0 - 4 * n) - ds * FC6 * ys2;
-            y = phi - (con * ds / (1.0 - excentricitySquared)) * FC2 * (1.0 - ds * FC4 * ys3);
+            final double latitude = phi - (con * ds / (1.0 - excentricitySquared)) * FC2 * (1.0 - ds * FC4 * ys3);
 
-            double xs1 = 61.0 + t * (662.0 + t * (1320.0 + 720.0 * t));
-            double xs2 = 5.0 + t * (28.0 + 24 * t + 8.0 * n) + 6.0 * n - ds * FC7 * xs1;
-            x = d * (FC1 - ds * FC3 * (1.0 + 2.0 * t + n - ds * FC5 * xs2)) / cosphi;
+            final double xs1 = 61.0 + t * (662.0 + t * (1320.0 + 720.0 * t));
+            final double xs2 = 5.0 + t * (28.0 + 24 * t + 8.0 * n) + 6.0 * n - ds * FC7 * xs1;
+            dst.setLocation(d * (FC1 - ds * FC3 * (1.0 + 2.0 * t + n - ds * FC5 * xs2)) / cosphi, latitude);
         }
-
-        if (ptDst != null) {
-            ptDst.setLocation(x, y);
-            return ptDst;
-        }
-        return new Point2D.Double(x, y);
     }
 
     /** {@inheritDoc} */
@@ -251,47 +266,90 @@ private static final class Spherical extends TransverseMercator {
         @Override
         protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
             // Compute using ellipsoidal formulas, for comparaison later.
-            final double normalizedLongitude = x;
-            assert (ptDst = super.transformNormalized(x, y, ptDst)) != null;
+            Point2D expected = null;
+            assert (expected = super.transformNormalized(x, y, null)) != null;
 
-            double cosphi = cos(y);
-            double b = cosphi * sin(x);
-            if (abs(abs(b) - 1.0) <= EPSILON) {
-                throw new ProjectionException(ErrorKeys.VALUE_TEND_TOWARD_INFINITY);
-            }
+            final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+            projectSphere(x, y, point);
 
-            // Using Snyder's equation for calculating y, instead of the one used in Proj4
-            // poential problems when y and x = 90 degrees, but behaves ok in tests
-            y = atan2(tan(y), cos(x)) - latitudeOfOrigin; /* Snyder 8-3 */
-            x = 0.5 * log((1.0 + b) / (1.0 - b)); /* Snyder 8-1 */
-
-            assert checkTransform(x, y, ptDst, getToleranceForSphereAssertions(normalizedLongitude));
-            if (ptDst != null) {
-                ptDst.setLocation(x, y);
-                return ptDst;
-            }
-            return new Point2D.Double(x, y);
+            assert checkTransform(point.getX(), point.getY(), expected, getToleranceForSphereAssertions(x));
+            return point;
         }
 
         /** {@inheritDoc} */
         @Override
         protected Point2D inverseTransformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
             // Compute using ellipsoidal formulas, for comparaison later.
-            assert (ptDst = super.inverseTransformNormalized(x, y, ptDst)) != null;
+            Point2D expected = null;
+            assert (expected = super.inverseTransformNormalized(x, y, null)) != null;
 
-            double sinhX = sinh(x);
-            double cosD = cos(latitudeOfOrigin + y);
-            double phi = asin(sqrt((1.0 - cosD * cosD) / (1.0 + sinhX * sinhX)));
-            // correct for the fact that we made everything positive using sqrt(x*x)
-            y = y + latitudeOfOrigin < 0.0 ? -phi : phi;
-            x = abs(sinhX) <= EPSILON && abs(cosD) <= EPSILON ? 0.0 : atan2(sinhX, cosD);
+            final Point2D point = ptDst != null ? ptDst : new Point2D.Double();
+            unprojectSphere(x, y, point);
+
+            assert checkInverseTransform(
+                    point.getX(), point.getY(), expected, getToleranceForSphereAssertions(point.getX()));
+            return point;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        protected void transformNormalized(final double[] pts, final int offset, final int numPts)
+                throws ProjectionException {
+            transformBlock(pts, offset, numPts, (x, y, point) -> {
+                projectSphere(x, y, point);
+                // Compare with the ellipsoidal formulas, as the point transform does.
+                assert checkTransform(
+                        point.getX(),
+                        point.getY(),
+                        super.transformNormalized(x, y, null),
+                        getToleranceForSphereAssertions(x));
+            });
+        }
 
-            assert checkInverseTransform(x, y, ptDst, getToleranceForSphereAssertions(x));
-            if (ptDst != null) {
-                ptDst.setLocation(x, y);
-                return ptDst;
+        /** {@inheritDoc} */
+        @Override
+        protected void inverseTransformNormalized(final double[] pts, final int offset, final int numPts)
+                throws ProjectionException {
+            transformBlock(pts, offset, numPts, (x, y, point) -> {
+                unprojectSphere(x, y, point);
+                // Compare with the ellipsoidal formulas, as the point transform does.
+                assert checkInverseTransform(
+                        point.getX(),
+                        point.getY(),
+                        super.inverseTransformNormalized(x, y, null),
+                        getToleranceForSphereAssertions(point.getX()));
+            });
+        }
+
+        /**
+         * Transforms the (<var>&lambda;</var>,<var>&phi;</var>) coordinates and stores the result in {@code dst} using
+         * equations for a sphere.
+         */
+        private void projectSphere(final double x, final double y, final Point2D dst) throws ProjectionException {
+            final double b = cos(y) * sin(x);
+            if (abs(abs(b) - 1.0) <= EPSILON) {
+                throw new ProjectionException(ErrorKeys.VALUE_TEND_TOWARD_INFINITY);
             }
-            return new Point2D.Double(x, y);
+
+            // Using Snyder's equation for calculating y, instead of the one used in Proj4
+            // poential problems when y and x = 90 degrees, but behaves ok in tests
+            dst.setLocation(
+                    0.5 * log((1.0 + b) / (1.0 - b)), /* Snyder 8-1 */
+                    atan2(tan(y), cos(x)) - latitudeOfOrigin); /* Snyder 8-3 */
+        }
+
+        /**
+         * Transforms the (<var>x</var>,<var>y</var>) coordinates and stores the result in {@code dst} using equations
+         * for a sphere.
+         */
+        private void unprojectSphere(final double x, final double y, final Point2D dst) {
+            final double sinhX = sinh(x);
+            final double cosD = cos(latitudeOfOrigin + y);
+            final double phi = asin(sqrt((1.0 - cosD * cosD) / (1.0 + sinhX * sinhX)));
+            // correct for the fact that we made everything positive using sqrt(x*x)
+            dst.setLocation(
+                    abs(sinhX) <= EPSILON && abs(cosD) <= EPSILON ? 0.0 : atan2(sinhX, cosD),
+                    y + latitudeOfOrigin < 0.0 ? -phi : phi);
         }
 
         /**
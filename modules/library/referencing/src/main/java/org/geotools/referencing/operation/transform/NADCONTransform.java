@@ -47,7 +47,7 @@
 import org.geotools.referencing.ReferencingFactoryFinder;
 import org.geotools.referencing.factory.gridshift.GridShiftLocator;
 import org.geotools.referencing.factory.gridshift.NADCONGridShiftFactory;
-import org.geotools.referencing.factory.gridshift.NADConGridShift;
+import org.geotools.referencing.factory.gridshift.NADConGrid;
 import org.geotools.referencing.operation.MathTransformProvider;
 import org.geotools.util.Arguments;
 
@@ -138,14 +138,11 @@ public class NADCONTransform extends AbstractMathTransform implements MathTransf
     /** Longitude grid shift file names. Output in WKT. */
     private final URI longGridName;
 
-    /** The {@link #gridShift} values as a {@code LocalizationGridTransform2D}. Used for interpolating shift values. */
-    private MathTransform gridShiftTransform;
-
     /** The inverse of this transform. Will be created only when needed. */
     private transient MathTransform2D inverse;
 
-    /** The grid driving this transform */
-    NADConGridShift grid;
+    /** The grid driving this transform. Loaded again after deserialization. */
+    transient NADConGrid grid;
 
     /**
      * Constructs a {@code NADCONTransform} from the specified grid shift files.
@@ -174,8 +171,18 @@ public NADCONTransform(final URI latGridName, final URI longGridName)
         URL latGridURL = locateGrid(latGridName);
         URL longGridURL = locateGrid(longGridName);
 
-        this.grid = FACTORY.loadGridShift(latGridURL, longGridURL);
-        this.gridShiftTransform = grid.getMathTransform();
+        this.grid = FACTORY.loadGrid(latGridURL, longGridURL);
+    }
+
+    /** Loads the grid again after deserialization. */
+    @Serial
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        try {
+            grid = FACTORY.loadGrid(locateGrid(latGridName), locateGrid(longGridName));
+        } catch (FactoryException e) {
+            throw new IOException(e.getLocalizedMessage(), e);
+        }
     }
 
     protected URL locateGrid(URI uri) throws FactoryException {
@@ -261,6 +268,7 @@ public void transform(final double[] srcPts, int srcOff, final double[] dstPts,
             dstOff -= (numPts - 1) * step;
         }
 
+        final double[] array = new double[2];
         while (--numPts >= 0) {
             double x = srcPts[srcOff++];
             double y = srcPts[srcOff++];
@@ -282,14 +290,9 @@ public void transform(final double[] srcPts, int srcOff, final double[] dstPts,
                         + "))");
             }
 
-            // find the grid the point is in (index is 0 based)
-            final double xgrid = (x - grid.getMinX()) / grid.getDx();
-            final double ygrid = (y - grid.getMinY()) / grid.getDy();
-            double[] array = {xgrid, ygrid};
-
-            // use the LocalizationGridTransform2D transform method (bilineal interpolation)
+            // bilinear interpolation in the grid cell containing the point
             // returned shift values are in seconds, longitude shift values are + west
-            gridShiftTransform.transform(array, 0, array, 0, 1);
+            grid.getShift(x, y, array);
 
             dstPts[dstOff++] = x - array[0] / SEC_2_DEG;
             dstPts[dstOff++] = y + array[1] / SEC_2_DEG;
@@ -16,8 +16,6 @@
  */
 package org.geotools.referencing.operation.transform;
 
-import au.com.objectix.jgridshift.GridShift;
-import au.com.objectix.jgridshift.GridShiftFile;
 import java.io.IOException;
 import java.io.ObjectInputStream;
 import java.io.Serial;
@@ -45,6 +43,7 @@
 import org.geotools.referencing.NamedIdentifier;
 import org.geotools.referencing.ReferencingFactoryFinder;
 import org.geotools.referencing.factory.gridshift.GridShiftLocator;
+import org.geotools.referencing.factory.gridshift.NTv2Grid;
 import org.geotools.referencing.factory.gridshift.NTv2GridShiftFactory;
 import org.geotools.referencing.operation.MathTransformProvider;
 import org.geotools.util.Utilities;
@@ -75,8 +74,8 @@ public class NTv2Transform extends AbstractMathTransform implements MathTransfor
     /** The grid file name as set in the constructor. */
     private URL gridLocation = null;
 
-    /** The grid shift to be used */
-    private GridShiftFile gridShift;
+    /** The grid shift to be used. Opened when first needed, and again after deserialization. */
+    private transient volatile NTv2Grid gridShift;
 
     /** The factory that loads the grid shift files */
     private static NTv2GridShiftFactory FACTORY = new NTv2GridShiftFactory();
@@ -217,46 +216,44 @@ private void bidirectionalTransform(
 
         boolean shifted;
 
+        NTv2Grid gridShift = this.gridShift;
         if (gridShift == null) { // Create grid when first needed.
             try {
-                gridShift = FACTORY.createNTv2Grid(gridLocation);
+                gridShift = FACTORY.openNTv2Grid(gridLocation);
+                this.gridShift = gridShift;
             } catch (FactoryException e) {
                 throw new TransformException("NTv2 Grid " + gridLocation + " Could not be created", e);
             }
         }
 
-        try {
-            GridShift shift = new GridShift();
-            while (--numPts >= 0) {
-                shift.setLonPositiveEastDegrees(srcPts[srcOff++]);
-                shift.setLatDegrees(srcPts[srcOff++]);
-                if (forward) {
-                    shifted = gridShift.gridShiftForward(shift);
-                } else {
-                    shifted = gridShift.gridShiftReverse(shift);
-                }
-                if (shifted) {
-                    dstPts[dstOff++] = shift.getShiftedLonPositiveEastDegrees();
-                    dstPts[dstOff++] = shift.getShiftedLatDegrees();
-                } else {
-                    if (LOGGER.isLoggable(Level.FINE)) {
-                        LOGGER.log(
-                                Level.FINE,
-                                "Point ("
-                                        + srcPts[srcOff - 2]
-                                        + ", "
-                                        + srcPts[srcOff - 1]
-                                        + ") is not covered by '"
-                                        + this.grid
-                                        + "' NTv2 grid,"
-                                        + " it will not be shifted.");
-                    }
-                    dstPts[dstOff++] = srcPts[srcOff - 2];
-                    dstPts[dstOff++] = srcPts[srcOff - 1];
+        final double[] point = new double[2];
+        while (--numPts >= 0) {
+            point[0] = srcPts[srcOff++];
+            point[1] = srcPts[srcOff++];
+            if (forward) {
+                shifted = gridShift.shiftForward(point);
+            } else {
+                shifted = gridShift.shiftReverse(point);
+            }
+            if (shifted) {
+                dstPts[dstOff++] = point[0];
+                dstPts[dstOff++] = point[1];
+            } else {
+                if (LOGGER.isLoggable(Level.FINE)) {
+                    LOGGER.log(
+                            Level.FINE,
+                            "Point ("
+                                    + srcPts[srcOff - 2]
+                                    + ", "
+                                    + srcPts[srcOff - 1]
+                                    + ") is not covered by '"
+                                    + this.grid
+                                    + "' NTv2 grid,"
+                                    + " it will not be shifted.");
                 }
+                dstPts[dstOff++] = srcPts[srcOff - 2];
+                dstPts[dstOff++] = srcPts[srcOff - 1];
             }
-        } catch (IOException e) {
-            throw new TransformException(e.getLocalizedMessage(), e);
         }
     }
 
@@ -0,0 +1,149 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Properties;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.metadata.iso.citation.CitationImpl;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.WKT;
+import org.geotools.util.factory.Hints;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests the {@link IdentifiedObjectIndex} used by the full scans of {@link IdentifiedObjectFinder}. */
+public final class IdentifiedObjectIndexTest {
+
+    private static final String UTM_11N = WKT.UTM_10N.replace("\"Central_Meridian\",-123", "\"Central_Meridian\",-117");
+
+    /** A scale factor rounded to 9.996001e-01 in the fingerprints. */
+    private static final String UTM_13N = WKT.UTM_10N
+            .replace("\"Central_Meridian\",-123", "\"Central_Meridian\",-105")
+            .replace("\"Scale_Factor\",0.9996", "\"Scale_Factor\",0.99960005000001");
+
+    /** Same definition as {@link #UTM_13N} within 1E-9, but with a scale factor rounded to 9.996000e-01. */
+    private static final String UTM_13N_ROUNDED_APART =
+            UTM_13N.replace("\"Scale_Factor\",0.99960005000001", "\"Scale_Factor\",0.99960004999999");
+
+    /** Same definition as {@link WKT#UTM_10N}, with different names and number formatting. */
+    private static final String UTM_10N_RENAMED = WKT.UTM_10N
+            .replace("NAD_1983_UTM_Zone_10N", "UTM zone 10N")
+            .replace("6378137,", "6378137.000,")
+            .replace("\"False_Easting\",500000", "\"False_Easting\",5E5");
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private String directory;
+
+    private PropertyAuthorityFactory factory;
+
+    @Before
+    public void setUp() throws Exception {
+        directory = System.getProperty(IdentifiedObjectIndex.DIRECTORY_KEY);
+        System.setProperty(IdentifiedObjectIndex.DIRECTORY_KEY, folder.getRoot().getAbsolutePath());
+
+        Properties definitions = new Properties();
+        definitions.setProperty("1", WKT.WGS84.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("2", WKT.UTM_10N.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("3", UTM_11N.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("4", UTM_13N.replaceAll("\\s*\n\\s*", ""));
+        File file = folder.newFile("test.properties");
+        try (OutputStream out = Files.newOutputStream(file.toPath())) {
+            definitions.store(out, null);
+        }
+        factory =
+                new PropertyAuthorityFactory(
+                        ReferencingFactoryContainer.instance(null),
+                        new CitationImpl("TEST"),
+                        file.toURI().toURL()) {
+                    @Override
+                    public String getBackingStoreDescription() {
+                        return "Test database 1.0";
+                    }
+                };
+    }
+
+    @After
+    public void tearDown() {
+        if (directory != null) {
+            System.setProperty(IdentifiedObjectIndex.DIRECTORY_KEY, directory);
+        } else {
+            System.clearProperty(IdentifiedObjectIndex.DIRECTORY_KEY);
+        }
+    }
+
+    @Test
+    public void testFingerprint() throws Exception {
+        String utm = IdentifiedObjectIndex.fingerprint(CRS.parseWKT(WKT.UTM_10N));
+        assertEquals(utm, IdentifiedObjectIndex.fingerprint(CRS.parseWKT(UTM_10N_RENAMED)));
+        assertNotEquals(utm, IdentifiedObjectIndex.fingerprint(CRS.parseWKT(UTM_11N)));
+        assertNotEquals(utm, IdentifiedObjectIndex.fingerprint(CRS.parseWKT(WKT.WGS84)));
+        assertNull(IdentifiedObjectIndex.fingerprint(CRS.parseWKT(WKT.WGS84).getCoordinateSystem()));
+    }
+
+    @Test
+    public void testFind() throws Exception {
+        IdentifiedObjectFinder finder = factory.getIdentifiedObjectFinder(CoordinateReferenceSystem.class);
+        CoordinateReferenceSystem renamed = CRS.parseWKT(UTM_10N_RENAMED);
+        assertEquals("TEST:2", finder.findIdentifier(renamed));
+        assertEquals("TEST:3", finder.findIdentifier(CRS.parseWKT(UTM_11N)));
+        assertNull(finder.findIdentifier(
+                CRS.parseWKT(WKT.UTM_10N.replace("\"Central_Meridian\",-123", "\"Central_Meridian\",-111"))));
+
+        // the index has been saved for the next runs
+        File[] saved = folder.getRoot().listFiles((dir, name) -> name.startsWith("TEST-"));
+        assertEquals(1, saved.length);
+        Properties index = new Properties();
+        try (InputStream in = Files.newInputStream(saved[0].toPath())) {
+            index.load(in);
+        }
+        assertEquals("2", index.getProperty(IdentifiedObjectIndex.fingerprint(renamed)));
+        String header = index.getProperty("#header");
+        assertTrue(header.startsWith(IdentifiedObjectIndex.VERSION + ":4:"));
+        assertTrue(header.endsWith(":Test database 1.0"));
+    }
+
+    @Test
+    public void testFindRoundedApart() throws Exception {
+        CoordinateReferenceSystem crs = CRS.parseWKT(UTM_13N_ROUNDED_APART);
+        assertNotEquals(
+                IdentifiedObjectIndex.fingerprint(CRS.parseWKT(UTM_13N)), IdentifiedObjectIndex.fingerprint(crs));
+
+        IdentifiedObjectFinder finder = factory.getIdentifiedObjectFinder(CoordinateReferenceSystem.class);
+        assertNull(finder.findIdentifier(crs));
+        Hints.putSystemDefault(Hints.COMPARISON_TOLERANCE, 1e-9);
+        try {
+            // not in the index bucket, found by the scan of all the codes
+            assertEquals("TEST:4", finder.findIdentifier(crs));
+        } finally {
+            Hints.removeSystemDefault(Hints.COMPARISON_TOLERANCE);
+        }
+    }
+}
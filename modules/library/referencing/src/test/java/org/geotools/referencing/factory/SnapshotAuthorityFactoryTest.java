@@ -0,0 +1,213 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.factory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import org.geotools.api.metadata.extent.GeographicBoundingBox;
+import org.geotools.api.referencing.FactoryException;
+import org.geotools.api.referencing.NoSuchAuthorityCodeException;
+import org.geotools.api.referencing.ReferenceSystem;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.crs.GeographicCRS;
+import org.geotools.api.referencing.crs.ProjectedCRS;
+import org.geotools.api.util.GenericName;
+import org.geotools.metadata.iso.citation.CitationImpl;
+import org.geotools.metadata.iso.extent.ExtentImpl;
+import org.geotools.metadata.iso.extent.GeographicBoundingBoxImpl;
+import org.geotools.referencing.AbstractIdentifiedObject;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.WKT;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.referencing.factory.epsg.SnapshotEpsgFactory;
+import org.geotools.util.LocalName;
+import org.geotools.util.ScopedName;
+import org.geotools.util.SimpleInternationalString;
+import org.geotools.util.factory.Hints;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/** Tests the {@link SnapshotAuthorityFactory} against the {@link PropertyAuthorityFactory} it was written from. */
+public final class SnapshotAuthorityFactoryTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private File definitionsFile;
+
+    private PropertyAuthorityFactory source;
+
+    private SnapshotAuthorityFactory snapshot;
+
+    @Before
+    public void setUp() throws Exception {
+        Properties definitions = new Properties();
+        definitions.setProperty("4326", WKT.WGS84.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("26910", WKT.UTM_10N.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("2", WKT.NAD83.replaceAll("\\s*\n\\s*", ""));
+        definitions.setProperty("XY", WKT.WGS84.replaceAll("\\s*\n\\s*", ""));
+        definitionsFile = folder.newFile("test.properties");
+        try (OutputStream out = Files.newOutputStream(definitionsFile.toPath())) {
+            definitions.store(out, null);
+        }
+        CitationImpl authority = new CitationImpl("TEST");
+        ReferencingFactoryContainer factories = ReferencingFactoryContainer.instance(null);
+        source = new PropertyAuthorityFactory(
+                factories, authority, definitionsFile.toURI().toURL());
+
+        File snapshotFile = folder.newFile("test.snapshot");
+        // the non numeric code is skipped
+        assertEquals(3, SnapshotAuthorityFactory.write(source, "Test definitions", snapshotFile));
+        snapshot = new SnapshotAuthorityFactory(
+                factories, authority, snapshotFile.toURI().toURL());
+    }
+
+    @Test
+    public void testCodes() throws Exception {
+        assertEquals("Test definitions", snapshot.getBackingStoreDescription());
+        assertEquals(List.of("2", "4326", "26910"), List.copyOf(snapshot.getAuthorityCodes(null)));
+        assertEquals(
+                List.of("2", "4326", "26910"),
+                List.copyOf(snapshot.getAuthorityCodes(CoordinateReferenceSystem.class)));
+        assertEquals(List.of("2", "4326"), List.copyOf(snapshot.getAuthorityCodes(GeographicCRS.class)));
+        assertEquals(List.of("26910"), List.copyOf(snapshot.getAuthorityCodes(ProjectedCRS.class)));
+    }
+
+    @Test
+    public void testCreate() throws Exception {
+        for (String code : List.of("2", "4326", "26910")) {
+            CoordinateReferenceSystem expected = source.createCoordinateReferenceSystem(code);
+            CoordinateReferenceSystem crs = snapshot.createCoordinateReferenceSystem("TEST:" + code);
+            assertTrue(code, CRS.equalsIgnoreMetadata(expected, crs));
+            assertEquals(CRS.toSRS(expected), CRS.toSRS(crs));
+            assertEquals(source.getDescriptionText(code), snapshot.getDescriptionText(code));
+        }
+        for (String code : List.of("1", "XY", "99999")) {
+            try {
+                snapshot.createCoordinateReferenceSystem(code);
+                fail("Should not have found " + code);
+            } catch (NoSuchAuthorityCodeException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testMetadata() throws Exception {
+        CitationImpl authority = new CitationImpl("TEST");
+        ReferencingFactoryContainer factories = ReferencingFactoryContainer.instance(null);
+        // the WKT carries no domain of validity, scope, remarks or aliases, add them as a database would
+        PropertyAuthorityFactory withMetadata =
+                new PropertyAuthorityFactory(
+                        factories, authority, definitionsFile.toURI().toURL()) {
+                    @Override
+                    public CoordinateReferenceSystem createCoordinateReferenceSystem(String code)
+                            throws FactoryException {
+                        CoordinateReferenceSystem crs = super.createCoordinateReferenceSystem(code);
+                        if (!(crs instanceof DefaultGeographicCRS geographic)) {
+                            return crs;
+                        }
+                        ExtentImpl domain = new ExtentImpl();
+                        domain.setDescription(new SimpleInternationalString("World"));
+                        domain.getGeographicElements().add(new GeographicBoundingBoxImpl(-180, 180, -90, 90));
+                        Map<String, Object> properties = new HashMap<>(AbstractIdentifiedObject.getProperties(crs));
+                        properties.put(ReferenceSystem.DOMAIN_OF_VALIDITY_KEY, domain);
+                        properties.put(ReferenceSystem.SCOPE_KEY, "Horizontal component of 3D system.");
+                        properties.put(ReferenceSystem.REMARKS_KEY, "Test remarks");
+                        properties.put(ReferenceSystem.ALIAS_KEY, new GenericName[] {
+                            new LocalName("WGS 84 alias"), new ScopedName(new LocalName("ESRI"), "GCS_WGS_1984")
+                        });
+                        return new DefaultGeographicCRS(
+                                properties, geographic.getDatum(), geographic.getCoordinateSystem());
+                    }
+                };
+        File snapshotFile = folder.newFile("metadata.snapshot");
+        assertEquals(3, SnapshotAuthorityFactory.write(withMetadata, "Test definitions", snapshotFile));
+        SnapshotAuthorityFactory factory = new SnapshotAuthorityFactory(
+                factories, authority, snapshotFile.toURI().toURL());
+
+        CoordinateReferenceSystem expected = withMetadata.createCoordinateReferenceSystem("4326");
+        CoordinateReferenceSystem crs = factory.createCoordinateReferenceSystem("4326");
+        assertTrue(CRS.equalsIgnoreMetadata(expected, crs));
+        assertEquals("World", crs.getDomainOfValidity().getDescription().toString());
+        GeographicBoundingBox bbox = CRS.getGeographicBoundingBox(crs);
+        assertNotNull(bbox);
+        assertEquals(-180, bbox.getWestBoundLongitude(), 0d);
+        assertEquals(90, bbox.getNorthBoundLatitude(), 0d);
+        assertNotNull(CRS.getEnvelope(crs));
+        assertEquals(expected.getScope().toString(), crs.getScope().toString());
+        assertEquals(expected.getRemarks().toString(), crs.getRemarks().toString());
+        assertEquals(
+                List.of("WGS 84 alias", "ESRI:GCS_WGS_1984"),
+                crs.getAlias().stream().map(Object::toString).toList());
+        assertEquals(CRS.toSRS(expected), CRS.toSRS(crs));
+
+        // the definitions without metadata stay without metadata
+        CoordinateReferenceSystem projected = factory.createCoordinateReferenceSystem("26910");
+        assertEquals(null, projected.getDomainOfValidity());
+        assertTrue(projected.getAlias().isEmpty());
+    }
+
+    @Test
+    public void testEpsgFactory() throws Exception {
+        File directory = folder.newFolder("crs");
+        SnapshotEpsgFactory missing =
+                new SnapshotEpsgFactory(new Hints(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, directory));
+        assertFalse(missing.isAvailable());
+
+        SnapshotAuthorityFactory.write(source, "Test definitions", new File(directory, SnapshotEpsgFactory.FILENAME));
+        SnapshotEpsgFactory factory =
+                new SnapshotEpsgFactory(new Hints(Hints.CRS_AUTHORITY_EXTRA_DIRECTORY, directory));
+        try {
+            assertTrue(factory.isAvailable());
+            assertEquals(snapshot.getAuthorityCodes(null), factory.getAuthorityCodes(null));
+            CoordinateReferenceSystem crs = factory.createCoordinateReferenceSystem("EPSG:26910");
+            assertTrue(CRS.equalsIgnoreMetadata(source.createCoordinateReferenceSystem("26910"), crs));
+        } finally {
+            factory.dispose();
+        }
+    }
+
+    @Test
+    public void testInvalidSnapshot() throws Exception {
+        File file = folder.newFile("invalid.snapshot");
+        Files.writeString(file.toPath(), "4326=GEOGCS[...]");
+        try {
+            new SnapshotAuthorityFactory(
+                    ReferencingFactoryContainer.instance(null),
+                    new CitationImpl("TEST"),
+                    file.toURI().toURL());
+            fail("Should have rejected the file");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -16,9 +16,13 @@
  */
 package org.geotools.referencing.factory.gridshift;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import au.com.objectix.jgridshift.GridShiftFile;
 import java.net.URL;
@@ -108,4 +112,39 @@ public void testCreateNTv2Grid() {
         assertNotNull(grid);
         assertTrue(grid.isLoaded());
     }
+
+    /**
+     * Test method for
+     * {@link org.geotools.referencing.factory.gridshift.NTv2GridShiftFactory#openNTv2Grid(java.net.URL)}.
+     */
+    @Test
+    public void testOpenNTv2Grid() throws FactoryException {
+        for (URL url : new URL[] {null, INEXISTENT_GRID, MALFORMED_GRID}) {
+            try {
+                factory.openNTv2Grid(url);
+                fail("Should not have opened " + url);
+            } catch (FactoryException e) {
+                // expected
+            }
+        }
+
+        NTv2Grid grid = factory.openNTv2Grid(TEST_GRID);
+        assertSame(grid, factory.openNTv2Grid(TEST_GRID));
+        assertTrue(grid.getSubGridCount() > 0);
+
+        // A point in Mallorca, shifted and back
+        double[] point = {2.65, 39.57};
+        assertTrue(grid.shiftForward(point));
+        assertNotEquals(2.65, point[0], 1e-9);
+        assertNotEquals(39.57, point[1], 1e-9);
+        assertTrue(grid.shiftReverse(point));
+        assertEquals(2.65, point[0], 1e-9);
+        assertEquals(39.57, point[1], 1e-9);
+
+        // A point outside of the grid is left unchanged
+        point = new double[] {-75, 45};
+        assertFalse(grid.shiftForward(point));
+        assertEquals(-75, point[0], 0);
+        assertEquals(45, point[1], 0);
+    }
 }
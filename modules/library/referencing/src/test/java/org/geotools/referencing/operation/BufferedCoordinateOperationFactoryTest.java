@@ -0,0 +1,110 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation;
+
+import static org.geotools.referencing.crs.DefaultGeographicCRS.WGS84;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.referencing.operation.CoordinateOperation;
+import org.geotools.referencing.CRS;
+import org.geotools.referencing.WKT;
+import org.junit.Test;
+
+/** Tests the caching of the {@link BufferedCoordinateOperationFactory}. */
+public final class BufferedCoordinateOperationFactoryTest {
+
+    private final BufferedCoordinateOperationFactory factory =
+            new BufferedCoordinateOperationFactory(new DefaultCoordinateOperationFactory(), 50);
+
+    /** Same definition as {@link WKT#UTM_10N}, with different names and number formatting. */
+    private static final String UTM_10N_RENAMED = WKT.UTM_10N
+            .replace("NAD_1983_UTM_Zone_10N", "UTM zone 10N")
+            .replace("GCS_North_American_1983", "NAD83")
+            .replace("6378137,", "6378137.0,")
+            .replace("PARAMETER[\"False_Easting\",500000]", "PARAMETER[\"False_Easting\",5E5]");
+
+    @Test
+    public void testSameCRS() throws Exception {
+        CoordinateReferenceSystem utm = CRS.parseWKT(WKT.UTM_10N);
+        CoordinateOperation op = factory.createOperation(utm, WGS84);
+        assertSame(op, factory.createOperation(utm, WGS84));
+        assertSame(op, factory.createOperation(CRS.parseWKT(WKT.UTM_10N), WGS84));
+    }
+
+    @Test
+    public void testEquivalentCRS() throws Exception {
+        CoordinateReferenceSystem utm = CRS.parseWKT(WKT.UTM_10N);
+        CoordinateReferenceSystem renamed = CRS.parseWKT(UTM_10N_RENAMED);
+        assertNotEquals(utm, renamed);
+
+        CoordinateOperation op = factory.createOperation(utm, WGS84);
+        CoordinateOperation renamedOp = factory.createOperation(renamed, WGS84);
+        // the math transform is reused, the operation reports the requested CRS
+        assertSame(op.getMathTransform(), renamedOp.getMathTransform());
+        assertSame(renamed, renamedOp.getSourceCRS());
+        assertSame(WGS84, renamedOp.getTargetCRS());
+        assertSame(renamedOp, factory.createOperation(renamed, WGS84));
+
+        // and the other way around
+        CoordinateOperation inverse = factory.createOperation(WGS84, utm);
+        CoordinateOperation renamedInverse = factory.createOperation(WGS84, renamed);
+        assertSame(inverse.getMathTransform(), renamedInverse.getMathTransform());
+        assertSame(renamed, renamedInverse.getTargetCRS());
+    }
+
+    @Test
+    public void testRenamedAxes() throws Exception {
+        String wkt = """
+                GEOGCS["NAD83",
+                  DATUM["North_American_Datum_1983",
+                    TOWGS84[0,0,0,0,0,0,0],
+                    SPHEROID["GRS 1980", 6378137, 298.257222101]],
+                  PRIMEM["Greenwich",0],
+                  UNIT["Degree", 0.017453292519943295],
+                  AXIS["Lat",NORTH],
+                  AXIS["Lon",EAST]]""";
+        CoordinateReferenceSystem nad83 = CRS.parseWKT(wkt);
+        CoordinateReferenceSystem renamed = CRS.parseWKT(
+                wkt.replace("\"Lat\"", "\"Geodetic latitude\"").replace("\"Lon\"", "\"Geodetic longitude\""));
+        assertNotEquals(nad83, renamed);
+        assertTrue(CRS.equalsIgnoreMetadata(nad83, renamed));
+
+        CoordinateReferenceSystem utm = CRS.parseWKT(WKT.UTM_10N);
+        CoordinateOperation op = factory.createOperation(nad83, utm);
+        CoordinateOperation renamedOp = factory.createOperation(renamed, utm);
+        assertSame(op.getMathTransform(), renamedOp.getMathTransform());
+        assertSame(renamed, renamedOp.getSourceCRS());
+    }
+
+    @Test
+    public void testDifferentDatumShift() throws Exception {
+        CoordinateReferenceSystem utm = CRS.parseWKT(WKT.UTM_10N);
+        CoordinateReferenceSystem shifted =
+                CRS.parseWKT(WKT.UTM_10N.replace("TOWGS84[0,0,0,0,0,0,0]", "TOWGS84[10,20,30,0,0,0,0]"));
+        // the Bursa Wolf parameters are metadata, but they change the transform
+        assertTrue(CRS.equalsIgnoreMetadata(utm, shifted));
+
+        CoordinateOperation op = factory.createOperation(utm, WGS84);
+        CoordinateOperation shiftedOp = factory.createOperation(shifted, WGS84);
+        assertNotSame(op.getMathTransform(), shiftedOp.getMathTransform());
+        assertNotEquals(op.getMathTransform(), shiftedOp.getMathTransform());
+    }
+}
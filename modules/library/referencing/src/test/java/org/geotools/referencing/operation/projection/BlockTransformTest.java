@@ -0,0 +1,157 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.referencing.operation.projection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.awt.geom.Point2D;
+import org.geotools.api.parameter.ParameterValueGroup;
+import org.geotools.api.referencing.operation.MathTransform2D;
+import org.geotools.api.referencing.operation.MathTransformFactory;
+import org.geotools.referencing.ReferencingFactoryFinder;
+import org.junit.Test;
+
+/** Tests the block transforms of the map projections match the point ones. */
+public class BlockTransformTest {
+
+    /** A projection overriding only the point transform, the block one must not be used */
+    static class PointOnly extends TransverseMercator {
+        PointOnly(ParameterValueGroup parameters) {
+            super(parameters);
+        }
+
+        @Override
+        protected Point2D transformNormalized(double x, double y, Point2D ptDst) throws ProjectionException {
+            return super.transformNormalized(x, y, ptDst);
+        }
+    }
+
+    MapProjection create(String name, boolean spherical, Object... values) throws Exception {
+        MathTransformFactory factory = ReferencingFactoryFinder.getMathTransformFactory(null);
+        ParameterValueGroup parameters = factory.getDefaultParameters(name);
+        parameters.parameter("semi_major").setValue(6378137.0);
+        parameters.parameter("semi_minor").setValue(spherical ? 6378137.0 : 6356752.314245179);
+        for (int i = 0; i < values.length; i += 2) {
+            parameters.parameter((String) values[i]).setValue(values[i + 1]);
+        }
+        return (MapProjection) factory.createParameterizedTransform(parameters);
+    }
+
+    /** Points around the projection center, in decimal degrees */
+    double[] points(double lon, double lat, double span) {
+        double[] points = new double[2 * 600];
+        for (int i = 0; i < points.length; i += 2) {
+            points[i] = lon + span * ((i * 7 % 101) / 50.0 - 1);
+            points[i + 1] = lat + span * ((i * 13 % 97) / 48.0 - 1);
+        }
+        return points;
+    }
+
+    void assertBlocksMatchPoints(MapProjection mt, double[] geographic) throws Exception {
+        int numPts = geographic.length / 2;
+        double[] projected = new double[geographic.length];
+        mt.transform(geographic, 0, projected, 0, numPts);
+        double[] back = new double[geographic.length];
+        MathTransform2D inverse = mt.inverse();
+        inverse.transform(projected, 0, back, 0, numPts);
+
+        Point2D.Double point = new Point2D.Double();
+        for (int i = 0; i < numPts; i++) {
+            point.setLocation(geographic[2 * i], geographic[2 * i + 1]);
+            mt.transform(point, point);
+            assertEquals(point.x, projected[2 * i], 1e-9);
+            assertEquals(point.y, projected[2 * i + 1], 1e-9);
+
+            inverse.transform(point, point);
+            assertEquals(point.x, back[2 * i], 1e-12);
+            assertEquals(point.y, back[2 * i + 1], 1e-12);
+        }
+    }
+
+    @Test
+    public void testMercator() throws Exception {
+        assertBlocksMatchPoints(create("Mercator_1SP", false, "central_meridian", 10.0), points(10, 20, 40));
+        assertBlocksMatchPoints(create("Mercator_1SP", true), points(0, 0, 60));
+        assertBlocksMatchPoints(create("Mercator_2SP", false, "standard_parallel_1", 30.0), points(0, 30, 40));
+    }
+
+    @Test
+    public void testTransverseMercator() throws Exception {
+        Object[] values = {"central_meridian", 9.0, "scale_factor", 0.9996, "false_easting", 500000.0};
+        assertBlocksMatchPoints(create("Transverse_Mercator", false, values), points(9, 45, 3));
+        assertBlocksMatchPoints(create("Transverse_Mercator", true, values), points(9, 45, 3));
+    }
+
+    @Test
+    public void testLambertConformal() throws Exception {
+        Object[] values = {
+            "central_meridian", 3.0,
+            "latitude_of_origin", 46.5,
+            "standard_parallel_1", 44.0,
+            "standard_parallel_2", 49.0,
+            "false_easting", 700000.0,
+            "false_northing", 6600000.0
+        };
+        assertBlocksMatchPoints(create("Lambert_Conformal_Conic_2SP", false, values), points(3, 46.5, 8));
+        assertBlocksMatchPoints(create("Lambert_Conformal_Conic_2SP", true, values), points(3, 46.5, 8));
+    }
+
+    @Test
+    public void testFailingPoints() throws Exception {
+        MapProjection mt = create("Mercator_1SP", false);
+        double[] points = {10, 10, 10, 90, 20, 20};
+        try {
+            mt.transform(points, 0, points, 0, 3);
+            fail("Should have failed on the pole");
+        } catch (ProjectionException e) {
+            // expected
+        }
+        // the other points are transformed anyway
+        assertTrue(Double.isNaN(points[2]));
+        assertTrue(Double.isNaN(points[3]));
+        Point2D expected = mt.transform(new Point2D.Double(20, 20), null);
+        assertEquals(expected.getX(), points[4], 1e-9);
+        assertEquals(expected.getY(), points[5], 1e-9);
+    }
+
+    @Test
+    public void testOverlappingArrays() throws Exception {
+        MapProjection mt = create("Mercator_1SP", false);
+        double[] geographic = points(0, 0, 40);
+        double[] expected = new double[geographic.length];
+        mt.transform(geographic, 0, expected, 0, geographic.length / 2);
+
+        double[] shifted = new double[geographic.length + 2];
+        System.arraycopy(geographic, 0, shifted, 0, geographic.length);
+        mt.transform(shifted, 0, shifted, 2, geographic.length / 2);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], shifted[i + 2], 0);
+        }
+    }
+
+    @Test
+    public void testPointOverridesOnly() {
+        assertTrue(MapProjection.hasBlockTransform(Mercator1SP.class, false));
+        assertTrue(MapProjection.hasBlockTransform(TransverseMercator.class, true));
+        assertFalse(MapProjection.hasBlockTransform(PointOnly.class, false));
+        assertTrue(MapProjection.hasBlockTransform(PointOnly.class, true));
+        assertFalse(MapProjection.hasBlockTransform(Orthographic.class, false));
+    }
+}
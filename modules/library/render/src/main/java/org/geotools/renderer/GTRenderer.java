@@ -16,10 +16,14 @@
  */
 package org.geotools.renderer;
 
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.Rectangle;
 import java.awt.RenderingHints;
 import java.awt.geom.AffineTransform;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.WritableRaster;
 import java.util.Map;
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.map.MapContent;
@@ -179,4 +183,42 @@ public interface GTRenderer {
      */
     public void paint(
             Graphics2D graphics, Rectangle paintArea, ReferencedEnvelope mapArea, AffineTransform worldToScreen);
+
+    /**
+     * Renders a meta tile in a single pass, and splits it into its tiles. The data is queried once for the whole meta
+     * tile, and the labels crossing the tile borders are placed once, so they join up across the tiles.
+     *
+     * @param metaTile The meta tile grid
+     * @param imageType The type of the tile images, as in {@link BufferedImage#BufferedImage(int, int, int)}
+     * @param background The color used to fill the meta tile before rendering, or null to leave it transparent
+     * @return The tile images, indexed by row and column, with rows counted from the top of the meta tile
+     */
+    public default BufferedImage[][] paintMetaTile(MetaTile metaTile, int imageType, Color background) {
+        Rectangle paintArea = metaTile.getPaintArea();
+        BufferedImage image = new BufferedImage(paintArea.width, paintArea.height, imageType);
+        Graphics2D graphics = image.createGraphics();
+        try {
+            if (background != null) {
+                graphics.setColor(background);
+                graphics.fill(paintArea);
+            }
+            paint(graphics, paintArea, metaTile.getRenderingArea());
+        } finally {
+            graphics.dispose();
+        }
+
+        // copy out the tiles, so that they do not keep the whole meta tile raster alive
+        ColorModel cm = image.getColorModel();
+        BufferedImage[][] tiles = new BufferedImage[metaTile.getRows()][metaTile.getColumns()];
+        for (int row = 0; row < metaTile.getRows(); row++) {
+            for (int col = 0; col < metaTile.getColumns(); col++) {
+                Rectangle pixels = metaTile.getTilePixels(col, row);
+                WritableRaster raster = cm.createCompatibleWritableRaster(pixels.width, pixels.height);
+                image.getSubimage(pixels.x, pixels.y, pixels.width, pixels.height)
+                        .copyData(raster);
+                tiles[row][col] = new BufferedImage(cm, raster, cm.isAlphaPremultiplied(), null);
+            }
+        }
+        return tiles;
+    }
 }
@@ -0,0 +1,166 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer;
+
+import java.awt.Rectangle;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+
+/**
+ * A block of tiles rendered in a single pass, see {@link GTRenderer#paintMetaTile(MetaTile, int, java.awt.Color)}.
+ *
+ * <p>The meta tile covers a grid of {@code columns} x {@code rows} tiles of the same size, surrounded by a gutter of
+ * {@code gutter} pixels on each side. The gutter is rendered, so that symbols and labels crossing the meta tile borders
+ * are painted the same way by the neighbouring meta tiles, but it is not part of any tile.
+ */
+public class MetaTile {
+
+    private final ReferencedEnvelope area;
+
+    private final int columns;
+
+    private final int rows;
+
+    private final int tileWidth;
+
+    private final int tileHeight;
+
+    private final int gutter;
+
+    /**
+     * Builds a new meta tile
+     *
+     * @param area The area covered by the tiles, gutter excluded
+     * @param columns The number of tile columns
+     * @param rows The number of tile rows
+     * @param tileWidth The tile width, in pixels
+     * @param tileHeight The tile height, in pixels
+     * @param gutter The size of the gutter, in pixels
+     */
+    public MetaTile(ReferencedEnvelope area, int columns, int rows, int tileWidth, int tileHeight, int gutter) {
+        if (area == null || area.isEmpty()) {
+            throw new IllegalArgumentException("The meta tile area must be a non empty envelope");
+        }
+        if (columns <= 0 || rows <= 0) {
+            throw new IllegalArgumentException(
+                    "The meta tile must have at least one row and column, got " + columns + "x" + rows);
+        }
+        if (tileWidth <= 0 || tileHeight <= 0) {
+            throw new IllegalArgumentException("Invalid tile size " + tileWidth + "x" + tileHeight);
+        }
+        if (gutter < 0) {
+            throw new IllegalArgumentException("The gutter cannot be negative, got " + gutter);
+        }
+        this.area = area;
+        this.columns = columns;
+        this.rows = rows;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.gutter = gutter;
+    }
+
+    /** The area covered by the tiles, gutter excluded */
+    public ReferencedEnvelope getArea() {
+        return area;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    public int getGutter() {
+        return gutter;
+    }
+
+    /** The size of a pixel along the horizontal axis, in map units */
+    double getPixelWidth() {
+        return area.getWidth() / (columns * tileWidth);
+    }
+
+    /** The size of a pixel along the vertical axis, in map units */
+    double getPixelHeight() {
+        return area.getHeight() / (rows * tileHeight);
+    }
+
+    /** The area rendered, gutter included */
+    public ReferencedEnvelope getRenderingArea() {
+        double dx = gutter * getPixelWidth();
+        double dy = gutter * getPixelHeight();
+        return new ReferencedEnvelope(
+                area.getMinX() - dx,
+                area.getMaxX() + dx,
+                area.getMinY() - dy,
+                area.getMaxY() + dy,
+                area.getCoordinateReferenceSystem());
+    }
+
+    /** The size of the rendered image, gutter included */
+    public Rectangle getPaintArea() {
+        return new Rectangle(columns * tileWidth + 2 * gutter, rows * tileHeight + 2 * gutter);
+    }
+
+    /** The pixels of the rendered image making up a tile. Rows are counted from the top of the meta tile */
+    public Rectangle getTilePixels(int column, int row) {
+        checkTile(column, row);
+        return new Rectangle(gutter + column * tileWidth, gutter + row * tileHeight, tileWidth, tileHeight);
+    }
+
+    /** The area covered by a tile. Rows are counted from the top of the meta tile */
+    public ReferencedEnvelope getTileArea(int column, int row) {
+        checkTile(column, row);
+        double pw = getPixelWidth();
+        double ph = getPixelHeight();
+        double minX = area.getMinX() + column * tileWidth * pw;
+        double maxY = area.getMaxY() - row * tileHeight * ph;
+        return new ReferencedEnvelope(
+                minX, minX + tileWidth * pw, maxY - tileHeight * ph, maxY, area.getCoordinateReferenceSystem());
+    }
+
+    private void checkTile(int column, int row) {
+        if (column < 0 || column >= columns || row < 0 || row >= rows) {
+            throw new IllegalArgumentException("Tile " + column + "," + row + " is outside of the meta tile");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "MetaTile[area="
+                + area
+                + ", "
+                + columns
+                + "x"
+                + rows
+                + " tiles of "
+                + tileWidth
+                + "x"
+                + tileHeight
+                + ", gutter="
+                + gutter
+                + "]";
+    }
+}
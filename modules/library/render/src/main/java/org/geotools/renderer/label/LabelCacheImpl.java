@@ -209,6 +209,12 @@ private static TextSymbolizer labelless(TextSymbolizer orig) {
 
     boolean stop = false;
 
+    /** The number of labels placed in the current rendering */
+    int placedLabels;
+
+    /** The statistics of the last labels painted */
+    volatile LabelingStatistics statistics;
+
     Set<String> enabledLayers = new HashSet<>();
 
     Set<String> activeLayers = new HashSet<>();
@@ -573,15 +579,28 @@ void paintLabels(Graphics2D graphics, Rectangle displayArea) {
             items = getActiveLabels();
         }
         LabelPainter painter = constructPainter.apply(graphics, labelRenderingMode);
+        placedLabels = 0;
         for (LabelCacheItem labelItem : items) {
-            if (stop) return;
+            if (stop) break;
 
             paintedLineLabels = paintLabel(graphics, displayArea, glyphs, paintedLineLabels, painter, labelItem);
         }
+        statistics = new LabelingStatistics(items.size(), placedLabels, glyphs.getChecks(), glyphs.getConflicts());
+        if (stop) return;
+
         // Output for line labels
         LOGGER.log(Level.FINE, "TOTAL LINE LABELS : {0}", items.size());
         LOGGER.log(Level.FINE, "PAINTED LINE LABELS : {0}", paintedLineLabels);
         LOGGER.log(Level.FINE, "REMAINING LINE LABELS : {0}", items.size() - paintedLineLabels);
+        LOGGER.log(Level.FINE, "Labeling statistics: {0}", statistics);
+    }
+
+    /**
+     * Returns the statistics of the labels painted by the last call to {@link #end(Graphics2D, Rectangle)}, or null if
+     * no labels have been painted yet
+     */
+    public LabelingStatistics getStatistics() {
+        return statistics;
     }
 
     int paintLabel(
@@ -591,7 +610,7 @@ int paintLabel(
             int paintedLineLabels,
             LabelPainter painter,
             LabelCacheItem labelItem) {
-        boolean painted;
+        boolean painted = false;
         try {
             painter.setLabel(labelItem);
             // LabelCacheItem labelItem = (LabelCacheItem)
@@ -614,7 +633,7 @@ int paintLabel(
 
             Geometry geom = labelItem.getGeometry();
             if (geom instanceof Point || geom instanceof MultiPoint)
-                paintPointLabel(painter, tempTransform, displayArea, glyphs);
+                painted = paintPointLabel(painter, tempTransform, displayArea, glyphs);
             else if (geom instanceof LineString && !(geom instanceof LinearRing) || geom instanceof MultiLineString) {
                 // letter conflict should be used if not disabled, and if there is any letter to
                 // paint (not laying out a symbol with conflict resolution, with an empty label)
@@ -628,11 +647,14 @@ else if (geom instanceof LineString && !(geom instanceof LinearRing) || geom ins
             } else if (geom instanceof Polygon || geom instanceof MultiPolygon || geom instanceof LinearRing)
                 if (labelItem.getTextStyle().isPointPlacement() && !labelItem.isFollowLineEnabled()) {
                     // labelling the polygon centroid/label point
-                    paintPolygonLabel(painter, tempTransform, displayArea, glyphs);
+                    painted = paintPolygonLabel(painter, tempTransform, displayArea, glyphs);
                 } else {
                     // labelling the polygon border(s)
-                    paintPolygonBorder(painter, tempTransform, displayArea, glyphs);
+                    painted = paintPolygonBorder(painter, tempTransform, displayArea, glyphs);
                 }
+            if (painted) {
+                placedLabels++;
+            }
         } catch (Exception e) {
             if (LOGGER.isLoggable(Level.FINE)) {
                 LOGGER.log(Level.FINE, "Failure while painting labels", e);
@@ -1292,6 +1314,9 @@ private boolean paintPointLabel(
 
         int[] displacementAngles = labelItem.getDisplacementAngles();
 
+        // the search runs lots of checks around the point, run them against the labels nearby only
+        glyphs = glyphs.getNeighbourhood(getSearchArea(painter, point, labelItem));
+
         // ... use at least a 2 pixel step, no matter what the label length is
         final double step = painter.getAscent() > 2 ? painter.getAscent() : 2;
         double radius = Math.sqrt(
@@ -1390,6 +1415,18 @@ private boolean paintPointLabel(
         return false;
     }
 
+    /** Returns an area containing all the positions the label displacement search can try around the point */
+    private Rectangle2D getSearchArea(LabelPainter painter, Point point, LabelCacheItem labelItem) {
+        // generous, the label can be anchored on any side and rotated, checks outside the area still work
+        Rectangle2D bounds = painter.getFullLabelBounds();
+        double size = Math.abs(bounds.getMinX())
+                + Math.abs(bounds.getMaxX())
+                + Math.abs(bounds.getMinY())
+                + Math.abs(bounds.getMaxY());
+        double radius = labelItem.getMaxDisplacement() + Math.max(labelItem.getSpaceAround(), 0) + size;
+        return new Rectangle2D.Double(point.getX() - radius, point.getY() - radius, 2 * radius, 2 * radius);
+    }
+
     /**
      * Returns the closest angle that is a multiple of 45°
      *
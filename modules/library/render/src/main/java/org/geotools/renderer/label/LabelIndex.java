@@ -17,20 +17,58 @@
 package org.geotools.renderer.label;
 
 import java.awt.geom.Rectangle2D;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.Map;
 import org.locationtech.jts.geom.Envelope;
-import org.locationtech.jts.index.quadtree.Quadtree;
 
 /**
  * Stores label items and helps in finding the interferering ones, either by pure overlap or within a certain distance
- * from the specified bounds
+ * from the specified bounds.
+ *
+ * <p>Labels are screen space rectangles of similar size, the index buckets them in a uniform grid of square cells, so
+ * that both insertions and lookups only touch the few cells the rectangle overlaps, and lookups stop at the first
+ * interfering label. Rectangles spanning too many cells (e.g., large reserved areas) are kept in a separate list that
+ * is always scanned.
  *
  * @author Andrea Aime
  */
 public class LabelIndex {
 
-    Quadtree index = new Quadtree();
+    /** The default size of the grid cells, in pixels */
+    public static final int DEFAULT_CELL_SIZE = 64;
+
+    /** Rectangles covering more cells than this are not bucketed */
+    static final int MAX_CELLS = 64;
+
+    static final int MAX_CELL_INDEX = 1 << 24;
+
+    final double cellSize;
+
+    final Map<Long, List<InterferenceItem>> cells = new HashMap<>();
+
+    final List<InterferenceItem> large = new ArrayList<>();
+
+    /** Number of interference checks run against the index */
+    long checks;
+
+    /** Number of interference checks that found an interfering label */
+    long conflicts;
+
+    /** Builds an index with the {@link #DEFAULT_CELL_SIZE} */
+    public LabelIndex() {
+        this(DEFAULT_CELL_SIZE);
+    }
+
+    /** Builds an index with the given cell size, in pixels */
+    public LabelIndex(double cellSize) {
+        if (!(cellSize > 0)) {
+            throw new IllegalArgumentException("The cell size must be positive, got " + cellSize);
+        }
+        this.cellSize = cellSize;
+    }
 
     /**
      * Returns true if there is any label in the index within the specified distance from the bounds. For speed reasons
@@ -41,30 +79,161 @@ public boolean labelsWithinDistance(Rectangle2D bounds, double distance) {
 
         Envelope e = toEnvelope(bounds);
         e.expandBy(distance);
-        AtomicBoolean intersectionFound = new AtomicBoolean(false);
-        index.query(e, o -> {
-            if (intersectionFound.get()) return;
-            InterferenceItem item = (InterferenceItem) o;
+        boolean found = intersects(e);
+        checks++;
+        if (found) {
+            conflicts++;
+        }
+        return found;
+    }
+
+    /** Returns true if any item in the index intersects the envelope */
+    boolean intersects(Envelope e) {
+        for (InterferenceItem item : large) {
             if (item.env.intersects(e)) {
-                intersectionFound.set(true);
+                return true;
             }
-        });
-        return intersectionFound.get();
+        }
+        if (cells.isEmpty()) {
+            return false;
+        }
+        int minX = cell(e.getMinX());
+        int maxX = cell(e.getMaxX());
+        int minY = cell(e.getMinY());
+        int maxY = cell(e.getMaxY());
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > cells.size()) {
+            // cheaper to scan the whole grid
+            for (List<InterferenceItem> items : cells.values()) {
+                if (intersects(items, e)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                List<InterferenceItem> items = cells.get(key(x, y));
+                if (items != null && intersects(items, e)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean intersects(List<InterferenceItem> items, Envelope e) {
+        for (InterferenceItem item : items) {
+            if (item.env.intersects(e)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /** Collects the items intersecting the envelope, without duplicates */
+    void collect(Envelope e, List<InterferenceItem> result) {
+        for (InterferenceItem item : large) {
+            if (item.env.intersects(e)) {
+                result.add(item);
+            }
+        }
+        // the same item can be in multiple cells
+        Map<InterferenceItem, Boolean> seen = new IdentityHashMap<>();
+        int minX = cell(e.getMinX());
+        int maxX = cell(e.getMaxX());
+        int minY = cell(e.getMinY());
+        int maxY = cell(e.getMaxY());
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > cells.size()) {
+            // cheaper to scan the whole grid
+            for (List<InterferenceItem> items : cells.values()) {
+                collect(items, e, seen, result);
+            }
+        } else {
+            for (int x = minX; x <= maxX; x++) {
+                for (int y = minY; y <= maxY; y++) {
+                    List<InterferenceItem> items = cells.get(key(x, y));
+                    if (items != null) {
+                        collect(items, e, seen, result);
+                    }
+                }
+            }
+        }
+    }
+
+    private void collect(
+            List<InterferenceItem> items,
+            Envelope e,
+            Map<InterferenceItem, Boolean> seen,
+            List<InterferenceItem> result) {
+        for (InterferenceItem item : items) {
+            if (item.env.intersects(e) && seen.put(item, Boolean.TRUE) == null) {
+                result.add(item);
+            }
+        }
     }
 
     /** Adds a label into the index */
     public void addLabel(LabelCacheItem item, Rectangle2D bounds) {
         Envelope e = toEnvelope(bounds);
-        index.insert(e, new InterferenceItem(e, item));
+        insert(new InterferenceItem(e, item));
+    }
+
+    void insert(InterferenceItem item) {
+        Envelope e = item.env;
+        if (e.isNull()) {
+            return;
+        }
+        int minX = cell(e.getMinX());
+        int maxX = cell(e.getMaxX());
+        int minY = cell(e.getMinY());
+        int maxY = cell(e.getMaxY());
+        if ((long) (maxX - minX + 1) * (maxY - minY + 1) > MAX_CELLS) {
+            large.add(item);
+            return;
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                cells.computeIfAbsent(key(x, y), k -> new ArrayList<>(4)).add(item);
+            }
+        }
+    }
+
+    /**
+     * Returns a view of the index restricted to the given area, for a burst of checks in the same neighbourhood, such
+     * as the search for a label position. The items in the area are collected once, and the checks scan just them,
+     * checks extending outside of the area are run against the full index. Labels added to the view are added to the
+     * full index as well.
+     */
+    public LabelIndex getNeighbourhood(Rectangle2D area) {
+        return new Neighbourhood(this, toEnvelope(area));
+    }
+
+    /** Returns the number of interference checks run against the index */
+    public long getChecks() {
+        return checks;
+    }
+
+    /** Returns the number of interference checks that found an interfering label */
+    public long getConflicts() {
+        return conflicts;
     }
 
     /** Turns the specified Java2D rectangle into a JTS envelope */
-    private Envelope toEnvelope(Rectangle2D bounds) {
+    static Envelope toEnvelope(Rectangle2D bounds) {
         return new Envelope(bounds.getMinX(), bounds.getMaxX(), bounds.getMinY(), bounds.getMaxY());
     }
 
+    private int cell(double ordinate) {
+        // clamped, to keep the cell loops away from integer overflows
+        return (int) Math.max(-MAX_CELL_INDEX, Math.min(MAX_CELL_INDEX, Math.floor(ordinate / cellSize)));
+    }
+
+    private static long key(int x, int y) {
+        return ((long) x << 32) | (y & 0xFFFFFFFFL);
+    }
+
     /**
-     * Simple structure stored into the quadtree (keeping the item around helps in debugging)
+     * Simple structure stored into the index (keeping the item around helps in debugging)
      *
      * @author Andrea Aime
      */
@@ -86,7 +255,61 @@ public void reserveArea(List<Rectangle2D> reserved) {
             Envelope env = toEnvelope(area);
 
             InterferenceItem item = new InterferenceItem(env, null);
-            index.insert(env, item);
+            insert(item);
+        }
+    }
+
+    /** A snapshot of the items in an area of the index, see {@link LabelIndex#getNeighbourhood(Rectangle2D)} */
+    static class Neighbourhood extends LabelIndex {
+
+        final LabelIndex parent;
+
+        final Envelope area;
+
+        final List<InterferenceItem> items = new ArrayList<>();
+
+        Neighbourhood(LabelIndex parent, Envelope area) {
+            super(parent.cellSize);
+            this.parent = parent;
+            this.area = area;
+            parent.collect(area, items);
+        }
+
+        @Override
+        public boolean labelsWithinDistance(Rectangle2D bounds, double distance) {
+            if (distance < 0) return false;
+
+            Envelope e = toEnvelope(bounds);
+            e.expandBy(distance);
+            boolean found = area.contains(e) ? LabelIndex.intersects(items, e) : parent.intersects(e);
+            parent.checks++;
+            if (found) {
+                parent.conflicts++;
+            }
+            return found;
+        }
+
+        @Override
+        void insert(InterferenceItem item) {
+            parent.insert(item);
+            if (item.env.intersects(area)) {
+                items.add(item);
+            }
+        }
+
+        @Override
+        public LabelIndex getNeighbourhood(Rectangle2D area) {
+            return parent.getNeighbourhood(area);
+        }
+
+        @Override
+        public long getChecks() {
+            return parent.getChecks();
+        }
+
+        @Override
+        public long getConflicts() {
+            return parent.getConflicts();
         }
     }
 }
@@ -0,0 +1,69 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+/** Statistics about the labels painted by a {@link LabelCacheImpl} in a single rendering */
+public class LabelingStatistics {
+
+    private final int labels;
+
+    private final int placed;
+
+    private final long candidates;
+
+    private final long rejected;
+
+    public LabelingStatistics(int labels, int placed, long candidates, long rejected) {
+        this.labels = labels;
+        this.placed = placed;
+        this.candidates = candidates;
+        this.rejected = rejected;
+    }
+
+    /** The number of labels the cache tried to paint */
+    public int getLabels() {
+        return labels;
+    }
+
+    /** The number of labels that have been painted */
+    public int getPlaced() {
+        return placed;
+    }
+
+    /** The number of candidate label (or letter) positions checked for conflicts with the already placed labels */
+    public long getCandidates() {
+        return candidates;
+    }
+
+    /** The number of candidate positions rejected because of a conflict with an already placed label */
+    public long getRejected() {
+        return rejected;
+    }
+
+    @Override
+    public String toString() {
+        return "LabelingStatistics[labels="
+                + labels
+                + ", placed="
+                + placed
+                + ", candidates="
+                + candidates
+                + ", rejected="
+                + rejected
+                + "]";
+    }
+}
@@ -0,0 +1,287 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.geotools.api.data.DataAccess;
+import org.geotools.api.data.FeatureEvent;
+import org.geotools.api.data.FeatureListener;
+import org.geotools.api.data.FeatureSource;
+import org.geotools.api.feature.type.Name;
+import org.geotools.api.filter.Filter;
+import org.geotools.api.filter.Id;
+import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.geometry.jts.Decimator;
+import org.locationtech.jts.geom.Geometry;
+
+/**
+ * A cache of generalized geometries, already transformed in the map CRS, that {@link StreamingRenderer} can reuse
+ * across paint calls when the same features are drawn again at a similar scale, skipping the generalization and
+ * reprojection of the full resolution geometries (only the cheap affine transform into screen space is performed).
+ * Enable it by setting the same instance in the {@link StreamingRenderer#GENERALIZATION_CACHE_KEY} hint of the
+ * renderers.
+ *
+ * <p>The geometries are keyed by data source, feature id, geometry property, source and target CRS, and a scale bucket:
+ * the generalization distance is rounded down to a power of two, so that the cached geometries are never coarser than
+ * the ones the renderer would have computed. The cache is bounded by an estimate of the memory used, evicting the least
+ * recently used geometries, and listens to the feature sources it serves, evicting the modified features.
+ *
+ * <p>Geometries are cached only for layers generalized in memory, without rendering transformations and advanced
+ * projection handling, as in the other cases the rendered geometries depend on more than the feature and the scale.
+ */
+public class GeneralizedGeometryCache implements FeatureListener {
+
+    /** The default memory limit, 64MB */
+    public static final long DEFAULT_MAX_MEMORY = 64 * 1024 * 1024;
+
+    final long maxMemory;
+
+    final LinkedHashMap<Key, Geometry> geometries = new LinkedHashMap<>(16, 0.75f, true);
+
+    long memory;
+
+    long hits;
+
+    long misses;
+
+    /** Builds a cache using at most {@link #DEFAULT_MAX_MEMORY} */
+    public GeneralizedGeometryCache() {
+        this(DEFAULT_MAX_MEMORY);
+    }
+
+    /** Builds a cache using at most the given amount of memory, in bytes */
+    public GeneralizedGeometryCache(long maxMemory) {
+        if (maxMemory <= 0) {
+            throw new IllegalArgumentException("The maximum memory must be positive, got " + maxMemory);
+        }
+        this.maxMemory = maxMemory;
+    }
+
+    /**
+     * Returns the scope for the geometries of a feature source transformed between the given CRSs and generalized with
+     * the given spans (in source units), or null if the spans cannot be bucketed
+     */
+    static Scope getScope(
+            FeatureSource<?, ?> source,
+            CoordinateReferenceSystem sourceCrs,
+            CoordinateReferenceSystem targetCrs,
+            double spanX,
+            double spanY) {
+        if (!(spanX > 0) || !(spanY > 0) || Double.isInfinite(spanX) || Double.isInfinite(spanY)) {
+            return null;
+        }
+        return new Scope(
+                getOwner(source),
+                source.getName(),
+                sourceCrs,
+                targetCrs,
+                Math.getExponent(spanX),
+                Math.getExponent(spanY));
+    }
+
+    /** The data store the source belongs to, or the source itself if it is not backed by a store */
+    static Object getOwner(FeatureSource<?, ?> source) {
+        DataAccess<?, ?> store = source.getDataStore();
+        return store != null ? store : source;
+    }
+
+    /** Listens to the changes of the source, to evict the modified features */
+    void register(FeatureSource<?, ?> source) {
+        // sources can share the listener list (e.g., the content ones, per store entry), avoid duplicates
+        source.removeFeatureListener(this);
+        source.addFeatureListener(this);
+    }
+
+    /** Returns the cached geometry, or null if not found */
+    synchronized Geometry get(Scope scope, String featureId, String geometryName) {
+        Geometry geometry = geometries.get(new Key(scope, featureId, geometryName));
+        if (geometry != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return geometry;
+    }
+
+    /** Caches the geometry, which must not be modified afterwards */
+    synchronized void put(Scope scope, String featureId, String geometryName, Geometry geometry) {
+        long size = estimateSize(geometry);
+        if (size > maxMemory) {
+            return;
+        }
+        Geometry previous = geometries.put(new Key(scope, featureId, geometryName), geometry);
+        if (previous != null) {
+            memory -= estimateSize(previous);
+        }
+        memory += size;
+        Iterator<Geometry> it = geometries.values().iterator();
+        while (memory > maxMemory && it.hasNext()) {
+            memory -= estimateSize(it.next());
+            it.remove();
+        }
+    }
+
+    static long estimateSize(Geometry geometry) {
+        // entry and key overhead, geometry objects, two ordinates per point in a lite sequence
+        return 128 + 64L * geometry.getNumGeometries() + 16L * geometry.getNumPoints();
+    }
+
+    @Override
+    public void changed(FeatureEvent featureEvent) {
+        FeatureSource<?, ?> source = featureEvent.getFeatureSource();
+        if (source == null) {
+            clear();
+            return;
+        }
+        Object owner = getOwner(source);
+        Name name = source.getName();
+        Filter filter = featureEvent.getFilter();
+        Set<String> ids = null;
+        if (filter instanceof Id id) {
+            ids = new HashSet<>();
+            for (Object fid : id.getIDs()) {
+                ids.add(String.valueOf(fid));
+            }
+        }
+        synchronized (this) {
+            Iterator<Map.Entry<Key, Geometry>> it = geometries.entrySet().iterator();
+            while (it.hasNext()) {
+                Map.Entry<Key, Geometry> entry = it.next();
+                Key key = entry.getKey();
+                if (key.scope.owner == owner
+                        && key.scope.name.equals(name)
+                        && (ids == null || ids.contains(key.featureId))) {
+                    memory -= estimateSize(entry.getValue());
+                    it.remove();
+                }
+            }
+        }
+    }
+
+    /** Removes all the cached geometries */
+    public synchronized void clear() {
+        geometries.clear();
+        memory = 0;
+    }
+
+    /** Returns the number of cached geometries */
+    public synchronized int size() {
+        return geometries.size();
+    }
+
+    /** Returns an estimate of the memory used by the cached geometries, in bytes */
+    public synchronized long getMemoryUsage() {
+        return memory;
+    }
+
+    /** Returns the number of lookups that found a cached geometry */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /** Returns the number of lookups that did not find a cached geometry */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /** The features of a source transformed between two CRSs and generalized at a given scale bucket */
+    static final class Scope {
+        final Object owner;
+
+        final Name name;
+
+        final CoordinateReferenceSystem sourceCrs;
+
+        final CoordinateReferenceSystem targetCrs;
+
+        final int bucketX;
+
+        final int bucketY;
+
+        final int hashCode;
+
+        /** Generalizes with the bucket spans */
+        final Decimator decimator;
+
+        Scope(
+                Object owner,
+                Name name,
+                CoordinateReferenceSystem sourceCrs,
+                CoordinateReferenceSystem targetCrs,
+                int bucketX,
+                int bucketY) {
+            this.owner = owner;
+            this.name = name;
+            this.sourceCrs = sourceCrs;
+            this.targetCrs = targetCrs;
+            this.bucketX = bucketX;
+            this.bucketY = bucketY;
+            this.hashCode = Objects.hash(System.identityHashCode(owner), name, sourceCrs, targetCrs, bucketX, bucketY);
+            this.decimator = new Decimator(Math.scalb(1.0, bucketX), Math.scalb(1.0, bucketY));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Scope other)) return false;
+            return owner == other.owner
+                    && bucketX == other.bucketX
+                    && bucketY == other.bucketY
+                    && Objects.equals(name, other.name)
+                    && Objects.equals(sourceCrs, other.sourceCrs)
+                    && Objects.equals(targetCrs, other.targetCrs);
+        }
+
+        @Override
+        public int hashCode() {
+            return hashCode;
+        }
+    }
+
+    static final class Key {
+        final Scope scope;
+
+        final String featureId;
+
+        final String geometryName;
+
+        Key(Scope scope, String featureId, String geometryName) {
+            this.scope = scope;
+            this.featureId = featureId;
+            this.geometryName = geometryName;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof Key other)) return false;
+            return featureId.equals(other.featureId)
+                    && geometryName.equals(other.geometryName)
+                    && scope.equals(other.scope);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * (31 * scope.hashCode + featureId.hashCode()) + geometryName.hashCode();
+        }
+    }
+}
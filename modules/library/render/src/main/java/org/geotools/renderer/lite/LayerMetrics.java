@@ -0,0 +1,132 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+/**
+ * Timings and counters collected by the {@link StreamingRenderer} while rendering a layer, reported to the
+ * {@link RenderingMetricsListener}. Times are in nanoseconds, and the phases are not exclusive of each other, e.g.,
+ * the painting can overlap with the data reading, as they happen in different threads.
+ */
+public class LayerMetrics {
+
+    final String layerId;
+
+    final long start = System.nanoTime();
+
+    long elapsedTime;
+
+    long queryTime;
+
+    long readTime;
+
+    long transformTime;
+
+    long paintTime;
+
+    long featuresRead;
+
+    long featuresPainted;
+
+    long screenMapSkips;
+
+    public LayerMetrics(String layerId) {
+        this.layerId = layerId;
+    }
+
+    /** The layer identifier, as used by the label cache */
+    public String getLayerId() {
+        return layerId;
+    }
+
+    /** The time elapsed from the start of the layer rendering to the end of its painting */
+    public long getElapsedTime() {
+        return elapsedTime;
+    }
+
+    /** The time spent preparing the queries and opening the feature iterators */
+    public long getQueryTime() {
+        return queryTime;
+    }
+
+    /** The time spent reading and decoding the features */
+    public long getReadTime() {
+        return readTime;
+    }
+
+    /**
+     * The time spent preparing the geometries for painting: reprojection, advanced projection handling, generalization
+     * and transformation to the screen (the {@link org.geotools.geometry.jts.Decimator} generalizes and transforms in a
+     * single pass)
+     */
+    public long getTransformTime() {
+        return transformTime;
+    }
+
+    /** The time spent by the painter thread drawing the layer */
+    public long getPaintTime() {
+        return paintTime;
+    }
+
+    /** The number of features read, once for each feature type style scanning the data */
+    public long getFeaturesRead() {
+        return featuresRead;
+    }
+
+    /** The number of features actually painted, once for each feature type style painting them */
+    public long getFeaturesPainted() {
+        return featuresPainted;
+    }
+
+    /** The number of geometries skipped because the pixels they cover have already been painted */
+    public long getScreenMapSkips() {
+        return screenMapSkips;
+    }
+
+    /** Adds the metrics collected by a different thread for the same layer */
+    void add(LayerMetrics other) {
+        queryTime += other.queryTime;
+        readTime += other.readTime;
+        transformTime += other.transformTime;
+        paintTime += other.paintTime;
+        featuresRead += other.featuresRead;
+        featuresPainted += other.featuresPainted;
+        screenMapSkips += other.screenMapSkips;
+    }
+
+    @Override
+    public String toString() {
+        return "LayerMetrics[layerId="
+                + layerId
+                + ", elapsedTime="
+                + elapsedTime
+                + ", queryTime="
+                + queryTime
+                + ", readTime="
+                + readTime
+                + ", transformTime="
+                + transformTime
+                + ", paintTime="
+                + paintTime
+                + ", featuresRead="
+                + featuresRead
+                + ", featuresPainted="
+                + featuresPainted
+                + ", screenMapSkips="
+                + screenMapSkips
+                + "]";
+    }
+}
@@ -76,6 +76,9 @@ final class LiteFeatureTypeStyle {
     /** The bit map used to decide whether to skip geometries that have been already drawn */
     ScreenMap screenMap;
 
+    /** The grid accumulating the points of dense point layers, if the point density mode is enabled */
+    PointDensityGrid densityGrid;
+
     /**
      * Whether the feature should be generalized in memory, or not (in this case, the store did it for us). True by
      * default
@@ -16,6 +16,9 @@
  */
 package org.geotools.renderer.lite;
 
+import java.awt.Color;
+import java.lang.reflect.Modifier;
+import java.time.temporal.Temporal;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -60,16 +63,24 @@
 import org.geotools.api.filter.spatial.Within;
 import org.geotools.filter.function.InFunction;
 import org.geotools.filter.visitor.DuplicatingFilterVisitor;
+import org.geotools.util.ConverterFactory;
 import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
 import org.xml.sax.helpers.NamespaceSupport;
 
 /**
  * Optimizes filter trees by replacing expressions/filters with memoized equivalents, also replaces the generic property
  * access machinery with straight index access when the target feature type is a {@link SimpleFeatureType}.
+ *
+ * <p>String literals are replaced with equivalents caching their value conversions, and the literals compared with a
+ * numeric or temporal simple feature attribute are converted to the attribute type upfront, so that the comparison does
+ * not need to align the value types for each feature.
  */
 class MemoryFilterOptimizer extends DuplicatingFilterVisitor {
 
     static final Object NULL_PLACEHOLDER = new Object();
+
+    static final Hints SAFE_CONVERSION = new Hints(ConverterFactory.SAFE_CONVERSION, Boolean.TRUE);
     private final Set<Object> memoizeCandidates;
 
     Map<Expression, Expression> expressionReplacements = new HashMap<>();
@@ -89,12 +100,18 @@ public MemoryFilterOptimizer(FeatureType schema, Set<Object> memoizeCandidates)
 
     @Override
     public Object visit(PropertyIsEqualTo filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).equal(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
     }
 
     @Override
     public Object visit(PropertyIsNotEqualTo filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).notEqual(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
     }
 
     @Override
@@ -170,27 +187,86 @@ private Pair<Expression, Literal> getEqualsParameters(PropertyIsEqualTo equals)
 
     @Override
     public Object visit(PropertyIsBetween filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression expression = visit(f.getExpression(), d);
+            Expression lower = align(expression, visit(f.getLowerBoundary(), d));
+            Expression upper = align(expression, visit(f.getUpperBoundary(), d));
+            return getFactory(d).between(expression, lower, upper, f.getMatchAction());
+        });
     }
 
     @Override
     public Object visit(PropertyIsGreaterThan filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).greater(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
     }
 
     @Override
     public Object visit(PropertyIsGreaterThanOrEqualTo filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).greaterOrEqual(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
     }
 
     @Override
     public Object visit(PropertyIsLessThan filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).less(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
     }
 
     @Override
     public Object visit(PropertyIsLessThanOrEqualTo filter, Object extraData) {
-        return memoize(filter, extraData, super::visit);
+        return memoize(filter, extraData, (f, d) -> {
+            Expression[] aligned = align(f.getExpression1(), f.getExpression2(), d);
+            return getFactory(d).lessOrEqual(aligned[0], aligned[1], f.isMatchingCase(), f.getMatchAction());
+        });
+    }
+
+    /** Duplicates the two compared expressions, aligning literals to the type of the attribute they are compared to */
+    private Expression[] align(Expression e1, Expression e2, Object extraData) {
+        Expression d1 = visit(e1, extraData);
+        Expression d2 = visit(e2, extraData);
+        return new Expression[] {align(d2, d1), align(d1, d2)};
+    }
+
+    /**
+     * Converts the literal to the type of the simple feature attribute it's compared to, if the type is numeric or
+     * temporal, the conversion is safe and the type is final (no subclass values can show up during evaluation).
+     * Returns the expression as-is otherwise. Other types, strings in particular, are left alone as the comparison
+     * might fall back on a numeric one, or convert the attribute value instead of the literal.
+     */
+    private Expression align(Expression other, Expression expression) {
+        if (!(other instanceof IndexPropertyName property) || !(expression instanceof Literal literal)) {
+            return expression;
+        }
+        Class<?> binding = property.descriptor.getType().getBinding();
+        Object value = literal.getValue();
+        if (value == null
+                || binding.isInstance(value)
+                || !Modifier.isFinal(binding.getModifiers())
+                || !(Number.class.isAssignableFrom(binding) || Temporal.class.isAssignableFrom(binding))) {
+            return expression;
+        }
+        Object converted = Converters.convert(value, binding, SAFE_CONVERSION);
+        if (converted == null) {
+            return expression;
+        }
+        return ff.literal(converted);
+    }
+
+    @Override
+    public Object visit(Literal expression, Object extraData) {
+        Literal copy = (Literal) super.visit(expression, extraData);
+        // only strings need parsing when converted, e.g., to a color or a number
+        if (copy.getValue() instanceof String) {
+            return new ConvertingLiteral(copy);
+        }
+        return copy;
     }
 
     @Override
@@ -430,4 +506,82 @@ public Object accept(ExpressionVisitor visitor, Object extraData) {
             return delegate.accept(visitor, extraData);
         }
     }
+
+    /**
+     * A literal remembering the last conversion of its value, to avoid hitting the converters machinery for each
+     * evaluated feature. Only immutable conversion results are retained.
+     */
+    static class ConvertingLiteral implements Literal {
+        final Literal delegate;
+
+        volatile Conversion last;
+
+        public ConvertingLiteral(Literal delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public Object getValue() {
+            return delegate.getValue();
+        }
+
+        @Override
+        public Object evaluate(Object object) {
+            return delegate.evaluate(object);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T evaluate(Object object, Class<T> context) {
+            Conversion conversion = last;
+            if (conversion != null && conversion.context == context) {
+                return (T) conversion.value;
+            }
+            T value = delegate.evaluate(object, context);
+            if (context != null && isImmutable(value)) {
+                last = new Conversion(context, value);
+            }
+            return value;
+        }
+
+        private static boolean isImmutable(Object value) {
+            return value == null
+                    || value instanceof String
+                    || value instanceof Number
+                    || value instanceof Boolean
+                    || value instanceof Character
+                    || value instanceof Color
+                    || value instanceof Enum;
+        }
+
+        @Override
+        public Object accept(ExpressionVisitor visitor, Object extraData) {
+            return delegate.accept(visitor, extraData);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof ConvertingLiteral other && delegate.equals(other.delegate);
+        }
+
+        @Override
+        public int hashCode() {
+            return delegate.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return delegate.toString();
+        }
+
+        static final class Conversion {
+            final Class<?> context;
+            final Object value;
+
+            Conversion(Class<?> context, Object value) {
+                this.context = context;
+                this.value = value;
+            }
+        }
+    }
 }
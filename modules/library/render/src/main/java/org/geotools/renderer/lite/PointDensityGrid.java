@@ -0,0 +1,202 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Composite;
+import java.awt.Paint;
+import java.awt.Rectangle;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.geotools.renderer.style.MarkStyle2D;
+import org.geotools.renderer.style.PointStyle2D;
+import org.geotools.renderer.style.Style2D;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPoint;
+
+/**
+ * Accumulates the points of a dense point layer into a per style pixel grid, and then paints a single mark per pixel,
+ * instead of painting mark over mark on the same spots.
+ *
+ * <p>The first points are painted as usual, once their number goes beyond the threshold (expressed in points per pixel
+ * of the painting area) the following ones are just counted in the grid of their style. When the layer is done, each
+ * pixel hit by at least one point gets a single mark, painted at the pixel center, with its opacity raised to match
+ * the one of the stacked marks, that is, {@code 1 - (1 - opacity)^count}. Opaque styles are thus painted exactly once
+ * per pixel.
+ *
+ * <p>Only point styles painted with a plain alpha composite and solid colors can be accumulated, and at most
+ * {@link #MAX_STYLES} styles are tracked (styles are compared by identity, static symbolizers get the same style object
+ * for all features). Points that cannot be accumulated are left to the caller, to be painted as usual.
+ */
+class PointDensityGrid {
+
+    /** The maximum number of styles tracked, each one uses a grid as big as the painting area */
+    static final int MAX_STYLES = 4;
+
+    /** The maximum number of pixels of the painting area, beyond it the grids would use too much memory */
+    static final long MAX_PIXELS = 4096 * 4096;
+
+    final Rectangle area;
+
+    final long directPoints;
+
+    long points;
+
+    final Map<Style2D, char[]> grids = new LinkedHashMap<>();
+
+    /**
+     * Builds a new grid
+     *
+     * @param area the painting area, in screen coordinates
+     * @param threshold the number of points per pixel beyond which the points get accumulated in the grid
+     */
+    PointDensityGrid(Rectangle area, double threshold) {
+        this.area = area;
+        this.directPoints = (long) (threshold * area.width * area.height);
+    }
+
+    /** Returns true if a grid can be used for the given painting area */
+    static boolean isSupported(Rectangle area) {
+        return area.width > 0 && area.height > 0 && (long) area.width * area.height <= MAX_PIXELS;
+    }
+
+    /**
+     * Accumulates the point in the grid of the style, if possible.
+     *
+     * @return true if the point has been accumulated, false if it should be painted as usual
+     */
+    boolean add(Style2D style, double x, double y) {
+        if (points < directPoints) {
+            points++;
+            return false;
+        }
+        int col = (int) Math.floor(x) - area.x;
+        int row = (int) Math.floor(y) - area.y;
+        if (col < 0 || row < 0 || col >= area.width || row >= area.height) {
+            return false;
+        }
+        char[] grid = getGrid(style);
+        if (grid == null) {
+            return false;
+        }
+        int idx = row * area.width + col;
+        if (grid[idx] < Character.MAX_VALUE) {
+            grid[idx]++;
+        }
+        points++;
+        return true;
+    }
+
+    private char[] getGrid(Style2D style) {
+        char[] grid = grids.get(style);
+        if (grid == null && grids.size() < MAX_STYLES && isSupported(style)) {
+            grid = new char[area.width * area.height];
+            grids.put(style, grid);
+        }
+        return grid;
+    }
+
+    /** Returns true if the style can be painted once with a raised opacity, in place of many stacked copies */
+    static boolean isSupported(Style2D style) {
+        if (!(style instanceof PointStyle2D ps)) {
+            return false;
+        }
+        if (!isAlphaComposite(ps.getComposite())) {
+            return false;
+        }
+        if (style instanceof MarkStyle2D ms) {
+            return isAlphaComposite(ms.getFillComposite())
+                    && isAlphaComposite(ms.getContourComposite())
+                    && isColor(ms.getFill())
+                    && isColor(ms.getContour());
+        }
+        return true;
+    }
+
+    private static boolean isAlphaComposite(Composite composite) {
+        return composite == null || composite instanceof AlphaComposite ac && ac.getRule() == AlphaComposite.SRC_OVER;
+    }
+
+    private static boolean isColor(Paint paint) {
+        return paint == null || paint instanceof Color;
+    }
+
+    /** Returns true if no point has been accumulated */
+    boolean isEmpty() {
+        return grids.isEmpty();
+    }
+
+    /**
+     * Returns the marks to be painted, as multipoints of pixel centers associated to the style to paint them with. The
+     * styles are returned in the order they have been first met, and for each style, the most crowded pixels are
+     * painted last.
+     */
+    List<Map.Entry<Style2D, MultiPoint>> getMarks(GeometryFactory gf) {
+        List<Map.Entry<Style2D, MultiPoint>> result = new ArrayList<>();
+        for (Map.Entry<Style2D, char[]> entry : grids.entrySet()) {
+            // group the pixels by count, they share the same opacity
+            char[] grid = entry.getValue();
+            Map<Integer, List<Coordinate>> pixels = new TreeMap<>();
+            for (int i = 0; i < grid.length; i++) {
+                if (grid[i] > 0) {
+                    double x = area.x + i % area.width + 0.5;
+                    double y = area.y + i / area.width + 0.5;
+                    pixels.computeIfAbsent((int) grid[i], k -> new ArrayList<>())
+                            .add(new Coordinate(x, y));
+                }
+            }
+            Style2D style = entry.getKey();
+            for (Map.Entry<Integer, List<Coordinate>> pe : pixels.entrySet()) {
+                MultiPoint mp = gf.createMultiPointFromCoords(pe.getValue().toArray(new Coordinate[0]));
+                result.add(Map.entry(stack(style, pe.getKey()), mp));
+            }
+        }
+        return result;
+    }
+
+    /** Returns a copy of the style whose opacity matches the one of the given number of stacked marks */
+    static Style2D stack(Style2D style, int count) {
+        if (count == 1) {
+            return style;
+        }
+        Style2D result = (Style2D) style.clone();
+        PointStyle2D ps = (PointStyle2D) result;
+        ps.setComposite(stack(ps.getComposite(), null, count));
+        if (result instanceof MarkStyle2D ms) {
+            ms.setFillComposite(stack(ms.getFillComposite(), ms.getFill(), count));
+            ms.setContourComposite(stack(ms.getContourComposite(), ms.getContour(), count));
+        }
+        return result;
+    }
+
+    private static Composite stack(Composite composite, Paint paint, int count) {
+        float alpha = composite != null ? ((AlphaComposite) composite).getAlpha() : 1f;
+        // the paint alpha multiplies the composite one
+        float paintAlpha = paint != null ? ((Color) paint).getAlpha() / 255f : 1f;
+        double opacity = alpha * paintAlpha;
+        if (opacity >= 1 || opacity <= 0) {
+            return composite;
+        }
+        double stacked = 1 - Math.pow(1 - opacity, count);
+        return AlphaComposite.getInstance(AlphaComposite.SRC_OVER, (float) Math.min(1, stacked / paintAlpha));
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import org.geotools.map.Layer;
+import org.geotools.renderer.label.LabelingStatistics;
+
+/**
+ * Receives the timings and counters collected by the {@link StreamingRenderer} while rendering a map, for example to
+ * bridge them to a metrics library or to a profiler. Collection is enabled only when at least one listener is
+ * registered, see {@link StreamingRenderer#addMetricsListener(RenderingMetricsListener)}.
+ *
+ * <p>The methods are called by the rendering threads, <b>VERY LITTLE WORK</b> should be done in the listener.
+ */
+public interface RenderingMetricsListener {
+
+    /** Reports the metrics of a layer, once it has been completely painted */
+    void layerRendered(Layer layer, LayerMetrics metrics);
+
+    /**
+     * Reports the labelling of the map has been completed
+     *
+     * @param time The time spent painting the labels, in nanoseconds
+     * @param statistics The label placement statistics, if the label cache in use collects them, null otherwise
+     */
+    default void labellingCompleted(long time, LabelingStatistics statistics) {
+        // does nothing
+    }
+}
@@ -54,7 +54,9 @@
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Predicate;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -149,6 +151,7 @@
 import org.geotools.renderer.crs.WrappingProjectionHandler;
 import org.geotools.renderer.label.LabelCacheImpl;
 import org.geotools.renderer.label.LabelCacheImpl.LabelRenderingMode;
+import org.geotools.renderer.label.LabelingStatistics;
 import org.geotools.renderer.lite.gridcoverage2d.GridCoverageRenderer;
 import org.geotools.renderer.style.LineStyle2D;
 import org.geotools.renderer.style.MarkAlongLine;
@@ -164,9 +167,13 @@
 import org.geotools.styling.visitor.UomRescaleStyleVisitor;
 import org.geotools.util.Converters;
 import org.geotools.util.factory.Hints;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracing;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPoint;
 import org.locationtech.jts.geom.MultiPolygon;
 import org.locationtech.jts.geom.Point;
 import org.locationtech.jts.geom.Polygon;
@@ -289,6 +296,14 @@ public class StreamingRenderer implements GTRenderer {
 
     private List<RenderListener> renderListeners = new CopyOnWriteArrayList<>();
 
+    private List<RenderingMetricsListener> metricsListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Whether the layer metrics are collected during the current paint, because there are metrics listeners or the
+     * layer paints are traced
+     */
+    private boolean collectMetrics;
+
     private RenderingHints java2dHints;
 
     private int renderingBufferDEFAULT = 0;
@@ -379,6 +394,40 @@ public class StreamingRenderer implements GTRenderer {
 
     private static boolean DATELINE_WRAPPING_HEURISTIC_DEFAULT = true;
 
+    /**
+     * Integer number of feature layers read at the same time. When greater than one, while a layer is being painted the
+     * following ones are already read, styled and transformed in the thread pool (see {@link #setThreadPool}), their
+     * rendering requests are then painted in the layer order. Defaults to 1, meaning layers are read one after the
+     * other by the thread calling paint.
+     */
+    public static final String PARALLEL_LAYERS_KEY = "parallelLayers";
+
+    private static int PARALLEL_LAYERS_DEFAULT = 1;
+
+    /**
+     * Integer maximum number of rendering requests (shapes, labels, ...) buffered for each layer read ahead of the one
+     * being painted, when {@link #PARALLEL_LAYERS_KEY} is enabled. Layers reaching the limit wait for the painter to
+     * catch up, bounding the memory used by the read ahead.
+     */
+    public static final String LAYER_BACKLOG_KEY = "layerBacklog";
+
+    private static int LAYER_BACKLOG_DEFAULT = 1000;
+
+    /**
+     * {@link GeneralizedGeometryCache} keeping the generalized and reprojected geometries across paint calls, to be
+     * shared among the renderers drawing the same layers over and over. Not set by default, meaning geometries are
+     * generalized and reprojected from the full resolution ones at every paint.
+     */
+    public static final String GENERALIZATION_CACHE_KEY = "generalizationCache";
+
+    /**
+     * Double number of points per pixel beyond which the feature type styles made only of point symbolizers are painted
+     * in density mode: the following points are accumulated in a pixel grid, and a single mark is painted for each
+     * pixel, with an opacity matching the one of the marks stacked on it (see {@link PointDensityGrid}). Not set by
+     * default, meaning all points are painted one after the other.
+     */
+    public static final String POINT_DENSITY_THRESHOLD_KEY = "pointDensityThreshold";
+
     public static final String LABEL_CACHE_KEY = "labelCache";
     public static final String FORCE_EPSG_AXIS_ORDER_KEY = "ForceEPSGAxisOrder";
     public static final String DPI_KEY = "dpi";
@@ -474,6 +523,35 @@ public void removeRenderListener(RenderListener listener) {
         renderListeners.remove(listener);
     }
 
+    /**
+     * Adds a listener receiving the per layer timings and counters. The metrics are collected only while at least one
+     * listener is registered.
+     *
+     * @see RenderingMetricsListener
+     * @param listener the listener to add.
+     */
+    public void addMetricsListener(RenderingMetricsListener listener) {
+        metricsListeners.add(listener);
+    }
+
+    /**
+     * Removes a metrics listener.
+     *
+     * @see RenderingMetricsListener
+     * @param listener the listener to remove.
+     */
+    public void removeMetricsListener(RenderingMetricsListener listener) {
+        metricsListeners.remove(listener);
+    }
+
+    /**
+     * Returns a new metrics collector for the given layer, or null if nobody is interested in the metrics (neither the
+     * listeners nor the tracers)
+     */
+    private LayerMetrics newLayerMetrics(String layerId) {
+        return collectMetrics ? new LayerMetrics(layerId) : null;
+    }
+
     private void fireFeatureRenderedEvent(Object feature) {
         if (!(feature instanceof SimpleFeature)) {
             if (feature instanceof Feature) {
@@ -777,11 +855,15 @@ public void paint(
 
         // Setup the secondary painting thread
         requests = getRequestsQueue();
-        painterThread = new PainterThread(requests);
+        collectMetrics = !metricsListeners.isEmpty() || Tracing.isEnabled(OperationType.LAYER_PAINT);
+        painterThread = new PainterThread(requests, collectMetrics);
+        int parallelLayers = getParallelLayers();
         ExecutorService localThreadPool = threadPool;
         boolean localPool = false;
         if (localThreadPool == null) {
-            localThreadPool = Executors.newSingleThreadExecutor();
+            localThreadPool = parallelLayers > 1
+                    ? Executors.newFixedThreadPool(parallelLayers)
+                    : Executors.newSingleThreadExecutor();
             localPool = true;
         }
         Future painterFuture = localThreadPool.submit(painterThread);
@@ -815,58 +897,93 @@ public void paint(
                     impl.setLabelRenderingMode(LabelRenderingMode.valueOf(getTextRenderingMethod()));
                 }
 
-                for (Layer layer : currentMapContent.layers()) {
-                    try {
-                        renderListeners.forEach(l -> l.layerStart(layer));
-                    } catch (Exception e) {
-                        fireErrorEvent(e);
-                    }
-                    layerCounter++;
-                    String layerId = String.valueOf(layerCounter);
-                    if (!layer.isVisible()) {
-                        // Only render layer when layer is visible
-                        continue;
-                    }
-
-                    if (renderingStopRequested) {
-                        return;
-                    }
-
-                    // handle the background color specification, if any
-                    Style style = layer.getStyle();
-                    if (style != null && style.getBackground() != null) {
-                        fillBackground(graphics, paintArea, style);
-                    }
+                // read the next layers ahead, if enabled
+                List<Layer> layers = currentMapContent.layers();
+                LayerReadAhead readAhead = null;
+                if (parallelLayers > 1) {
+                    readAhead = new LayerReadAhead(
+                            layers,
+                            layerCounter,
+                            compositingGraphic,
+                            localThreadPool,
+                            parallelLayers,
+                            getLayerBacklog());
+                }
 
-                    labelCache.startLayer(layerId);
-                    if (layer instanceof DirectLayer directLayer) {
-                        RenderingRequest request = new RenderDirectLayerRequest(compositingGraphic, directLayer);
+                try {
+                    for (int i = 0; i < layers.size(); i++) {
+                        Layer layer = layers.get(i);
                         try {
-                            requests.put(request);
-                        } catch (InterruptedException e) {
+                            renderListeners.forEach(l -> l.layerStart(layer));
+                        } catch (Exception e) {
                             fireErrorEvent(e);
                         }
-                    } else if (layer instanceof ZGroupLayer zGroup) {
-                        try {
-                            zGroup.drawFeatures(compositingGraphic, this, layerId);
-                        } catch (Throwable t) {
-                            fireErrorEvent(t);
+                        layerCounter++;
+                        String layerId = String.valueOf(layerCounter);
+                        if (!layer.isVisible()) {
+                            // Only render layer when layer is visible
+                            continue;
                         }
-                    } else {
+
+                        if (renderingStopRequested) {
+                            return;
+                        }
+
+                        // handle the background color specification, if any
+                        Style style = layer.getStyle();
+                        if (style != null && style.getBackground() != null) {
+                            fillBackground(graphics, paintArea, style);
+                        }
+
+                        labelCache.startLayer(layerId);
+                        Span span = Tracing.start(OperationType.LAYER_PAINT);
+                        LayerMetrics metrics = newLayerMetrics(layerId);
+                        if (layer instanceof DirectLayer directLayer) {
+                            RenderingRequest request = new RenderDirectLayerRequest(compositingGraphic, directLayer);
+                            try {
+                                requests.put(request);
+                            } catch (InterruptedException e) {
+                                fireErrorEvent(e);
+                            }
+                        } else if (layer instanceof ZGroupLayer zGroup) {
+                            try {
+                                zGroup.drawFeatures(compositingGraphic, this, layerId);
+                            } catch (Throwable t) {
+                                fireErrorEvent(t);
+                            }
+                        } else if (readAhead != null) {
+                            readAhead.render(i, metrics);
+                        } else {
+                            try {
+                                // extract the feature type stylers from the style object
+                                // and process them
+                                processStylers(
+                                        compositingGraphic,
+                                        layer,
+                                        layerId,
+                                        new LayerRequests(requests, styleFactory, metrics));
+                            } catch (Throwable t) {
+                                fireErrorEvent(t);
+                            }
+                        }
+
+                        RenderTimeStatisticsRequest statistics = new RenderTimeStatisticsRequest(
+                                renderListeners, layer, metrics, metricsListeners, span);
                         try {
-                            // extract the feature type stylers from the style object
-                            // and process them
-                            processStylers(compositingGraphic, layer, layerId);
-                        } catch (Throwable t) {
-                            fireErrorEvent(t);
+                            labelCache.endLayer(layerId, graphics, screenSize);
+                            requests.put(statistics);
+                        } catch (InterruptedException ex) {
+                            // the request won't be executed, end the span here
+                            statistics.endSpan();
+                            fireErrorEvent(ex);
+                        } catch (RuntimeException ex) {
+                            statistics.endSpan();
+                            throw ex;
                         }
                     }
-
-                    labelCache.endLayer(layerId, graphics, screenSize);
-                    try {
-                        requests.put(new RenderTimeStatisticsRequest(renderListeners, layer));
-                    } catch (InterruptedException ex) {
-                        fireErrorEvent(ex);
+                } finally {
+                    if (readAhead != null) {
+                        readAhead.dispose();
                     }
                 }
 
@@ -911,7 +1028,13 @@ public void paint(
 
         if (!renderingStopRequested) {
             renderListeners.forEach(l -> l.labellingStart());
+            long labellingStart = System.nanoTime();
             labelCache.end(graphics, paintArea);
+            if (!metricsListeners.isEmpty()) {
+                long labellingTime = System.nanoTime() - labellingStart;
+                LabelingStatistics statistics = labelCache instanceof LabelCacheImpl impl ? impl.getStatistics() : null;
+                metricsListeners.forEach(l -> l.labellingCompleted(labellingTime, statistics));
+            }
             renderListeners.forEach(l -> l.labellingEnd());
         } else {
             labelCache.clear();
@@ -1656,6 +1779,28 @@ private boolean isWrappingHeuristicEnabled() {
         return ((Boolean) result).booleanValue();
     }
 
+    /** Returns the number of layers read at the same time, see {@link #PARALLEL_LAYERS_KEY} */
+    private int getParallelLayers() {
+        if (rendererHints == null) return PARALLEL_LAYERS_DEFAULT;
+        Object result = rendererHints.get(PARALLEL_LAYERS_KEY);
+        if (result == null) return PARALLEL_LAYERS_DEFAULT;
+        return Math.max(1, ((Number) result).intValue());
+    }
+
+    /** Returns the maximum number of requests buffered for each layer read ahead, see {@link #LAYER_BACKLOG_KEY} */
+    private int getLayerBacklog() {
+        if (rendererHints == null) return LAYER_BACKLOG_DEFAULT;
+        Object result = rendererHints.get(LAYER_BACKLOG_KEY);
+        if (result == null) return LAYER_BACKLOG_DEFAULT;
+        return Math.max(1, ((Number) result).intValue());
+    }
+
+    /** Returns the generalized geometries cache, if any, see {@link #GENERALIZATION_CACHE_KEY} */
+    private GeneralizedGeometryCache getGeneralizationCache() {
+        if (rendererHints == null) return null;
+        return (GeneralizedGeometryCache) rendererHints.get(GENERALIZATION_CACHE_KEY);
+    }
+
     /**
      * Returns an estimate of the rendering buffer needed to properly display this layer taking into consideration the
      * constant stroke sizes in the feature type styles.
@@ -2103,8 +2248,10 @@ public int getMaxBackBufferMemory(int width, int height) {
      * @param graphics Target graphics for rendering
      * @param layer The layer being styled
      * @param layerId Handle used to identify the layer in the {@link LabelCache}
+     * @param output Where the rendering requests are sent
      */
-    private void processStylers(final Graphics2D graphics, final Layer layer, String layerId) throws Exception {
+    private void processStylers(final Graphics2D graphics, final Layer layer, String layerId, LayerRequests output)
+            throws Exception {
         // /////////////////////////////////////////////////////////////////////
         //
         // Preparing feature information and styles
@@ -2115,6 +2262,10 @@ private void processStylers(final Graphics2D graphics, final Layer layer, String
             throw new IllegalArgumentException("The layer does not contain a feature source: " + layer.getTitle());
         }
         final FeatureType schema = featureSource.getSchema();
+        GeneralizedGeometryCache geometryCache = getGeneralizationCache();
+        if (geometryCache != null) {
+            geometryCache.register(featureSource);
+        }
 
         final ArrayList<LiteFeatureTypeStyle> lfts =
                 createLiteFeatureTypeStyles(layer, graphics, isOptimizedFTSRenderingEnabled());
@@ -2132,7 +2283,11 @@ private void processStylers(final Graphics2D graphics, final Layer layer, String
 
         // render groups by uniform transformation
         for (List<LiteFeatureTypeStyle> uniformLfts : txClassified) {
+            long queryStart = System.nanoTime();
             FeatureCollection features = getFeatures(layer, schema, uniformLfts);
+            if (output.metrics != null) {
+                output.metrics.queryTime += System.nanoTime() - queryStart;
+            }
             if (features == null) {
                 continue;
             }
@@ -2145,30 +2300,33 @@ private void processStylers(final Graphics2D graphics, final Layer layer, String
                     .filter(r -> !r.isElseFilter() && r.getFilter() != null)
                     .forEach(r -> r.getFilter().accept(repeatedVisitor, null));
             Set<Object> repeatedObjects = repeatedVisitor.getRepeatedObjects();
-            // step two, memoize the repeated ones and convert simple features access to indexed
-            if (schema instanceof SimpleFeatureType || !repeatedObjects.isEmpty()) {
-                MemoryFilterOptimizer filterOptimizer =
-                        new MemoryFilterOptimizer(features.getSchema(), repeatedObjects);
-                for (LiteFeatureTypeStyle fts : uniformLfts) {
-                    for (int i = 0; i < fts.ruleList.length; i++) {
-                        Rule rule = fts.ruleList[i];
-                        DuplicatingStyleVisitor optimizingStyleVisitor =
-                                new DuplicatingStyleVisitor(STYLE_FACTORY, filterFactory, filterOptimizer);
-                        rule.accept(optimizingStyleVisitor);
-                        fts.ruleList[i] = (Rule) optimizingStyleVisitor.getCopy();
-                    }
-                }
+            // step two, memoize the repeated ones, convert simple features access to indexed
+            // and literals to their evaluation types, in both rule filters and symbolizers
+            MemoryFilterOptimizer filterOptimizer = new MemoryFilterOptimizer(features.getSchema(), repeatedObjects);
+            for (LiteFeatureTypeStyle fts : uniformLfts) {
+                optimizeRules(fts.ruleList, filterOptimizer);
+                optimizeRules(fts.elseRules, filterOptimizer);
             }
 
             // finally, perform rendering
             if (isOptimizedFTSRenderingEnabled() && lfts.size() > 1) {
-                drawOptimized(graphics, layerId, features, uniformLfts);
+                drawOptimized(graphics, layerId, features, uniformLfts, output);
             } else {
-                drawPlain(graphics, layerId, features, uniformLfts);
+                drawPlain(graphics, layerId, features, uniformLfts, output);
             }
         }
     }
 
+    /** Replaces the rules with copies optimized for in memory evaluation */
+    private void optimizeRules(Rule[] rules, MemoryFilterOptimizer filterOptimizer) {
+        for (int i = 0; i < rules.length; i++) {
+            DuplicatingStyleVisitor optimizingStyleVisitor =
+                    new DuplicatingStyleVisitor(STYLE_FACTORY, filterFactory, filterOptimizer);
+            rules[i].accept(optimizingStyleVisitor);
+            rules[i] = (Rule) optimizingStyleVisitor.getCopy();
+        }
+    }
+
     FeatureCollection getFeatures(
             final Layer layer, final FeatureType schema, List<LiteFeatureTypeStyle> featureTypeStyles)
             throws IOException, FactoryException, NoninvertibleTransformException, SchemaException, TransformException {
@@ -2502,31 +2660,34 @@ private void drawPlain(
             final Graphics2D graphics,
             String layerId,
             FeatureCollection<?, ?> features,
-            final List<LiteFeatureTypeStyle> lfts) {
+            final List<LiteFeatureTypeStyle> lfts,
+            LayerRequests output) {
 
         // for each lite feature type style, scan the whole collection and draw
         for (LiteFeatureTypeStyle liteFeatureTypeStyle : lfts) {
-            try (FeatureIterator<?> featureIterator = features.features()) {
+            try (FeatureIterator<?> featureIterator = TimedFeatureIterator.open(features, output.metrics)) {
                 if (featureIterator == null) {
                     return; // nothing to do
                 }
                 boolean cloningRequired = isCloningRequired(lfts);
-                RenderableFeature rf = createRenderableFeature(layerId, cloningRequired);
+                RenderableFeature rf = createRenderableFeature(layerId, cloningRequired, output);
                 ProjectionHandler handler = checkForReprojection(features, rf, lfts, liteFeatureTypeStyle);
                 // loop exit condition tested inside try catch
                 // make sure we test hasNext() outside of the try/cath that follows, as that
                 // one is there to make sure a single feature error does not ruin the rendering
                 // (best effort) whilst an exception in hasNext() + ignoring catch results in
                 // an infinite loop
+                liteFeatureTypeStyle.densityGrid = createDensityGrid(liteFeatureTypeStyle);
                 while (featureIterator.hasNext() && !renderingStopRequested) {
                     rf.setFeature(featureIterator.next());
                     processFeature(rf, liteFeatureTypeStyle, handler);
                 }
+                paintDensityGrid(liteFeatureTypeStyle, output);
             }
 
             if (liteFeatureTypeStyle.composite != null) {
                 try {
-                    requests.put(new MergeLayersRequest(graphics, Collections.singletonList(liteFeatureTypeStyle)));
+                    output.put(new MergeLayersRequest(graphics, Collections.singletonList(liteFeatureTypeStyle)));
                 } catch (InterruptedException e) {
                     fireErrorEvent(e);
                 }
@@ -2540,7 +2701,14 @@ private void drawPlain(
      * @param cloningRequired TODO
      */
     RenderableFeature createRenderableFeature(String layerId, boolean cloningRequired) {
+        return createRenderableFeature(layerId, cloningRequired, new LayerRequests(requests, styleFactory));
+    }
+
+    /** Builds a new renderable feature sending its rendering requests to the given output */
+    RenderableFeature createRenderableFeature(String layerId, boolean cloningRequired, LayerRequests output) {
         RenderableFeature rf = new RenderableFeature(layerId, cloningRequired);
+        rf.output = output;
+        rf.geometryCache = getGeneralizationCache();
         return rf;
     }
 
@@ -2553,13 +2721,14 @@ private void drawOptimized(
             final Graphics2D graphics,
             String layerId,
             FeatureCollection features,
-            final List<LiteFeatureTypeStyle> lfts) {
+            final List<LiteFeatureTypeStyle> lfts,
+            LayerRequests output) {
 
-        try (FeatureIterator<?> iterator = features.features()) {
+        try (FeatureIterator<?> iterator = TimedFeatureIterator.open(features, output.metrics)) {
             if (iterator == null) return; // nothing to do
 
             boolean cloningRequired = isCloningRequired(lfts);
-            RenderableFeature rf = createRenderableFeature(layerId, cloningRequired);
+            RenderableFeature rf = createRenderableFeature(layerId, cloningRequired, output);
             // loop exit condition tested inside try catch
             // make sure we test hasNext() outside of the try/cath that follows, as that
             // one is there to make sure a single feature error does not ruin the rendering
@@ -2570,6 +2739,9 @@ private void drawOptimized(
             boolean firstFeature = true;
             ProjectionHandler[] handlers = new ProjectionHandler[lfts.size()];
             ScreenMap[] screenMaps = new ScreenMap[lfts.size()];
+            for (LiteFeatureTypeStyle liteFeatureTypeStyle : lfts) {
+                liteFeatureTypeStyle.densityGrid = createDensityGrid(liteFeatureTypeStyle);
+            }
             while (iterator.hasNext() && !renderingStopRequested) {
                 rf.setFeature(iterator.next());
                 // draw the feature on the main graphics and on the eventual extra image buffers
@@ -2586,13 +2758,54 @@ private void drawOptimized(
                 }
                 firstFeature = false;
             }
+            for (LiteFeatureTypeStyle liteFeatureTypeStyle : lfts) {
+                paintDensityGrid(liteFeatureTypeStyle, output);
+            }
             // submit the merge request
-            requests.put(new MergeLayersRequest(graphics, lfts));
+            output.put(new MergeLayersRequest(graphics, lfts));
         } catch (InterruptedException e) {
             fireErrorEvent(e);
         }
     }
 
+    /**
+     * Returns a {@link PointDensityGrid} for the feature type style, if the point density mode is enabled and the
+     * style is made only of point symbolizers (and eventually labels), null otherwise
+     */
+    PointDensityGrid createDensityGrid(LiteFeatureTypeStyle lfts) {
+        if (rendererHints == null) return null;
+        Number threshold = (Number) rendererHints.get(POINT_DENSITY_THRESHOLD_KEY);
+        if (threshold == null || lfts.sortBy != null || !PointDensityGrid.isSupported(screenSize)) {
+            return null;
+        }
+        // the accumulated points are painted at the end, other symbolizers would end up below them
+        boolean pointsOnly = Stream.concat(Arrays.stream(lfts.ruleList), Arrays.stream(lfts.elseRules))
+                .flatMap(r -> r.symbolizers().stream())
+                .allMatch(s -> s instanceof PointSymbolizer || s instanceof TextSymbolizer);
+        if (!pointsOnly) {
+            return null;
+        }
+        return new PointDensityGrid(new Rectangle(screenSize), threshold.doubleValue());
+    }
+
+    /** Paints the points accumulated in the density grid of the feature type style, if any */
+    private void paintDensityGrid(LiteFeatureTypeStyle lfts, LayerRequests output) {
+        PointDensityGrid grid = lfts.densityGrid;
+        lfts.densityGrid = null;
+        if (grid == null || grid.isEmpty() || renderingStopRequested) {
+            return;
+        }
+        try {
+            GeometryFactory gf = new GeometryFactory();
+            for (Map.Entry<Style2D, MultiPoint> mark : grid.getMarks(gf)) {
+                LiteShape2 shape = new LiteShape2(mark.getValue(), null, null, false);
+                output.put(new PaintShapeRequest(lfts.graphics, shape, mark.getKey(), scaleDenominator));
+            }
+        } catch (Exception e) {
+            fireErrorEvent(e);
+        }
+    }
+
     private ProjectionHandler checkForReprojection(
             FeatureCollection features,
             RenderableFeature rf,
@@ -2709,7 +2922,9 @@ void processFeature(RenderableFeature rf, LiteFeatureTypeStyle fts, ProjectionHa
             // init the renderable feature for this fts
             rf.inMemoryGeneralization = fts.inMemoryGeneralization;
             rf.projectionHandler = projectionHandler;
+            rf.transformed = fts.transformation != null;
             rf.setScreenMap(fts.screenMap);
+            rf.densityGrid = fts.densityGrid;
             rf.layer = fts.layer;
             rf.metaBuffer = fts.metaBuffer;
 
@@ -2749,7 +2964,10 @@ void processFeature(RenderableFeature rf, LiteFeatureTypeStyle fts, ProjectionHa
             // if it has been clipped out or eliminated by the screenmap we won't emit the event
             // instead
             if (paintCommands > 0) {
-                requests.put(new FeatureRenderedRequest(rf.feature));
+                rf.output.put(new FeatureRenderedRequest(rf.feature));
+                if (rf.output.metrics != null) {
+                    rf.output.metrics.featuresPainted++;
+                }
             }
 
         } catch (Throwable tr) {
@@ -2793,7 +3011,7 @@ private int processSymbolizers(
                         coverage = coverage2D;
                         if (coverage != null) {
                             disposeCoverage = grid instanceof DisposableGridCoverage;
-                            requests.put(new RenderRasterRequest(
+                            drawMe.output.put(new RenderRasterRequest(
                                     graphics,
                                     coverage,
                                     disposeCoverage,
@@ -2806,7 +3024,7 @@ private int processSymbolizers(
                     } else if (grid instanceof GridCoverage2DReader reader) {
                         final GeneralParameterValue[] params =
                                 (GeneralParameterValue[]) paramsPropertyName.evaluate(drawMe.feature);
-                        requests.put(new RenderCoverageReaderRequest(
+                        drawMe.output.put(new RenderCoverageReaderRequest(
                                 graphics,
                                 reader,
                                 params,
@@ -2832,10 +3050,10 @@ private int processSymbolizers(
                 }
 
                 if (symbolizer instanceof TextSymbolizer textSymbolizer && drawMe.feature instanceof Feature) {
-                    labelCache.put(drawMe.layerId, textSymbolizer, drawMe.feature, shape, null);
+                    drawMe.output.putLabel(drawMe.layerId, textSymbolizer, drawMe.feature, shape);
                     paintCommands++;
                 } else {
-                    Style2D style = styleFactory.createStyle(drawMe.feature, symbolizer);
+                    Style2D style = drawMe.output.styleFactory.createStyle(drawMe.feature, symbolizer);
 
                     // clip to the visible area + the size of the symbolizer (with some extra
                     // to make sure we get no artifacts from polygon new borders)
@@ -2898,21 +3116,30 @@ private int processSymbolizers(
                     }
                     if (g == null) {
                         continue;
-                    } else {
-                        shape = new LiteShape2(g, null, null, false);
                     }
+                    Polygon clip = getClip(drawMe);
+                    // dense point layers, accumulate the point instead of painting it
+                    if (drawMe.densityGrid != null
+                            && g instanceof Point point
+                            && symbolizer instanceof PointSymbolizer
+                            && clip == null
+                            && !symbolizer.hasOption("labelObstacle")
+                            && drawMe.densityGrid.add(style, point.getX(), point.getY())) {
+                        paintCommands++;
+                        continue;
+                    }
+                    shape = new LiteShape2(g, null, null, false);
 
                     PaintShapeRequest paintShapeRequest =
                             new PaintShapeRequest(graphics, shape, style, scaleDenominator);
                     if (symbolizer.hasOption("labelObstacle")) {
                         paintShapeRequest.setLabelObstacle(true);
                     }
-                    Polygon clip = getClip(drawMe);
                     if (clip != null) {
                         LiteShape2 clipShape = drawMe.getShape(null, worldToScreenTransform, clip, true);
                         paintShapeRequest.setClipShape(clipShape);
                     }
-                    requests.put(paintShapeRequest);
+                    drawMe.output.put(paintShapeRequest);
                     paintCommands++;
                 }
             }
@@ -3232,6 +3459,12 @@ class RenderableFeature {
         private IdentityHashMap<MathTransform, Decimator> decimators = new IdentityHashMap<>();
         private ScreenMap screenMap;
         private String layerId;
+        LayerRequests output;
+        GeneralizedGeometryCache geometryCache;
+        /** The grid accumulating the points of dense point layers, if any */
+        PointDensityGrid densityGrid;
+        /** True if the features are the output of a rendering transformation */
+        boolean transformed;
 
         public RenderableFeature(String layerId, boolean clone) {
             this.layerId = layerId;
@@ -3258,12 +3491,15 @@ public LiteShape2 getShape(Symbolizer symbolizer, AffineTransform at) throws Fac
 
         public LiteShape2 getShape(Symbolizer symbolizer, AffineTransform at, Geometry g, boolean clone)
                 throws FactoryException {
+            LayerMetrics metrics = output != null ? output.metrics : null;
+            long start = metrics != null ? System.nanoTime() : 0;
             try {
 
                 // process screenmap if necessary (only do it once,
                 // the geometry will be transformed simplified in place and the screenmap
                 // really needs to play against the original coordinates, plus, once we start
                 // drawing a geometry we want to apply all symbolizers on it)
+                boolean simplified = false;
                 if (screenMap != null //
                         && !(symbolizer instanceof PointSymbolizer) //
                         && !(g instanceof Point)
@@ -3271,8 +3507,12 @@ && getGeometryIndex(g) == -1) {
                     Envelope env = g.getEnvelopeInternal();
                     if (screenMap.canSimplify(env))
                         if (screenMap.checkAndSet(env)) {
+                            if (metrics != null) {
+                                metrics.screenMapSkips++;
+                            }
                             return null;
                         } else {
+                            simplified = true;
                             g = screenMap.getSimplifiedShape(
                                     env.getMinX(),
                                     env.getMinY(),
@@ -3306,6 +3546,7 @@ && getGeometryIndex(g) == -1) {
                     } else {
                         sa.rxform = sa.crsxform;
                     }
+                    setupGeometryCache(symbolizer, sa);
 
                     symbolizerAssociationHT.put(symbolizer, sa);
                 }
@@ -3314,6 +3555,8 @@ && getGeometryIndex(g) == -1) {
                 // get transformed, try to be lenient
                 if (symbolizer instanceof PointSymbolizer) {
                     return getPointSymbolizerShape(g, sa, clone);
+                } else if (sa.cacheScope != null && !simplified) {
+                    return getCachedShape(g, sa);
                 } else {
                     return getTransformedShape(g, sa, clone);
                 }
@@ -3321,7 +3564,75 @@ && getGeometryIndex(g) == -1) {
                 LOGGER.log(Level.FINE, te.getLocalizedMessage(), te);
                 fireErrorEvent(te);
                 return null;
+            } finally {
+                if (metrics != null) {
+                    metrics.transformTime += System.nanoTime() - start;
+                }
+            }
+        }
+
+        /**
+         * Sets up the generalized geometries cache scope, if the shapes for the symbolizer depend only on the feature,
+         * the CRSs and the scale
+         */
+        private void setupGeometryCache(Symbolizer symbolizer, SymbolizerAssociation sa) {
+            if (geometryCache == null
+                    || symbolizer == null
+                    || symbolizer instanceof PointSymbolizer
+                    || transformed
+                    || projectionHandler != null
+                    || !inMemoryGeneralization
+                    || generalizationDistance == 0
+                    || sa.xform == null
+                    || sa.axform == null
+                    || layer == null
+                    || layer.getFeatureSource() == null) {
+                return;
+            }
+            Expression geometry = symbolizer.getGeometry();
+            if (geometry == null) {
+                sa.cacheGeometryName = "";
+            } else if (geometry instanceof PropertyName name) {
+                sa.cacheGeometryName = name.getPropertyName();
+            } else {
+                // geometry functions, the output might depend on more than the feature
+                return;
+            }
+            Decimator decimator = getDecimator(sa.xform);
+            sa.cacheScope = GeneralizedGeometryCache.getScope(
+                    layer.getFeatureSource(), sa.crs, destinationCrs, decimator.getSpanX(), decimator.getSpanY());
+        }
+
+        /**
+         * Returns the shape built out of the cached generalized geometry, generalizing and transforming it in the map
+         * CRS and caching it if missing
+         */
+        private LiteShape2 getCachedShape(Geometry originalGeom, SymbolizerAssociation sa)
+                throws TransformException, FactoryException {
+            int idx = getGeometryIndex(originalGeom);
+            if (idx != -1) {
+                return (LiteShape2) shapes.get(idx);
             }
+            String featureId =
+                    feature.getIdentifier() != null ? feature.getIdentifier().getID() : null;
+            if (featureId == null) {
+                return getTransformedShape(originalGeom, sa, clone);
+            }
+
+            Geometry generalized = geometryCache.get(sa.cacheScope, featureId, sa.cacheGeometryName);
+            if (generalized == null) {
+                int dim = sa.crs != null ? sa.crs.getCoordinateSystem().getDimension() : 2;
+                generalized = LiteCoordinateSequence.cloneGeometry(originalGeom, dim);
+                generalized = sa.cacheScope.decimator.decimateTransformGeneralize(generalized, sa.crsxform);
+                generalized.geometryChanged();
+                geometryCache.put(sa.cacheScope, featureId, sa.cacheGeometryName, generalized);
+            }
+            // the cached geometry is shared, clone it while moving it to screen space
+            LiteShape2 shape = new LiteShape2(generalized, sa.axform, null, false, true);
+
+            geometries.add(originalGeom);
+            shapes.add(shape);
+            return shape;
         }
 
         private LiteShape2 getPointSymbolizerShape(Geometry g, SymbolizerAssociation sa, boolean clone)
@@ -3804,14 +4115,69 @@ public static class RenderTimeStatisticsRequest extends RenderingRequest {
 
         private Layer currentLayer;
 
+        private LayerMetrics metrics;
+
+        private List<RenderingMetricsListener> metricsListeners;
+
+        private Span span;
+
         public RenderTimeStatisticsRequest(List<RenderListener> listeners, Layer currentLayer) {
+            this(listeners, currentLayer, null, Collections.emptyList(), null);
+        }
+
+        public RenderTimeStatisticsRequest(
+                List<RenderListener> listeners,
+                Layer currentLayer,
+                LayerMetrics metrics,
+                List<RenderingMetricsListener> metricsListeners) {
+            this(listeners, currentLayer, metrics, metricsListeners, null);
+        }
+
+        /**
+         * Builds the request, the optional span will be ended with the layer name and the number of features painted
+         */
+        public RenderTimeStatisticsRequest(
+                List<RenderListener> listeners,
+                Layer currentLayer,
+                LayerMetrics metrics,
+                List<RenderingMetricsListener> metricsListeners,
+                Span span) {
             this.listeners = listeners;
             this.currentLayer = currentLayer;
+            this.metrics = metrics;
+            this.metricsListeners = metricsListeners;
+            this.span = span;
         }
 
         @Override
         void execute() {
-            listeners.forEach(l -> l.layerEnd(currentLayer));
+            try {
+                listeners.forEach(l -> l.layerEnd(currentLayer));
+                if (metrics != null) {
+                    metrics.elapsedTime = System.nanoTime() - metrics.start;
+                    metricsListeners.forEach(l -> l.layerRendered(currentLayer, metrics));
+                }
+            } finally {
+                endSpan();
+            }
+        }
+
+        /** Ends the span, if any, at most once */
+        void endSpan() {
+            if (span != null) {
+                Span ended = span;
+                span = null;
+                ended.end(getLayerName(currentLayer), null, metrics != null ? metrics.getFeaturesPainted() : -1);
+            }
+        }
+
+        private static String getLayerName(Layer layer) {
+            if (layer.getTitle() != null) {
+                return layer.getTitle();
+            } else if (layer.getFeatureSource() != null) {
+                return layer.getFeatureSource().getName().getLocalPart();
+            }
+            return layer.getClass().getSimpleName();
         }
     }
 
@@ -3828,6 +4194,259 @@ void execute() {
         }
     }
 
+    /**
+     * A request to add a label to the label cache, used to defer the labels of a layer read ahead to the time the layer
+     * is painted, so that they get into the cache in the layer order
+     */
+    protected class LabelRequest extends RenderingRequest {
+        String layerId;
+
+        TextSymbolizer symbolizer;
+
+        Feature feature;
+
+        LiteShape2 shape;
+
+        public LabelRequest(String layerId, TextSymbolizer symbolizer, Feature feature, LiteShape2 shape) {
+            this.layerId = layerId;
+            this.symbolizer = symbolizer;
+            this.feature = feature;
+            this.shape = shape;
+        }
+
+        @Override
+        void execute() {
+            labelCache.put(layerId, symbolizer, feature, shape, null);
+        }
+    }
+
+    /**
+     * Where the rendering requests generated while reading a layer go, along with the style factory used to build them.
+     * Requests are either sent straight to the painter, or buffered in a bounded queue when the layer is read ahead of
+     * the one being painted.
+     */
+    class LayerRequests {
+        final BlockingQueue<RenderingRequest> queue;
+
+        final SLDStyleFactory styleFactory;
+
+        /** Whether the requests are buffered, labels are then buffered too, rather than added to the cache */
+        final boolean buffered;
+
+        /** Set when nobody is going to consume the buffered requests anymore */
+        volatile boolean discarded;
+
+        /** The metrics of the layer being read, or null if not collected */
+        final LayerMetrics metrics;
+
+        LayerRequests(BlockingQueue<RenderingRequest> queue, SLDStyleFactory styleFactory) {
+            this(queue, styleFactory, null);
+        }
+
+        LayerRequests(BlockingQueue<RenderingRequest> queue, SLDStyleFactory styleFactory, LayerMetrics metrics) {
+            this(queue, styleFactory, false, metrics);
+        }
+
+        LayerRequests(
+                BlockingQueue<RenderingRequest> queue,
+                SLDStyleFactory styleFactory,
+                boolean buffered,
+                LayerMetrics metrics) {
+            this.queue = queue;
+            this.styleFactory = styleFactory;
+            this.buffered = buffered;
+            this.metrics = metrics;
+        }
+
+        void put(RenderingRequest request) throws InterruptedException {
+            if (!buffered) {
+                queue.put(request);
+                return;
+            }
+            // wait for the layer turn to come, unless the rendering has been stopped in the meantime
+            while (!queue.offer(request, 100, TimeUnit.MILLISECONDS)) {
+                if (renderingStopRequested || discarded) {
+                    return;
+                }
+            }
+        }
+
+        void putLabel(String layerId, TextSymbolizer symbolizer, Feature feature, LiteShape2 shape)
+                throws InterruptedException {
+            if (buffered) {
+                put(new LabelRequest(layerId, symbolizer, feature, shape));
+            } else {
+                labelCache.put(layerId, symbolizer, feature, shape, null);
+            }
+        }
+    }
+
+    /**
+     * Reads the feature layers following the one being painted in the thread pool, up to the configured number of
+     * parallel layers. The rendering requests of each layer are buffered, up to the configured backlog, and forwarded to
+     * the painter when the layer turn comes, preserving the layer order. A layer whose reading did not start yet when
+     * its turn comes is read by the calling thread, so that the rendering progresses regardless of the pool size.
+     */
+    class LayerReadAhead {
+        final List<Layer> layers;
+
+        final int layerCounter;
+
+        final Graphics2D graphics;
+
+        final ExecutorService executor;
+
+        final int parallelLayers;
+
+        final int backlog;
+
+        final Map<Integer, LayerRead> reads = new HashMap<>();
+
+        /** The index of the first layer not considered for reading yet */
+        int next;
+
+        /**
+         * @param layers The layers to be painted
+         * @param layerCounter The layer counter before the first layer, used to build the label cache layer ids
+         * @param graphics The graphics the layers are painted on
+         * @param executor The executor the reads are submitted to
+         * @param parallelLayers The number of layers read at the same time, including the one painted
+         * @param backlog The maximum number of requests buffered for each layer
+         */
+        LayerReadAhead(
+                List<Layer> layers,
+                int layerCounter,
+                Graphics2D graphics,
+                ExecutorService executor,
+                int parallelLayers,
+                int backlog) {
+            this.layers = layers;
+            this.layerCounter = layerCounter;
+            this.graphics = graphics;
+            this.executor = executor;
+            this.parallelLayers = parallelLayers;
+            this.backlog = backlog;
+        }
+
+        /**
+         * Paints the feature layer at the given index, starting the read of the following ones
+         *
+         * @param metrics The layer metrics, or null if not collected
+         */
+        void render(int index, LayerMetrics metrics) {
+            int end = Math.min(layers.size(), index + parallelLayers);
+            for (int i = Math.max(next, index + 1); i < end; i++) {
+                Layer layer = layers.get(i);
+                if (layer.isVisible() && !(layer instanceof DirectLayer) && !(layer instanceof ZGroupLayer)) {
+                    LayerRead read = new LayerRead(i);
+                    reads.put(i, read);
+                    executor.submit(read);
+                }
+            }
+            next = Math.max(next, end);
+
+            LayerRead read = reads.remove(index);
+            if (read != null) {
+                read.paint(metrics);
+            } else {
+                read(layers.get(index), getLayerId(index), metrics);
+            }
+        }
+
+        /** Reads the layer in the calling thread, sending the requests straight to the painter */
+        void read(Layer layer, String layerId, LayerMetrics metrics) {
+            try {
+                processStylers(graphics, layer, layerId, new LayerRequests(requests, styleFactory, metrics));
+            } catch (Throwable t) {
+                fireErrorEvent(t);
+            }
+        }
+
+        String getLayerId(int index) {
+            return String.valueOf(layerCounter + index + 1);
+        }
+
+        /** Discards the reads that have not been painted */
+        void dispose() {
+            for (LayerRead read : reads.values()) {
+                read.claimed.set(true);
+                read.output.discarded = true;
+            }
+            reads.clear();
+        }
+
+        /** The read of a single layer */
+        class LayerRead implements Runnable {
+            final Layer layer;
+
+            final String layerId;
+
+            final LayerRequests output;
+
+            /** Set by the first among the pool and the calling thread that starts reading the layer */
+            final AtomicBoolean claimed = new AtomicBoolean();
+
+            LayerRead(int index) {
+                this.layer = layers.get(index);
+                this.layerId = getLayerId(index);
+                // the style factory caches are thread safe, share them with the painting thread
+                this.output = new LayerRequests(
+                        new LinkedBlockingQueue<>(backlog), styleFactory, true, newLayerMetrics(layerId));
+            }
+
+            @Override
+            public void run() {
+                if (!claimed.compareAndSet(false, true)) {
+                    return;
+                }
+                try {
+                    if (!renderingStopRequested) {
+                        processStylers(graphics, layer, layerId, output);
+                    }
+                } catch (Throwable t) {
+                    fireErrorEvent(t);
+                } finally {
+                    try {
+                        output.put(new EndRequest());
+                    } catch (InterruptedException e) {
+                        fireErrorEvent(e);
+                    }
+                }
+            }
+
+            /**
+             * Forwards the buffered requests to the painter, or reads the layer if the read did not start yet
+             *
+             * @param metrics The metrics collecting the read ones, once completed, or null if not collected
+             */
+            void paint(LayerMetrics metrics) {
+                if (claimed.compareAndSet(false, true)) {
+                    read(layer, layerId, metrics);
+                    return;
+                }
+                try {
+                    while (!renderingStopRequested) {
+                        RenderingRequest request = output.queue.poll(100, TimeUnit.MILLISECONDS);
+                        if (request == null) {
+                            continue;
+                        } else if (request instanceof EndRequest) {
+                            if (metrics != null && output.metrics != null) {
+                                metrics.add(output.metrics);
+                            }
+                            break;
+                        } else if (request instanceof LabelRequest) {
+                            request.execute();
+                        } else {
+                            requests.put(request);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    fireErrorEvent(e);
+                }
+            }
+        }
+    }
+
     /**
      * The secondary thread that actually issues the paint requests against the graphic object
      *
@@ -3837,8 +4456,19 @@ class PainterThread implements Runnable {
         BlockingQueue<RenderingRequest> requests;
         Thread thread;
 
+        /** Whether the painting time is collected into the layer metrics */
+        final boolean timed;
+
+        /** The painting time accumulated since the end of the last layer */
+        long paintTime;
+
         public PainterThread(BlockingQueue<RenderingRequest> requests) {
+            this(requests, false);
+        }
+
+        public PainterThread(BlockingQueue<RenderingRequest> requests, boolean timed) {
             this.requests = requests;
+            this.timed = timed;
         }
 
         public void interrupt() {
@@ -3863,6 +4493,15 @@ public void run() {
                         if (r instanceof EndRequest || renderingStopRequested) {
                             done = true;
                             break;
+                        } else if (timed) {
+                            if (r instanceof RenderTimeStatisticsRequest statistics && statistics.metrics != null) {
+                                // the requests of a layer are followed by its statistics one
+                                statistics.metrics.paintTime += paintTime;
+                                paintTime = 0;
+                            }
+                            long start = System.nanoTime();
+                            r.execute();
+                            paintTime += System.nanoTime() - start;
                         } else {
                             r.execute();
                         }
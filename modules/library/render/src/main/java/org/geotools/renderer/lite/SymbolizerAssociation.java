@@ -48,4 +48,10 @@ class SymbolizerAssociation {
      * The transformation used for forward projections during rendering, can have been amended by the projection handler
      */
     public MathTransform rxform;
+
+    /** The scope of the generalized geometries cache, null if the geometries cannot be cached */
+    public GeneralizedGeometryCache.Scope cacheScope;
+
+    /** The name of the geometry property in the generalized geometries cache */
+    public String cacheGeometryName;
 }
@@ -0,0 +1,72 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import org.geotools.api.feature.Feature;
+import org.geotools.feature.FeatureCollection;
+import org.geotools.feature.FeatureIterator;
+
+/** A feature iterator wrapper collecting the read time and feature count into a {@link LayerMetrics} */
+class TimedFeatureIterator<F extends Feature> implements FeatureIterator<F> {
+
+    /** Opens the collection iterator, wrapping it to collect the metrics, if any */
+    static <F extends Feature> FeatureIterator<F> open(FeatureCollection<?, F> collection, LayerMetrics metrics) {
+        if (metrics == null) {
+            return collection.features();
+        }
+        long start = System.nanoTime();
+        FeatureIterator<F> delegate = collection.features();
+        metrics.queryTime += System.nanoTime() - start;
+        return delegate == null ? null : new TimedFeatureIterator<>(delegate, metrics);
+    }
+
+    final FeatureIterator<F> delegate;
+
+    final LayerMetrics metrics;
+
+    TimedFeatureIterator(FeatureIterator<F> delegate, LayerMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public boolean hasNext() {
+        long start = System.nanoTime();
+        try {
+            return delegate.hasNext();
+        } finally {
+            metrics.readTime += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public F next() {
+        long start = System.nanoTime();
+        try {
+            F feature = delegate.next();
+            metrics.featuresRead++;
+            return feature;
+        } finally {
+            metrics.readTime += System.nanoTime() - start;
+        }
+    }
+
+    @Override
+    public void close() {
+        delegate.close();
+    }
+}
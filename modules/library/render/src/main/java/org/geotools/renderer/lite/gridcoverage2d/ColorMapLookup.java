@@ -0,0 +1,271 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite.gridcoverage2d;
+
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Supplier;
+import org.eclipse.imagen.ImageLayout;
+import org.eclipse.imagen.ImageN;
+import org.eclipse.imagen.media.classifier.LinearColorMap;
+import org.eclipse.imagen.media.colorconvert.IHSColorSpaceImageNExt;
+import org.eclipse.imagen.media.lookup.LookupTable;
+import org.eclipse.imagen.media.lookup.LookupTableFactory;
+import org.geotools.api.filter.expression.Expression;
+import org.geotools.api.filter.expression.Literal;
+import org.geotools.api.style.ColorMap;
+import org.geotools.api.style.ColorMapEntry;
+import org.geotools.image.ImageWorker;
+import org.geotools.renderer.util.BoundedCache;
+
+/**
+ * A {@link ColorMap} compiled into a lookup table and a palette, for integral sources with a bounded value range (byte
+ * and unsigned short). The table is computed once by classifying every possible source value, so it matches exactly
+ * what the {@code RasterClassifier} operation would produce, and then applied to the tiles in a single {@code Lookup}
+ * pass. A gamma correction on the intensity of the output colors can be folded into the palette too, saving the
+ * palette expansion and IHS conversion a separate contrast enhancement would require.
+ *
+ * <p>Compiled lookups are cached per style, color maps using dynamic expressions are not cached.
+ */
+class ColorMapLookup {
+
+    /** The maximum number of compiled lookups kept in the cache */
+    static final int MAX_CACHED_LOOKUPS = 100;
+
+    /** Compiled lookups, compiled outside of any lock, concurrent compilations of the same key keep the first one */
+    static final BoundedCache<Key, ColorMapLookup> CACHE = new BoundedCache<>(MAX_CACHED_LOOKUPS);
+
+    final LookupTable table;
+
+    final IndexColorModel palette;
+
+    final SampleModel sampleModel;
+
+    private ColorMapLookup(LookupTable table, IndexColorModel palette, SampleModel sampleModel) {
+        this.table = table;
+        this.palette = palette;
+        this.sampleModel = sampleModel;
+    }
+
+    /** Returns true if the source data type can be handled by a lookup */
+    static boolean isSupported(int dataType) {
+        return dataType == DataBuffer.TYPE_BYTE || dataType == DataBuffer.TYPE_USHORT;
+    }
+
+    /**
+     * Returns the compiled lookup for the given color map, getting it from the cache when possible.
+     *
+     * @param colorMap the style color map
+     * @param noDataValues the source values to be preserved, might be null
+     * @param dataType the source data type, either byte or unsigned short
+     * @param gamma the gamma correction to fold into the palette, NaN or 1 for none
+     * @param builder builds the linear color map in case the lookup needs to be compiled
+     */
+    static ColorMapLookup get(
+            ColorMap colorMap, double[] noDataValues, int dataType, double gamma, Supplier<LinearColorMap> builder) {
+        Key key = Key.of(colorMap, noDataValues, dataType, gamma);
+        if (key == null) {
+            return compile(builder.get(), dataType, gamma);
+        }
+        return CACHE.get(key, k -> compile(builder.get(), dataType, gamma));
+    }
+
+    /** Compiles the color map for the given source data type */
+    static ColorMapLookup compile(LinearColorMap colorMap, int dataType, double gamma) {
+        // classify all the possible values once
+        final int size = dataType == DataBuffer.TYPE_BYTE ? 256 : 65536;
+        BufferedImage ramp = new BufferedImage(
+                256,
+                size / 256,
+                dataType == DataBuffer.TYPE_BYTE ? BufferedImage.TYPE_BYTE_GRAY : BufferedImage.TYPE_USHORT_GRAY);
+        WritableRaster raster = ramp.getRaster();
+        for (int i = 0; i < size; i++) {
+            raster.setSample(i % 256, i / 256, 0, i);
+        }
+        RenderedImage classified = new ImageWorker(ramp).classify(colorMap, null).getRenderedImage();
+        Raster values = classified.getData();
+        IndexColorModel palette = (IndexColorModel) classified.getColorModel();
+        SampleModel sampleModel = classified.getSampleModel();
+
+        LookupTable table;
+        if (sampleModel.getDataType() == DataBuffer.TYPE_BYTE) {
+            byte[] data = new byte[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (byte) values.getSample(i % 256, i / 256, 0);
+            }
+            table = LookupTableFactory.create(data, dataType);
+        } else {
+            short[] data = new short[size];
+            for (int i = 0; i < size; i++) {
+                data[i] = (short) values.getSample(i % 256, i / 256, 0);
+            }
+            table = LookupTableFactory.create(data, true);
+        }
+
+        if (isGammaCorrection(gamma)) {
+            palette = correctGamma(palette, gamma);
+        }
+
+        return new ColorMapLookup(table, palette, sampleModel);
+    }
+
+    /** Returns true if the gamma value requires a correction */
+    static boolean isGammaCorrection(double gamma) {
+        return !Double.isNaN(gamma) && !Double.isInfinite(gamma) && Math.abs(gamma - 1) > 1E-6;
+    }
+
+    /**
+     * Applies the gamma correction to the intensity of the palette colors, the same way {@link ContrastEnhancementNode}
+     * would on the expanded image, preserving hue, saturation and alpha.
+     */
+    static IndexColorModel correctGamma(IndexColorModel palette, double gamma) {
+        final ColorSpace ihs = IHSColorSpaceImageNExt.getInstance();
+        final float min = ihs.getMinValue(0);
+        final float range = ihs.getMaxValue(0) - min;
+        final int size = palette.getMapSize();
+        byte[] r = new byte[size];
+        byte[] g = new byte[size];
+        byte[] b = new byte[size];
+        byte[] a = new byte[size];
+        float[] rgb = new float[3];
+        for (int i = 0; i < size; i++) {
+            rgb[0] = palette.getRed(i) / 255f;
+            rgb[1] = palette.getGreen(i) / 255f;
+            rgb[2] = palette.getBlue(i) / 255f;
+            float[] components = ihs.fromRGB(rgb);
+            double intensity = (components[0] - min) / range;
+            components[0] = (float) (min + range * Math.pow(intensity, gamma));
+            float[] corrected = ihs.toRGB(components);
+            r[i] = toByte(corrected[0]);
+            g[i] = toByte(corrected[1]);
+            b[i] = toByte(corrected[2]);
+            a[i] = (byte) palette.getAlpha(i);
+        }
+        return new IndexColorModel(palette.getPixelSize(), size, r, g, b, a);
+    }
+
+    private static byte toByte(float component) {
+        return (byte) Math.max(0, Math.min(255, Math.round(component * 255)));
+    }
+
+    /** Applies the lookup to the current image of the worker, in a single pass */
+    ImageWorker apply(ImageWorker worker) {
+        RenderedImage image = worker.getRenderedImage();
+        ImageLayout layout = new ImageLayout(image);
+        layout.setColorModel(palette);
+        layout.setSampleModel(sampleModel.createCompatibleSampleModel(image.getTileWidth(), image.getTileHeight()));
+        return worker.setRenderingHint(ImageN.KEY_IMAGE_LAYOUT, layout).lookup(table);
+    }
+
+    /** Cache key, built out of the literal values of the color map */
+    static final class Key {
+
+        final int type;
+
+        final boolean extendedColors;
+
+        final List<Object> entries;
+
+        final double[] noDataValues;
+
+        final int dataType;
+
+        final double gamma;
+
+        private Key(
+                int type,
+                boolean extendedColors,
+                List<Object> entries,
+                double[] noDataValues,
+                int dataType,
+                double gamma) {
+            this.type = type;
+            this.extendedColors = extendedColors;
+            this.entries = entries;
+            this.noDataValues = noDataValues;
+            this.dataType = dataType;
+            this.gamma = gamma;
+        }
+
+        /** Returns a key for the color map, or null if it uses dynamic expressions */
+        static Key of(ColorMap colorMap, double[] noDataValues, int dataType, double gamma) {
+            if (colorMap.getFunction() != null) {
+                return null;
+            }
+            List<Object> entries = new ArrayList<>();
+            for (ColorMapEntry entry : colorMap.getColorMapEntries()) {
+                if (!addValue(entries, entry.getQuantity())
+                        || !addValue(entries, entry.getColor())
+                        || !addValue(entries, entry.getOpacity())) {
+                    return null;
+                }
+                entries.add(entry.getLabel());
+            }
+            return new Key(
+                    colorMap.getType(),
+                    colorMap.getExtendedColors(),
+                    entries,
+                    noDataValues != null ? noDataValues.clone() : null,
+                    dataType,
+                    isGammaCorrection(gamma) ? gamma : Double.NaN);
+        }
+
+        private static boolean addValue(List<Object> values, Expression expression) {
+            if (expression == null) {
+                values.add(null);
+                return true;
+            } else if (expression instanceof Literal literal) {
+                // literals can embed expressions too, e.g. ${env('quantity')}
+                Object value = literal.getValue();
+                if (value instanceof String string && string.contains("${")) {
+                    return false;
+                }
+                values.add(value);
+                return true;
+            }
+            return false;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key other)) {
+                return false;
+            }
+            return type == other.type
+                    && extendedColors == other.extendedColors
+                    && dataType == other.dataType
+                    && Double.compare(gamma, other.gamma) == 0
+                    && entries.equals(other.entries)
+                    && Arrays.equals(noDataValues, other.noDataValues);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(type, extendedColors, entries, Arrays.hashCode(noDataValues), dataType, gamma);
+        }
+    }
+}
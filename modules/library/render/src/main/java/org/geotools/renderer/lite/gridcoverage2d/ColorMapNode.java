@@ -26,7 +26,6 @@
 import org.eclipse.imagen.RenderedOp;
 import org.eclipse.imagen.media.classifier.ColorMapTransform;
 import org.eclipse.imagen.media.classifier.LinearColorMap;
-import org.eclipse.imagen.media.classifier.LinearColorMapElement;
 import org.eclipse.imagen.media.piecewise.Domain1D;
 import org.eclipse.imagen.media.range.NoDataContainer;
 import org.geotools.api.coverage.SampleDimensionType;
@@ -92,6 +91,18 @@ public InternationalString getName() {
      */
     private LinearColorMap colorMapTransform;
 
+    /** The color map to be compiled into a {@link ColorMapLookup}, when the source allows it */
+    private ColorMap colorMap;
+
+    /** The source values to be preserved by the {@link ColorMapLookup} */
+    private double[] noDataValues;
+
+    /** The source data type for the {@link ColorMapLookup} */
+    private int dataType;
+
+    /** The gamma correction folded into the {@link ColorMapLookup} palette */
+    private double gammaValue = Double.NaN;
+
     /**
      * Do we want 16 bits or 8 bits colormap?
      *
@@ -163,41 +174,74 @@ public void visit(ColorMap colorMap) {
 
             // /////////////////////////////////////////////////////////////////////
             //
-            // Main Loop
+            // Single band byte and ushort sources without ROI and NoData can use a
+            // precompiled lookup, cached per style, the others (including gray +
+            // alpha) need a full classification
             //
             // /////////////////////////////////////////////////////////////////////
-            // TODO MAKE THE COLORS CONFIGURABLE
-            final SLDColorMapBuilder builder = new SLDColorMapBuilder();
-            builder.setExtendedColors(this.extendedColors)
-                    .setLinearColorMapType(this.type)
-                    .setNumberColorMapEntries(cmEntries.length)
-                    .setColorForValuesToPreserve(new Color(0, 0, 0, 0))
-                    .setGapsColor(new Color(0, 0, 0, 0));
-            for (ColorMapEntry cmEntry : cmEntries) {
-                builder.addColorMapEntry(cmEntry);
+            final int dataType =
+                    sourceCoverage.getRenderedImage().getSampleModel().getDataType();
+            if (numSD == 1
+                    && ColorMapLookup.isSupported(dataType)
+                    && CoverageUtilities.getROIProperty(sourceCoverage) == null
+                    && CoverageUtilities.getNoDataProperty(sourceCoverage) == null) {
+                this.colorMap = colorMap;
+                this.noDataValues = candidateNoDataValues;
+                this.dataType = dataType;
+            } else {
+                colorMapTransform = buildLinearColorMap(cmEntries, candidateNoDataValues);
             }
 
-            // /////////////////////////////////////////////////////////////////////
-            //
-            // Create the list of no data colorMapTransform domain elements. Note that all of them
-            //
-            // /////////////////////////////////////////////////////////////////////
-            if (candidateNoDataValues != null && candidateNoDataValues.length > 0) {
-                final LinearColorMapElement[] noDataCategories =
-                        new LinearColorMapElement[candidateNoDataValues.length];
-                for (int i = 0; i < noDataCategories.length; i++) {
-                    builder.addValueToPreserve(candidateNoDataValues[i]);
-                }
+        } else this.type = TYPE_NONE;
+    }
+
+    /** Builds the {@link LinearColorMap} out of the color map entries and the values to preserve */
+    private LinearColorMap buildLinearColorMap(final ColorMapEntry[] cmEntries, final double[] candidateNoDataValues) {
+        // /////////////////////////////////////////////////////////////////////
+        //
+        // Main Loop
+        //
+        // /////////////////////////////////////////////////////////////////////
+        // TODO MAKE THE COLORS CONFIGURABLE
+        final SLDColorMapBuilder builder = new SLDColorMapBuilder();
+        builder.setExtendedColors(this.extendedColors)
+                .setLinearColorMapType(this.type)
+                .setNumberColorMapEntries(cmEntries.length)
+                .setColorForValuesToPreserve(new Color(0, 0, 0, 0))
+                .setGapsColor(new Color(0, 0, 0, 0));
+        for (ColorMapEntry cmEntry : cmEntries) {
+            builder.addColorMapEntry(cmEntry);
+        }
+
+        // /////////////////////////////////////////////////////////////////////
+        //
+        // Create the list of no data colorMapTransform domain elements. Note that all of them
+        //
+        // /////////////////////////////////////////////////////////////////////
+        if (candidateNoDataValues != null && candidateNoDataValues.length > 0) {
+            for (double candidateNoDataValue : candidateNoDataValues) {
+                builder.addValueToPreserve(candidateNoDataValue);
             }
+        }
 
-            // /////////////////////////////////////////////////////////////////////
-            //
-            // Create the list of colorMapTransform categories
-            //
-            // /////////////////////////////////////////////////////////////////////
-            colorMapTransform = builder.buildLinearColorMap();
+        // /////////////////////////////////////////////////////////////////////
+        //
+        // Create the list of colorMapTransform categories
+        //
+        // /////////////////////////////////////////////////////////////////////
+        return builder.buildLinearColorMap();
+    }
 
-        } else this.type = TYPE_NONE;
+    /**
+     * Folds a gamma correction of the color mapped image into the palette, returns true if it could be done, false if
+     * the gamma correction has to be applied by a following {@link ContrastEnhancementNode} instead.
+     */
+    boolean fuseGammaCorrection(double gamma) {
+        if (colorMap == null || !ColorMapLookup.isGammaCorrection(gamma)) {
+            return false;
+        }
+        this.gammaValue = gamma;
+        return true;
     }
 
     /** */
@@ -268,7 +312,7 @@ protected GridCoverage2D execute() {
         // now apply the colormap if one exists
         //
         ///////////////////////////////////////////////////////////////////
-        if (colorMapTransform != null) {
+        if (colorMapTransform != null || colorMap != null) {
             // get input image
             final RenderedImage sourceImage = sourceCoverage.getRenderedImage();
             GridCoverageRendererUtilities.ensureSourceNotNull(
@@ -281,7 +325,17 @@ protected GridCoverage2D execute() {
             w.setROI(CoverageUtilities.getROIProperty(sourceCoverage));
             NoDataContainer noDataProperty = CoverageUtilities.getNoDataProperty(sourceCoverage);
             w.setNoData(noDataProperty != null ? noDataProperty.getAsRange() : null);
-            w.classify(colorMapTransform, null);
+            if (colorMap != null) {
+                final ColorMapLookup lookup = ColorMapLookup.get(
+                        colorMap,
+                        noDataValues,
+                        dataType,
+                        gammaValue,
+                        () -> buildLinearColorMap(colorMap.getColorMapEntries(), noDataValues));
+                lookup.apply(w);
+            } else {
+                w.classify(colorMapTransform, null);
+            }
             final RenderedOp classified =
                     w.getRenderedOperation(); // ImageN.create(RasterClassifierOpImage.OPERATION_NAME,pbj);
 
@@ -560,4 +560,14 @@ private RenderedImage performGammaCorrection(ImageWorker worker, final Hints hin
     public String getType() {
         return type;
     }
+
+    /** Returns the gamma correction value, NaN if not set */
+    double getGammaValue() {
+        return gammaValue;
+    }
+
+    /** Sets the gamma correction value, NaN disables the gamma correction */
+    void setGammaValue(double gammaValue) {
+        this.gammaValue = gammaValue;
+    }
 }
@@ -282,6 +282,11 @@ public void visit(RasterSymbolizer rs) {
                     "ContrastEnhancement and ShadedRelief can't be applied at the same time. ");
         }
 
+        // a plain gamma correction of a color mapped image is folded into the color map palette
+        if (!applyShadedRelief && !applyContrastEnhancement && cmNode.fuseGammaCorrection(ceNode.getGammaValue())) {
+            ceNode.setGammaValue(Double.NaN);
+        }
+
         if (applyShadedRelief) {
             // not the usual prev/curr links here, since SR does not need CE processing
             currNode.addSource(cmNode);
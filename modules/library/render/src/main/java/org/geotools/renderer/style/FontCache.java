@@ -33,8 +33,10 @@
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import org.geotools.renderer.util.BoundedCache;
 
 /**
  * Lookup and caches font definitions for faster retrieval
@@ -47,12 +49,22 @@ public class FontCache {
 
     static volatile FontCache defaultInstance;
 
-    /** Set containing the font families known of this machine */
-    volatile Set<String> systemFonts = new HashSet<>();
+    /** The maximum number of font names that could not be loaded, kept to avoid trying to load them again */
+    static final int MAX_MISSING_FONTS = 1000;
+
+    /** Set containing the font families known of this machine, loaded lazily */
+    volatile Set<String> systemFonts;
 
     /** Fonts already loaded */
     Map<String, Font> loadedFonts = new ConcurrentHashMap<>();
 
+    /** Font names that could not be loaded, remote fonts excepted */
+    BoundedCache<String, Boolean> missingFonts = new BoundedCache<>(MAX_MISSING_FONTS);
+
+    final LongAdder hits = new LongAdder();
+
+    final LongAdder misses = new LongAdder();
+
     Map<String, List<String>> alternatives = new ConcurrentHashMap<>();
 
     /**
@@ -61,10 +73,17 @@ public class FontCache {
      * @since 2.6
      */
     public static FontCache getDefaultInstance() {
-        if (defaultInstance == null) {
-            defaultInstance = new FontCache();
+        FontCache result = defaultInstance;
+        if (result == null) {
+            synchronized (FontCache.class) {
+                result = defaultInstance;
+                if (result == null) {
+                    result = new FontCache();
+                    defaultInstance = result;
+                }
+            }
         }
-        return defaultInstance;
+        return result;
     }
 
     public Font getFont(String requestedFont) {
@@ -74,9 +93,16 @@ public Font getFont(String requestedFont) {
             LOGGER.finest("trying to load " + requestedFont);
         }
 
-        if (loadedFonts.containsKey(requestedFont)) {
-            return loadedFonts.get(requestedFont);
+        javaFont = loadedFonts.get(requestedFont);
+        if (javaFont != null) {
+            hits.increment();
+            return javaFont;
+        }
+        if (missingFonts.containsKey(requestedFont)) {
+            hits.increment();
+            return null;
         }
+        misses.increment();
 
         if (LOGGER.isLoggable(Level.FINEST)) {
             LOGGER.finest("not already loaded");
@@ -98,6 +124,10 @@ public Font getFont(String requestedFont) {
             if (LOGGER.isLoggable(Level.WARNING)) {
                 LOGGER.fine("Could not load font " + requestedFont);
             }
+            // remote servers can fail temporarily, try them again on the next lookup
+            if (!requestedFont.startsWith("http")) {
+                missingFonts.put(requestedFont, Boolean.TRUE);
+            }
         } else {
             loadedFonts.put(requestedFont, javaFont);
         }
@@ -181,27 +211,41 @@ private static InputStream getInputStream(String fontUrl) {
      */
     public void registerFont(Font f) {
         loadedFonts.put(f.getName(), f);
+        missingFonts.remove(f.getName());
     }
 
     /** Resets the font loading cache. If any font was manually registered, it will have to be registered again */
     public synchronized void resetCache() {
-        if (systemFonts != null) {
-            systemFonts.clear();
-        }
+        systemFonts = null;
         if (loadedFonts != null) {
             loadedFonts.clear();
         }
+        if (missingFonts != null) {
+            missingFonts.clear();
+        }
         if (alternatives != null) {
             alternatives.clear();
         }
     }
 
+    /** Returns the number of font lookups answered by the cache, including the ones for fonts known to be missing */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Returns the number of font lookups that required loading the font */
+    public long getMisses() {
+        return misses.sum();
+    }
+
     /** Lazily loads up the system fonts cache */
     private Set<String> getSystemFonts() {
-        // make sure we load the known font families once.
-        if (systemFonts.isEmpty()) {
-            synchronized (systemFonts) {
-                if (systemFonts.isEmpty()) {
+        // make sure we load the known font families once, and publish them fully built
+        Set<String> result = systemFonts;
+        if (result == null) {
+            synchronized (this) {
+                result = systemFonts;
+                if (result == null) {
                     GraphicsEnvironment ge = GraphicsEnvironment.getLocalGraphicsEnvironment();
                     Set<String> fontset = new HashSet<>();
 
@@ -216,12 +260,13 @@ private Set<String> getSystemFonts() {
                         LOGGER.finest("there are " + fontset.size() + " fonts available");
                     }
 
-                    systemFonts.addAll(fontset);
+                    result = Collections.unmodifiableSet(fontset);
+                    systemFonts = result;
                 }
             }
         }
 
-        return systemFonts;
+        return result;
     }
 
     /**
@@ -24,4 +24,14 @@ public interface GraphicCache extends ExternalGraphicFactory {
 
     /** Clear the graphic cache. */
     public void clearCache();
+
+    /** Returns the number of lookups that found the graphic in the cache, or -1 if not tracked */
+    default long getCacheHits() {
+        return -1;
+    }
+
+    /** Returns the number of lookups that did not find the graphic in the cache, or -1 if not tracked */
+    default long getCacheMisses() {
+        return -1;
+    }
 }
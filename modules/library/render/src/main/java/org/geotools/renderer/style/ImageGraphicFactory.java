@@ -23,7 +23,6 @@
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
-import java.util.Map;
 import java.util.Set;
 import java.util.logging.Logger;
 import javax.imageio.ImageIO;
@@ -33,7 +32,7 @@
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.data.ows.URLCheckers;
 import org.geotools.image.io.ImageIOExt;
-import org.geotools.util.SoftValueHashMap;
+import org.geotools.renderer.util.BoundedCache;
 import org.geotools.util.logging.Logging;
 
 /**
@@ -47,6 +46,9 @@ public class ImageGraphicFactory implements ExternalGraphicFactory, GraphicCache
     /** The logger for the rendering module. */
     private static final Logger LOGGER = Logging.getLogger(ImageGraphicFactory.class);
 
+    /** The maximum memory used by each of the image caches, in bytes */
+    static final long MAX_MEMORY = 64 * 1024 * 1024;
+
     /**
      * Current way to load images
      *
@@ -57,7 +59,13 @@ public class ImageGraphicFactory implements ExternalGraphicFactory, GraphicCache
      * Expression.evaluate(feature, URI.class) return null
      */
     @SuppressWarnings("URLEqualsHashCode")
-    static Map<URL, BufferedImage> imageCache = Collections.synchronizedMap(new SoftValueHashMap<>());
+    static BoundedCache<URL, BufferedImage> imageCache =
+            new BoundedCache<>(MAX_MEMORY, ImageGraphicFactory::getMemoryUsage);
+
+    /** The images rescaled to the requested sizes */
+    @SuppressWarnings("URLEqualsHashCode")
+    static BoundedCache<ScaledImageKey, BufferedImage> scaledCache =
+            new BoundedCache<>(MAX_MEMORY, ImageGraphicFactory::getMemoryUsage);
 
     /** Holds the of graphic formats supported by the current jdk */
     static Set<String> supportedGraphicFormats = new HashSet<>(Arrays.asList(ImageIO.getReaderMIMETypes()));
@@ -76,7 +84,32 @@ public Icon getIcon(Feature feature, Expression url, String format, int size) {
         // local filesystem location, or a remote server
         URLCheckers.confirm(location);
 
-        // get the image from the cache, or load it
+        // rescaled images are cached too, to avoid rescaling at each request
+        if (size > 0) {
+            ScaledImageKey key = new ScaledImageKey(location, size);
+            BufferedImage scaled = scaledCache.get(key);
+            if (scaled == null) {
+                BufferedImage image = getImage(location);
+                if (image == null) {
+                    return null;
+                }
+                scaled = rescale(image, size);
+                if (scaled != image) {
+                    scaledCache.put(key, scaled);
+                }
+            }
+            return new ImageIcon(scaled);
+        }
+
+        BufferedImage image = getImage(location);
+        if (image == null) {
+            return null;
+        }
+        return new ImageIcon(image);
+    }
+
+    /** Gets the image from the cache, or loads it */
+    private BufferedImage getImage(URL location) {
         BufferedImage image = imageCache.get(location);
         if (image == null) {
             try {
@@ -90,20 +123,30 @@ public Icon getIcon(Feature feature, Expression url, String format, int size) {
             }
             imageCache.put(location, image);
         }
+        return image;
+    }
 
-        // if scaling is needed, perform it
-        if (size > 0 && image.getHeight() != size) {
-            double dsize = size;
+    /** Rescales the image to the given height, if needed */
+    private static BufferedImage rescale(BufferedImage image, int size) {
+        if (image.getHeight() == size) {
+            return image;
+        }
+        double dsize = size;
 
-            double scaleY = dsize / image.getHeight(); // >1 if you're magnifying
-            double scaleX = scaleY; // keep aspect ratio!
+        double scaleY = dsize / image.getHeight(); // >1 if you're magnifying
+        double scaleX = scaleY; // keep aspect ratio!
 
-            AffineTransform scaleTx = AffineTransform.getScaleInstance(scaleX, scaleY);
-            AffineTransformOp ato = new AffineTransformOp(scaleTx, AffineTransformOp.TYPE_BILINEAR);
-            image = ato.filter(image, null);
-        }
+        AffineTransform scaleTx = AffineTransform.getScaleInstance(scaleX, scaleY);
+        AffineTransformOp ato = new AffineTransformOp(scaleTx, AffineTransformOp.TYPE_BILINEAR);
+        return ato.filter(image, null);
+    }
 
-        return new ImageIcon(image);
+    /** Estimates the memory used by the image, in bytes */
+    static long getMemoryUsage(BufferedImage image) {
+        return (long) image.getWidth()
+                * image.getHeight()
+                * image.getColorModel().getPixelSize()
+                / 8;
     }
 
     /** Returs the set of mime types supported by this factory */
@@ -114,10 +157,45 @@ public Set<String> getSupportedMimeTypes() {
     /** Images are cached by the factory, this method can be used to drop the cache */
     public static void resetCache() {
         imageCache.clear();
+        scaledCache.clear();
     }
 
     @Override
     public void clearCache() {
         resetCache();
     }
+
+    @Override
+    public long getCacheHits() {
+        return imageCache.getHits() + scaledCache.getHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return imageCache.getMisses() + scaledCache.getMisses();
+    }
+
+    /** Key for the rescaled images */
+    static final class ScaledImageKey {
+        final URL location;
+
+        final int size;
+
+        ScaledImageKey(URL location, int size) {
+            this.location = location;
+            this.size = size;
+        }
+
+        @Override
+        @SuppressWarnings("URLEqualsHashCode")
+        public boolean equals(Object obj) {
+            return obj instanceof ScaledImageKey other && size == other.size && location.equals(other.location);
+        }
+
+        @Override
+        @SuppressWarnings("URLEqualsHashCode")
+        public int hashCode() {
+            return 31 * location.hashCode() + size;
+        }
+    }
 }
@@ -37,7 +37,9 @@
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Pattern;
@@ -75,10 +77,10 @@
 import org.geotools.renderer.composite.BlendComposite;
 import org.geotools.renderer.composite.BlendComposite.BlendingMode;
 import org.geotools.renderer.style.RandomFillBuilder.PositionRandomizer;
+import org.geotools.renderer.util.BoundedCache;
 import org.geotools.styling.MarkImpl;
 import org.geotools.styling.PointPlacementImpl;
 import org.geotools.util.Range;
-import org.geotools.util.SoftValueHashMap;
 import org.geotools.util.factory.Hints;
 
 /**
@@ -147,16 +149,46 @@ public class SLDStyleFactory {
         ALPHA_COMPOSITE_LOOKUP.put("xor", AlphaComposite.XOR);
     }
 
+    /** The maximum number of symbolizers tracked by each of the symbolizer caches */
+    static final int MAX_CACHED_SYMBOLIZERS = 10000;
+
+    /** The maximum memory used by the rasterized icons cache, in bytes */
+    static final long MAX_RASTERIZED_ICONS_MEMORY = 64 * 1024 * 1024;
+
+    /**
+     * Icons rasterized by {@link #getGraphicStyle(Icon, int)}, shared among all factories, for the icons compared by
+     * value. Avoids painting again the same vector icon (e.g., a SVG) for each feature when the style depends on
+     * attributes. Rotation and opacity are applied when painting the raster, so they are not part of the key.
+     */
+    static final BoundedCache<RasterizedIconKey, BufferedImage> rasterizedIcons =
+            new BoundedCache<>(MAX_RASTERIZED_ICONS_MEMORY, ImageGraphicFactory::getMemoryUsage);
+
+    /** Tells apart the icon classes compared by value from the ones compared by identity */
+    private static final ClassValue<Boolean> VALUE_EQUALITY = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            try {
+                return type.getMethod("equals", Object.class).getDeclaringClass() != Object.class
+                        && type.getMethod("hashCode").getDeclaringClass() != Object.class;
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
     /** Symbolizers that depend on attributes */
-    Map<SymbolizerKey, Boolean> dynamicSymbolizers = new SoftValueHashMap<>();
+    BoundedCache<SymbolizerKey, Boolean> dynamicSymbolizers = new BoundedCache<>(MAX_CACHED_SYMBOLIZERS);
 
     /** Symbolizers that do not depend on attributes */
-    Map<SymbolizerKey, Style2D> staticSymbolizers = new SoftValueHashMap<>();
+    BoundedCache<SymbolizerKey, Style2D> staticSymbolizers = new BoundedCache<>(MAX_CACHED_SYMBOLIZERS);
 
     /** Build a default rendering hint to avoid NPE */
     RenderingHints renderingHints =
             new RenderingHints(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_DEFAULT);
 
+    /** Immutable copy of the rendering hints, taken when they are set, used in the rasterized icons keys */
+    Map<Object, Object> renderingHintsSnapshot = Map.copyOf(renderingHints);
+
     /** Whether to turn all line widths less than 1.5 pixels to 0 to speed up line rendering. */
     private boolean lineOptimizationEnabled = false;
 
@@ -166,9 +198,9 @@ public class SLDStyleFactory {
      */
     private boolean vectorRenderingEnabled = false;
 
-    private long hits;
+    private final LongAdder hits = new LongAdder();
 
-    private long requests;
+    private final LongAdder requests = new LongAdder();
 
     /** Holds value of property mapScaleDenominator. */
     private double mapScaleDenominator = Double.NaN;
@@ -190,6 +222,7 @@ public RenderingHints getRenderingHints() {
     public void setRenderingHints(RenderingHints renderingHints) {
         if (renderingHints == null) return;
         this.renderingHints = renderingHints;
+        this.renderingHintsSnapshot = Map.copyOf(renderingHints);
     }
 
     /**
@@ -229,15 +262,30 @@ public void setVectorRenderingEnabled(boolean vectorRenderingEnabled) {
     }
 
     public double getHitRatio() {
-        return hits / (double) requests;
+        return getHits() / (double) getRequests();
     }
 
     public long getHits() {
-        return hits;
+        return hits.sum();
     }
 
     public long getRequests() {
-        return requests;
+        return requests.sum();
+    }
+
+    /** Returns the number of icon rasterizations avoided by the rasterized icons cache, shared by all factories */
+    public static long getRasterizedIconHits() {
+        return rasterizedIcons.getHits();
+    }
+
+    /** Returns the number of icons rasterized and added to the rasterized icons cache, shared by all factories */
+    public static long getRasterizedIconMisses() {
+        return rasterizedIcons.getMisses();
+    }
+
+    /** Drops the rasterized icons cache, shared by all factories */
+    public static void clearRasterizedIcons() {
+        rasterizedIcons.clear();
     }
 
     /**
@@ -272,10 +320,10 @@ public Style2D createStyle(Object drawMe, Symbolizer symbolizer, Range scaleRang
         SymbolizerKey key = new SymbolizerKey(symbolizer, scaleRange);
         Style2D style = staticSymbolizers.get(key);
 
-        requests++;
+        requests.increment();
 
         if (style != null) {
-            hits++;
+            hits.increment();
         } else {
             style = createStyleInternal(drawMe, symbolizer, scaleRange);
 
@@ -1209,7 +1257,18 @@ private GraphicStyle2D getGraphicStyle(Icon icon, int border) {
             }
         }
 
-        // otherwise have the icon draw itself on a BufferedImage
+        // icons compared by value can share the rasterized version
+        if (VALUE_EQUALITY.get(icon.getClass())) {
+            RasterizedIconKey key = new RasterizedIconKey(icon, border, renderingHintsSnapshot);
+            BufferedImage result = rasterizedIcons.get(key, k -> rasterize(icon, border));
+            return new GraphicStyle2D(result, 0, border);
+        }
+
+        return new GraphicStyle2D(rasterize(icon, border), 0, border);
+    }
+
+    /** Has the icon draw itself on a BufferedImage */
+    private BufferedImage rasterize(Icon icon, int border) {
         BufferedImage result = new BufferedImage(
                 icon.getIconWidth() + border * 2, icon.getIconHeight() + border * 2, BufferedImage.TYPE_4BYTE_ABGR);
         Graphics2D g = (Graphics2D) result.getGraphics();
@@ -1217,7 +1276,7 @@ private GraphicStyle2D getGraphicStyle(Icon icon, int border) {
         icon.paintIcon(null, g, 1, 1);
         g.dispose();
 
-        return new GraphicStyle2D(result, 0, border);
+        return result;
     }
 
     /**
@@ -1552,6 +1611,37 @@ private int doubleHash(double value) {
         }
     }
 
+    /**
+     * Key for the rasterized icons cache, the icon is compared by value. The rendering hints are an immutable copy, as
+     * the factory ones can be modified after the key is cached
+     */
+    static final class RasterizedIconKey {
+        final Icon icon;
+
+        final int border;
+
+        final Map<Object, Object> hints;
+
+        RasterizedIconKey(Icon icon, int border, Map<Object, Object> hints) {
+            this.icon = icon;
+            this.border = border;
+            this.hints = hints;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof RasterizedIconKey other
+                    && border == other.border
+                    && icon.equals(other.icon)
+                    && hints.equals(other.hints);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(icon, border, hints);
+        }
+    }
+
     private <T> List<T> evalToList(Expression exp, Object f, List<T> fallback) {
         if (exp == null) {
             return fallback;
@@ -0,0 +1,258 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.util;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * A concurrent cache with size based eviction, meant for the caches shared by all the rendering threads (graphics,
+ * fonts, styles).
+ *
+ * <p>Lookups do not lock, they just mark the entry as recently used. When the total weight of the entries goes beyond
+ * the maximum, a single thread evicts the entries that have not been used since the previous eviction pass
+ * (second-chance policy), while the others keep going without waiting. The cache tracks hits, misses and evictions.
+ *
+ * <p>Null keys and values are not supported.
+ *
+ * @param <K> the key type
+ * @param <V> the value type
+ */
+public class BoundedCache<K, V> {
+
+    static final class Entry<V> {
+        final V value;
+
+        final long weight;
+
+        volatile boolean used;
+
+        Entry(V value, long weight) {
+            this.value = value;
+            this.weight = weight;
+        }
+    }
+
+    final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+    final long maxWeight;
+
+    final ToLongFunction<? super V> weigher;
+
+    final AtomicLong weight = new AtomicLong();
+
+    final ReentrantLock evictionLock = new ReentrantLock();
+
+    final LongAdder hits = new LongAdder();
+
+    final LongAdder misses = new LongAdder();
+
+    final LongAdder evictions = new LongAdder();
+
+    /** Builds a cache holding at most the given number of entries */
+    public BoundedCache(long maxEntries) {
+        this(maxEntries, v -> 1);
+    }
+
+    /**
+     * Builds a cache whose entries total weight is kept below the given maximum
+     *
+     * @param maxWeight the maximum total weight
+     * @param weigher computes the weight of a value, e.g., its memory footprint
+     */
+    public BoundedCache(long maxWeight, ToLongFunction<? super V> weigher) {
+        if (maxWeight <= 0) {
+            throw new IllegalArgumentException("The maximum weight must be positive, got " + maxWeight);
+        }
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+    }
+
+    /** Returns the value associated to the key, or null if not found */
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        if (!entry.used) {
+            entry.used = true;
+        }
+        return entry.value;
+    }
+
+    /**
+     * Returns the value associated to the key, loading it if missing. The loader runs without holding any lock, so
+     * concurrent misses on the same key might load the value more than once, the first one stored wins. Null values
+     * returned by the loader are not cached.
+     */
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        V value = get(key);
+        if (value == null) {
+            value = loader.apply(key);
+            if (value != null) {
+                V previous = putIfAbsent(key, value);
+                if (previous != null) {
+                    value = previous;
+                }
+            }
+        }
+        return value;
+    }
+
+    /** Associates the value to the key, returns the previous value, if any */
+    public V put(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value));
+        Entry<V> previous = entries.put(key, entry);
+        added(entry, previous);
+        return previous != null ? previous.value : null;
+    }
+
+    /** Associates the value to the key, unless already present. Returns the current value, or null if there was none */
+    public V putIfAbsent(K key, V value) {
+        Entry<V> entry = new Entry<>(value, weigher.applyAsLong(value));
+        Entry<V> previous = entries.putIfAbsent(key, entry);
+        if (previous != null) {
+            return previous.value;
+        }
+        added(entry, null);
+        return null;
+    }
+
+    private void added(Entry<V> entry, Entry<V> previous) {
+        long delta = entry.weight - (previous != null ? previous.weight : 0);
+        if (weight.addAndGet(delta) > maxWeight) {
+            evict();
+        }
+    }
+
+    /** Removes the value associated to the key, returns it, if any */
+    public V remove(K key) {
+        Entry<V> entry = entries.remove(key);
+        if (entry == null) {
+            return null;
+        }
+        weight.addAndGet(-entry.weight);
+        return entry.value;
+    }
+
+    /** Returns true if the cache contains the key (does not count as an access) */
+    public boolean containsKey(K key) {
+        return entries.containsKey(key);
+    }
+
+    /** Removes all the entries */
+    public void clear() {
+        Iterator<K> keys = entries.keySet().iterator();
+        while (keys.hasNext()) {
+            remove(keys.next());
+        }
+    }
+
+    /** Evicts the entries not used recently, until the weight goes back below the maximum */
+    void evict() {
+        do {
+            // someone else is already evicting, it will check the weight again once done
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+            try {
+                // the first pass evicts the entries not used since the last eviction, the second whatever is left
+                for (int pass = 0; pass < 2 && weight.get() > maxWeight; pass++) {
+                    Iterator<Map.Entry<K, Entry<V>>> it = entries.entrySet().iterator();
+                    while (it.hasNext() && weight.get() > maxWeight) {
+                        Map.Entry<K, Entry<V>> e = it.next();
+                        Entry<V> entry = e.getValue();
+                        if (entry.used) {
+                            entry.used = false;
+                        } else if (entries.remove(e.getKey(), entry)) {
+                            weight.addAndGet(-entry.weight);
+                            evictions.increment();
+                        }
+                    }
+                }
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (weight.get() > maxWeight);
+    }
+
+    /** Returns the number of entries in the cache */
+    public int size() {
+        return entries.size();
+    }
+
+    /** Returns true if the cache is empty */
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    /** Returns the total weight of the entries in the cache */
+    public long getWeight() {
+        return weight.get();
+    }
+
+    /** Returns the maximum total weight of the entries */
+    public long getMaxWeight() {
+        return maxWeight;
+    }
+
+    /** Returns the number of lookups that found a value */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** Returns the number of lookups that did not find a value */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** Returns the number of entries evicted to respect the maximum weight */
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /** Returns the ratio of lookups that found a value, or NaN if no lookup has been performed yet */
+    public double getHitRatio() {
+        long hits = getHits();
+        return hits / (double) (hits + getMisses());
+    }
+
+    @Override
+    public String toString() {
+        return "BoundedCache[size="
+                + size()
+                + ", weight="
+                + getWeight()
+                + "/"
+                + maxWeight
+                + ", hits="
+                + getHits()
+                + ", misses="
+                + getMisses()
+                + ", evictions="
+                + getEvictions()
+                + "]";
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.geotools.api.data.Query;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.lite.StreamingRenderer;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+public class MetaTileTest {
+
+    static final ReferencedEnvelope AREA = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+    @Test
+    public void testGrid() {
+        MetaTile metaTile = new MetaTile(AREA, 2, 2, 50, 50, 10);
+        assertEquals(new Rectangle(0, 0, 120, 120), metaTile.getPaintArea());
+        // 0.1 units per pixel, 10 pixels of gutter
+        ReferencedEnvelope rendered = metaTile.getRenderingArea();
+        assertEquals(-1, rendered.getMinX(), 1e-9);
+        assertEquals(11, rendered.getMaxY(), 1e-9);
+        // rows are counted from the top
+        assertEquals(new Rectangle(60, 10, 50, 50), metaTile.getTilePixels(1, 0));
+        ReferencedEnvelope tile = metaTile.getTileArea(1, 0);
+        assertEquals(5, tile.getMinX(), 1e-9);
+        assertEquals(10, tile.getMaxX(), 1e-9);
+        assertEquals(5, tile.getMinY(), 1e-9);
+        assertEquals(10, tile.getMaxY(), 1e-9);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testNegativeGutter() {
+        new MetaTile(AREA, 2, 2, 50, 50, -1);
+    }
+
+    @Test
+    public void testPaintMetaTile() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("squares", "geom:Polygon:srid=4326");
+        // a square covering the top right tile only
+        SimpleFeatureCollection features = DataUtilities.collection(SimpleFeatureBuilder.build(
+                type, new Object[] {new WKTReader().read("POLYGON((5 5, 5 10, 10 10, 10 5, 5 5))")}, null));
+        AtomicInteger queries = new AtomicInteger();
+        CollectionFeatureSource source = new CollectionFeatureSource(features) {
+            @Override
+            public SimpleFeatureCollection getFeatures(Query query) {
+                queries.incrementAndGet();
+                return super.getFeatures(query);
+            }
+        };
+        StyleBuilder sb = new StyleBuilder();
+        MapContent mc = new MapContent();
+        mc.addLayer(new FeatureLayer(source, sb.createStyle(sb.createPolygonSymbolizer(Color.RED))));
+        try {
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            BufferedImage[][] tiles = renderer.paintMetaTile(
+                    new MetaTile(AREA, 2, 2, 50, 50, 10), BufferedImage.TYPE_INT_ARGB, Color.WHITE);
+
+            // the data has been read once for the whole meta tile
+            assertEquals(1, queries.get());
+            assertEquals(2, tiles.length);
+            assertEquals(2, tiles[0].length);
+            for (BufferedImage[] row : tiles) {
+                for (BufferedImage tile : row) {
+                    assertEquals(50, tile.getWidth());
+                    assertEquals(50, tile.getHeight());
+                }
+            }
+            assertEquals(Color.RED.getRGB(), tiles[0][1].getRGB(25, 25));
+            assertEquals(Color.WHITE.getRGB(), tiles[0][0].getRGB(25, 25));
+            assertEquals(Color.WHITE.getRGB(), tiles[1][1].getRGB(25, 25));
+            assertEquals(Color.WHITE.getRGB(), tiles[1][0].getRGB(25, 25));
+        } finally {
+            mc.dispose();
+        }
+    }
+}
@@ -261,6 +261,30 @@ public void testFollowLineAutoWrap() throws Exception {
         assertEquals(0, item.getAutoWrap());
     }
 
+    @Test
+    public void testStatistics() throws Exception {
+        Font font = sb.createFont("Bitstream Vera Sans", 12);
+        TextSymbolizer ts = sb.createTextSymbolizer(Color.BLACK, font, "name");
+        Geometry point = geometry("POINT(50 50)");
+        addToCache(cache, ts, createFeature("label1", point));
+        addToCache(cache, ts, createFeature("label2", point));
+        addToCache(cache, ts, createFeature("label3", geometry("POINT(50 10)")));
+        cache.endLayer(LAYER_ID, null, null);
+
+        BufferedImage bi = new BufferedImage(100, 100, BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D graphics = bi.createGraphics();
+        assertNull(cache.getStatistics());
+        cache.end(graphics, new Rectangle(0, 0, 100, 100));
+        graphics.dispose();
+
+        // the second label on the same point conflicts with the first one
+        LabelingStatistics statistics = cache.getStatistics();
+        assertEquals(3, statistics.getLabels());
+        assertEquals(2, statistics.getPlaced());
+        assertEquals(3, statistics.getCandidates());
+        assertEquals(1, statistics.getRejected());
+    }
+
     private SimpleFeature createFeature(String label, Geometry geom) {
         fb.add(label);
         fb.add(geom);
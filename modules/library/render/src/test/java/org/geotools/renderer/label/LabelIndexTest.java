@@ -0,0 +1,97 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.label;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.geom.Rectangle2D;
+import java.util.List;
+import org.junit.Test;
+
+public class LabelIndexTest {
+
+    static Rectangle2D rect(double x, double y, double w, double h) {
+        return new Rectangle2D.Double(x, y, w, h);
+    }
+
+    @Test
+    public void testConflicts() {
+        LabelIndex index = new LabelIndex();
+        assertFalse(index.labelsWithinDistance(rect(10, 10, 50, 10), 0));
+        index.addLabel(null, rect(10, 10, 50, 10));
+
+        assertTrue(index.labelsWithinDistance(rect(40, 15, 50, 10), 0));
+        // across cell borders
+        assertTrue(index.labelsWithinDistance(rect(55, 5, 100, 100), 0));
+        assertFalse(index.labelsWithinDistance(rect(70, 10, 50, 10), 0));
+        assertFalse(index.labelsWithinDistance(rect(-100, -100, 50, 10), 0));
+        // negative distance disables the check
+        assertFalse(index.labelsWithinDistance(rect(40, 15, 50, 10), -1));
+
+        assertEquals(5, index.getChecks());
+        assertEquals(2, index.getConflicts());
+    }
+
+    @Test
+    public void testDistance() {
+        LabelIndex index = new LabelIndex(16);
+        index.addLabel(null, rect(0, 0, 10, 10));
+        assertFalse(index.labelsWithinDistance(rect(20, 0, 10, 10), 5));
+        assertTrue(index.labelsWithinDistance(rect(20, 0, 10, 10), 10));
+    }
+
+    @Test
+    public void testReservedArea() {
+        LabelIndex index = new LabelIndex(10);
+        // spans way more than the cells bucketed
+        index.reserveArea(List.of(rect(0, 0, 1000, 1000)));
+        assertEquals(1, index.large.size());
+        assertTrue(index.cells.isEmpty());
+        assertTrue(index.labelsWithinDistance(rect(500, 500, 10, 10), 0));
+        assertFalse(index.labelsWithinDistance(rect(1100, 500, 10, 10), 0));
+    }
+
+    @Test
+    public void testNeighbourhood() {
+        LabelIndex index = new LabelIndex();
+        index.addLabel(null, rect(100, 100, 20, 10));
+        index.addLabel(null, rect(300, 300, 20, 10));
+
+        LabelIndex neighbourhood = index.getNeighbourhood(rect(50, 50, 100, 100));
+        assertEquals(1, ((LabelIndex.Neighbourhood) neighbourhood).items.size());
+        assertTrue(neighbourhood.labelsWithinDistance(rect(110, 105, 20, 10), 0));
+        assertFalse(neighbourhood.labelsWithinDistance(rect(60, 60, 20, 10), 0));
+        // outside of the neighbourhood, checked against the full index
+        assertTrue(neighbourhood.labelsWithinDistance(rect(140, 140, 200, 200), 0));
+
+        // labels added to the neighbourhood end up in the index too
+        neighbourhood.addLabel(null, rect(60, 60, 20, 10));
+        assertTrue(neighbourhood.labelsWithinDistance(rect(65, 65, 20, 10), 0));
+        assertTrue(index.labelsWithinDistance(rect(65, 65, 20, 10), 0));
+
+        assertEquals(5, index.getChecks());
+        assertEquals(4, index.getConflicts());
+        assertEquals(index.getChecks(), neighbourhood.getChecks());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testInvalidCellSize() {
+        new LabelIndex(0);
+    }
+}
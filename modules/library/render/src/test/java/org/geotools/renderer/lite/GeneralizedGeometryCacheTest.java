@@ -0,0 +1,171 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.Map;
+import org.geotools.api.data.SimpleFeatureStore;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.memory.MemoryDataStore;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.image.test.ImageAssert;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.Point;
+import org.locationtech.jts.io.WKTReader;
+
+public class GeneralizedGeometryCacheTest {
+
+    static final FilterFactory FF = CommonFactoryFinder.getFilterFactory();
+
+    static final ReferencedEnvelope BOUNDS = new ReferencedEnvelope(-10, 10, -10, 10, DefaultGeographicCRS.WGS84);
+
+    MemoryDataStore store;
+
+    SimpleFeatureStore source;
+
+    Geometry circle;
+
+    @Before
+    public void setup() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("circles", "geom:Polygon:srid=4326,name:String");
+        store = new MemoryDataStore(type);
+        GeometryFactory gf = new GeometryFactory();
+        Point center = gf.createPoint(new Coordinate(0, 0));
+        // lots of vertices, most of them not visible at the rendering resolution
+        circle = center.buffer(8, 500);
+        Geometry small = new WKTReader().read("POLYGON((-9 -9, -9 -8, -8 -8, -8 -9, -9 -9))");
+        store.addFeature(SimpleFeatureBuilder.build(type, new Object[] {circle, "circle"}, "circles.1"));
+        store.addFeature(SimpleFeatureBuilder.build(type, new Object[] {small, "small"}, "circles.2"));
+        source = (SimpleFeatureStore) store.getFeatureSource("circles");
+    }
+
+    GeneralizedGeometryCache.Scope scope(double span) {
+        return GeneralizedGeometryCache.getScope(
+                source, DefaultGeographicCRS.WGS84, DefaultGeographicCRS.WGS84, span, span);
+    }
+
+    @Test
+    public void testScopeBuckets() {
+        // spans within the same power of two share the cached geometries
+        assertEquals(scope(0.3), scope(0.45));
+        assertEquals(0.25, scope(0.3).decimator.getSpanX(), 0d);
+        assertNotEquals(scope(0.3), scope(0.6));
+        assertNull(scope(0));
+        assertNull(scope(Double.NaN));
+    }
+
+    @Test
+    public void testEviction() throws Exception {
+        Geometry geometry = new WKTReader().read("LINESTRING(0 0, 1 1, 2 2)");
+        long size = GeneralizedGeometryCache.estimateSize(geometry);
+        GeneralizedGeometryCache cache = new GeneralizedGeometryCache(size * 2);
+        GeneralizedGeometryCache.Scope scope = scope(1);
+        cache.put(scope, "a", "", geometry);
+        cache.put(scope, "b", "", geometry);
+        // touch a, b becomes the least recently used
+        assertSame(geometry, cache.get(scope, "a", ""));
+        cache.put(scope, "c", "", geometry);
+        assertEquals(2, cache.size());
+        assertEquals(size * 2, cache.getMemoryUsage());
+        assertNull(cache.get(scope, "b", ""));
+        assertSame(geometry, cache.get(scope, "c", ""));
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+
+        cache.clear();
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getMemoryUsage());
+    }
+
+    @Test
+    public void testInvalidation() throws Exception {
+        Geometry geometry = new WKTReader().read("LINESTRING(0 0, 1 1, 2 2)");
+        GeneralizedGeometryCache cache = new GeneralizedGeometryCache();
+        cache.register(source);
+        // registering again does not duplicate the notifications
+        cache.register(source);
+        GeneralizedGeometryCache.Scope scope = scope(1);
+        cache.put(scope, "circles.1", "", geometry);
+        cache.put(scope, "circles.2", "", geometry);
+
+        source.modifyFeatures("name", "modified", FF.id(FF.featureId("circles.2")));
+        assertSame(geometry, cache.get(scope, "circles.1", ""));
+        assertNull(cache.get(scope, "circles.2", ""));
+
+        // a change not targeting specific features evicts all of them
+        source.modifyFeatures("name", "all", FF.equals(FF.property("name"), FF.literal("circle")));
+        assertEquals(0, cache.size());
+    }
+
+    BufferedImage render(GeneralizedGeometryCache cache) throws Exception {
+        StyleBuilder sb = new StyleBuilder();
+        MapContent mc = new MapContent();
+        mc.addLayer(new FeatureLayer(source, sb.createStyle(sb.createPolygonSymbolizer(Color.RED, Color.BLACK, 1))));
+        try {
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            if (cache != null) {
+                renderer.setRendererHints(Map.of(StreamingRenderer.GENERALIZATION_CACHE_KEY, cache));
+            }
+            return RendererBaseTest.renderImage(renderer, BOUNDS, null);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testRendering() throws Exception {
+        BufferedImage reference = render(null);
+
+        GeneralizedGeometryCache cache = new GeneralizedGeometryCache();
+        BufferedImage first = render(cache);
+        assertEquals(2, cache.size());
+        assertEquals(0, cache.getHits());
+        BufferedImage second = render(cache);
+        assertEquals(2, cache.getHits());
+        // the cached geometries are generalized, way smaller than the full resolution ones
+        assertTrue(cache.getMemoryUsage() < GeneralizedGeometryCache.estimateSize(circle));
+        ImageAssert.assertEquals(reference, first, 50);
+        ImageAssert.assertEquals(reference, second, 50);
+
+        // edits evict the modified features
+        SimpleFeature circle = DataUtilities.first(source.getFeatures(FF.id(FF.featureId("circles.1"))));
+        source.modifyFeatures(
+                "geom", ((Geometry) circle.getDefaultGeometry()).buffer(1), FF.id(circle.getIdentifier()));
+        assertEquals(1, cache.size());
+    }
+}
@@ -22,6 +22,7 @@
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
+import java.awt.Color;
 import java.lang.reflect.Proxy;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -34,15 +35,20 @@
 import org.geotools.api.filter.And;
 import org.geotools.api.filter.Filter;
 import org.geotools.api.filter.Or;
+import org.geotools.api.filter.PropertyIsBetween;
 import org.geotools.api.filter.PropertyIsEqualTo;
+import org.geotools.api.filter.PropertyIsGreaterThan;
+import org.geotools.api.filter.PropertyIsLessThan;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.api.filter.expression.Literal;
 import org.geotools.api.filter.expression.PropertyName;
 import org.geotools.data.DataTestCase;
+import org.geotools.data.DataUtilities;
 import org.geotools.feature.simple.SimpleFeatureBuilder;
 import org.geotools.feature.simple.SimpleFeatureTypeBuilder;
 import org.geotools.filter.function.FilterFunction_strConcat;
 import org.geotools.filter.function.InFunction;
+import org.geotools.renderer.lite.MemoryFilterOptimizer.ConvertingLiteral;
 import org.geotools.renderer.lite.MemoryFilterOptimizer.IndexPropertyName;
 import org.junit.Test;
 import org.mockito.Mockito;
@@ -248,4 +254,86 @@ public void testInFunctionOptimizerExpression() throws Exception {
         assertTrue(inLiterals.contains("r2"));
         assertTrue(inLiterals.contains("r3"));
     }
+
+    @Test
+    public void testLiteralsAlignedToAttributeType() throws Exception {
+        MemoryFilterOptimizer optimizer = new MemoryFilterOptimizer(roadType, Collections.emptySet());
+
+        PropertyIsGreaterThan greater = (PropertyIsGreaterThan)
+                ff.greater(ff.property("id"), ff.literal("0")).accept(optimizer, null);
+        assertTrue(greater.getExpression1() instanceof IndexPropertyName);
+        assertEquals(0, ((Literal) greater.getExpression2()).getValue());
+        assertTrue(greater.evaluate(roadFeatures[0]));
+
+        // works on both sides
+        PropertyIsEqualTo equal = (PropertyIsEqualTo)
+                ff.equal(ff.literal("1"), ff.property("id"), false).accept(optimizer, null);
+        assertEquals(1, ((Literal) equal.getExpression1()).getValue());
+        assertTrue(equal.evaluate(roadFeatures[0]));
+
+        PropertyIsBetween between = (PropertyIsBetween)
+                ff.between(ff.property("id"), ff.literal("0"), ff.literal("5")).accept(optimizer, null);
+        assertEquals(0, ((Literal) between.getLowerBoundary()).getValue());
+        assertEquals(5, ((Literal) between.getUpperBoundary()).getValue());
+        assertTrue(between.evaluate(roadFeatures[0]));
+
+        // not a safe conversion, left as is
+        PropertyIsLessThan less = (PropertyIsLessThan)
+                ff.less(ff.property("id"), ff.literal("1.5")).accept(optimizer, null);
+        assertEquals("1.5", ((Literal) less.getExpression2()).getValue());
+        assertTrue(less.evaluate(roadFeatures[0]));
+    }
+
+    @Test
+    public void testStringAttributeNotAligned() throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("codes", "code:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        for (String code : Arrays.asList("5", "05", "5.0", " 5", "9", "10", "abc")) {
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {code}, null));
+        }
+        List<Filter> filters = Arrays.asList(
+                ff.equal(ff.property("code"), ff.literal(5), false),
+                ff.notEqual(ff.property("code"), ff.literal(5), false),
+                ff.greater(ff.literal(10), ff.property("code")),
+                ff.less(ff.property("code"), ff.literal(10)),
+                ff.greaterOrEqual(ff.property("code"), ff.literal(5.0)),
+                ff.between(ff.property("code"), ff.literal(1), ff.literal(9)));
+
+        MemoryFilterOptimizer optimizer = new MemoryFilterOptimizer(type, Collections.emptySet());
+        for (Filter filter : filters) {
+            Filter optimized = (Filter) filter.accept(optimizer, null);
+            for (SimpleFeature feature : features) {
+                assertEquals(
+                        filter + " on " + feature.getAttribute("code"),
+                        filter.evaluate(feature),
+                        optimized.evaluate(feature));
+            }
+        }
+
+        // the numeric literal is not turned into a string
+        PropertyIsEqualTo equal =
+                (PropertyIsEqualTo) ff.equal(ff.property("code"), ff.literal(5), false).accept(optimizer, null);
+        assertEquals(5, ((Literal) equal.getExpression2()).getValue());
+        assertTrue(equal.evaluate(features.get(1)));
+    }
+
+    @Test
+    public void testConvertingLiteral() throws Exception {
+        MemoryFilterOptimizer optimizer = new MemoryFilterOptimizer(roadType, Collections.emptySet());
+        Literal literal = (Literal) ff.literal("#FF0000").accept(optimizer, null);
+        assertTrue(literal instanceof ConvertingLiteral);
+        assertEquals("#FF0000", literal.getValue());
+        // equality is symmetric
+        assertFalse(literal.equals(ff.literal("#FF0000")));
+        assertEquals(literal, ff.literal("#FF0000").accept(optimizer, null));
+
+        // only strings need to cache their conversions
+        assertFalse(ff.literal(10).accept(optimizer, null) instanceof ConvertingLiteral);
+
+        Color color = literal.evaluate(null, Color.class);
+        assertEquals(Color.RED, color);
+        assertSame(color, literal.evaluate(null, Color.class));
+        assertEquals("#FF0000", literal.evaluate(null, String.class));
+        assertEquals("#FF0000", literal.evaluate(null));
+    }
 }
@@ -0,0 +1,196 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.SimpleFeatureSource;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.data.simple.SimpleFeatureCollection;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.styling.StyleBuilder;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Polygon;
+import org.locationtech.jts.io.WKTReader;
+
+public class ParallelLayersTest {
+
+    static final Color[] COLORS = {Color.RED, Color.GREEN, Color.BLUE, Color.YELLOW, Color.CYAN};
+
+    SimpleFeatureType type;
+
+    ReferencedEnvelope bounds;
+
+    ExecutorService pool;
+
+    @Before
+    public void setUp() throws Exception {
+        type = DataUtilities.createType("squares", "geom:Polygon:srid=4326,name:String");
+        bounds = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    /** A collection of squares shifted by the layer index, all overlapping in the map center */
+    SimpleFeatureCollection squares(int layer) throws Exception {
+        List<SimpleFeature> features = new ArrayList<>();
+        WKTReader reader = new WKTReader();
+        for (int i = 0; i < 20; i++) {
+            double x = layer * 0.5 + (i % 5) * 0.2;
+            double y = layer * 0.5 + (i / 5) * 0.2;
+            Polygon square = (Polygon) reader.read("POLYGON((" + x + " " + y + ", " + x + " " + (y + 5) + ", " + (x + 5)
+                    + " " + (y + 5) + ", " + (x + 5) + " " + y + ", " + x + " " + y + "))");
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {square, "l" + layer + "f" + i}, null));
+        }
+        return DataUtilities.collection(features);
+    }
+
+    MapContent buildMap(SimpleFeatureSource... sources) {
+        StyleBuilder sb = new StyleBuilder();
+        MapContent mc = new MapContent();
+        for (int i = 0; i < sources.length; i++) {
+            Style style = sb.createStyle(sb.createPolygonSymbolizer(COLORS[i % COLORS.length], Color.BLACK, 1));
+            style.featureTypeStyles()
+                    .get(0)
+                    .rules()
+                    .get(0)
+                    .symbolizers()
+                    .add(sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 10), "name"));
+            mc.addLayer(new FeatureLayer(sources[i], style));
+        }
+        return mc;
+    }
+
+    BufferedImage render(MapContent mc, Map<Object, Object> hints) {
+        StreamingRenderer renderer = new StreamingRenderer();
+        renderer.setMapContent(mc);
+        renderer.setRendererHints(hints);
+        renderer.setThreadPool(pool);
+        return RendererBaseTest.renderImage(renderer, bounds, null);
+    }
+
+    void assertSameImage(BufferedImage expected, BufferedImage actual) {
+        for (int x = 0; x < expected.getWidth(); x++) {
+            for (int y = 0; y < expected.getHeight(); y++) {
+                assertEquals("Pixel differs at " + x + "," + y, expected.getRGB(x, y), actual.getRGB(x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testSameOutputAsSequential() throws Exception {
+        SimpleFeatureSource[] sources = new SimpleFeatureSource[5];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new CollectionFeatureSource(squares(i));
+        }
+        MapContent mc = buildMap(sources);
+        pool = Executors.newFixedThreadPool(4);
+        try {
+            BufferedImage sequential = render(mc, new HashMap<>());
+
+            Map<Object, Object> hints = new HashMap<>();
+            hints.put(StreamingRenderer.PARALLEL_LAYERS_KEY, 3);
+            // a tiny backlog, to have the layers read ahead wait for the painter
+            hints.put(StreamingRenderer.LAYER_BACKLOG_KEY, 2);
+            BufferedImage parallel = render(mc, hints);
+
+            assertSameImage(sequential, parallel);
+            // the last layer is painted on top
+            assertEquals(COLORS[4].getRGB(), parallel.getRGB(99, 129));
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testSingleThreadPool() throws Exception {
+        SimpleFeatureSource[] sources = new SimpleFeatureSource[3];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new CollectionFeatureSource(squares(i));
+        }
+        MapContent mc = buildMap(sources);
+        // the painter takes the only thread, the layers get read by the calling thread
+        pool = Executors.newSingleThreadExecutor();
+        try {
+            BufferedImage sequential = render(mc, new HashMap<>());
+            BufferedImage parallel = render(mc, Map.of(StreamingRenderer.PARALLEL_LAYERS_KEY, 3));
+            assertSameImage(sequential, parallel);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testLayersReadConcurrently() throws Exception {
+        // each layer read waits for the others to start, which only happens if they are read at the same time
+        CountDownLatch latch = new CountDownLatch(3);
+        List<Boolean> together = new ArrayList<>();
+        SimpleFeatureSource[] sources = new SimpleFeatureSource[3];
+        for (int i = 0; i < sources.length; i++) {
+            sources[i] = new CollectionFeatureSource(squares(i)) {
+                @Override
+                public SimpleFeatureCollection getFeatures(Query query) {
+                    latch.countDown();
+                    try {
+                        boolean reached = latch.await(10, TimeUnit.SECONDS);
+                        synchronized (together) {
+                            together.add(reached);
+                        }
+                    } catch (InterruptedException e) {
+                        throw new RuntimeException(e);
+                    }
+                    return super.getFeatures(query);
+                }
+            };
+        }
+        MapContent mc = buildMap(sources);
+        pool = Executors.newFixedThreadPool(3);
+        try {
+            BufferedImage image = render(mc, Map.of(StreamingRenderer.PARALLEL_LAYERS_KEY, 3));
+            assertEquals(List.of(true, true, true), together);
+            assertEquals(COLORS[2].getRGB(), image.getRGB(99, 129));
+        } finally {
+            mc.dispose();
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Mark;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.MapContent;
+import org.geotools.renderer.RenderListener;
+import org.geotools.renderer.style.LineStyle2D;
+import org.geotools.renderer.style.MarkStyle2D;
+import org.geotools.renderer.style.Style2D;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+import org.locationtech.jts.geom.MultiPoint;
+
+public class PointDensityGridTest {
+
+    MarkStyle2D markStyle(float opacity) {
+        MarkStyle2D style = new MarkStyle2D();
+        style.setFill(Color.RED);
+        style.setFillComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, opacity));
+        return style;
+    }
+
+    @Test
+    public void testThreshold() {
+        PointDensityGrid grid = new PointDensityGrid(new Rectangle(10, 10), 0.5);
+        MarkStyle2D style = markStyle(1f);
+        for (int i = 0; i < 50; i++) {
+            assertFalse(grid.add(style, 5, 5));
+        }
+        assertTrue(grid.isEmpty());
+        assertTrue(grid.add(style, 5, 5));
+        assertTrue(grid.add(style, 5.7, 5.2));
+        // outside of the painting area
+        assertFalse(grid.add(style, -1, 5));
+        assertFalse(grid.add(style, 5, 10));
+
+        List<Map.Entry<Style2D, MultiPoint>> marks = grid.getMarks(new GeometryFactory());
+        assertEquals(1, marks.size());
+        assertEquals(new Coordinate(5.5, 5.5), marks.get(0).getValue().getCoordinate());
+    }
+
+    @Test
+    public void testSupportedStyles() {
+        PointDensityGrid grid = new PointDensityGrid(new Rectangle(10, 10), 0);
+        assertFalse(grid.add(new LineStyle2D(), 5, 5));
+
+        MarkStyle2D blended = markStyle(1f);
+        blended.setFillComposite(AlphaComposite.getInstance(AlphaComposite.XOR));
+        assertFalse(grid.add(blended, 5, 5));
+
+        for (int i = 0; i < PointDensityGrid.MAX_STYLES; i++) {
+            assertTrue(grid.add(markStyle(1f), 5, 5));
+        }
+        assertFalse(grid.add(markStyle(1f), 5, 5));
+    }
+
+    @Test
+    public void testStackedOpacity() {
+        PointDensityGrid grid = new PointDensityGrid(new Rectangle(10, 10), 0);
+        MarkStyle2D style = markStyle(0.5f);
+        grid.add(style, 1, 1);
+        grid.add(style, 2, 2);
+        grid.add(style, 2, 2);
+
+        List<Map.Entry<Style2D, MultiPoint>> marks = grid.getMarks(new GeometryFactory());
+        assertEquals(2, marks.size());
+        // the less crowded pixels come first
+        assertSame(style, marks.get(0).getKey());
+        assertEquals(new Coordinate(1.5, 1.5), marks.get(0).getValue().getCoordinate());
+        MarkStyle2D stacked = (MarkStyle2D) marks.get(1).getKey();
+        assertEquals(0.75f, ((AlphaComposite) stacked.getFillComposite()).getAlpha(), 1e-6);
+        assertEquals(new Coordinate(2.5, 2.5), marks.get(1).getValue().getCoordinate());
+        // the original style is left untouched
+        assertEquals(0.5f, ((AlphaComposite) style.getFillComposite()).getAlpha(), 1e-6);
+    }
+
+    BufferedImage renderPoints(Map<Object, Object> hints) throws Exception {
+        return renderPoints(hints, null);
+    }
+
+    BufferedImage renderPoints(Map<Object, Object> hints, RenderListener listener) throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("points", "geom:Point,name:String");
+        GeometryFactory gf = new GeometryFactory();
+        List<SimpleFeature> features = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            // on pixel centers, several points per pixel
+            double x = (i * 7) % 40 + 30.5;
+            double y = (i * 13) % 40 + 30.5;
+            features.add(SimpleFeatureBuilder.build(
+                    type, new Object[] {gf.createPoint(new Coordinate(x, y)), "f" + i}, null));
+        }
+        StyleBuilder sb = new StyleBuilder();
+        Mark mark = sb.createMark("square", sb.createFill(Color.RED, 0.3), null);
+        Style style = sb.createStyle(sb.createPointSymbolizer(sb.createGraphic(null, mark, null, 1, 3, 0)));
+
+        MapContent mc = new MapContent();
+        try {
+            mc.addLayer(new FeatureLayer(new CollectionFeatureSource(DataUtilities.collection(features)), style));
+            StreamingRenderer renderer = new StreamingRenderer();
+            renderer.setMapContent(mc);
+            renderer.setRendererHints(hints);
+            return RendererBaseTest.renderImage(
+                    renderer, new ReferencedEnvelope(0, 100, 0, 100, null), listener, 100, 100);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testRenderDensity() throws Exception {
+        BufferedImage expected = renderPoints(Collections.emptyMap());
+        BufferedImage actual = renderPoints(Map.of(StreamingRenderer.POINT_DENSITY_THRESHOLD_KEY, 0.1));
+
+        for (int y = 0; y < 100; y++) {
+            for (int x = 0; x < 100; x++) {
+                Color e = new Color(expected.getRGB(x, y), true);
+                Color a = new Color(actual.getRGB(x, y), true);
+                assertEquals(e.getRed(), a.getRed(), 4);
+                assertEquals(e.getGreen(), a.getGreen(), 4);
+                assertEquals(e.getBlue(), a.getBlue(), 4);
+            }
+        }
+    }
+
+    @Test
+    public void testRenderWithoutHints() throws Exception {
+        List<Exception> errors = new ArrayList<>();
+        BufferedImage image = renderPoints(null, new RenderListener() {
+            @Override
+            public void featureRenderer(SimpleFeature feature) {}
+
+            @Override
+            public void errorOccurred(Exception e) {
+                errors.add(e);
+            }
+        });
+
+        assertEquals(Collections.emptyList(), errors);
+        assertNotEquals(Color.WHITE.getRGB(), image.getRGB(50, 50));
+    }
+}
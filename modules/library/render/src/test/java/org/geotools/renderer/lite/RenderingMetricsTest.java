@@ -0,0 +1,151 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.style.Style;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.collection.CollectionFeatureSource;
+import org.geotools.feature.simple.SimpleFeatureBuilder;
+import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.map.FeatureLayer;
+import org.geotools.map.Layer;
+import org.geotools.map.MapContent;
+import org.geotools.referencing.crs.DefaultGeographicCRS;
+import org.geotools.renderer.label.LabelingStatistics;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+import org.locationtech.jts.io.WKTReader;
+
+public class RenderingMetricsTest {
+
+    static final ReferencedEnvelope BOUNDS = new ReferencedEnvelope(0, 10, 0, 10, DefaultGeographicCRS.WGS84);
+
+    static class CollectingListener implements RenderingMetricsListener {
+        List<Layer> layers = Collections.synchronizedList(new ArrayList<>());
+
+        List<LayerMetrics> metrics = Collections.synchronizedList(new ArrayList<>());
+
+        LabelingStatistics statistics;
+
+        long labellingTime = -1;
+
+        @Override
+        public void layerRendered(Layer layer, LayerMetrics layerMetrics) {
+            layers.add(layer);
+            metrics.add(layerMetrics);
+        }
+
+        @Override
+        public void labellingCompleted(long time, LabelingStatistics statistics) {
+            this.labellingTime = time;
+            this.statistics = statistics;
+        }
+    }
+
+    FeatureLayer squaresLayer(int count) throws Exception {
+        SimpleFeatureType type = DataUtilities.createType("squares", "geom:Polygon:srid=4326,name:String");
+        List<SimpleFeature> features = new ArrayList<>();
+        WKTReader reader = new WKTReader();
+        for (int i = 0; i < count; i++) {
+            double x = i % 5 * 2;
+            double y = i / 5 * 2;
+            String wkt = "POLYGON((" + x + " " + y + ", " + x + " " + (y + 1) + ", " + (x + 1) + " " + (y + 1) + ", "
+                    + (x + 1) + " " + y + ", " + x + " " + y + "))";
+            features.add(SimpleFeatureBuilder.build(type, new Object[] {reader.read(wkt), "f" + i}, null));
+        }
+        StyleBuilder sb = new StyleBuilder();
+        Style style = sb.createStyle(sb.createPolygonSymbolizer(Color.RED, Color.BLACK, 1));
+        style.featureTypeStyles()
+                .get(0)
+                .rules()
+                .get(0)
+                .symbolizers()
+                .add(sb.createTextSymbolizer(Color.BLACK, sb.createFont("Serif", 10), "name"));
+        return new FeatureLayer(new CollectionFeatureSource(DataUtilities.collection(features)), style);
+    }
+
+    CollectingListener render(MapContent mc, Map<Object, Object> hints) {
+        StreamingRenderer renderer = new StreamingRenderer();
+        renderer.setMapContent(mc);
+        renderer.setRendererHints(hints);
+        CollectingListener listener = new CollectingListener();
+        renderer.addMetricsListener(listener);
+        RendererBaseTest.renderImage(renderer, BOUNDS, null);
+        return listener;
+    }
+
+    void checkMetrics(CollectingListener listener, MapContent mc) {
+        assertEquals(2, listener.layers.size());
+        assertSame(mc.layers().get(0), listener.layers.get(0));
+        assertSame(mc.layers().get(1), listener.layers.get(1));
+
+        LayerMetrics first = listener.metrics.get(0);
+        assertEquals("1", first.getLayerId());
+        assertEquals(10, first.getFeaturesRead());
+        assertEquals(10, first.getFeaturesPainted());
+        LayerMetrics second = listener.metrics.get(1);
+        assertEquals("2", second.getLayerId());
+        assertEquals(25, second.getFeaturesRead());
+        assertEquals(25, second.getFeaturesPainted());
+        for (LayerMetrics metrics : listener.metrics) {
+            assertTrue(metrics.getReadTime() > 0);
+            assertTrue(metrics.getTransformTime() > 0);
+            assertTrue(metrics.getPaintTime() > 0);
+            assertTrue(metrics.getElapsedTime() > 0);
+        }
+
+        assertTrue(listener.labellingTime > 0);
+        assertNotNull(listener.statistics);
+        assertEquals(35, listener.statistics.getLabels());
+    }
+
+    @Test
+    public void testLayerMetrics() throws Exception {
+        MapContent mc = new MapContent();
+        mc.addLayer(squaresLayer(10));
+        mc.addLayer(squaresLayer(25));
+        try {
+            checkMetrics(render(mc, Collections.emptyMap()), mc);
+        } finally {
+            mc.dispose();
+        }
+    }
+
+    @Test
+    public void testLayerMetricsParallel() throws Exception {
+        MapContent mc = new MapContent();
+        mc.addLayer(squaresLayer(10));
+        mc.addLayer(squaresLayer(25));
+        try {
+            checkMetrics(render(mc, Map.of(StreamingRenderer.PARALLEL_LAYERS_KEY, 2)), mc);
+        } finally {
+            mc.dispose();
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.lite.gridcoverage2d;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Color;
+import java.awt.Transparency;
+import java.awt.color.ColorSpace;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.ComponentColorModel;
+import java.awt.image.DataBuffer;
+import java.awt.image.IndexColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.WritableRaster;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.eclipse.imagen.RasterFactory;
+import org.eclipse.imagen.media.classifier.LinearColorMap;
+import org.geotools.api.filter.FilterFactory;
+import org.geotools.api.style.ColorMap;
+import org.geotools.api.style.ColorMapEntry;
+import org.geotools.api.style.RasterSymbolizer;
+import org.geotools.coverage.CoverageFactoryFinder;
+import org.geotools.coverage.GridSampleDimension;
+import org.geotools.coverage.grid.GridCoverage2D;
+import org.geotools.factory.CommonFactoryFinder;
+import org.geotools.geometry.GeneralBounds;
+import org.geotools.image.ImageWorker;
+import org.geotools.styling.StyleBuilder;
+import org.junit.Test;
+
+public class ColorMapLookupTest {
+
+    FilterFactory ff = CommonFactoryFinder.getFilterFactory();
+
+    ColorMap colorMap() {
+        return new StyleBuilder()
+                .createColorMap(
+                        new String[] {"low", "high"},
+                        new double[] {0, 255},
+                        new Color[] {Color.BLACK, Color.RED},
+                        ColorMap.TYPE_RAMP);
+    }
+
+    LinearColorMap linearColorMap(ColorMap colorMap) {
+        SLDColorMapBuilder builder = new SLDColorMapBuilder();
+        builder.setLinearColorMapType(colorMap.getType())
+                .setNumberColorMapEntries(colorMap.getColorMapEntries().length)
+                .setColorForValuesToPreserve(new Color(0, 0, 0, 0))
+                .setGapsColor(new Color(0, 0, 0, 0));
+        for (ColorMapEntry entry : colorMap.getColorMapEntries()) {
+            builder.addColorMapEntry(entry);
+        }
+        return builder.buildLinearColorMap();
+    }
+
+    @Test
+    public void testMatchesClassifier() {
+        LinearColorMap linear = linearColorMap(colorMap());
+        ColorMapLookup lookup = ColorMapLookup.compile(linear, DataBuffer.TYPE_BYTE, Double.NaN);
+
+        BufferedImage image = new BufferedImage(16, 16, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = image.getRaster();
+        for (int i = 0; i < 256; i++) {
+            raster.setSample(i % 16, i / 16, 0, i);
+        }
+        RenderedImage expected = new ImageWorker(image).classify(linear, null).getRenderedImage();
+        RenderedImage actual = lookup.apply(new ImageWorker(image)).getRenderedImage();
+
+        IndexColorModel palette = (IndexColorModel) actual.getColorModel();
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                int rgb = expected.getColorModel().getRGB(expected.getData().getSample(x, y, 0));
+                assertEquals(rgb, palette.getRGB(actual.getData().getSample(x, y, 0)));
+            }
+        }
+    }
+
+    @Test
+    public void testGrayAlphaMatchesSingleBand() {
+        BufferedImage gray = new BufferedImage(16, 16, BufferedImage.TYPE_BYTE_GRAY);
+        WritableRaster raster = RasterFactory.createBandedRaster(DataBuffer.TYPE_BYTE, 16, 16, 2, null);
+        for (int i = 0; i < 256; i++) {
+            gray.getRaster().setSample(i % 16, i / 16, 0, i);
+            raster.setSample(i % 16, i / 16, 0, i);
+            raster.setSample(i % 16, i / 16, 1, 255);
+        }
+        ColorModel cm = new ComponentColorModel(
+                ColorSpace.getInstance(ColorSpace.CS_GRAY),
+                true,
+                false,
+                Transparency.TRANSLUCENT,
+                DataBuffer.TYPE_BYTE);
+        BufferedImage grayAlpha = new BufferedImage(cm, raster, false, null);
+
+        // the single band source goes through the lookup, the gray + alpha one is classified
+        RenderedImage expected = applyColorMap(gray, 1);
+        RenderedImage actual = applyColorMap(grayAlpha, 2);
+
+        Raster expectedData = expected.getData();
+        Raster actualData = actual.getData();
+        for (int y = 0; y < 16; y++) {
+            for (int x = 0; x < 16; x++) {
+                assertEquals(
+                        expected.getColorModel().getRGB(expectedData.getDataElements(x, y, null)),
+                        actual.getColorModel().getRGB(actualData.getDataElements(x, y, null)));
+            }
+        }
+    }
+
+    private RenderedImage applyColorMap(RenderedImage image, int bands) {
+        GridSampleDimension[] dimensions = new GridSampleDimension[bands];
+        for (int i = 0; i < bands; i++) {
+            dimensions[i] = new GridSampleDimension("band" + i);
+        }
+        GridCoverage2D coverage = CoverageFactoryFinder.getGridCoverageFactory(null)
+                .create(
+                        "test",
+                        image,
+                        new GeneralBounds(new double[] {0, 0}, new double[] {16, 16}),
+                        dimensions,
+                        null,
+                        null);
+        RasterSymbolizerHelper helper = new RasterSymbolizerHelper(coverage, null);
+        RasterSymbolizer symbolizer = new StyleBuilder().createRasterSymbolizer();
+        symbolizer.setColorMap(colorMap());
+        helper.visit(symbolizer);
+        return helper.getOutput().getRenderedImage();
+    }
+
+    @Test
+    public void testGammaCorrection() {
+        LinearColorMap linear = linearColorMap(colorMap());
+        ColorMapLookup plain = ColorMapLookup.compile(linear, DataBuffer.TYPE_BYTE, Double.NaN);
+        ColorMapLookup corrected = ColorMapLookup.compile(linear, DataBuffer.TYPE_BYTE, 0.5);
+
+        // same classification, brighter colors
+        assertEquals(plain.sampleModel.getDataType(), corrected.sampleModel.getDataType());
+        int index = plain.palette.getMapSize() / 2;
+        assertTrue(corrected.palette.getRed(index) > plain.palette.getRed(index));
+        assertEquals(plain.palette.getAlpha(index), corrected.palette.getAlpha(index));
+    }
+
+    @Test
+    public void testCache() {
+        AtomicInteger builds = new AtomicInteger();
+        ColorMap colorMap = colorMap();
+        ColorMapLookup first = ColorMapLookup.get(colorMap, null, DataBuffer.TYPE_BYTE, Double.NaN, () -> {
+            builds.incrementAndGet();
+            return linearColorMap(colorMap);
+        });
+        // an equal color map, from a different style object
+        ColorMapLookup second = ColorMapLookup.get(colorMap(), null, DataBuffer.TYPE_BYTE, 1, () -> {
+            builds.incrementAndGet();
+            return linearColorMap(colorMap);
+        });
+        assertSame(first, second);
+        assertEquals(1, builds.get());
+
+        ColorMapLookup gamma = ColorMapLookup.get(colorMap, null, DataBuffer.TYPE_BYTE, 2, () -> {
+            builds.incrementAndGet();
+            return linearColorMap(colorMap);
+        });
+        assertNotSame(first, gamma);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    public void testDynamicNotCached() {
+        ColorMap colorMap = colorMap();
+        colorMap.getColorMapEntry(1).setQuantity(ff.literal("${env('max', 255)}"));
+        assertNull(ColorMapLookup.Key.of(colorMap, null, DataBuffer.TYPE_BYTE, Double.NaN));
+
+        colorMap.getColorMapEntry(1).setQuantity(ff.function("env", ff.literal("max"), ff.literal(255)));
+        assertNull(ColorMapLookup.Key.of(colorMap, null, DataBuffer.TYPE_BYTE, Double.NaN));
+    }
+}
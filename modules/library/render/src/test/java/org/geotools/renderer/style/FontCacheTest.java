@@ -23,6 +23,9 @@
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.startsWith;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 
 import java.awt.Font;
 import java.util.ArrayList;
@@ -79,4 +82,16 @@ public void testFontAlternatives() {
         List<String> expected = List.of("Noto Sans Regular", "Noto Sans Arabic Regular", "Noto Sans Armenian");
         assertEquals(expected, alternatives);
     }
+
+    @Test
+    public void testRemoteFailureNotCached() {
+        FontCache fc = new FontCache();
+        String remote = "http://localhost:1/missing.ttf";
+        assertNull(fc.getFont(remote));
+        assertFalse(fc.missingFonts.containsKey(remote));
+
+        String local = "not-a-font-" + System.nanoTime();
+        assertNull(fc.getFont(local));
+        assertTrue(fc.missingFonts.containsKey(local));
+    }
 }
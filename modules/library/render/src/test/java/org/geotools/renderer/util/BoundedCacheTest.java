@@ -0,0 +1,121 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.renderer.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+
+public class BoundedCacheTest {
+
+    @Test
+    public void testMetrics() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        assertNull(cache.get("a"));
+        cache.put("a", 1);
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+        assertEquals(Integer.valueOf(1), cache.get("a"));
+
+        assertEquals(2, cache.getHits());
+        assertEquals(1, cache.getMisses());
+        assertEquals(2 / 3d, cache.getHitRatio(), 1e-9);
+    }
+
+    @Test
+    public void testLoader() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(10);
+        AtomicInteger loads = new AtomicInteger();
+        assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+        assertEquals(Integer.valueOf(1), cache.get("a", k -> loads.incrementAndGet()));
+        assertEquals(1, loads.get());
+        // null values are not cached
+        assertNull(cache.get("b", k -> null));
+        assertFalse(cache.containsKey("b"));
+    }
+
+    @Test
+    public void testEvictsUnused() {
+        BoundedCache<String, Integer> cache = new BoundedCache<>(3);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.put("c", 3);
+        cache.get("a");
+        cache.get("c");
+        // goes beyond the limit, "b" has not been used
+        cache.put("d", 4);
+
+        assertEquals(3, cache.size());
+        assertTrue(cache.containsKey("a"));
+        assertFalse(cache.containsKey("b"));
+        assertTrue(cache.containsKey("c"));
+        assertTrue(cache.containsKey("d"));
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    public void testWeight() {
+        BoundedCache<String, int[]> cache = new BoundedCache<>(100, a -> a.length);
+        cache.put("a", new int[60]);
+        cache.put("b", new int[30]);
+        assertEquals(90, cache.getWeight());
+        cache.put("b", new int[10]);
+        assertEquals(70, cache.getWeight());
+        cache.put("c", new int[50]);
+        assertTrue(cache.getWeight() <= 100);
+
+        cache.remove("c");
+        cache.clear();
+        assertTrue(cache.isEmpty());
+        assertEquals(0, cache.getWeight());
+    }
+
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        BoundedCache<Integer, Integer> cache = new BoundedCache<>(50);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 10000; i++) {
+                        Integer key = i % 100;
+                        assertEquals(key, cache.get(key, k -> k));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+        assertTrue(cache.size() <= 50);
+        assertEquals(cache.size(), cache.getWeight());
+        assertEquals(80000, cache.getHits() + cache.getMisses());
+    }
+}
@@ -28,6 +28,9 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.image.util.ImageUtilities;
 import org.geotools.util.factory.Hints;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracing;
 
 /**
  * Specific {@link Callable} implementation that can be used to load the result of a request on a single
@@ -104,11 +107,16 @@ public int getImageIndex() {
 
     @Override
     public GranuleLoadingResult call() throws Exception {
+        Span span = Tracing.start(OperationType.GRANULE_LOAD);
         try {
             return granuleDescriptor.loadRaster(
                     readParameters, imageIndex, cropBBox, mosaicWorldToGrid, request, hints);
         } catch (Exception e) {
             throw new GranuleLoadingException("Failed to load granule " + granuleDescriptor.getGranuleUrl(), e);
+        } finally {
+            if (span != null) {
+                span.end(String.valueOf(granuleDescriptor.getGranuleUrl()), String.valueOf(cropBBox), -1);
+            }
         }
     }
 }
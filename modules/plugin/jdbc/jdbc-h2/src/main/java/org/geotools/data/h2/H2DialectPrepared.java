@@ -197,6 +197,11 @@ public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
     }
 
+    @Override
+    public boolean isMultiRowInsertSupported() {
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         delegate.applyLimitOffset(sql, limit, offset);
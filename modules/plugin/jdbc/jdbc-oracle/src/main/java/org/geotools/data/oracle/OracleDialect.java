@@ -1307,6 +1307,17 @@ public boolean isLimitOffsetSupported() {
         return true;
     }
 
+    @Override
+    public boolean isWindowFunctionSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean encodeFiniteValueCheck(String expression, StringBuffer sql) {
+        sql.append(expression).append(" IS NOT NAN AND ").append(expression).append(" IS NOT INFINITE");
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         // see http://progcookbook.blogspot.com/2006/02/using-rownum-properly-for-pagination.html
@@ -0,0 +1,376 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.postgis;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.feature.type.AttributeDescriptor;
+import org.geotools.jdbc.BulkLoader;
+import org.geotools.jdbc.JDBCDataStore;
+import org.geotools.util.Converters;
+import org.geotools.util.factory.Hints;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.LinearRing;
+import org.locationtech.jts.io.WKBWriter;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+/**
+ * Bulk loader streaming the rows to PostgreSQL with <code>COPY ... FROM STDIN (FORMAT binary)</code>. The binary
+ * format is used for all columns, so the loader can only be created if the types of all the target columns are known,
+ * see {@link #create(JDBCDataStore, PostGISDialect, PGConnection, SimpleFeatureType, List, Connection)}. Geometries
+ * are sent as EWKB.
+ */
+class PostGISBulkLoader implements BulkLoader {
+
+    static final Logger LOGGER = Logging.getLogger(PostGISBulkLoader.class);
+
+    /** The COPY binary signature, followed by the flags field and the header extension length */
+    static final byte[] HEADER = {
+        'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0, 0, 0, 0, 0, 0, 0, 0, 0
+    };
+
+    static final int BUFFER_SIZE = 64 * 1024;
+
+    /** Seconds between the Java epoch and the PostgreSQL one, 2000-01-01 */
+    static final long PG_EPOCH_SECONDS = 946684800L;
+
+    /** Days between the Java epoch and the PostgreSQL one, 2000-01-01 */
+    static final long PG_EPOCH_DAYS = 10957L;
+
+    /** The column types the loader can encode */
+    enum ColumnType {
+        BOOL,
+        INT2,
+        INT4,
+        INT8,
+        FLOAT4,
+        FLOAT8,
+        NUMERIC,
+        TEXT,
+        DATE,
+        TIME,
+        TIMESTAMP,
+        TIMESTAMPTZ,
+        UUID,
+        BYTEA,
+        GEOMETRY;
+
+        static ColumnType lookup(String typeName) {
+            switch (typeName.toLowerCase(Locale.ENGLISH)) {
+                case "bool":
+                    return BOOL;
+                case "int2":
+                    return INT2;
+                case "int4":
+                case "serial":
+                    return INT4;
+                case "int8":
+                case "bigserial":
+                    return INT8;
+                case "float4":
+                    return FLOAT4;
+                case "float8":
+                    return FLOAT8;
+                case "numeric":
+                    return NUMERIC;
+                case "text":
+                case "varchar":
+                case "bpchar":
+                    return TEXT;
+                case "date":
+                    return DATE;
+                case "time":
+                    return TIME;
+                case "timestamp":
+                    return TIMESTAMP;
+                case "timestamptz":
+                    return TIMESTAMPTZ;
+                case "uuid":
+                    return UUID;
+                case "bytea":
+                    return BYTEA;
+                case "geometry":
+                case "geography":
+                    return GEOMETRY;
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private final List<AttributeDescriptor> columns;
+
+    private final ColumnType[] types;
+
+    private final CopyIn copyIn;
+
+    private final ByteArrayOutputStream bytes = new ByteArrayOutputStream(BUFFER_SIZE);
+
+    private final DataOutputStream out = new DataOutputStream(bytes);
+
+    private boolean finished;
+
+    private PostGISBulkLoader(List<AttributeDescriptor> columns, ColumnType[] types, CopyIn copyIn) {
+        this.columns = columns;
+        this.types = types;
+        this.copyIn = copyIn;
+    }
+
+    /**
+     * Creates a loader for the specified columns, or returns <code>null</code> if some column type is not supported
+     */
+    static PostGISBulkLoader create(
+            JDBCDataStore dataStore,
+            PostGISDialect dialect,
+            PGConnection pg,
+            SimpleFeatureType featureType,
+            List<AttributeDescriptor> columns,
+            Connection cx)
+            throws SQLException, IOException {
+        StringBuffer names = new StringBuffer();
+        for (AttributeDescriptor column : columns) {
+            dialect.encodeColumnName(null, column.getLocalName(), names);
+            names.append(",");
+        }
+        names.setLength(names.length() - 1);
+        StringBuffer table = new StringBuffer();
+        dataStore.encodeTableName(featureType.getTypeName(), table, null);
+
+        // look up the native column types
+        ColumnType[] types = new ColumnType[columns.size()];
+        String sql = "SELECT " + names + " FROM " + table + " WHERE 1 = 0";
+        LOGGER.fine(sql);
+        Statement st = cx.createStatement();
+        try {
+            ResultSet rs = st.executeQuery(sql);
+            try {
+                ResultSetMetaData metadata = rs.getMetaData();
+                for (int i = 0; i < types.length; i++) {
+                    types[i] = ColumnType.lookup(metadata.getColumnTypeName(i + 1));
+                    if (types[i] == null) {
+                        LOGGER.log(
+                                Level.FINE,
+                                "Column {0} has type {1}, not supported by COPY bulk loads",
+                                new Object[] {columns.get(i).getLocalName(), metadata.getColumnTypeName(i + 1)});
+                        return null;
+                    }
+                }
+            } finally {
+                dataStore.closeSafe(rs);
+            }
+        } finally {
+            dataStore.closeSafe(st);
+        }
+
+        sql = "COPY " + table + " (" + names + ") FROM STDIN (FORMAT binary)";
+        LOGGER.fine(sql);
+        PostGISBulkLoader loader = new PostGISBulkLoader(columns, types, pg.getCopyAPI().copyIn(sql));
+        loader.out.write(HEADER);
+        return loader;
+    }
+
+    @Override
+    public void add(Object[] values) throws IOException, SQLException {
+        out.writeShort(values.length);
+        for (int i = 0; i < values.length; i++) {
+            writeValue(types[i], columns.get(i), values[i]);
+        }
+        if (bytes.size() >= BUFFER_SIZE) {
+            flush();
+        }
+    }
+
+    @Override
+    public void finish() throws IOException, SQLException {
+        out.writeShort(-1);
+        flush();
+        long rows = copyIn.endCopy();
+        finished = true;
+        LOGGER.log(Level.FINE, "Copied {0} rows", rows);
+    }
+
+    private void flush() throws SQLException {
+        copyIn.writeToCopy(bytes.toByteArray(), 0, bytes.size());
+        bytes.reset();
+    }
+
+    private void writeValue(ColumnType type, AttributeDescriptor column, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        switch (type) {
+            case BOOL:
+                out.writeInt(1);
+                out.writeBoolean(convert(value, Boolean.class));
+                break;
+            case INT2:
+                out.writeInt(2);
+                out.writeShort(convert(value, Short.class));
+                break;
+            case INT4:
+                out.writeInt(4);
+                out.writeInt(convert(value, Integer.class));
+                break;
+            case INT8:
+                out.writeInt(8);
+                out.writeLong(convert(value, Long.class));
+                break;
+            case FLOAT4:
+                out.writeInt(4);
+                out.writeFloat(convert(value, Float.class));
+                break;
+            case FLOAT8:
+                out.writeInt(8);
+                out.writeDouble(convert(value, Double.class));
+                break;
+            case NUMERIC:
+                writeNumeric(convert(value, BigDecimal.class));
+                break;
+            case TEXT:
+                writeBytes(convert(value, String.class).getBytes(StandardCharsets.UTF_8));
+                break;
+            case DATE:
+                out.writeInt(4);
+                out.writeInt(
+                        (int) (convert(value, java.sql.Date.class).toLocalDate().toEpochDay() - PG_EPOCH_DAYS));
+                break;
+            case TIME:
+                out.writeInt(8);
+                out.writeLong(convert(value, Time.class).toLocalTime().toNanoOfDay() / 1000);
+                break;
+            case TIMESTAMP:
+                // timestamps without time zone are stored as the local date time, as the JDBC driver does
+                Timestamp local = convert(value, Timestamp.class);
+                out.writeInt(8);
+                out.writeLong(toMicros(local.toLocalDateTime().toEpochSecond(ZoneOffset.UTC), local.getNanos()));
+                break;
+            case TIMESTAMPTZ:
+                Timestamp instant = convert(value, Timestamp.class);
+                out.writeInt(8);
+                out.writeLong(toMicros(instant.toInstant().getEpochSecond(), instant.getNanos()));
+                break;
+            case UUID:
+                UUID uuid = convert(value, UUID.class);
+                out.writeInt(16);
+                out.writeLong(uuid.getMostSignificantBits());
+                out.writeLong(uuid.getLeastSignificantBits());
+                break;
+            case BYTEA:
+                writeBytes(convert(value, byte[].class));
+                break;
+            case GEOMETRY:
+                writeBytes(toEWKB((Geometry) value, column));
+                break;
+        }
+    }
+
+    private static <T> T convert(Object value, Class<T> target) throws IOException {
+        T converted = Converters.convert(value, target);
+        if (converted == null) {
+            throw new IOException("Could not convert " + value + " to " + target.getSimpleName());
+        }
+        return converted;
+    }
+
+    private static long toMicros(long epochSeconds, int nanos) {
+        return (epochSeconds - PG_EPOCH_SECONDS) * 1_000_000L + nanos / 1000;
+    }
+
+    private void writeBytes(byte[] value) throws IOException {
+        out.writeInt(value.length);
+        out.write(value);
+    }
+
+    /**
+     * Writes a numeric in the PostgreSQL binary format: the number of base 10000 digits, the weight of the first
+     * digit, the sign, the display scale, and the digits
+     */
+    private void writeNumeric(BigDecimal value) throws IOException {
+        int scale = Math.max(0, value.scale());
+        String plain = value.abs().setScale(scale).toPlainString();
+        int dot = plain.indexOf('.');
+        String integer = dot < 0 ? plain : plain.substring(0, dot);
+        String fraction = dot < 0 ? "" : plain.substring(dot + 1);
+        // align both parts to groups of 4 decimal digits
+        integer = "0".repeat((4 - integer.length() % 4) % 4) + integer;
+        fraction = fraction + "0".repeat((4 - fraction.length() % 4) % 4);
+        String all = integer + fraction;
+
+        int first = 0;
+        int last = all.length() / 4;
+        while (first < last && Integer.parseInt(all.substring(first * 4, first * 4 + 4)) == 0) {
+            first++;
+        }
+        while (last > first && Integer.parseInt(all.substring(last * 4 - 4, last * 4)) == 0) {
+            last--;
+        }
+        int digits = last - first;
+        int weight = digits == 0 ? 0 : integer.length() / 4 - 1 - first;
+
+        out.writeInt(8 + 2 * digits);
+        out.writeShort(digits);
+        out.writeShort(weight);
+        out.writeShort(value.signum() < 0 ? 0x4000 : 0);
+        out.writeShort(scale);
+        for (int i = first; i < last; i++) {
+            out.writeShort(Integer.parseInt(all.substring(i * 4, i * 4 + 4)));
+        }
+    }
+
+    private static byte[] toEWKB(Geometry g, AttributeDescriptor column) {
+        if (g instanceof LinearRing ring) {
+            // postgis does not handle linear rings, convert to just a line string
+            g = g.getFactory().createLineString(ring.getCoordinateSequence());
+        }
+        int dimension;
+        if (column.getUserData().get(Hints.COORDINATE_DIMENSION) instanceof Integer d && d > 0) {
+            dimension = d;
+        } else {
+            Coordinate c = g.getCoordinate();
+            dimension = c != null && !Double.isNaN(c.getZ()) ? 3 : 2;
+        }
+        return new WKBWriter(dimension, g.getSRID() > 0).write(g);
+    }
+
+    @Override
+    public void close() throws SQLException {
+        if (!finished && copyIn.isActive()) {
+            copyIn.cancelCopy();
+        }
+    }
+}
@@ -57,6 +57,7 @@
 import org.geotools.geometry.jts.ReferencedEnvelope;
 import org.geotools.geometry.jts.WKTWriter2;
 import org.geotools.jdbc.BasicSQLDialect;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.referencing.CRS;
@@ -970,11 +971,55 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return null;
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        List<Object> values = new ArrayList<>(count);
+        Statement st = cx.createStatement();
+        try {
+            String sql = "SELECT " + encodeNextSequenceValue(schemaName, sequenceName) + " FROM generate_series(1, "
+                    + count + ")";
+
+            dataStore.getLogger().fine(sql);
+            ResultSet rs = st.executeQuery(sql);
+            try {
+                while (rs.next()) {
+                    values.add(rs.getLong(1));
+                }
+            } finally {
+                dataStore.closeSafe(rs);
+            }
+        } finally {
+            dataStore.closeSafe(st);
+        }
+        if (values.size() != count) {
+            throw new SQLException("Could not get " + count + " values from sequence " + sequenceName);
+        }
+        return values;
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return "nextval('" + sequenceName + "')";
     }
 
+    /**
+     * Returns a loader using <code>COPY ... FROM STDIN</code> in binary format, if the connection is a PostgreSQL one
+     * and the types of all the columns are supported
+     */
+    @Override
+    public BulkLoader createBulkLoader(SimpleFeatureType featureType, List<AttributeDescriptor> columns, Connection cx)
+            throws SQLException, IOException {
+        PgConnection pg;
+        try {
+            pg = unwrapConnection(cx, PgConnection.class);
+        } catch (SQLException e) {
+            LOGGER.log(Level.FINE, "Could not unwrap the PostgreSQL connection, COPY bulk loads not available", e);
+            return null;
+        }
+        return PostGISBulkLoader.create(dataStore, this, pg, featureType, columns, cx);
+    }
+
     @Override
     public boolean lookupGeneratedValuesPostInsert() {
         return true;
@@ -1349,6 +1394,18 @@ public boolean isLimitOffsetSupported() {
         return true;
     }
 
+    @Override
+    public boolean isWindowFunctionSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean encodeFiniteValueCheck(String expression, StringBuffer sql) {
+        // NaN is equal to itself in PostgreSQL
+        sql.append(expression).append(" NOT IN ('NaN'::float8, 'Infinity'::float8, '-Infinity'::float8)");
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         if (limit >= 0 && limit < Integer.MAX_VALUE) {
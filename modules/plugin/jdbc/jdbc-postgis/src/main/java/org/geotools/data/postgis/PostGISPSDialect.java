@@ -22,12 +22,14 @@
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Types;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.AttributeDescriptor;
 import org.geotools.api.feature.type.GeometryDescriptor;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.jdbc.BulkLoader;
 import org.geotools.jdbc.ColumnMetadata;
 import org.geotools.jdbc.JDBCDataStore;
 import org.geotools.jdbc.PreparedFilterToSQL;
@@ -152,11 +154,33 @@ public Object getNextSequenceValue(String schemaName, String sequenceName, Conne
         return delegate.getNextSequenceValue(schemaName, sequenceName, cx);
     }
 
+    @Override
+    public List<Object> getNextSequenceValues(String schemaName, String sequenceName, int count, Connection cx)
+            throws SQLException {
+        return delegate.getNextSequenceValues(schemaName, sequenceName, count, cx);
+    }
+
     @Override
     public String encodeNextSequenceValue(String schemaName, String sequenceName) {
         return delegate.encodeNextSequenceValue(schemaName, sequenceName);
     }
 
+    @Override
+    public boolean isMultiRowInsertSupported() {
+        return true;
+    }
+
+    /** Uses <code>COPY</code> when possible, falls back on multi row inserts otherwise */
+    @Override
+    public BulkLoader createBulkLoader(SimpleFeatureType featureType, List<AttributeDescriptor> columns, Connection cx)
+            throws SQLException, IOException {
+        BulkLoader loader = delegate.createBulkLoader(featureType, columns, cx);
+        if (loader != null) {
+            return loader;
+        }
+        return super.createBulkLoader(featureType, columns, cx);
+    }
+
     @Override
     public String getSequenceForColumn(String schemaName, String tableName, String columnName, Connection cx)
             throws SQLException {
@@ -256,6 +280,16 @@ public boolean isLimitOffsetSupported() {
         return delegate.isLimitOffsetSupported();
     }
 
+    @Override
+    public boolean isWindowFunctionSupported() {
+        return delegate.isWindowFunctionSupported();
+    }
+
+    @Override
+    public boolean encodeFiniteValueCheck(String expression, StringBuffer sql) {
+        return delegate.encodeFiniteValueCheck(expression, sql);
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         delegate.applyLimitOffset(sql, limit, offset);
@@ -670,6 +670,18 @@ public boolean isLimitOffsetSupported() {
         return useOffsetLimit;
     }
 
+    @Override
+    public boolean isWindowFunctionSupported() {
+        return true;
+    }
+
+    @Override
+    public boolean encodeFiniteValueCheck(String expression, StringBuffer sql) {
+        // float and real columns cannot store NaN or infinite values
+        sql.append(expression).append(" IS NOT NULL");
+        return true;
+    }
+
     @Override
     public void applyLimitOffset(StringBuffer sql, int limit, int offset) {
         if (offset == 0) {
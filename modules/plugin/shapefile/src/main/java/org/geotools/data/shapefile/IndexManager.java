@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import static org.geotools.data.shapefile.files.ShpFileType.FIX;
+import static org.geotools.data.shapefile.files.ShpFileType.PRX;
 import static org.geotools.data.shapefile.files.ShpFileType.QIX;
 import static org.geotools.data.shapefile.files.ShpFileType.SHP;
 import static org.geotools.data.shapefile.files.ShpFileType.SHX;
@@ -46,6 +47,7 @@
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
+import org.geotools.data.shapefile.index.rtree.PackedRTree;
 import org.geotools.data.shapefile.shp.IndexFile;
 import org.geotools.data.util.NullProgressListener;
 import org.geotools.util.URLs;
@@ -63,12 +65,22 @@ class IndexManager {
 
     static final int DEFAULT_MAX_QIX_CACHE_SIZE;
 
+    /** Max size, in KB, of the packed R-tree files that get loaded and kept in memory */
+    static final int DEFAULT_MAX_PACKED_RTREE_CACHE_SIZE;
+
     ShpFiles shpFiles;
 
     int maxQixCacheSize = DEFAULT_MAX_QIX_CACHE_SIZE;
 
+    int maxPackedRTreeCacheSize = DEFAULT_MAX_PACKED_RTREE_CACHE_SIZE;
+
     CachedQuadTree cachedTree;
 
+    PackedRTree cachedPackedTree;
+
+    /** Last modification time of the .prx file the cached packed R-tree was loaded from */
+    long cachedPackedTreeStamp;
+
     ShapefileDataStore store;
 
     /** Used to lock the files when doing accesses to check indexes and the like */
@@ -91,6 +103,18 @@ public String id() {
             LOGGER.log(Level.SEVERE, "Could not set the max qix cache size", t);
         }
         DEFAULT_MAX_QIX_CACHE_SIZE = max;
+
+        // packed R-trees take 24 bytes per feature, 16MB hold the index of roughly 700k features
+        int maxPacked = 16 * 1024;
+        try {
+            String smax = System.getProperty("org.geotools.shapefile.maxPackedRTreeCacheSize");
+            if (smax != null) {
+                maxPacked = Integer.parseInt(smax);
+            }
+        } catch (Throwable t) {
+            LOGGER.log(Level.SEVERE, "Could not set the max packed R-tree cache size", t);
+        }
+        DEFAULT_MAX_PACKED_RTREE_CACHE_SIZE = maxPacked;
     }
 
     public IndexManager(ShpFiles shpFiles, ShapefileDataStore store) {
@@ -105,7 +129,7 @@ public IndexManager(ShpFiles shpFiles, ShapefileDataStore store) {
      * @return true if the spatial index has been created/updated
      * @implNote this method will avoid building spatial indexes for the same shapefile concurrently, waiting for a
      *     running build before proceeding. If {@code force} is {@code true}, it will proceed to build the index once
-     *     the write lock on the QIX file is acquired, otherwise, it will do so only if the index is stale.
+     *     the write lock on the index file is acquired, otherwise, it will do so only if the index is stale.
      */
     public boolean createSpatialIndex(boolean force) {
         // create index as needed
@@ -113,13 +137,16 @@ public boolean createSpatialIndex(boolean force) {
             return false;
         }
         try {
-            if (isIndexStale(QIX) || force) {
-                // get a write lock on the .qix, waiting for other index builds
-                final URL treeURL = shpFiles.acquireWrite(QIX, writer);
+            if (force || isIndexStale(getSpatialIndexFile())) {
+                // get a write lock on the index file, waiting for other index builds
+                final URL treeURL =
+                        shpFiles.acquireWrite(store.getSpatialIndexType().getFileType(), writer);
                 try {
                     // check again, may force be false and another thread just have created it
                     if (isIndexStale(treeURL) || force) {
                         doCreateSpatialIndex();
+                        cachedTree = null;
+                        cachedPackedTree = null;
                         return true;
                     }
                 } finally {
@@ -137,6 +164,7 @@ protected void doCreateSpatialIndex() throws Exception {
 
         ShapeFileIndexer indexer = new ShapeFileIndexer();
         indexer.setShapeFileName(shpFiles);
+        indexer.setIndexType(store.getSpatialIndexType());
         indexer.index(false, new NullProgressListener());
     }
 
@@ -184,7 +212,20 @@ boolean isIndexUseable(ShpFileType indexType) {
 
     /** Returns true if the index file is available */
     boolean isSpatialIndexAvailable() {
-        return shpFiles.isLocal() && shpFiles.exists(QIX);
+        return shpFiles.isLocal() && (shpFiles.exists(QIX) || shpFiles.exists(PRX));
+    }
+
+    /**
+     * Returns the file holding the spatial index, that is, the one of the type configured in the store, unless it's
+     * missing and an up to date index of the other type is available.
+     */
+    ShpFileType getSpatialIndexFile() {
+        ShpFileType configured = store.getSpatialIndexType().getFileType();
+        ShpFileType other = configured == QIX ? PRX : QIX;
+        if (!shpFiles.exists(configured) && shpFiles.exists(other) && !isIndexStale(other)) {
+            return other;
+        }
+        return configured;
     }
 
     /** Returns true if the specified index file is outdated compared to the shapefile .shp and .shx files */
@@ -292,6 +333,10 @@ protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
         // check if the spatial index needs recreating
         createSpatialIndex(false);
 
+        if (shpFiles.isLocal() && getSpatialIndexFile() == PRX) {
+            return queryPackedRTree(bbox);
+        }
+
         if (cachedTree == null) {
             boolean canCache = false;
             URL treeURL = shpFiles.acquireRead(QIX, writer);
@@ -339,6 +384,71 @@ protected CloseableIterator<Data> querySpatialIndex(Envelope bbox)
         return tmp;
     }
 
+    /** Queries the packed R-tree, using the in memory copy if available */
+    private CloseableIterator<Data> queryPackedRTree(Envelope bbox) throws IOException {
+        PackedRTree cached = getCachedPackedRTree();
+        if (cached != null) {
+            return !bbox.contains(cached.getBounds()) ? cached.search(bbox) : null;
+        }
+        // packed R-trees are searched in one go, the returned iterator does not need the tree to be open
+        try (PackedRTree packedTree = openPackedRTree()) {
+            if (packedTree != null && !bbox.contains(packedTree.getBounds())) {
+                return packedTree.search(bbox);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Returns the packed R-tree loaded in memory, loading it on first access, or null if the .prx file is missing or
+     * larger than {@link #maxPackedRTreeCacheSize}. The tree is loaded again if the file changed since.
+     */
+    PackedRTree getCachedPackedRTree() throws StoreException {
+        if (!shpFiles.isLocal()) {
+            return null;
+        }
+        URL treeURL = shpFiles.acquireRead(PRX, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+            long stamp = treeFile.lastModified();
+            if (cachedPackedTree == null || cachedPackedTreeStamp != stamp) {
+                cachedPackedTree = null;
+                if (!treeFile.exists()
+                        || treeFile.length() == 0
+                        || treeFile.length() > 1024L * maxPackedRTreeCacheSize) {
+                    return null;
+                }
+                cachedPackedTree = PackedRTree.load(shpFiles);
+                cachedPackedTreeStamp = stamp;
+            }
+            return cachedPackedTree;
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
+    /**
+     * Opens the packed R-tree spatial index, the returned tree keeps the .prx file open until closed
+     *
+     * @return the tree, or null if the .prx file is missing
+     */
+    protected PackedRTree openPackedRTree() throws StoreException {
+        if (!shpFiles.isLocal()) {
+            return null;
+        }
+        URL treeURL = shpFiles.acquireRead(PRX, writer);
+        try {
+            File treeFile = URLs.urlToFile(treeURL);
+
+            if (!treeFile.exists() || treeFile.length() == 0) {
+                return null;
+            }
+            return PackedRTree.open(shpFiles, store.isMemoryMapped());
+        } finally {
+            shpFiles.unlockRead(treeURL, writer);
+        }
+    }
+
     /**
      * Convenience method for opening a QuadTree index.
      *
@@ -370,5 +480,6 @@ protected QuadTree openQuadTree() throws StoreException {
 
     public void dispose() {
         this.cachedTree = null;
+        this.cachedPackedTree = null;
     }
 }
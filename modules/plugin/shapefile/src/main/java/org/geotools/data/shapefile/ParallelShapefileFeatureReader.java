@@ -0,0 +1,328 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.shapefile.dbf.DbaseFileReader;
+import org.geotools.data.shapefile.dbf.DbaseFileReader.Row;
+import org.geotools.data.shapefile.dbf.IndexedDbaseFileReader;
+import org.geotools.data.shapefile.fid.IndexedFidReader;
+import org.geotools.data.shapefile.shp.ShapefileReader;
+import org.geotools.data.shapefile.shp.ShapefileReader.Record;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+import org.locationtech.jts.geom.Geometry;
+import org.locationtech.jts.geom.GeometryFactory;
+
+/**
+ * A feature reader performing a full scan of the shapefile by splitting the records in partitions, using the
+ * <code>.shx</code> offsets, and decoding the partitions on the executor of the store. Each partition opens its own
+ * <code>.shp</code>, <code>.dbf</code> and <code>.fix</code> readers, so no state is shared among the workers.
+ *
+ * <p>At most twice the configured parallelism partitions are pending at any time, bounding the memory used by the
+ * decoded features. Depending on the <code>ordered</code> flag the features are returned in file order, or partition
+ * by partition as soon as each one is decoded.
+ *
+ * <p>Screen map and generalization are not supported, as the screen map is not thread safe, and the
+ * {@link ShapefileFeatureSource} uses a sequential reader when they are requested.
+ */
+class ParallelShapefileFeatureReader implements FeatureReader<SimpleFeatureType, SimpleFeature> {
+
+    static final Logger LOGGER = Logging.getLogger(ParallelShapefileFeatureReader.class);
+
+    /** Min number of records in a partition, smaller ones would not pay for opening the files */
+    static final int MIN_PARTITION_SIZE = 1024;
+
+    /** Max number of records in a partition, bigger ones would use too much memory */
+    static final int MAX_PARTITION_SIZE = 16384;
+
+    private final SimpleFeatureType schema;
+
+    private final ShapefileSetManager shpManager;
+
+    private final int[] offsets;
+
+    private final int partitionSize;
+
+    private final int numPartitions;
+
+    private final int maxPending;
+
+    private final boolean ordered;
+
+    private final Executor executor;
+
+    private final AtomicBoolean closed = new AtomicBoolean();
+
+    /** The futures not yet consumed */
+    private final List<CompletableFuture<List<SimpleFeature>>> pending = new ArrayList<>();
+
+    /** The futures ready to be consumed, in submission order if ordered, in completion order otherwise */
+    private final BlockingQueue<CompletableFuture<List<SimpleFeature>>> results = new LinkedBlockingQueue<>();
+
+    private int submitted;
+
+    private Iterator<SimpleFeature> current = Collections.emptyIterator();
+
+    GeometryFactory geometryFactory;
+
+    boolean readDbf;
+
+    boolean readFids;
+
+    boolean flatGeometry;
+
+    Filter filter;
+
+    Envelope targetBBox;
+
+    /**
+     * Builds a new parallel reader
+     *
+     * @param schema The schema to read
+     * @param shpManager Used to open the readers of each partition
+     * @param offsets The byte offsets of the records in the <code>.shp</code> file, as read from the <code>.shx</code>
+     * @param parallelism The number of partitions decoded in parallel
+     * @param ordered Whether the features should be returned in file order
+     * @param executor Decodes the partitions
+     */
+    public ParallelShapefileFeatureReader(
+            SimpleFeatureType schema,
+            ShapefileSetManager shpManager,
+            int[] offsets,
+            int parallelism,
+            boolean ordered,
+            Executor executor) {
+        this.schema = schema;
+        this.shpManager = shpManager;
+        this.offsets = offsets;
+        this.ordered = ordered;
+        this.maxPending = parallelism * 2;
+        this.partitionSize =
+                Math.min(MAX_PARTITION_SIZE, Math.max(MIN_PARTITION_SIZE, offsets.length / (parallelism * 4)));
+        this.numPartitions = (offsets.length + partitionSize - 1) / partitionSize;
+        this.executor = executor;
+    }
+
+    @Override
+    public SimpleFeatureType getFeatureType() {
+        return schema;
+    }
+
+    @Override
+    public boolean hasNext() throws IOException {
+        while (!current.hasNext()) {
+            List<SimpleFeature> partition = nextPartition();
+            if (partition == null) {
+                return false;
+            }
+            current = partition.iterator();
+        }
+        return true;
+    }
+
+    @Override
+    public SimpleFeature next() throws IOException, IllegalArgumentException, NoSuchElementException {
+        if (!hasNext()) {
+            throw new NoSuchElementException("hasNext() returned false");
+        }
+        return current.next();
+    }
+
+    /** Returns the next decoded partition, or null if all of them have been consumed */
+    private List<SimpleFeature> nextPartition() throws IOException {
+        if (closed.get()) {
+            return null;
+        }
+        while (pending.size() < maxPending && submitted < numPartitions) {
+            submit(submitted++);
+        }
+        if (pending.isEmpty()) {
+            return null;
+        }
+        CompletableFuture<List<SimpleFeature>> future;
+        try {
+            future = results.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while waiting for the shapefile partitions to be read", e);
+        }
+        pending.remove(future);
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException uio) {
+                throw uio.getCause();
+            }
+            throw new IOException("Failed to read shapefile partition", cause);
+        }
+    }
+
+    private void submit(int partition) {
+        int start = partition * partitionSize;
+        int end = Math.min(offsets.length, start + partitionSize);
+        CompletableFuture<List<SimpleFeature>> future = CompletableFuture.supplyAsync(
+                () -> {
+                    try {
+                        return readPartition(start, end);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                },
+                executor);
+        pending.add(future);
+        if (ordered) {
+            results.add(future);
+        } else {
+            future.whenComplete((features, error) -> results.add(future));
+        }
+    }
+
+    /** Reads the features of the records between start (included) and end (excluded) */
+    @SuppressWarnings("PMD.CloseResource") // managed by the partition reader
+    List<SimpleFeature> readPartition(int start, int end) throws IOException {
+        List<SimpleFeature> features = new ArrayList<>(end - start);
+        ShapefileReader shp = shpManager.openShapeReader(geometryFactory, true);
+        DbaseFileReader dbf = null;
+        IndexedFidReader fidReader = null;
+        PartitionReader reader = null;
+        try {
+            shp.setFlatGeometry(flatGeometry);
+            if (readDbf) {
+                dbf = shpManager.openDbfReader(true);
+                if (dbf != null) {
+                    ((IndexedDbaseFileReader) dbf).goTo(start + 1);
+                }
+            }
+            if (readFids) {
+                fidReader = new IndexedFidReader(shpManager.shpFiles);
+            }
+            reader = new PartitionReader(schema, shp, dbf, fidReader, start, end);
+            reader.setFilter(filter);
+            reader.setTargetBBox(targetBBox);
+            while (!closed.get() && reader.hasNext()) {
+                features.add(reader.next());
+            }
+        } finally {
+            if (reader != null) {
+                reader.close();
+            } else {
+                closeQuietly(shp, dbf, fidReader);
+            }
+        }
+        return features;
+    }
+
+    private static void closeQuietly(AutoCloseable... closeables) {
+        for (AutoCloseable closeable : closeables) {
+            try {
+                if (closeable != null) {
+                    closeable.close();
+                }
+            } catch (Exception e) {
+                LOGGER.log(Level.FINE, "Failed to close partition reader", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed.compareAndSet(false, true)) {
+            // wait for the running partitions, they release the file locks when done
+            for (CompletableFuture<List<SimpleFeature>> future : pending) {
+                try {
+                    future.join();
+                } catch (CompletionException | CancellationException e) {
+                    LOGGER.log(Level.FINE, "Partition read failed while closing the reader", e);
+                }
+            }
+            pending.clear();
+            results.clear();
+            current = Collections.emptyIterator();
+        }
+    }
+
+    /**
+     * Reads a range of records, positioning the <code>.shp</code> reader using the <code>.shx</code> offsets, and the
+     * <code>.dbf</code> one at the beginning of the range
+     */
+    class PartitionReader extends ShapefileFeatureReader {
+
+        int index;
+
+        final int end;
+
+        PartitionReader(
+                SimpleFeatureType schema,
+                ShapefileReader shp,
+                DbaseFileReader dbf,
+                IndexedFidReader fidReader,
+                int start,
+                int end)
+                throws IOException {
+            super(schema, shp, dbf, fidReader);
+            this.index = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean hasNext() throws IOException {
+            while (nextFeature == null && index < end) {
+                shp.goTo(offsets[index++]);
+                Record record = shp.nextRecord();
+
+                Geometry geometry = getGeometry(record);
+                if (geometry == SKIP) {
+                    if (dbf != null) {
+                        dbf.skip();
+                    }
+                    continue;
+                }
+
+                Row row = null;
+                if (dbf != null) {
+                    row = dbf.readRow();
+                    if (row.isDeleted()) {
+                        continue;
+                    }
+                }
+                nextFeature = buildFeature(record.number, geometry, row, record.envelope());
+            }
+            return nextFeature != null;
+        }
+    }
+}
@@ -31,17 +31,19 @@
 import org.geotools.api.util.ProgressListener;
 import org.geotools.data.shapefile.ShapefileIndexerBoundsHelper.BoundsReader;
 import org.geotools.data.shapefile.files.FileWriter;
-import org.geotools.data.shapefile.files.ShpFileType;
 import org.geotools.data.shapefile.files.ShpFiles;
 import org.geotools.data.shapefile.files.StorageFile;
 import org.geotools.data.shapefile.index.LockTimeoutException;
+import org.geotools.data.shapefile.index.SpatialIndexType;
 import org.geotools.data.shapefile.index.TreeException;
 import org.geotools.data.shapefile.index.quadtree.Node;
 import org.geotools.data.shapefile.index.quadtree.QuadTree;
 import org.geotools.data.shapefile.index.quadtree.StoreException;
 import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
 import org.geotools.data.shapefile.index.quadtree.fs.IndexHeader;
+import org.geotools.data.shapefile.index.rtree.PackedRTreeBuilder;
 import org.geotools.data.shapefile.shp.IndexFile;
+import org.geotools.data.shapefile.shp.ShapeType;
 import org.geotools.data.shapefile.shp.ShapefileHeader;
 import org.geotools.data.shapefile.shp.ShapefileReader;
 import org.geotools.data.shapefile.shp.ShapefileReader.Record;
@@ -61,6 +63,7 @@ class ShapeFileIndexer implements FileWriter {
 
     private int maxDepth = -1;
     private int leafSize = 16;
+    private SpatialIndexType indexType = SpatialIndexType.QUADTREE;
 
     private String byteOrder;
     private ShpFiles shpFiles;
@@ -76,9 +79,12 @@ public static void main(String[] args) throws IOException {
 
         for (int i = 0; i < args.length; i++) {
             if (args[i].equals("-t")) {
-                // idx.setIdxType(IndexType.valueOf(args[++i]));
-                // just skip it for backwards compatibility
-                i++;
+                String type = args[++i];
+                // QIX is accepted for backwards compatibility
+                idx.setIndexType(
+                        type.equalsIgnoreCase("RTREE") || type.equalsIgnoreCase(SpatialIndexType.PACKED_RTREE.name())
+                                ? SpatialIndexType.PACKED_RTREE
+                                : SpatialIndexType.QUADTREE);
             } else if (args[i].equals("-M")) {
                 idx.setMax(Integer.parseInt(args[++i]));
             } else if (args[i].equals("-s")) {
@@ -112,7 +118,7 @@ public static void main(String[] args) throws IOException {
 
     private static void usage() {
         System.out.println("Usage: ShapeFileIndexer "
-                + "-t <QIX> "
+                + "[-t <QIX | RTREE>] "
                 + "[-M <max tree depth>] "
                 + "[-b <byte order NL | NM>] "
                 + "<shape file>"
@@ -121,10 +127,12 @@ private static void usage() {
         System.out.println();
 
         System.out.println("Options:");
-        System.out.println("\t-t Index type: RTREE or QUADTREE");
+        System.out.println("\t-t Index type: QIX (quadtree, default) or RTREE (Hilbert packed R-tree)");
+        System.out.println("\t-b byte order to use: NL = LSB; " + "NM = MSB (default)");
+        System.out.println("\t-s max number of items in a leaf, or node size for the RTREE");
         System.out.println();
         System.out.println("Following options apllies only to QUADTREE:");
-        System.out.println("\t-b byte order to use: NL = LSB; " + "NM = MSB (default)");
+        System.out.println("\t-M max tree depth");
 
         System.exit(1);
     }
@@ -145,15 +153,20 @@ public int index(boolean verbose, /*unused*/ ProgressListener listener)
         int cnt = 0;
 
         // Temporary file for building...
-        StorageFile storage = shpFiles.getStorageFile(ShpFileType.QIX);
+        StorageFile storage = shpFiles.getStorageFile(indexType.getFileType());
         File treeFile = storage.getFile();
-        if (maxDepth == -1) {
-            maxDepth = computeMaxDepth();
-        }
-
-        try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory())) {
+        if (indexType == SpatialIndexType.PACKED_RTREE) {
+            try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory())) {
+                cnt = this.buildPackedRTree(reader, treeFile, verbose);
+            }
+        } else {
+            if (maxDepth == -1) {
+                maxDepth = computeMaxDepth();
+            }
 
-            cnt = this.buildQuadTree(reader, treeFile, verbose);
+            try (ShapefileReader reader = new ShapefileReader(shpFiles, true, false, new GeometryFactory())) {
+                cnt = this.buildQuadTree(reader, treeFile, verbose);
+            }
         }
 
         // Final index file
@@ -229,6 +242,35 @@ private int buildQuadTree(ShapefileReader reader, File file, boolean verbose) th
         return cnt;
     }
 
+    private int buildPackedRTree(ShapefileReader reader, File file, boolean verbose) throws IOException {
+        LOGGER.fine("Building packed R-tree spatial index for file " + file.getAbsolutePath());
+
+        final byte fileByteOrder = resolveStorageByteOrder();
+
+        int cnt = 0;
+        try (IndexFile shpIndex = new IndexFile(shpFiles, false)) {
+            PackedRTreeBuilder builder =
+                    new PackedRTreeBuilder(getBounds(reader), shpIndex.getRecordCount(), Math.max(2, leafSize));
+            while (reader.hasNext()) {
+                Record rec = reader.nextRecord();
+                int recno = cnt++;
+                // null shapes have no bounds and can never match a spatial filter
+                if (rec.type != ShapeType.NULL) {
+                    builder.insert(recno, shpIndex.getOffsetInBytes(recno), rec.minX, rec.minY, rec.maxX, rec.maxY);
+                }
+
+                if (verbose && cnt % 1_000 == 0) {
+                    System.out.print('.');
+                }
+                if (verbose && cnt % 100_000 == 0) System.out.print('\n');
+            }
+            if (verbose) System.out.println("Storing the tree...");
+            builder.store(file, fileByteOrder);
+            if (verbose) System.out.println("done");
+        }
+        return cnt;
+    }
+
     private Envelope getBounds(ShapefileReader reader) {
         ShapefileHeader header = reader.getHeader();
         Envelope bounds = new Envelope(header.minX(), header.maxX(), header.minY(), header.maxY());
@@ -380,6 +422,15 @@ public void setShapeFileName(ShpFiles shpFiles) {
         this.shpFiles = shpFiles;
     }
 
+    /** The type of spatial index that will be built, defaults to {@link SpatialIndexType#QUADTREE} */
+    public SpatialIndexType getIndexType() {
+        return indexType;
+    }
+
+    public void setIndexType(SpatialIndexType indexType) {
+        this.indexType = indexType == null ? SpatialIndexType.QUADTREE : indexType;
+    }
+
     /** @param byteOrder The byteOrder to set. */
     public void setByteOrder(String byteOrder) {
         this.byteOrder = byteOrder;
@@ -34,6 +34,11 @@
 import java.util.Collections;
 import java.util.List;
 import java.util.TimeZone;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import org.geotools.api.data.DataSourceException;
 import org.geotools.api.data.FeatureReader;
@@ -52,6 +57,7 @@
 import org.geotools.data.shapefile.files.ShpFileType;
 import org.geotools.data.shapefile.files.ShpFiles;
 import org.geotools.data.shapefile.files.StorageFile;
+import org.geotools.data.shapefile.index.SpatialIndexType;
 import org.geotools.data.shapefile.shp.ShapeType;
 import org.geotools.data.shapefile.shp.ShapefileWriter;
 import org.geotools.data.store.ContentDataStore;
@@ -60,6 +66,7 @@
 import org.geotools.feature.FeatureTypes;
 import org.geotools.feature.NameImpl;
 import org.geotools.referencing.wkt.Formattable;
+import org.geotools.util.factory.Hints;
 import org.locationtech.jts.geom.Envelope;
 import org.locationtech.jts.geom.Geometry;
 import org.locationtech.jts.geom.LineString;
@@ -83,6 +90,19 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     public static final TimeZone DEFAULT_TIMEZONE = (TimeZone) ShapefileDataStoreFactory.DBFTIMEZONE.getDefaultValue();
 
+    /**
+     * Query hint overriding the store {@link #getReadParallelism() read parallelism} for a single query. Values greater
+     * than one enable a partitioned read of the full file, with the records decoded on the threads of the store.
+     */
+    public static final Hints.Key READ_PARALLELISM = new Hints.Key(Integer.class);
+
+    /**
+     * Query hint controlling the delivery order of parallel reads. When {@link Boolean#FALSE} features are returned as
+     * soon as their partition is decoded, in no particular order, otherwise (the default) they are returned in file
+     * order, as in a sequential read.
+     */
+    public static final Hints.Key ORDERED_READ = new Hints.Key(Boolean.class);
+
     /**
      * When true, the stack trace that got a lock that wasn't released is recorded and then printed out when warning the
      * user about this.
@@ -106,6 +126,13 @@ public class ShapefileDataStore extends ContentDataStore implements FileDataStor
 
     boolean indexCreationEnabled = true;
 
+    SpatialIndexType spatialIndexType = SpatialIndexType.QUADTREE;
+
+    int readParallelism = 1;
+
+    /** Decodes the partitions of the parallel reads, created when first needed and shut down on dispose */
+    ExecutorService readExecutor;
+
     boolean fidIndexed = true;
 
     IndexManager indexManager;
@@ -419,6 +446,12 @@ public void forceSchemaCRS(CoordinateReferenceSystem crs) throws IOException {
     @Override
     public void dispose() {
         super.dispose();
+        synchronized (this) {
+            if (readExecutor != null) {
+                readExecutor.shutdown();
+                readExecutor = null;
+            }
+        }
         if (shpFiles != null) {
             shpFiles.dispose();
             shpFiles = null;
@@ -501,6 +534,53 @@ public void setIndexCreationEnabled(boolean indexCreationEnabled) {
         this.indexCreationEnabled = indexCreationEnabled;
     }
 
+    public SpatialIndexType getSpatialIndexType() {
+        return spatialIndexType;
+    }
+
+    /**
+     * The type of spatial index created when the index is missing or stale, {@link SpatialIndexType#QUADTREE} by
+     * default. Existing indexes are used regardless of their type.
+     */
+    public void setSpatialIndexType(SpatialIndexType spatialIndexType) {
+        this.spatialIndexType = spatialIndexType == null ? SpatialIndexType.QUADTREE : spatialIndexType;
+    }
+
+    public int getReadParallelism() {
+        return readParallelism;
+    }
+
+    /**
+     * Sets the number of partitions decoded in parallel during full scans of the shapefile. The default, one, disables
+     * parallel reads. Only local, non compressed shapefiles with a <code>.shx</code> file are read in parallel.
+     *
+     * @see #READ_PARALLELISM
+     * @see #ORDERED_READ
+     */
+    public void setReadParallelism(int readParallelism) {
+        this.readParallelism = Math.max(1, readParallelism);
+    }
+
+    /**
+     * Returns the executor decoding the partitions of the parallel reads. It uses up to one daemon thread per
+     * processor, released when idle, rather than the common fork join pool, which the blocking reads would starve.
+     */
+    synchronized ExecutorService getReadExecutor() {
+        if (readExecutor == null) {
+            int threads = Math.max(1, Runtime.getRuntime().availableProcessors());
+            AtomicInteger count = new AtomicInteger();
+            ThreadPoolExecutor executor =
+                    new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(), r -> {
+                        Thread thread = new Thread(r, "GeoTools shapefile reader " + count.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            readExecutor = executor;
+        }
+        return readExecutor;
+    }
+
     @Override
     public void removeSchema(String typeName) throws IOException {
         removeSchema(new NameImpl(null, typeName));
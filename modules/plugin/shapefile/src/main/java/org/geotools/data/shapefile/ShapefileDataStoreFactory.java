@@ -37,6 +37,7 @@
 import org.geotools.data.DataUtilities;
 import org.geotools.data.directory.DirectoryDataStore;
 import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.index.SpatialIndexType;
 import org.geotools.util.KVP;
 import org.geotools.util.URLs;
 import org.geotools.util.logging.Logging;
@@ -168,6 +169,31 @@ public String text(Object value) {
             true,
             new KVP(Param.LEVEL, "advanced"));
 
+    /**
+     * Optional - the type of spatial index to create when missing, either a quadtree or a Hilbert packed R-tree.
+     * Existing indexes are used regardless of their type.
+     */
+    public static final Param SPATIAL_INDEX_TYPE = new Param(
+            "spatial index type",
+            String.class,
+            "type of spatial index to create, QUADTREE or PACKED_RTREE",
+            false,
+            SpatialIndexType.QUADTREE.name(),
+            new KVP(
+                    Param.LEVEL,
+                    "advanced",
+                    Param.OPTIONS,
+                    Arrays.asList(SpatialIndexType.QUADTREE.name(), SpatialIndexType.PACKED_RTREE.name())));
+
+    /** Optional - number of partitions decoded in parallel during full scans, one disables parallel reads */
+    public static final Param READ_PARALLELISM = new Param(
+            "read parallelism",
+            Integer.class,
+            "number of partitions of the shapefile decoded in parallel during full scans, 1 disables parallel reads",
+            false,
+            1,
+            new KVP(Param.LEVEL, "advanced"));
+
     /** Optional - skip the scan for alternative shapefile extensions (i.e. .SHP, .shp.XML, ...) */
     public static final Param SKIP_SCAN = new Param(
             "skipScan",
@@ -194,10 +220,12 @@ public Param[] getParametersInfo() {
             NAMESPACEP,
             ENABLE_SPATIAL_INDEX,
             CREATE_SPATIAL_INDEX,
+            SPATIAL_INDEX_TYPE,
             DBFCHARSET,
             DBFTIMEZONE,
             MEMORY_MAPPED,
             CACHE_MEMORY_MAPS,
+            READ_PARALLELISM,
             FILE_TYPE,
             FSTYPE,
             SKIP_SCAN
@@ -224,6 +252,8 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
         TimeZone dbfTimeZone = lookup(DBFTIMEZONE, params, TimeZone.class);
         Boolean isCreateSpatialIndex = lookup(CREATE_SPATIAL_INDEX, params, Boolean.class);
         Boolean skipScan = lookup(SKIP_SCAN, params, Boolean.class);
+        String spatialIndexType = lookup(SPATIAL_INDEX_TYPE, params, String.class);
+        Integer readParallelism = lookup(READ_PARALLELISM, params, Integer.class);
         Boolean isEnableSpatialIndex = (Boolean) ENABLE_SPATIAL_INDEX.lookUp(params);
         if (isEnableSpatialIndex == null) {
             // should not be needed as default is TRUE
@@ -258,6 +288,8 @@ public DataStore createDataStore(Map<String, ?> params) throws IOException {
             store.setTimeZone(dbfTimeZone);
             store.setIndexed(enableIndex);
             store.setIndexCreationEnabled(createIndex);
+            store.setSpatialIndexType(SpatialIndexType.lookup(spatialIndexType));
+            store.setReadParallelism(readParallelism);
             return store;
         }
     }
@@ -17,6 +17,7 @@
 package org.geotools.data.shapefile;
 
 import java.io.IOException;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
 import java.util.NoSuchElementException;
@@ -130,6 +131,8 @@ public ShapefileFeatureReader(
                     }
                 }
             }
+            // only decode the columns we are going to return
+            dbf.setProjection(Arrays.stream(dbfindexes).filter(i -> i >= 0).toArray());
         }
     }
 
@@ -200,7 +203,8 @@ public boolean hasNext() throws IOException {
 
     /**
      * Reads the geometry, it will return {@link #SKIP} if the records is to be skipped because of the screenmap or
-     * because it does not match the target bbox
+     * because it does not match the target bbox. Both checks only use the record bounds, so skipped records are never
+     * decoded, and the caller can skip the dbf row as well.
      */
     protected Geometry getGeometry(Record record) {
         // read the geometry, so that we can decide if this row is to be skipped or not
@@ -209,23 +213,21 @@ protected Geometry getGeometry(Record record) {
         if (schema.getGeometryDescriptor() != null) {
             // ... if geometry is out of the target bbox, skip both geom and row
             if (targetBBox != null && !targetBBox.isNull() && !targetBBox.intersects(envelope)) {
+                geometry = SKIP;
+                // ... if the geometry falls in a pixel already painted, skip both geom and row. If we have
+                // a filter we cannot alter the screenmap yet, that is done once the feature is built and
+                // known to be returned
+            } else if (isScreenMapBusy(envelope)) {
                 geometry = SKIP;
                 // ... if the geometry is awfully small avoid reading it (unless it's a point)
             } else if (simplificationDistance > 0
                     && envelope.getWidth() < simplificationDistance
                     && envelope.getHeight() < simplificationDistance) {
                 try {
-                    // if we have the screenmap, we either have no filter, and we
-                    // can directly alter the screenmap, or we have a filter, in that
-                    // case we just check if the screenmap is already busy
-                    if (screenMap != null && screenMap.get(envelope)) {
-                        geometry = SKIP;
-                    } else {
-                        // if we are using the screenmap better provide a slightly modified
-                        // version of the geometry bounds or we'll end up with many holes
-                        // in the rendering
-                        geometry = (Geometry) record.getSimplifiedShape(screenMap);
-                    }
+                    // if we are using the screenmap better provide a slightly modified
+                    // version of the geometry bounds or we'll end up with many holes
+                    // in the rendering
+                    geometry = (Geometry) record.getSimplifiedShape(screenMap);
                 } catch (Exception e) {
                     geometry = (Geometry) record.getSimplifiedShape();
                 }
@@ -237,6 +239,24 @@ protected Geometry getGeometry(Record record) {
         return geometry;
     }
 
+    /** Checks if the envelope falls in a pixel of the screenmap that has already been painted */
+    private boolean isScreenMapBusy(Envelope envelope) {
+        if (screenMap == null) {
+            return false;
+        }
+        try {
+            if (screenMap.get(envelope)) {
+                screenMap.incrementSkipped();
+                return true;
+            }
+        } catch (Exception e) {
+            if (LOGGER.isLoggable(Level.FINE)) {
+                LOGGER.log(Level.FINE, "Failed to check the screenmap", e);
+            }
+        }
+        return false;
+    }
+
     SimpleFeature buildFeature(int number, Geometry geometry, Row row, Envelope envelope) throws IOException {
         if (dbfindexes != null) {
             for (int dbfindex : dbfindexes) {
@@ -56,6 +56,7 @@
 import org.geotools.api.filter.temporal.TOverlaps;
 import org.geotools.api.referencing.FactoryException;
 import org.geotools.api.referencing.crs.CoordinateReferenceSystem;
+import org.geotools.api.util.ProgressListener;
 import org.geotools.data.EmptyFeatureReader;
 import org.geotools.data.PrjFileReader;
 import org.geotools.data.ReTypeFeatureReader;
@@ -197,6 +198,8 @@ public ShapefileFeatureSource(ContentEntry entry, ShpFiles shpFiles) {
         hints.add(Hints.JTS_COORDINATE_SEQUENCE_FACTORY);
         hints.add(Hints.GEOMETRY_DISTANCE);
         hints.add(Hints.SCREENMAP);
+        hints.add(ShapefileDataStore.READ_PARALLELISM);
+        hints.add(ShapefileDataStore.ORDERED_READ);
         this.hints = Collections.unmodifiableSet(hints);
     }
 
@@ -322,6 +325,18 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
             return new EmptyFeatureReader<>(resultSchema);
         }
 
+        // full scans can be decoded in parallel
+        if (goodRecs == null) {
+            FeatureReader<SimpleFeatureType, SimpleFeature> parallel =
+                    getParallelReader(q, readSchema, geometryFactory, bbox);
+            if (parallel != null) {
+                if (!FeatureTypes.equals(readSchema, resultSchema)) {
+                    return new ReTypeFeatureReader(parallel, resultSchema);
+                }
+                return parallel;
+            }
+        }
+
         // get the .fix file reader, if we have a .fix file
         @SuppressWarnings("PMD.CloseResource") // wrapped and returned
         IndexedFidReader fidReader = null;
@@ -392,6 +407,84 @@ protected FeatureReader<SimpleFeatureType, SimpleFeature> getReaderInternal(Quer
         }
     }
 
+    /**
+     * Returns a {@link ParallelShapefileFeatureReader} if the query can be answered by a parallel full scan, null
+     * otherwise
+     */
+    ParallelShapefileFeatureReader getParallelReader(
+            Query q, SimpleFeatureType readSchema, GeometryFactory geometryFactory, Envelope bbox) throws IOException {
+        int parallelism = getReadParallelism(q);
+        ShapefileSetManager shpManager = getDataStore().shpManager;
+        ShpFiles files = shpManager.shpFiles;
+        if (parallelism <= 1 || !files.isLocal() || files.isGz() || !files.exists(ShpFileType.SHP)) {
+            return null;
+        }
+        // the screenmap is not thread safe, and generalized reads are meant to be fast anyways
+        Hints hints = q.getHints();
+        if (hints != null && (hints.get(Hints.SCREENMAP) != null || hints.get(Hints.GEOMETRY_DISTANCE) != null)) {
+            return null;
+        }
+
+        // the partitions are computed using the .shx offsets
+        int[] offsets;
+        try (IndexFile shx = shpManager.openIndexFile()) {
+            if (shx == null) {
+                return null;
+            }
+            int count = shx.getRecordCount();
+            if (count < ParallelShapefileFeatureReader.MIN_PARTITION_SIZE * 2) {
+                return null;
+            }
+            offsets = new int[count];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = shx.getOffsetInBytes(i);
+            }
+        }
+
+        // let the sequential reader report mismatched shp and dbf files
+        List<AttributeDescriptor> attributes = readSchema.getAttributeDescriptors();
+        boolean readDbf =
+                !(attributes.isEmpty() || attributes.size() == 1 && readSchema.getGeometryDescriptor() != null);
+        if (readDbf) {
+            try (DbaseFileReader dbf = shpManager.openDbfReader(false)) {
+                if (dbf == null || dbf.getHeader().getNumRecords() != offsets.length) {
+                    return null;
+                }
+            }
+        }
+
+        boolean ordered = hints == null || !Boolean.FALSE.equals(hints.get(ShapefileDataStore.ORDERED_READ));
+        ParallelShapefileFeatureReader reader = new ParallelShapefileFeatureReader(
+                readSchema,
+                shpManager,
+                offsets,
+                parallelism,
+                ordered,
+                getDataStore().getReadExecutor());
+        reader.geometryFactory = geometryFactory;
+        reader.readDbf = readDbf;
+        reader.readFids =
+                getDataStore().isFidIndexed() && getDataStore().indexManager.hasFidIndex(false);
+        reader.flatGeometry = hints != null && Boolean.TRUE.equals(hints.get(Hints.FEATURE_2D));
+        Filter filter = q.getFilter();
+        if (filter != null && !Filter.INCLUDE.equals(filter)) {
+            reader.filter = filter;
+        }
+        if (bbox != null && !bbox.isNull()) {
+            reader.targetBBox = bbox;
+        }
+        return reader;
+    }
+
+    /** The read parallelism for the query, using the {@link ShapefileDataStore#READ_PARALLELISM} hint if available */
+    int getReadParallelism(Query q) {
+        Hints hints = q != null ? q.getHints() : null;
+        if (hints != null && hints.get(ShapefileDataStore.READ_PARALLELISM) instanceof Integer parallelism) {
+            return parallelism;
+        }
+        return getDataStore().getReadParallelism();
+    }
+
     SimpleFeatureType getResultSchema(Query q) {
         if (q.getPropertyNames() == null) {
             return getSchema();
@@ -585,6 +678,30 @@ protected List<AttributeDescriptor> readAttributes() throws IOException {
         }
     }
 
+    /**
+     * Visits the features with an unordered parallel read, when the store is configured for parallel reads and the
+     * query does not depend on the feature order. The visitor is still called from the current thread only.
+     */
+    @Override
+    public void accepts(Query query, FeatureVisitor visitor, ProgressListener progress) throws IOException {
+        super.accepts(getVisitorQuery(query), visitor, progress);
+    }
+
+    /** Returns the query used to visit the features, asking for an unordered read if the read can be parallel */
+    Query getVisitorQuery(Query query) {
+        if (getReadParallelism(query) <= 1
+                || query.getSortBy() != null && query.getSortBy().length > 0
+                || query.getStartIndex() != null
+                || !query.isMaxFeaturesUnlimited()) {
+            return query;
+        }
+        Query unordered = new Query(query);
+        Hints hints = query.getHints() != null ? new Hints(query.getHints()) : new Hints();
+        hints.putIfAbsent(ShapefileDataStore.ORDERED_READ, Boolean.FALSE);
+        unordered.setHints(hints);
+        return unordered;
+    }
+
     @Override
     protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
         return super.handleVisitor(query, visitor);
@@ -29,12 +29,14 @@
 import org.geotools.api.feature.simple.SimpleFeatureType;
 import org.geotools.api.feature.type.Name;
 import org.geotools.api.filter.Filter;
+import org.geotools.api.util.ProgressListener;
 import org.geotools.data.FilteringFeatureWriter;
 import org.geotools.data.shapefile.files.ShpFiles;
 import org.geotools.data.store.ContentEntry;
 import org.geotools.data.store.ContentFeatureStore;
 import org.geotools.data.store.ContentState;
 import org.geotools.geometry.jts.ReferencedEnvelope;
+import org.geotools.util.factory.Hints;
 import org.geotools.util.factory.Hints.Key;
 
 /**
@@ -60,8 +62,11 @@ protected FeatureWriter<SimpleFeatureType, SimpleFeature> getWriterInternal(Quer
             throw new IllegalArgumentException("no write flags set");
         }
 
+        // the writer needs the sequential reader
+        Query all = new Query(Query.ALL);
+        all.setHints(new Hints(ShapefileDataStore.READ_PARALLELISM, 1));
         @SuppressWarnings("PMD.CloseResource") // managed as part of the writer
-        ShapefileFeatureReader reader = (ShapefileFeatureReader) delegate.getReaderInternal(Query.ALL);
+        ShapefileFeatureReader reader = (ShapefileFeatureReader) delegate.getReaderInternal(all);
         ShapefileFeatureWriter writer;
         ShapefileDataStore ds = getDataStore();
         if (ds.indexManager.hasFidIndex(false) || ds.isFidIndexed() && ds.indexManager.hasFidIndex(true)) {
@@ -169,6 +174,11 @@ protected boolean canRetype(Query query) {
         return delegate.canRetype(query);
     }
 
+    @Override
+    public void accepts(Query query, FeatureVisitor visitor, ProgressListener progress) throws IOException {
+        super.accepts(delegate.getVisitorQuery(query), visitor, progress);
+    }
+
     @Override
     protected boolean handleVisitor(Query query, FeatureVisitor visitor) throws IOException {
         return delegate.handleVisitor(query, visitor);
@@ -31,6 +31,7 @@
 import java.nio.channels.ReadableByteChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Locale;
 import java.util.TimeZone;
@@ -74,14 +75,52 @@ public final class Row {
         boolean deleted;
 
         public Object read(final int column) throws IOException {
+            checkProjected(column);
             final int offset = fieldOffsets[column];
             return readObject(offset, column);
         }
 
+        /**
+         * Reads a numeric column as a double, without allocating objects in the common case
+         *
+         * @return The value, or {@link Double#NaN} if the value is null or cannot be parsed
+         */
+        public double readDouble(final int column) throws IOException {
+            return DbaseFileReader.this.readDouble(column);
+        }
+
+        /**
+         * Reads a numeric column holding integral values as a long, without allocating objects
+         *
+         * @return The value, zero if the value is null (use {@link #isNull(int)} to tell them apart)
+         * @throws NumberFormatException If the value is not an integral number, or does not fit a long
+         */
+        public long readLong(final int column) throws IOException {
+            return DbaseFileReader.this.readLong(column);
+        }
+
+        /**
+         * Reads a numeric column holding integral values as an int, without allocating objects
+         *
+         * @return The value, zero if the value is null (use {@link #isNull(int)} to tell them apart)
+         * @throws NumberFormatException If the value is not an integral number, or does not fit an int
+         */
+        public int readInt(final int column) throws IOException {
+            return DbaseFileReader.this.readInt(column);
+        }
+
+        /** Returns true if the column value is null, without decoding it */
+        public boolean isNull(final int column) throws IOException {
+            return DbaseFileReader.this.isNull(column);
+        }
+
         @Override
         public String toString() {
             final StringBuffer ret = new StringBuffer("DBF Row - ");
             for (int i = 0; i < header.getNumFields(); i++) {
+                if (projected != null && !projected[i]) {
+                    continue;
+                }
                 ret.append(header.getFieldName(i)).append(": \"");
                 try {
                     ret.append(this.read(i));
@@ -116,6 +155,14 @@ public boolean isDeleted() {
 
     Row row;
 
+    /** The projected columns, or null if all columns are read */
+    boolean[] projected;
+
+    /** The byte ranges of the projected columns, adjacent columns are merged in a single range */
+    int[] rangeOffsets;
+
+    int[] rangeLengths;
+
     protected boolean useMemoryMappedBuffer;
 
     protected boolean randomAccessEnabled;
@@ -131,6 +178,12 @@ public boolean isDeleted() {
 
     private final long MILLISECS_PER_DAY = 24 * 60 * 60 * 1000;
 
+    /** The powers of ten that can be represented exactly as doubles */
+    private static final double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19,
+        1e20, 1e21, 1e22
+    };
+
     /**
      * Creates a new instance of DBaseFileReader
      *
@@ -288,6 +341,49 @@ private void bufferCheck() throws IOException {
         }
     }
 
+    /**
+     * Restricts the columns read from each record. Only the bytes of the projected columns are copied out of the
+     * (possibly memory mapped) buffer, the other columns cannot be read until the projection is reset.
+     *
+     * @param columns The zero based indexes of the columns to read, or null to read all of them
+     */
+    public void setProjection(final int... columns) {
+        if (columns == null) {
+            projected = null;
+            rangeOffsets = null;
+            rangeLengths = null;
+            return;
+        }
+        projected = new boolean[fieldOffsets.length];
+        for (int column : columns) {
+            projected[column] = true;
+        }
+        // merge adjacent columns, the field offsets are sorted
+        int[] offsets = new int[fieldOffsets.length];
+        int[] lengths = new int[fieldOffsets.length];
+        int ranges = 0;
+        for (int i = 0; i < projected.length; i++) {
+            if (!projected[i]) {
+                continue;
+            }
+            if (ranges > 0 && offsets[ranges - 1] + lengths[ranges - 1] == fieldOffsets[i]) {
+                lengths[ranges - 1] += fieldLengths[i];
+            } else {
+                offsets[ranges] = fieldOffsets[i];
+                lengths[ranges] = fieldLengths[i];
+                ranges++;
+            }
+        }
+        rangeOffsets = Arrays.copyOf(offsets, ranges);
+        rangeLengths = Arrays.copyOf(lengths, ranges);
+    }
+
+    private void checkProjected(final int column) {
+        if (projected != null && !projected[column]) {
+            throw new IllegalArgumentException("Column " + column + " is not part of the current projection");
+        }
+    }
+
     /**
      * Get the header from this file. The header is read upon instantiation.
      *
@@ -397,7 +493,11 @@ public Object[] readEntry(final Object[] entry, final int offset) throws IOExcep
         final int numFields = header.getNumFields();
 
         for (int j = 0; j < numFields; j++) {
-            entry[j + offset] = readObject(fieldOffsets[j], j);
+            if (projected == null || projected[j]) {
+                entry[j + offset] = readObject(fieldOffsets[j], j);
+            } else {
+                entry[j + offset] = null;
+            }
         }
 
         return entry;
@@ -412,9 +512,172 @@ public Object[] readEntry(final Object[] entry, final int offset) throws IOExcep
      * @return The value of the field
      */
     public Object readField(final int fieldNum) throws IOException {
+        checkProjected(fieldNum);
         return readObject(fieldOffsets[fieldNum], fieldNum);
     }
 
+    /**
+     * Reads a numeric field from the current record as a double, see {@link #readField(int)} for usage. Integers and
+     * plain decimals with up to 15 significant digits are parsed straight from the record bytes, other values fall
+     * back on {@link Double#parseDouble(String)}.
+     *
+     * @param fieldNum The field number to be read (zero based)
+     * @return The value, or {@link Double#NaN} if the value is null or cannot be parsed
+     * @throws IOException If the field is not numeric
+     */
+    public double readDouble(final int fieldNum) throws IOException {
+        checkNumeric(fieldNum);
+        int start = fieldOffsets[fieldNum];
+        int end = start + fieldLengths[fieldNum];
+        // skip leading and trailing spaces
+        while (start < end && bytes[start] == ' ') start++;
+        while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\0')) end--;
+        if (start == end || bytes[start] == '*') {
+            return Double.NaN;
+        }
+
+        int i = start;
+        boolean negative = bytes[i] == '-';
+        if (negative || bytes[i] == '+') i++;
+        long mantissa = 0;
+        int digits = 0;
+        int scale = -1;
+        boolean hasDigits = false;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b >= '0' && b <= '9') {
+                hasDigits = true;
+                if (mantissa != 0 || b != '0') digits++;
+                mantissa = mantissa * 10 + (b - '0');
+                if (scale >= 0) scale++;
+            } else if (b == '.' && scale < 0) {
+                scale = 0;
+            } else {
+                break;
+            }
+        }
+        if (i == end && hasDigits && digits <= 15 && scale < POWERS_OF_TEN.length) {
+            // both the mantissa and the power of ten are exact doubles, the division is correctly rounded
+            double value = scale > 0 ? mantissa / POWERS_OF_TEN[scale] : mantissa;
+            return negative ? -value : value;
+        }
+
+        try {
+            return Double.parseDouble(fastParse(bytes, start, end - start));
+        } catch (final NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Reads a numeric field holding integral values from the current record as a long, see {@link #readField(int)}
+     * for usage.
+     *
+     * @param fieldNum The field number to be read (zero based)
+     * @return The value, zero if the value is null (use {@link #isNull(int)} to tell them apart)
+     * @throws IOException If the field is not numeric
+     * @throws NumberFormatException If the value is not an integral number, or does not fit a long
+     */
+    public long readLong(final int fieldNum) throws IOException {
+        checkNumeric(fieldNum);
+        int start = fieldOffsets[fieldNum];
+        int end = start + fieldLengths[fieldNum];
+        while (start < end && bytes[start] == ' ') start++;
+        while (end > start && (bytes[end - 1] == ' ' || bytes[end - 1] == '\0')) end--;
+        if (start == end || bytes[start] == '*') {
+            return 0;
+        }
+
+        int i = start;
+        boolean negative = bytes[i] == '-';
+        if (negative || bytes[i] == '+') i++;
+        if (i == end) {
+            throw new NumberFormatException("Not an integral number: " + fastParse(bytes, start, end - start));
+        }
+        // accumulate negatively, to handle Long.MIN_VALUE
+        long value = 0;
+        for (; i < end; i++) {
+            byte b = bytes[i];
+            if (b == '.') {
+                // accept trailing zero decimals, e.g. 12.000
+                for (int j = i + 1; j < end; j++) {
+                    if (bytes[j] != '0') {
+                        throw new NumberFormatException(
+                                "Not an integral number: " + fastParse(bytes, start, end - start));
+                    }
+                }
+                break;
+            }
+            if (b < '0' || b > '9' || value < Long.MIN_VALUE / 10) {
+                throw new NumberFormatException("Not a valid long: " + fastParse(bytes, start, end - start));
+            }
+            value = value * 10 - (b - '0');
+            if (value > 0) {
+                throw new NumberFormatException("Not a valid long: " + fastParse(bytes, start, end - start));
+            }
+        }
+        if (!negative) {
+            if (value == Long.MIN_VALUE) {
+                throw new NumberFormatException("Not a valid long: " + fastParse(bytes, start, end - start));
+            }
+            value = -value;
+        }
+        return value;
+    }
+
+    /**
+     * Reads a numeric field holding integral values from the current record as an int, see {@link #readField(int)}
+     * for usage.
+     *
+     * @param fieldNum The field number to be read (zero based)
+     * @return The value, zero if the value is null (use {@link #isNull(int)} to tell them apart)
+     * @throws IOException If the field is not numeric
+     * @throws NumberFormatException If the value is not an integral number, or does not fit an int
+     */
+    public int readInt(final int fieldNum) throws IOException {
+        long value = readLong(fieldNum);
+        if (value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+            throw new NumberFormatException("Value out of int range: " + value);
+        }
+        return (int) value;
+    }
+
+    /**
+     * Returns true if the field of the current record is null, without decoding it
+     *
+     * @param fieldNum The field number to be read (zero based)
+     */
+    public boolean isNull(final int fieldNum) throws IOException {
+        checkProjected(fieldNum);
+        final int offset = fieldOffsets[fieldNum];
+        final int length = fieldLengths[fieldNum];
+        if (length == 0) {
+            return true;
+        }
+        switch (fieldTypes[fieldNum]) {
+            case 'n':
+            case 'N':
+            case 'f':
+            case 'F':
+                for (int i = offset; i < offset + length; i++) {
+                    if (bytes[i] != ' ' && bytes[i] != '\0') {
+                        return bytes[i] == '*';
+                    }
+                }
+                return true;
+            default:
+                return readObject(offset, fieldNum) == null;
+        }
+    }
+
+    private void checkNumeric(final int fieldNum) throws IOException {
+        checkProjected(fieldNum);
+        final char type = fieldTypes[fieldNum];
+        if (type != 'n' && type != 'N' && type != 'f' && type != 'F') {
+            throw new IOException("Field " + header.getFieldName(fieldNum) + " of type " + type + " is not numeric");
+        }
+    }
+
     /** Transfer, by bytes, the next record to the writer. */
     public void transferTo(final DbaseFileWriter writer) throws IOException {
         bufferCheck();
@@ -439,9 +702,18 @@ public void read() throws IOException {
             final char deleted = (char) buffer.get();
             row.deleted = deleted == '*';
 
-            buffer.limit(buffer.position() + header.getRecordLength() - 1);
-            buffer.get(bytes); // SK: There is a side-effect here!!!
-            buffer.limit(buffer.capacity());
+            if (rangeOffsets != null) {
+                // only copy the projected columns, and skip the rest of the record
+                final int start = buffer.position();
+                for (int i = 0; i < rangeOffsets.length; i++) {
+                    buffer.get(start + rangeOffsets[i], bytes, rangeOffsets[i], rangeLengths[i]);
+                }
+                buffer.position(start + header.getRecordLength() - 1);
+            } else {
+                buffer.limit(buffer.position() + header.getRecordLength() - 1);
+                buffer.get(bytes); // SK: There is a side-effect here!!!
+                buffer.limit(buffer.capacity());
+            }
 
             foundRecord = true;
         }
@@ -39,6 +39,11 @@ public enum ShpFileType {
      * generates
      */
     QIX("qix"),
+    /**
+     * the .prx file, a Hilbert packed R-tree spatial index of the shapefile. It is a GeoTools specific format, kept
+     * apart from the .qix file so that other readers of the quadtree do not stumble on it
+     */
+    PRX("prx"),
     /**
      * the .fix file, it contains all the Feature IDs for constant time lookup by fid also so that the fids stay
      * consistent across deletes and adds
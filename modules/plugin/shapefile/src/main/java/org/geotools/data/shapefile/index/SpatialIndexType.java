@@ -0,0 +1,53 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index;
+
+import org.geotools.data.shapefile.files.ShpFileType;
+
+/**
+ * The spatial index structures that can be built for a shapefile. Each is stored in its own file, so readers can use
+ * whatever index is found next to the shapefile, regardless of the type the index would be created with.
+ */
+public enum SpatialIndexType {
+    /** The classic, unbalanced quadtree, stored in <code>.qix</code> files */
+    QUADTREE(ShpFileType.QIX),
+    /** A static, Hilbert sorted and packed R-tree, stored in <code>.prx</code> files */
+    PACKED_RTREE(ShpFileType.PRX);
+
+    private final ShpFileType fileType;
+
+    private SpatialIndexType(ShpFileType fileType) {
+        this.fileType = fileType;
+    }
+
+    /** The file the index is stored into */
+    public ShpFileType getFileType() {
+        return fileType;
+    }
+
+    /** Looks up a type by name, case insensitive, returning the {@link #QUADTREE} if the name is null or unknown */
+    public static SpatialIndexType lookup(String name) {
+        if (name != null) {
+            for (SpatialIndexType type : values()) {
+                if (type.name().equalsIgnoreCase(name.trim())) {
+                    return type;
+                }
+            }
+        }
+        return QUADTREE;
+    }
+}
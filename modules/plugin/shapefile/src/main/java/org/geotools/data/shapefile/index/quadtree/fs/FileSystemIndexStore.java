@@ -249,8 +249,8 @@ public void close() throws StoreException {
         return tree;
     }
 
-    /** @param order */
-    private static ByteOrder byteToOrder(byte order) {
+    /** Maps one of the {@link IndexHeader} byte order constants to a NIO byte order */
+    public static ByteOrder byteToOrder(byte order) {
         ByteOrder ret = null;
 
         switch (order) {
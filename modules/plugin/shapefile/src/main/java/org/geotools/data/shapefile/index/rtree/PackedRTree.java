@@ -0,0 +1,364 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.rtree;
+
+import static org.geotools.data.shapefile.files.ShpFileType.PRX;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.data.shapefile.files.FileReader;
+import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.DataDefinition;
+import org.geotools.data.shapefile.index.TreeException;
+import org.geotools.data.shapefile.index.quadtree.StoreException;
+import org.geotools.data.shapefile.index.quadtree.fs.FileSystemIndexStore;
+import org.geotools.data.util.HilbertPacking;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Read only access to a static, Hilbert sorted, packed R-tree stored in a <code>.prx</code> file (see
+ * {@link PackedRTreeBuilder} for the file layout).
+ *
+ * <p>The tree is laid out level by level, root first, so the nodes visited by a query are contiguous in the file and
+ * each level can be answered with a single read, or with no read at all when the nodes are memory mapped or loaded in
+ * memory. The leaves carry the <code>.shp</code> byte offset of the records, so searching does not require the
+ * <code>.shx</code> file, and the results are returned sorted by offset, allowing a sequential scan of the
+ * <code>.shp</code> file.
+ *
+ * <p>Trees returned by {@link #open(ShpFiles, boolean)} keep the file open and are not thread safe. The memory mapping
+ * goes through the {@link ShpFiles} channel, so the mapped buffer is shared when the memory map cache is enabled. Trees
+ * returned by {@link #load(ShpFiles)} hold a copy of the nodes in memory, no longer refer to the file, and can be
+ * searched concurrently.
+ */
+public class PackedRTree implements FileReader, Closeable {
+
+    static final DataDefinition DATA_DEFINITION = new DataDefinition("US-ASCII");
+
+    static {
+        DATA_DEFINITION.addField(Integer.class);
+        DATA_DEFINITION.addField(Long.class);
+    }
+
+    /** The file signature, distinct from the "SQT" one of the quadtree files */
+    static final byte[] SIGNATURE = "GTPR".getBytes(StandardCharsets.US_ASCII);
+
+    /** The current file format version */
+    static final byte VERSION = 1;
+
+    /** Size of the header: signature, byte order, version, two reserved bytes, item count and node size */
+    static final int HEADER_SIZE = 4 + 4 + 2 * 4;
+
+    /** Size of a node: four float bounds, plus two integer references */
+    static final int NODE_SIZE_BYTES = 4 * 4 + 2 * 4;
+
+    /** Position of the first node in the file */
+    static final int NODES_OFFSET = HEADER_SIZE;
+
+    private final FileChannel channel;
+
+    private final ByteOrder order;
+
+    /** The nodes, memory mapped or loaded in memory, or null if they are read from the channel on demand */
+    private final ByteBuffer nodes;
+
+    private final int numItems;
+
+    private final int nodeSize;
+
+    private final int numNodes;
+
+    private final int leavesStart;
+
+    private ByteBuffer readBuffer;
+
+    PackedRTree(FileChannel channel, boolean useMemoryMapping, boolean load) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        fill(channel, header, 0);
+        for (int i = 0; i < SIGNATURE.length; i++) {
+            if (header.get(i) != SIGNATURE[i]) {
+                throw new StoreException("Not a packed R-tree file, invalid signature");
+            }
+        }
+        this.order = FileSystemIndexStore.byteToOrder(header.get(4));
+        byte version = header.get(5);
+        if (order == null || version != VERSION) {
+            throw new StoreException(
+                    "Unsupported packed R-tree, byte order: " + header.get(4) + ", version: " + version);
+        }
+        header.order(order);
+        this.numItems = header.getInt(8);
+        this.nodeSize = header.getInt(12);
+        if (numItems < 0 || nodeSize < 2) {
+            throw new StoreException("Invalid packed R-tree, items: " + numItems + ", node size: " + nodeSize);
+        }
+
+        int[] levelSizes = HilbertPacking.levelSizes(numItems, nodeSize);
+        int total = 0;
+        for (int size : levelSizes) {
+            total += size;
+        }
+        this.numNodes = total;
+        this.leavesStart = numNodes - numItems;
+
+        int size = numNodes * NODE_SIZE_BYTES;
+        if (load) {
+            ByteBuffer buffer = ByteBuffer.allocate(size);
+            fill(channel, buffer, NODES_OFFSET);
+            this.nodes = buffer.order(order);
+            this.channel = null;
+        } else {
+            this.nodes = useMemoryMapping && numNodes > 0
+                    ? channel.map(MapMode.READ_ONLY, NODES_OFFSET, size).order(order)
+                    : null;
+            this.channel = channel;
+        }
+    }
+
+    /**
+     * Opens the packed R-tree stored in the <code>.prx</code> file of the given shapefile. The file stays open, and
+     * read locked, until the tree is closed.
+     *
+     * @param shpFiles The shapefile, must be local
+     * @param useMemoryMapping If true, the index will be memory mapped, otherwise the nodes will be read on demand
+     * @return The tree
+     */
+    @SuppressWarnings("PMD.CloseResource") // managed by the returned tree
+    public static PackedRTree open(ShpFiles shpFiles, boolean useMemoryMapping) throws StoreException {
+        FileChannel channel = null;
+        try {
+            // the PRX file must be a local file for this class to be used so cast is safe
+            channel = (FileChannel) shpFiles.getReadChannel(PRX, requestor());
+            return new PackedRTree(channel, useMemoryMapping, false);
+        } catch (IOException e) {
+            try {
+                if (channel != null) {
+                    channel.close();
+                }
+            } catch (IOException ce) {
+                // do nothing
+            }
+            throw new StoreException("Failed to open packed R-tree index", e);
+        }
+    }
+
+    /**
+     * Loads in memory the packed R-tree stored in the <code>.prx</code> file of the given shapefile. The file is closed
+     * before returning, the tree is thread safe and does not need to be closed.
+     *
+     * @param shpFiles The shapefile, must be local
+     * @return The tree
+     */
+    public static PackedRTree load(ShpFiles shpFiles) throws StoreException {
+        // the PRX file must be a local file for this class to be used so cast is safe
+        try (FileChannel channel = (FileChannel) shpFiles.getReadChannel(PRX, requestor())) {
+            return new PackedRTree(channel, false, true);
+        } catch (IOException e) {
+            throw new StoreException("Failed to load packed R-tree index", e);
+        }
+    }
+
+    private static FileReader requestor() {
+        return () -> PackedRTree.class.getName();
+    }
+
+    /** Writes the file header, the byte order is one of the quadtree IndexHeader constants */
+    static void writeHeader(ByteBuffer buf, byte byteOrder, int numItems, int nodeSize) {
+        buf.put(SIGNATURE);
+        buf.put(byteOrder);
+        buf.put(VERSION);
+        buf.put((byte) 0);
+        buf.put((byte) 0);
+        buf.order(FileSystemIndexStore.byteToOrder(byteOrder));
+        buf.putInt(numItems);
+        buf.putInt(nodeSize);
+    }
+
+    /** Returns the number of items (non null shapefile records) in the tree */
+    public int getNumItems() {
+        return numItems;
+    }
+
+    /** Returns the max number of children per node */
+    public int getNodeSize() {
+        return nodeSize;
+    }
+
+    /** Returns the bounds of the root node, or an empty envelope if the tree is empty */
+    public Envelope getBounds() throws StoreException {
+        if (numNodes == 0) {
+            return new Envelope();
+        }
+        ByteBuffer root = readNodes(0, 1);
+        return new Envelope(root.getFloat(0), root.getFloat(8), root.getFloat(4), root.getFloat(12));
+    }
+
+    /**
+     * Returns the records whose bounding box intersects the specified one. Each {@link Data} contains the one based
+     * record number and the offset in bytes of the record in the <code>.shp</code> file, the records are sorted by
+     * offset. The iterator does not hold onto the tree, which can be closed as soon as this method returns.
+     */
+    public CloseableIterator<Data> search(Envelope bounds) throws StoreException {
+        long[] hits = new long[64];
+        int numHits = 0;
+        if (numNodes > 0 && !bounds.isNull()) {
+            final double minx = bounds.getMinX();
+            final double miny = bounds.getMinY();
+            final double maxx = bounds.getMaxX();
+            final double maxy = bounds.getMaxY();
+            // pending node ranges, as pairs of first node and node count
+            int[] stack = new int[64];
+            int top = 0;
+            stack[top++] = 0;
+            stack[top++] = 1;
+            while (top > 0) {
+                int count = stack[--top];
+                int first = stack[--top];
+                ByteBuffer nodes = readNodes(first, count);
+                boolean leaves = first >= leavesStart;
+                for (int i = 0, pos = 0; i < count; i++, pos += NODE_SIZE_BYTES) {
+                    if (nodes.getFloat(pos) > maxx
+                            || nodes.getFloat(pos + 4) > maxy
+                            || nodes.getFloat(pos + 8) < minx
+                            || nodes.getFloat(pos + 12) < miny) {
+                        continue;
+                    }
+                    int ref1 = nodes.getInt(pos + 16);
+                    int ref2 = nodes.getInt(pos + 20);
+                    if (leaves) {
+                        if (numHits == hits.length) {
+                            hits = Arrays.copyOf(hits, numHits * 2);
+                        }
+                        // offset first, so that sorting the longs sorts by offset
+                        hits[numHits++] = ((long) ref2 << 32) | (ref1 & 0xFFFFFFFFL);
+                    } else {
+                        if (top + 2 > stack.length) {
+                            stack = Arrays.copyOf(stack, stack.length * 2);
+                        }
+                        stack[top++] = ref1;
+                        stack[top++] = ref2;
+                    }
+                }
+            }
+            Arrays.sort(hits, 0, numHits);
+        }
+
+        return new HitsIterator(hits, numHits);
+    }
+
+    /**
+     * Returns a buffer containing the requested nodes, positioned so that the first of them is at index zero. The
+     * buffer is only valid until the next call.
+     */
+    private ByteBuffer readNodes(int first, int count) throws StoreException {
+        if (first < 0 || count < 0 || first + count > numNodes) {
+            throw new StoreException("Invalid node range " + first + "-" + (first + count) + ", tree has " + numNodes);
+        }
+        int position = first * NODE_SIZE_BYTES;
+        int length = count * NODE_SIZE_BYTES;
+        if (nodes != null) {
+            return nodes.slice(position, length).order(order);
+        }
+        if (readBuffer == null || readBuffer.capacity() < length) {
+            readBuffer = ByteBuffer.allocate(Math.max(length, nodeSize * NODE_SIZE_BYTES));
+        }
+        ByteBuffer buffer = readBuffer;
+        buffer.clear();
+        buffer.limit(length);
+        buffer.order(order);
+        try {
+            fill(channel, buffer, NODES_OFFSET + position);
+        } catch (IOException e) {
+            throw new StoreException(e);
+        }
+        return buffer;
+    }
+
+    /** Fills the buffer reading from the channel at the specified position, then flips it */
+    private static void fill(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) == -1) {
+                throw new StoreException("Unexpected end of file while reading the packed R-tree");
+            }
+        }
+        buffer.flip();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (channel != null) {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String id() {
+        return getClass().getName();
+    }
+
+    /**
+     * Iterates over the sorted hits, each packing the record offset in the high bits and the record number in the low
+     * ones
+     */
+    static class HitsIterator implements CloseableIterator<Data> {
+        long[] hits;
+
+        int size;
+
+        int idx;
+
+        HitsIterator(long[] hits, int size) {
+            this.hits = hits;
+            this.size = size;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return idx < size;
+        }
+
+        @Override
+        public Data next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more elements available");
+            }
+            long hit = hits[idx++];
+            try {
+                Data data = new Data(DATA_DEFINITION);
+                data.addValue((int) hit + 1);
+                data.addValue(hit >>> 32);
+                return data;
+            } catch (TreeException e) {
+                throw new RuntimeException(e);
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            hits = null;
+            size = 0;
+        }
+    }
+}
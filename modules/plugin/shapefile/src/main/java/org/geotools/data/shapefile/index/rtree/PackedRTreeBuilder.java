@@ -0,0 +1,192 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile.index.rtree;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.logging.Logger;
+import org.geotools.data.shapefile.index.quadtree.StoreException;
+import org.geotools.data.shapefile.index.quadtree.fs.IndexHeader;
+import org.geotools.data.util.HilbertPacking;
+import org.geotools.util.logging.Logging;
+import org.locationtech.jts.geom.Envelope;
+
+/**
+ * Builds a static, Hilbert sorted, packed R-tree and stores it in a <code>.prx</code> file.
+ *
+ * <p>The items are sorted along a Hilbert curve computed on the center of their bounds, and then packed bottom up into
+ * nodes of <code>nodeSize</code> children. The file layout is:
+ *
+ * <ul>
+ *   <li>the "GTPR" signature, a byte order flag (one of the {@link IndexHeader} byte order constants), the format
+ *       version and two reserved bytes
+ *   <li>the number of items and the node size, as integers
+ *   <li>the nodes, level by level starting from the root, each made of four floats (minx, miny, maxx, maxy, rounded
+ *       outwards) and two integers. For inner nodes these are the index of the first child and the number of children,
+ *       for the leaves the zero based record number and the record offset in bytes in the <code>.shp</code> file
+ * </ul>
+ *
+ * All numbers use the byte order declared in the header. The signature keeps the file apart from the
+ * <code>.qix</code> quadtrees, which other readers (older GeoTools versions, MapServer, GDAL) would misparse.
+ */
+public class PackedRTreeBuilder {
+
+    static final Logger LOGGER = Logging.getLogger(PackedRTreeBuilder.class);
+
+    private final Envelope extent;
+
+    private final int nodeSize;
+
+    private int size;
+
+    private float[] bounds;
+
+    private int[] recnos;
+
+    private int[] offsets;
+
+    /**
+     * Creates a new builder
+     *
+     * @param extent The overall extent of the items, usually the shapefile header bounds
+     * @param capacity The expected number of items
+     * @param nodeSize The max number of children per node
+     */
+    public PackedRTreeBuilder(Envelope extent, int capacity, int nodeSize) {
+        if (nodeSize < 2) {
+            throw new IllegalArgumentException("Node size must be at least 2");
+        }
+        this.extent = extent;
+        this.nodeSize = nodeSize;
+        capacity = Math.max(capacity, 16);
+        this.bounds = new float[capacity * 4];
+        this.recnos = new int[capacity];
+        this.offsets = new int[capacity];
+    }
+
+    /**
+     * Adds an item to the tree
+     *
+     * @param recno The zero based record number
+     * @param offset The offset of the record in the <code>.shp</code> file, in bytes
+     */
+    public void insert(int recno, int offset, double minx, double miny, double maxx, double maxy) {
+        if (size == recnos.length) {
+            int newCapacity = size + (size >> 1);
+            bounds = Arrays.copyOf(bounds, newCapacity * 4);
+            recnos = Arrays.copyOf(recnos, newCapacity);
+            offsets = Arrays.copyOf(offsets, newCapacity);
+        }
+        int b = size * 4;
+        bounds[b] = HilbertPacking.down(minx);
+        bounds[b + 1] = HilbertPacking.down(miny);
+        bounds[b + 2] = HilbertPacking.up(maxx);
+        bounds[b + 3] = HilbertPacking.up(maxy);
+        recnos[size] = recno;
+        offsets[size] = offset;
+        size++;
+    }
+
+    /** The number of items added so far */
+    public int size() {
+        return size;
+    }
+
+    /** Sorts and packs the items, and stores the tree in the specified file */
+    public void store(File file, byte byteOrder) throws StoreException {
+        int[] levelSizes = HilbertPacking.levelSizes(size, nodeSize);
+        int[] sorted = HilbertPacking.sort(bounds, size, extent);
+
+        // compute the inner levels, the leaves are streamed directly from the sorted items
+        float[][] levelBounds = new float[levelSizes.length][];
+        for (int level = 1; level < levelSizes.length; level++) {
+            float[] children = level == 1 ? null : levelBounds[level - 1];
+            float[] parents = new float[levelSizes[level] * 4];
+            Arrays.fill(parents, Float.NaN);
+            for (int i = 0; i < levelSizes[level - 1]; i++) {
+                int b = (level == 1 ? sorted[i] : i) * 4;
+                HilbertPacking.expand(parents, (i / nodeSize) * 4, level == 1 ? bounds : children, b);
+            }
+            levelBounds[level] = parents;
+        }
+
+        // node index of the first node of each level, the root comes first
+        int[] levelStarts = new int[levelSizes.length];
+        int start = 0;
+        for (int level = levelSizes.length - 1; level >= 0; level--) {
+            levelStarts[level] = start;
+            start += levelSizes[level];
+        }
+
+        try (FileOutputStream fos = new FileOutputStream(file);
+                FileChannel channel = fos.getChannel()) {
+            ByteBuffer buf = ByteBuffer.allocate(PackedRTree.NODE_SIZE_BYTES * 4096);
+            PackedRTree.writeHeader(buf, byteOrder, size, nodeSize);
+
+            for (int level = levelSizes.length - 1; level > 0; level--) {
+                float[] lb = levelBounds[level];
+                int childStart = levelStarts[level - 1];
+                int childCount = levelSizes[level - 1];
+                for (int i = 0; i < levelSizes[level]; i++) {
+                    int firstChild = i * nodeSize;
+                    int numChildren = Math.min(nodeSize, childCount - firstChild);
+                    buf = ensureRoom(buf, channel);
+                    putBounds(buf, lb, i * 4);
+                    buf.putInt(childStart + firstChild);
+                    buf.putInt(numChildren);
+                }
+            }
+            for (int i = 0; i < size; i++) {
+                int item = sorted[i];
+                buf = ensureRoom(buf, channel);
+                putBounds(buf, bounds, item * 4);
+                buf.putInt(recnos[item]);
+                buf.putInt(offsets[item]);
+            }
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+        } catch (IOException e) {
+            throw new StoreException(e);
+        }
+        LOGGER.fine(() -> "Stored packed R-tree with " + size + " items in " + levelSizes.length + " levels");
+    }
+
+    private static void putBounds(ByteBuffer buf, float[] source, int s) {
+        buf.putFloat(source[s]);
+        buf.putFloat(source[s + 1]);
+        buf.putFloat(source[s + 2]);
+        buf.putFloat(source[s + 3]);
+    }
+
+    /** Makes sure there is room for one more node, flushing the buffer to the channel if necessary */
+    private static ByteBuffer ensureRoom(ByteBuffer buf, FileChannel channel) throws IOException {
+        if (buf.remaining() < PackedRTree.NODE_SIZE_BYTES) {
+            buf.flip();
+            while (buf.hasRemaining()) {
+                channel.write(buf);
+            }
+            buf.clear();
+        }
+        return buf;
+    }
+}
@@ -37,6 +37,7 @@
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import org.geotools.data.shapefile.files.ShpFiles;
+import org.geotools.data.shapefile.index.SpatialIndexType;
 import org.geotools.feature.NameImpl;
 import org.junit.After;
 import org.junit.Before;
@@ -54,6 +55,7 @@ public void setUp() throws IOException {
 
         mockDataStore = mock(ShapefileDataStore.class);
         when(mockDataStore.getTypeName()).thenReturn(new NameImpl("statepop"));
+        when(mockDataStore.getSpatialIndexType()).thenReturn(SpatialIndexType.QUADTREE);
     }
 
     @After
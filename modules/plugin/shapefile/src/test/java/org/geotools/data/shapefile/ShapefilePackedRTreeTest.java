@@ -0,0 +1,230 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.geotools.data.shapefile.files.ShpFileType.PRX;
+import static org.geotools.data.shapefile.files.ShpFileType.QIX;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.CloseableIterator;
+import org.geotools.api.data.Query;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.shapefile.index.Data;
+import org.geotools.data.shapefile.index.SpatialIndexType;
+import org.geotools.data.shapefile.index.rtree.PackedRTree;
+import org.geotools.data.simple.SimpleFeatureIterator;
+import org.junit.Test;
+import org.locationtech.jts.geom.Envelope;
+
+public class ShapefilePackedRTreeTest extends TestCaseSupport {
+
+    @Test
+    public void testCreatePackedRTree() throws Exception {
+        File file = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = createDataStore(file, SpatialIndexType.PACKED_RTREE, false);
+        try {
+            assertTrue(ds.indexManager.createSpatialIndex(true));
+            // stored apart from the quadtree, other .qix readers would not understand it
+            assertTrue(ds.shpFiles.exists(PRX));
+            assertFalse(ds.shpFiles.exists(QIX));
+            assertTrue(ds.indexManager.isSpatialIndexAvailable());
+            try (PackedRTree tree = ds.indexManager.openPackedRTree()) {
+                assertEquals(ds.getCount(Query.ALL), tree.getNumItems());
+                assertTrue(tree.getBounds().contains(ds.getFeatureSource().getBounds()));
+            }
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testQueryMatchesFullScan() throws Exception {
+        checkQueries(copyShapefiles(STATE_POP), false);
+    }
+
+    @Test
+    public void testQueryMatchesFullScanMemoryMapped() throws Exception {
+        checkQueries(copyShapefiles(STATE_POP), true);
+    }
+
+    @Test
+    public void testQueryMatchesFullScanLines() throws Exception {
+        checkQueries(copyShapefiles("shapes/streams.shp"), false);
+    }
+
+    @Test
+    public void testQueryMatchesFullScanNotCached() throws Exception {
+        checkQueries(copyShapefiles(STATE_POP), false, 0);
+    }
+
+    @Test
+    public void testQueryMatchesFullScanMemoryMappedNotCached() throws Exception {
+        checkQueries(copyShapefiles(STATE_POP), true, 0);
+    }
+
+    @Test
+    public void testCachedTree() throws Exception {
+        File file = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = createDataStore(file, SpatialIndexType.PACKED_RTREE, false);
+        try {
+            assertTrue(ds.indexManager.createSpatialIndex(true));
+            PackedRTree cached = ds.indexManager.getCachedPackedRTree();
+            assertNotNull(cached);
+            assertSame(cached, ds.indexManager.getCachedPackedRTree());
+
+            // rebuilding the index drops the cached copy
+            assertTrue(ds.indexManager.createSpatialIndex(true));
+            PackedRTree reloaded = ds.indexManager.getCachedPackedRTree();
+            assertNotSame(cached, reloaded);
+            assertEquals(cached.getNumItems(), reloaded.getNumItems());
+
+            // too large to be cached
+            ds.indexManager.dispose();
+            ds.indexManager.maxPackedRTreeCacheSize = 0;
+            assertNull(ds.indexManager.getCachedPackedRTree());
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testOffsetsSorted() throws Exception {
+        File file = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = createDataStore(file, SpatialIndexType.PACKED_RTREE, true);
+        try {
+            assertTrue(ds.indexManager.createSpatialIndex(true));
+            Envelope bounds = ds.getFeatureSource().getBounds();
+            Envelope query = new Envelope(bounds.getMinX(), bounds.centre().x, bounds.getMinY(), bounds.getMaxY());
+            long previous = -1;
+            int count = 0;
+            try (CloseableIterator<Data> it = ds.indexManager.querySpatialIndex(query)) {
+                while (it.hasNext()) {
+                    long offset = (Long) it.next().getValue(1);
+                    assertTrue(offset > previous);
+                    previous = offset;
+                    count++;
+                }
+            }
+            assertTrue(count > 0);
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testQueryCoveringAllSkipsIndex() throws Exception {
+        File file = copyShapefiles(STATE_POP);
+        ShapefileDataStore ds = createDataStore(file, SpatialIndexType.PACKED_RTREE, false);
+        try {
+            assertTrue(ds.indexManager.createSpatialIndex(true));
+            assertNull(ds.indexManager.querySpatialIndex(new Envelope(-180, 180, -90, 90)));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    @Test
+    public void testExistingQuadtreeIsUsed() throws Exception {
+        File file = copyShapefiles(STATE_POP);
+        // build a quadtree first
+        ShapefileDataStore quadtree = createDataStore(file, SpatialIndexType.QUADTREE, false);
+        try {
+            assertTrue(quadtree.indexManager.createSpatialIndex(true));
+        } finally {
+            quadtree.dispose();
+        }
+        // the store would create packed R-trees, but the existing quadtree is still up to date
+        ShapefileDataStore ds = createDataStore(file, SpatialIndexType.PACKED_RTREE, false);
+        try {
+            assertEquals(QIX, ds.indexManager.getSpatialIndexFile());
+            assertNull(ds.indexManager.openPackedRTree());
+            Envelope bounds = ds.getFeatureSource().getBounds();
+            String geom = ds.getSchema().getGeometryDescriptor().getLocalName();
+            Filter filter =
+                    ff.bbox(geom, bounds.getMinX(), bounds.getMinY(), bounds.centre().x, bounds.centre().y, null);
+            assertFalse(idsFor(ds, filter).isEmpty());
+            assertFalse(ds.shpFiles.exists(PRX));
+        } finally {
+            ds.dispose();
+        }
+    }
+
+    private void checkQueries(File file, boolean memoryMapped) throws Exception {
+        checkQueries(file, memoryMapped, IndexManager.DEFAULT_MAX_PACKED_RTREE_CACHE_SIZE);
+    }
+
+    private void checkQueries(File file, boolean memoryMapped, int maxCacheSize) throws Exception {
+        ShapefileDataStore scan = createDataStore(file, SpatialIndexType.QUADTREE, memoryMapped);
+        scan.setIndexed(false);
+        ShapefileDataStore indexed = createDataStore(file, SpatialIndexType.PACKED_RTREE, memoryMapped);
+        indexed.indexManager.maxPackedRTreeCacheSize = maxCacheSize;
+        try {
+            assertTrue(indexed.indexManager.createSpatialIndex(true));
+            Envelope bounds = scan.getFeatureSource().getBounds();
+            String geom = scan.getSchema().getGeometryDescriptor().getLocalName();
+            double w = bounds.getWidth();
+            double h = bounds.getHeight();
+            for (int i = 0; i < 4; i++) {
+                for (int j = 0; j < 4; j++) {
+                    double minx = bounds.getMinX() + w * i / 4;
+                    double miny = bounds.getMinY() + h * j / 4;
+                    Filter filter = ff.bbox(geom, minx, miny, minx + w / 3, miny + h / 3, null);
+                    assertEquals(idsFor(scan, filter), idsFor(indexed, filter));
+                }
+            }
+        } finally {
+            scan.dispose();
+            indexed.dispose();
+        }
+    }
+
+    private Set<String> idsFor(ShapefileDataStore ds, Filter filter) throws IOException {
+        Set<String> ids = new TreeSet<>();
+        try (SimpleFeatureIterator it =
+                ds.getFeatureSource().getFeatures(filter).features()) {
+            while (it.hasNext()) {
+                ids.add(it.next().getID());
+            }
+        }
+        return ids;
+    }
+
+    private ShapefileDataStore createDataStore(File file, SpatialIndexType type, boolean memoryMapped)
+            throws IOException {
+        Map<String, Serializable> params = new HashMap<>();
+        params.put(ShapefileDataStoreFactory.URLP.key, file.toURI().toURL());
+        params.put(ShapefileDataStoreFactory.CREATE_SPATIAL_INDEX.key, Boolean.TRUE);
+        params.put(ShapefileDataStoreFactory.MEMORY_MAPPED.key, memoryMapped);
+        params.put(ShapefileDataStoreFactory.SPATIAL_INDEX_TYPE.key, type.name());
+        ShapefileDataStore store = (ShapefileDataStore) new ShapefileDataStoreFactory().createDataStore(params);
+        assertEquals(type, store.getSpatialIndexType());
+        return store;
+    }
+}
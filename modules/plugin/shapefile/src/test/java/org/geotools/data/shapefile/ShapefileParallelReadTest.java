@@ -0,0 +1,184 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.data.shapefile;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import org.geotools.api.data.FeatureReader;
+import org.geotools.api.data.FeatureWriter;
+import org.geotools.api.data.Query;
+import org.geotools.api.data.Transaction;
+import org.geotools.api.feature.simple.SimpleFeature;
+import org.geotools.api.feature.simple.SimpleFeatureType;
+import org.geotools.api.filter.Filter;
+import org.geotools.data.DataUtilities;
+import org.geotools.data.util.DefaultProgressListener;
+import org.geotools.data.util.ScreenMap;
+import org.geotools.feature.visitor.CountVisitor;
+import org.geotools.feature.visitor.SumVisitor;
+import org.geotools.util.factory.Hints;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.locationtech.jts.geom.Coordinate;
+import org.locationtech.jts.geom.GeometryFactory;
+
+public class ShapefileParallelReadTest extends TestCaseSupport {
+
+    static final int COUNT = 5000;
+
+    ShapefileDataStore store;
+
+    @Before
+    public void createShapefile() throws Exception {
+        File file = getTempFile();
+        store = new ShapefileDataStore(file.toURI().toURL());
+        store.createSchema(DataUtilities.createType("parallel", "the_geom:Point,id:Integer,name:String"));
+        GeometryFactory gf = new GeometryFactory();
+        try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                store.getFeatureWriterAppend(Transaction.AUTO_COMMIT)) {
+            for (int i = 0; i < COUNT; i++) {
+                SimpleFeature feature = writer.next();
+                feature.setAttribute("the_geom", gf.createPoint(new Coordinate(i % 100, i / 100)));
+                feature.setAttribute("id", i);
+                feature.setAttribute("name", "name" + i);
+                writer.write();
+            }
+        }
+    }
+
+    @After
+    public void disposeStore() {
+        store.dispose();
+    }
+
+    @Test
+    public void testOrderedMatchesSequential() throws Exception {
+        Query query = new Query(store.getTypeNames()[0]);
+        List<String> expected = read(query);
+        assertEquals(COUNT, expected.size());
+
+        query.setHints(new Hints(ShapefileDataStore.READ_PARALLELISM, 4));
+        assertEquals(expected, read(query));
+    }
+
+    @Test
+    public void testStoreParallelism() throws Exception {
+        Query query = new Query(store.getTypeNames()[0]);
+        List<String> expected = read(query);
+
+        store.setReadParallelism(3);
+        assertEquals(expected, read(query));
+
+        // the hint overrides the store setting
+        query.setHints(new Hints(ShapefileDataStore.READ_PARALLELISM, 1));
+        assertNull(getFeatureSource().getParallelReader(query, store.getSchema(), new GeometryFactory(), null));
+
+        // writers still work, using a sequential reader
+        try (FeatureWriter<SimpleFeatureType, SimpleFeature> writer =
+                store.getFeatureWriterAppend(Transaction.AUTO_COMMIT)) {
+            writer.next().setAttribute("id", COUNT);
+            writer.write();
+        }
+        assertEquals(COUNT + 1, store.getFeatureSource().getCount(Query.ALL));
+    }
+
+    @Test
+    public void testUnordered() throws Exception {
+        Query query = new Query(store.getTypeNames()[0]);
+        Set<String> expected = new TreeSet<>(read(query));
+
+        Hints hints = new Hints(ShapefileDataStore.READ_PARALLELISM, 4);
+        hints.put(ShapefileDataStore.ORDERED_READ, Boolean.FALSE);
+        query.setHints(hints);
+        List<String> actual = read(query);
+        assertEquals(COUNT, actual.size());
+        assertEquals(expected, new TreeSet<>(actual));
+    }
+
+    @Test
+    public void testFilterAndProperties() throws Exception {
+        Filter filter =
+                ff.or(ff.less(ff.property("id"), ff.literal(1500)), ff.bbox("the_geom", 10.5, 30.5, 20.5, 45.5, null));
+        Query query = new Query(store.getTypeNames()[0], filter, "name");
+        List<String> expected = read(query);
+        assertNotEquals(0, expected.size());
+
+        query.setHints(new Hints(ShapefileDataStore.READ_PARALLELISM, 4));
+        assertEquals(expected, read(query));
+    }
+
+    @Test
+    public void testVisitor() throws Exception {
+        store.setReadParallelism(4);
+        CountVisitor count = new CountVisitor();
+        SumVisitor sum = new SumVisitor("id", store.getSchema());
+        Query query = new Query(store.getTypeNames()[0], ff.greaterOrEqual(ff.property("id"), ff.literal(1000)));
+        DefaultProgressListener progress = new DefaultProgressListener();
+        store.getFeatureSource().getFeatures(query).accepts(count, progress);
+        store.getFeatureSource().getFeatures(query).accepts(sum, null);
+        assertEquals(COUNT - 1000, count.getCount());
+        // the progress listener is still notified by the parallel read
+        assertTrue(progress.isCompleted());
+        long expected = (long) (COUNT - 1) * COUNT / 2 - 999L * 1000 / 2;
+        assertEquals(expected, sum.getResult().toLong());
+    }
+
+    @Test
+    public void testSequentialFallback() throws Exception {
+        store.setReadParallelism(4);
+        ShapefileFeatureSource source = getFeatureSource();
+        SimpleFeatureType schema = store.getSchema();
+        GeometryFactory gf = new GeometryFactory();
+        Query query = new Query(store.getTypeNames()[0]);
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                source.getParallelReader(query, schema, gf, null)) {
+            assertNotNull(reader);
+        }
+
+        // the screenmap is not thread safe, no parallel reads
+        query.setHints(new Hints(Hints.SCREENMAP, new ScreenMap(0, 0, 10, 10)));
+        assertNull(source.getParallelReader(query, schema, gf, null));
+    }
+
+    private ShapefileFeatureSource getFeatureSource() throws IOException {
+        return ((ShapefileFeatureStore) store.getFeatureSource()).delegate;
+    }
+
+    /** Reads the features, returning a string with their id and attributes */
+    private List<String> read(Query query) throws IOException {
+        List<String> result = new ArrayList<>();
+        try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                store.getFeatureReader(query, Transaction.AUTO_COMMIT)) {
+            while (reader.hasNext()) {
+                SimpleFeature feature = reader.next();
+                result.add(feature.getID() + feature.getAttributes());
+            }
+        }
+        return result;
+    }
+}
@@ -409,6 +409,32 @@ public void testFilterBeforeScreenMapWithDeletedRow() throws Exception {
         testScreenMap(SHP_SCREENMAP_WITH_DELETED_ROW, isFilterBeforeScreenMap, filterFid, expectedName, expectedFid);
     }
 
+    @Test
+    public void testScreenMapSkipCount() throws Exception {
+        // the screenmap is checked before decoding the records even without a simplification distance
+        String shpName = SHP_FILTER_BEFORE_SCREENMAP;
+        URL shpUrl = TestData.url(this, shpName + "/" + shpName + ".shp");
+        ShapefileDataStore ds = new ShapefileDataStore(shpUrl);
+        try {
+            int total = ds.getFeatureSource().getCount(Query.ALL);
+            assertTrue(total > 1);
+            ScreenMap screenMap = new ScreenMap(-180, -90, 360, 180);
+            screenMap.setSpans(1.0, 1.0);
+            screenMap.setTransform(IdentityTransform.create(2));
+            try (FeatureReader<SimpleFeatureType, SimpleFeature> reader =
+                    ds.getFeatureReader(new Query(ds.getTypeNames()[0]), Transaction.AUTO_COMMIT)) {
+                ((ShapefileFeatureReader) reader).setScreenMap(screenMap);
+
+                assertTrue(reader.hasNext());
+                assertEquals("a", reader.next().getAttribute("NAME"));
+                assertFalse(reader.hasNext());
+            }
+            assertEquals(total - 1, screenMap.getSkippedCount());
+        } finally {
+            ds.dispose();
+        }
+    }
+
     private void testScreenMap(
             String shpName, boolean isFilterBeforeScreenMap, Integer filterFid, String expectedName, int expectedFid)
             throws Exception {
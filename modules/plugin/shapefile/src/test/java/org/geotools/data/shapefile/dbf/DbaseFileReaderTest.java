@@ -19,12 +19,19 @@
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
 
+import java.io.IOException;
 import java.io.InputStream;
 import java.nio.channels.Channels;
 import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.Map;
+import org.geotools.TestData;
+import org.geotools.data.shapefile.files.ShpFiles;
 import org.junit.Test;
 
 public class DbaseFileReaderTest {
@@ -57,4 +64,84 @@ public void test() throws Exception {
             assertThat(records.get(98245L), nullValue()); // this fails with 0.0
         }
     }
+
+    @Test
+    public void testPrimitiveAccessors() throws Exception {
+        try (InputStream dbf = getClass()
+                        .getResourceAsStream("/org/geotools/data/shapefile/test-data/dbase-file-reader/nulls.dbf");
+                DbaseFileReader dbfReader =
+                        new DbaseFileReader(Channels.newChannel(dbf), false, StandardCharsets.UTF_8)) {
+
+            Map<Long, Double> records = new HashMap<>();
+            while (dbfReader.hasNext()) {
+                DbaseFileReader.Row row = dbfReader.readRow();
+                assertFalse(row.isNull(0));
+                records.put(row.readLong(0), row.readDouble(1));
+                assertEquals(Double.isNaN(row.readDouble(1)), row.isNull(1));
+            }
+
+            assertThat(records.get(98586L), is(5.21));
+            assertThat(records.get(98538L), is(0.0));
+            assertTrue(Double.isNaN(records.get(98289L)));
+            assertTrue(Double.isNaN(records.get(98245L)));
+        }
+    }
+
+    @Test
+    public void testProjection() throws Exception {
+        ShpFiles shpFiles = new ShpFiles(TestData.url("shapes/statepop.shp"));
+        try (DbaseFileReader full = new DbaseFileReader(shpFiles, false, StandardCharsets.ISO_8859_1);
+                DbaseFileReader projected = new DbaseFileReader(shpFiles, true, StandardCharsets.ISO_8859_1)) {
+            DbaseFileHeader header = full.getHeader();
+            int numeric = -1;
+            for (int i = 0; i < header.getNumFields() && numeric < 0; i++) {
+                if (header.getFieldType(i) == 'N') {
+                    numeric = i;
+                }
+            }
+            int last = header.getNumFields() - 1;
+            projected.setProjection(0, numeric, last);
+            int count = 0;
+            while (full.hasNext()) {
+                DbaseFileReader.Row expected = full.readRow();
+                DbaseFileReader.Row actual = projected.readRow();
+                assertEquals(expected.read(0), actual.read(0));
+                assertEquals(expected.read(last), actual.read(last));
+                Number value = (Number) expected.read(numeric);
+                assertEquals(value, actual.read(numeric));
+                assertEquals(value.doubleValue(), actual.readDouble(numeric), 0d);
+                if (header.getFieldDecimalCount(numeric) == 0) {
+                    assertEquals(value.longValue(), actual.readLong(numeric));
+                }
+                count++;
+            }
+            assertEquals(header.getNumRecords(), count);
+
+            // the other columns are not available
+            final int other = numeric == 1 ? 2 : 1;
+            assertThrows(IllegalArgumentException.class, () -> projected.readField(other));
+        }
+    }
+
+    @Test
+    public void testReadDoubleMatchesParsing() throws Exception {
+        ShpFiles shpFiles = new ShpFiles(TestData.url("shapes/statepop.shp"));
+        try (DbaseFileReader reader = new DbaseFileReader(shpFiles, false, StandardCharsets.ISO_8859_1)) {
+            DbaseFileHeader header = reader.getHeader();
+            while (reader.hasNext()) {
+                reader.read();
+                for (int i = 0; i < header.getNumFields(); i++) {
+                    char type = header.getFieldType(i);
+                    if (type == 'N' || type == 'F') {
+                        Object value = reader.readField(i);
+                        double expected = value == null ? Double.NaN : ((Number) value).doubleValue();
+                        assertEquals(expected, reader.readDouble(i), 0d);
+                    } else {
+                        final int column = i;
+                        assertThrows(IOException.class, () -> reader.readDouble(column));
+                    }
+                }
+            }
+        }
+    }
 }
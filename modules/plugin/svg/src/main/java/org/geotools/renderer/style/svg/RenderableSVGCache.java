@@ -17,7 +17,9 @@
 package org.geotools.renderer.style.svg;
 
 import java.awt.RenderingHints.Key;
+import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.SoftReference;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -26,6 +28,7 @@
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -34,8 +37,8 @@
 import org.geotools.api.feature.Feature;
 import org.geotools.api.filter.expression.Expression;
 import org.geotools.data.ows.URLCheckers;
+import org.geotools.renderer.util.BoundedCache;
 import org.geotools.util.Converters;
-import org.geotools.util.SoftValueHashMap;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -47,8 +50,15 @@ public class RenderableSVGCache {
 
     private static final Pattern PARAMETER_PATTERN = Pattern.compile("param\\((.+)\\).*");
 
-    /** Parsed SVG glyphs cache */
-    static Map<String, RenderableSVG> glyphCache = Collections.synchronizedMap(new SoftValueHashMap<>());
+    /** The maximum number of SVG glyphs tracked by the cache */
+    static final int MAX_GLYPHS = 1000;
+
+    /** Parsed SVG glyphs cache, the documents are softly referenced to be dropped under memory pressure */
+    static BoundedCache<String, SoftReference<RenderableSVG>> glyphCache = new BoundedCache<>(MAX_GLYPHS);
+
+    static final LongAdder hits = new LongAdder();
+
+    static final LongAdder misses = new LongAdder();
 
     /** The possible mime types for SVG */
     static final Set<String> formats = new HashSet<>();
@@ -69,6 +79,11 @@ public RenderableSVG getRenderableSVG(Feature feature, Expression url, String fo
         // check we do support the declared format
         if (format == null || !formats.contains(format.toLowerCase())) return null;
 
+        return getRenderableSVG(getSVGFile(feature, url));
+    }
+
+    /** Evaluates the url of the SVG, and checks it's valid and allowed to be fetched */
+    String getSVGFile(Feature feature, Expression url) {
         // grab the url
         String svgfile = url.evaluate(feature, String.class);
         if (svgfile == null) {
@@ -83,9 +98,29 @@ public RenderableSVG getRenderableSVG(Feature feature, Expression url, String fo
         // validate the icon can actually be fetched, it may go to a random
         // local filesystem location, or a remote server
         URLCheckers.confirm(svgfile);
+        return svgfile;
+    }
 
+    /**
+     * Returns the SVG at the given url, which has already been checked by {@link #getSVGFile(Feature, Expression)},
+     * parsing it if not found in the cache
+     */
+    RenderableSVG getRenderableSVG(String svgfile) throws IOException {
+        return getRenderableSVG(svgfile, true);
+    }
+
+    /**
+     * Returns the SVG at the given url, parsing it if not found in the cache
+     *
+     * @param countAccess whether the lookup is counted in the cache hits and misses
+     */
+    RenderableSVG getRenderableSVG(String svgfile, boolean countAccess) throws IOException {
         // turn the svg into a document and cache results
-        RenderableSVG svg = glyphCache.get(svgfile);
+        SoftReference<RenderableSVG> reference = glyphCache.get(svgfile);
+        RenderableSVG svg = reference != null ? reference.get() : null;
+        if (countAccess) {
+            (svg != null ? hits : misses).increment();
+        }
         if (svg == null) {
             String parser = XMLResourceDescriptor.getXMLParserClassName();
             SAXSVGDocumentFactory f = new SAXSVGDocumentFactory(parser);
@@ -102,7 +137,7 @@ public RenderableSVG getRenderableSVG(Feature feature, Expression url, String fo
                 replaceParameters(doc.getDocumentElement(), parameters);
             }
             svg = new RenderableSVG(doc);
-            glyphCache.put(svgfile, svg);
+            glyphCache.put(svgfile, new SoftReference<>(svg));
         }
 
         return svg;
@@ -226,4 +261,14 @@ private String replaceValue(String value, Map<String, String> parameters) {
     public static void resetCache() {
         glyphCache.clear();
     }
+
+    /** Returns the number of lookups that found the parsed SVG in the cache */
+    public static long getHits() {
+        return hits.sum();
+    }
+
+    /** Returns the number of lookups that had to parse the SVG */
+    public static long getMisses() {
+        return misses.sum();
+    }
 }
@@ -23,6 +23,7 @@
 import java.awt.geom.Rectangle2D;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.lang.ref.SoftReference;
 import java.net.URL;
 import java.net.URLDecoder;
 import java.util.AbstractMap.SimpleImmutableEntry;
@@ -32,6 +33,8 @@
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
@@ -45,6 +48,7 @@
 import org.geotools.renderer.style.GraphicCache;
 import org.geotools.util.CanonicalSet;
 import org.geotools.util.factory.Factory;
+import org.geotools.util.logging.Logging;
 import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.NamedNodeMap;
@@ -61,6 +65,8 @@
  */
 public class SVGGraphicFactory implements Factory, ExternalGraphicFactory, GraphicCache {
 
+    static final Logger LOGGER = Logging.getLogger(SVGGraphicFactory.class);
+
     private static final Pattern PARAMETER_PATTERN = Pattern.compile("param\\((.+)\\).*");
 
     /** Parsed SVG glyphs cache */
@@ -98,9 +104,10 @@ public Icon getIcon(Feature feature, Expression url, String format, int size) th
         // check we do support the declared format
         if (format == null || !formats.contains(format.toLowerCase())) return null;
 
-        RenderableSVG svg = glyphCache.getRenderableSVG(feature, url, format);
+        String svgfile = glyphCache.getSVGFile(feature, url);
+        RenderableSVG svg = glyphCache.getRenderableSVG(svgfile);
 
-        return new SVGIcon(svg, size);
+        return new SVGIcon(glyphCache, svgfile, svg, size);
     }
 
     protected RenderableSVG toRenderableSVG(String svgfile, URL svgUrl) throws SAXException, IOException {
@@ -242,16 +249,26 @@ private String replaceValue(String value, Map<String, String> parameters) {
         return value;
     }
 
+    /**
+     * Paints a SVG at a given size. The parsed SVG is softly referenced, so that icons held as keys in the rasterized
+     * icons cache do not keep the documents alive under memory pressure.
+     */
     static class SVGIcon implements Icon {
 
         private int width;
 
         private int height;
 
-        RenderableSVG svg;
+        private final RenderableSVGCache glyphCache;
+
+        private final String svgfile;
+
+        SoftReference<RenderableSVG> svg;
 
-        public SVGIcon(RenderableSVG svg, int size) {
-            this.svg = svg;
+        public SVGIcon(RenderableSVGCache glyphCache, String svgfile, RenderableSVG svg, int size) {
+            this.glyphCache = glyphCache;
+            this.svgfile = svgfile;
+            this.svg = new SoftReference<>(svg);
 
             // defines target width and height for render, based on the SVG bounds
             // and the specified desired height (if height is not provided, then
@@ -281,7 +298,44 @@ public int getIconWidth() {
 
         @Override
         public void paintIcon(Component c, Graphics g, int x, int y) {
-            svg.paint((Graphics2D) g, width, height, x, y);
+            RenderableSVG renderable = getSVG();
+            if (renderable != null) {
+                renderable.paint((Graphics2D) g, width, height, x, y);
+            }
+        }
+
+        /**
+         * Returns the parsed SVG, looking it up again in the glyph cache if it has been garbage collected. The lookup
+         * is not counted in the cache statistics. Returns null if the SVG could not be parsed again.
+         */
+        RenderableSVG getSVG() {
+            RenderableSVG result = svg.get();
+            if (result == null) {
+                try {
+                    result = glyphCache.getRenderableSVG(svgfile, false);
+                    svg = new SoftReference<>(result);
+                } catch (IOException e) {
+                    LOGGER.log(Level.WARNING, "Failed to parse SVG " + svgfile, e);
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Icons painting the same SVG, with the same parameters, at the same size are equal, allowing to cache their
+         * rasterized version
+         */
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof SVGIcon other
+                    && svgfile.equals(other.svgfile)
+                    && width == other.width
+                    && height == other.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return (svgfile.hashCode() * 31 + width) * 31 + height;
         }
     }
 
@@ -294,4 +348,14 @@ public static void resetCache() {
     public void clearCache() {
         RenderableSVGCache.resetCache();
     }
+
+    @Override
+    public long getCacheHits() {
+        return RenderableSVGCache.getHits();
+    }
+
+    @Override
+    public long getCacheMisses() {
+        return RenderableSVGCache.getMisses();
+    }
 }
@@ -21,7 +21,9 @@
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertThrows;
 
+import java.awt.Graphics2D;
 import java.awt.RenderingHints.Key;
+import java.awt.image.BufferedImage;
 import java.io.IOException;
 import java.net.URL;
 import java.util.ArrayList;
@@ -99,6 +101,39 @@ public void testLocalURL() throws Exception {
         Assert.assertEquals(20, icon.getIconHeight());
     }
 
+    @Test
+    public void testIconEquality() throws Exception {
+        SVGGraphicFactory svg = new SVGGraphicFactory();
+        URL url = SVGGraphicFactory.class.getResource("gradient.svg");
+        Icon icon = svg.getIcon(null, ff.literal(url), "image/svg", 20);
+        // equal to an icon of the same SVG and size, even if it has been parsed again
+        SVGGraphicFactory.resetCache();
+        Assert.assertEquals(icon, svg.getIcon(null, ff.literal(url), "image/svg", 20));
+        Assert.assertEquals(icon.hashCode(), svg.getIcon(null, ff.literal(url), "image/svg", 20).hashCode());
+        Assert.assertNotEquals(icon, svg.getIcon(null, ff.literal(url), "image/svg", 30));
+        Assert.assertNotEquals(icon, svg.getIcon(null, ff.literal(url + "?fill=%23FF0000"), "image/svg", 20));
+
+        // painting the icon does not count as a cache access, even once the SVG is evicted
+        SVGGraphicFactory.resetCache();
+        long hits = svg.getCacheHits();
+        long misses = svg.getCacheMisses();
+        BufferedImage image =
+                new BufferedImage(icon.getIconWidth(), icon.getIconHeight(), BufferedImage.TYPE_4BYTE_ABGR);
+        Graphics2D graphics = image.createGraphics();
+        icon.paintIcon(null, graphics, 0, 0);
+        graphics.dispose();
+        Assert.assertEquals(hits, svg.getCacheHits());
+        Assert.assertEquals(misses, svg.getCacheMisses());
+
+        // the parsed SVG is looked up again if it has been garbage collected
+        SVGGraphicFactory.SVGIcon svgIcon = (SVGGraphicFactory.SVGIcon) icon;
+        svgIcon.svg.clear();
+        Assert.assertNotNull(svgIcon.getSVG());
+        Assert.assertTrue(RenderableSVGCache.glyphCache.containsKey(url.toString()));
+        Assert.assertEquals(hits, svg.getCacheHits());
+        Assert.assertEquals(misses, svg.getCacheMisses());
+    }
+
     @Test
     public void testLocalURLXEE() throws Exception {
         // disable references to entity stored on local file
@@ -116,7 +151,7 @@ public void testLocalURLXEE() throws Exception {
     }
 
     private String getIconText(SVGGraphicFactory.SVGIcon icon) {
-        GraphicsNode node = icon.svg.node;
+        GraphicsNode node = icon.getSVG().node;
         TextNode text = getTextNode(node);
         Assert.assertNotNull(text);
         return text.getText();
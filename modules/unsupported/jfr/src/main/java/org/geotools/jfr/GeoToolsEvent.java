@@ -0,0 +1,37 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.StackTrace;
+import org.geotools.util.tracing.Span;
+
+/** Base class for the GeoTools events, acting as the span of the operation they record */
+@Category("GeoTools")
+@StackTrace(false)
+abstract class GeoToolsEvent extends Event implements Span {
+
+    @Override
+    public void end(String subject, String detail, long count) {
+        setValues(subject, detail, count);
+        commit();
+    }
+
+    /** Fills the event fields */
+    abstract void setValues(String subject, String detail, long count);
+}
@@ -0,0 +1,40 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A granule loaded by the image mosaic reader */
+@Name("org.geotools.GranuleLoad")
+@Label("Granule Load")
+@Description("A granule loaded by the image mosaic reader")
+public class GranuleLoadEvent extends GeoToolsEvent {
+
+    @Label("Granule")
+    public String granule;
+
+    @Label("Area")
+    public String area;
+
+    @Override
+    void setValues(String subject, String detail, long count) {
+        this.granule = subject;
+        this.area = detail;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Supplier;
+import jdk.jfr.EventType;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Span;
+import org.geotools.util.tracing.Tracer;
+
+/**
+ * A {@link Tracer} emitting a Java Flight Recorder event for each traced operation. Registered as a service, it is
+ * picked up as soon as the module is in the classpath. When the events are not enabled in the running recordings (or
+ * no recording is running) no event is allocated and no span is returned, so the operation is not traced further.
+ */
+public class JFRTracer implements Tracer {
+
+    /** The event type and event factory of each operation */
+    private static final Map<OperationType, EventFactory> FACTORIES = new EnumMap<>(OperationType.class);
+
+    static {
+        FACTORIES.put(OperationType.FEATURE_READ, new EventFactory(FeatureReadEvent.class, FeatureReadEvent::new));
+        FACTORIES.put(OperationType.LAYER_PAINT, new EventFactory(LayerPaintEvent.class, LayerPaintEvent::new));
+        FACTORIES.put(
+                OperationType.MATH_TRANSFORM_CREATION,
+                new EventFactory(MathTransformCreationEvent.class, MathTransformCreationEvent::new));
+        FACTORIES.put(OperationType.GRANULE_LOAD, new EventFactory(GranuleLoadEvent.class, GranuleLoadEvent::new));
+        FACTORIES.put(
+                OperationType.STATEMENT_EXECUTION,
+                new EventFactory(StatementExecutionEvent.class, StatementExecutionEvent::new));
+    }
+
+    private static class EventFactory {
+        final EventType type;
+
+        final Supplier<GeoToolsEvent> constructor;
+
+        EventFactory(Class<? extends GeoToolsEvent> eventClass, Supplier<GeoToolsEvent> constructor) {
+            this.type = EventType.getEventType(eventClass);
+            this.constructor = constructor;
+        }
+    }
+
+    @Override
+    public boolean isEnabled(OperationType type) {
+        return FACTORIES.get(type).type.isEnabled();
+    }
+
+    @Override
+    public Span start(OperationType type) {
+        EventFactory factory = FACTORIES.get(type);
+        if (!factory.type.isEnabled()) {
+            return null;
+        }
+        GeoToolsEvent event = factory.constructor.get();
+        event.begin();
+        return event;
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A map layer painted by the streaming renderer */
+@Name("org.geotools.LayerPaint")
+@Label("Layer Paint")
+@Description("A map layer painted by the streaming renderer")
+public class LayerPaintEvent extends GeoToolsEvent {
+
+    @Label("Layer")
+    public String layer;
+
+    @Label("Features Painted")
+    public long featuresPainted;
+
+    @Override
+    void setValues(String subject, String detail, long count) {
+        this.layer = subject;
+        this.featuresPainted = count;
+    }
+}
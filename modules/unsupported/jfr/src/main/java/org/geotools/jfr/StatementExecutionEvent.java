@@ -0,0 +1,40 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/** A query executed against a database */
+@Name("org.geotools.StatementExecution")
+@Label("Statement Execution")
+@Description("A query executed against a database")
+public class StatementExecutionEvent extends GeoToolsEvent {
+
+    @Label("SQL")
+    public String sql;
+
+    @Label("Type Name")
+    public String typeName;
+
+    @Override
+    void setValues(String subject, String detail, long count) {
+        this.sql = subject;
+        this.typeName = detail;
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ *    GeoTools - The Open Source Java GIS Toolkit
+ *    http://geotools.org
+ *
+ *    (C) 2026, Open Source Geospatial Foundation (OSGeo)
+ *
+ *    This library is free software; you can redistribute it and/or
+ *    modify it under the terms of the GNU Lesser General Public
+ *    License as published by the Free Software Foundation;
+ *    version 2.1 of the License.
+ *
+ *    This library is distributed in the hope that it will be useful,
+ *    but WITHOUT ANY WARRANTY; without even the implied warranty of
+ *    MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the GNU
+ *    Lesser General Public License for more details.
+ */
+package org.geotools.jfr;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.geotools.util.tracing.OperationType;
+import org.geotools.util.tracing.Tracing;
+import org.junit.Test;
+
+public class JFRTracerTest {
+
+    @Test
+    public void testNotRecording() {
+        assertFalse(Tracing.isEnabled(OperationType.FEATURE_READ));
+        assertFalse(new JFRTracer().isEnabled(OperationType.FEATURE_READ));
+        assertNull(new JFRTracer().start(OperationType.FEATURE_READ));
+    }
+
+    @Test
+    public void testEvents() throws Exception {
+        Path file = Files.createTempFile("geotools", ".jfr");
+        try {
+            try (Recording recording = new Recording()) {
+                recording.enable(FeatureReadEvent.class);
+                recording.enable(StatementExecutionEvent.class);
+                recording.disable(LayerPaintEvent.class);
+                recording.start();
+
+                assertTrue(Tracing.isEnabled(OperationType.FEATURE_READ));
+                assertFalse(Tracing.isEnabled(OperationType.LAYER_PAINT));
+
+                Tracing.start(OperationType.FEATURE_READ).end("roads", "INCLUDE", 42);
+                Tracing.start(OperationType.STATEMENT_EXECUTION).end("SELECT * FROM roads", "roads", -1);
+                // disabled in the recording
+                assertNull(Tracing.start(OperationType.LAYER_PAINT));
+
+                recording.stop();
+                recording.dump(file);
+            }
+
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+            assertEquals(2, events.size());
+            RecordedEvent read = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.geotools.FeatureRead"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("roads", read.getString("typeName"));
+            assertEquals("INCLUDE", read.getString("filter"));
+            assertEquals(42, read.getLong("featureCount"));
+            RecordedEvent statement = events.stream()
+                    .filter(e -> e.getEventType().getName().equals("org.geotools.StatementExecution"))
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals("SELECT * FROM roads", statement.getString("sql"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}